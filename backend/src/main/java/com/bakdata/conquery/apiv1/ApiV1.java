@@ -1,5 +1,7 @@
 package com.bakdata.conquery.apiv1;
 
+import javax.inject.Singleton;
+
 import com.bakdata.conquery.commands.ManagerNode;
 import com.bakdata.conquery.io.cps.CPSType;
 import com.bakdata.conquery.io.jackson.IdRefPathParamConverterProvider;
@@ -41,7 +43,8 @@ public class ApiV1 implements ResourcesProvider {
 			@Override
 			protected void configure() {
 				bindAsContract(QueryProcessor.class);
-				bindAsContract(ConceptsProcessor.class);
+				// Holds caches, that must outlive single requests
+				bindAsContract(ConceptsProcessor.class).in(Singleton.class);
 				bindAsContract(MeProcessor.class);
 				bindAsContract(FormConfigProcessor.class);
 				bindAsContract(FormProcessor.class);
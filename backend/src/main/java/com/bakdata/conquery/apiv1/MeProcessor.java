@@ -44,21 +44,23 @@ public class MeProcessor {
 	 * @return The information about the user
 	 */
 	public FrontendMeInformation getUserInformation(@NonNull User user) {
-		// Compute dataset ablilities
-		Map<DatasetId, FrontendDatasetAbility> datasetAblilites = new HashMap<>();
-		for (Dataset dataset : datasetRegistry.getAllDatasets()) {
-			if (!user.isPermitted(dataset, Ability.READ)) {
-				// User is not allowed to use dataset
-				continue;
-			}
+		// Compute dataset ablilities, only datasets the user is allowed to use are considered
+		final List<Dataset> datasets = user.filterPermitted(datasetRegistry.getAllDatasets(), Ability.READ);
+
+		// Every ability is checked for all datasets at once
+		final boolean[] preserveId = user.isPermitted(datasets, Ability.PRESERVE_ID);
+		final boolean[] entityPreview = user.isPermitted(datasets, Ability.ENTITY_PREVIEW);
+		final boolean[] queryPreview = user.isPermitted(datasets, Ability.QUERY_PREVIEW);
 
+		Map<DatasetId, FrontendDatasetAbility> datasetAblilites = new HashMap<>();
+		for (int index = 0; index < datasets.size(); index++) {
 			// User can use the dataset and can possibly upload ids for resolving
 			datasetAblilites.put(
-					dataset.getId(),
+					datasets.get(index).getId(),
 					new FrontendDatasetAbility(
-							user.isPermitted(dataset, Ability.PRESERVE_ID),
-							user.isPermitted(dataset, Ability.ENTITY_PREVIEW) && user.isPermitted(dataset, Ability.PRESERVE_ID),
-							user.isPermitted(dataset, Ability.QUERY_PREVIEW)
+							preserveId[index],
+							entityPreview[index] && preserveId[index],
+							queryPreview[index]
 					)
 			);
 		}
@@ -13,6 +13,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -146,22 +147,26 @@ public class QueryProcessor {
 
 	public Stream<ExecutionStatus> getQueriesFiltered(Dataset datasetId, UriBuilder uriBuilder, Subject subject, Collection<ManagedExecution> allQueries, boolean allProviders) {
 
-		return allQueries.stream()
-						 // The following only checks the dataset, under which the query was submitted, but a query can target more that
-						 // one dataset.
-						 .filter(q -> q.getDataset().equals(datasetId))
-						 // to exclude subtypes from somewhere else
-						 .filter(QueryProcessor::canFrontendRender)
-						 .filter(Predicate.not(ManagedExecution::isSystem))
-						 .filter(q -> q.getState().equals(ExecutionState.DONE) || q.getState().equals(ExecutionState.NEW))
-						 .filter(q -> subject.isPermitted(q, Ability.READ))
-						 .map(mq -> {
-							 final OverviewExecutionStatus status = mq.buildStatusOverview(uriBuilder.clone(), subject);
-							 if (mq.isReadyToDownload()) {
-								 status.setResultUrls(getResultAssets(config.getResultProviders(), mq, uriBuilder, allProviders));
-							 }
-							 return status;
-						 });
+		final List<ManagedExecution> candidates = allQueries.stream()
+															// The following only checks the dataset, under which the query was submitted, but a query can target more that
+															// one dataset.
+															.filter(q -> q.getDataset().equals(datasetId))
+															// to exclude subtypes from somewhere else
+															.filter(QueryProcessor::canFrontendRender)
+															.filter(Predicate.not(ManagedExecution::isSystem))
+															.filter(q -> q.getState().equals(ExecutionState.DONE) || q.getState().equals(ExecutionState.NEW))
+															.toList();
+
+		// Permissions of all candidates are checked at once
+		return subject.filterPermitted(candidates, Ability.READ)
+					  .stream()
+					  .map(mq -> {
+						  final OverviewExecutionStatus status = mq.buildStatusOverview(uriBuilder.clone(), subject);
+						  if (mq.isReadyToDownload()) {
+							  status.setResultUrls(getResultAssets(config.getResultProviders(), mq, uriBuilder, allProviders));
+						  }
+						  return status;
+					  });
 	}
 
 	/**
@@ -319,18 +324,26 @@ public class QueryProcessor {
 
 	/**
 	 * Try to resolve the external upload, if successful, create query for the subject and return id and statistics for that.
+	 * <p>
+	 * Resolving is submitted as a slow job of the namespace, so clients can follow the progress of large uploads, without blocking the request thread.
 	 */
-	public ExternalUploadResult uploadEntities(Subject subject, Dataset dataset, ExternalUpload upload) {
+	public CompletableFuture<ExternalUploadResult> uploadEntities(Subject subject, Dataset dataset, ExternalUpload upload) {
 
 		final Namespace namespace = datasetRegistry.get(dataset.getId());
-		final CQExternal.ResolveStatistic
-				statistic =
-				CQExternal.resolveEntities(upload.getValues(), upload.getFormat(), namespace
-						.getStorage()
-						.getIdMapping(), config.getIdColumns(), config.getLocale()
-																	  .getDateReader(), upload.isOneRowPerEntity()
-
-				);
+
+		return namespace.getJobManager().submitSlowJob(
+				String.format("Resolving upload of %d rows", upload.getValues().length - 1),
+				// Rows are resolved on a parallel stream, occupying all cores.
+				Runtime.getRuntime().availableProcessors(),
+				progressReporter -> CQExternal.resolveEntities(upload.getValues(), upload.getFormat(), namespace.getStorage().getIdMapping(),
+															   config.getIdColumns(), config.getLocale().getDateReader(), upload.isOneRowPerEntity(),
+															   progressReporter
+				)
+		).thenApply(statistic -> createUploadQuery(subject, dataset, namespace, upload, statistic));
+	}
+
+	private ExternalUploadResult createUploadQuery(Subject subject, Dataset dataset, Namespace namespace, ExternalUpload upload, CQExternal.ResolveStatistic statistic) {
+		log.debug("Resolved {} entities from {} rows of upload", statistic.getResolved().size(), upload.getValues().length - 1);
 
 		// Resolving nothing is a problem thus we fail.
 		if (statistic.getResolved().isEmpty()) {
@@ -25,6 +25,10 @@ public class FrontendList implements JsonSerializable {
 		content.add(Pair.of(id, node));
 	}
 
+	public int size() {
+		return content.size();
+	}
+
 
 	@Override
 	public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
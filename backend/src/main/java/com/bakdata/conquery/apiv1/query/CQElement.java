@@ -3,6 +3,7 @@ package com.bakdata.conquery.apiv1.query;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -89,4 +90,11 @@ public abstract class CQElement implements Visitable {
 	public RequiredEntities collectRequiredEntities(QueryExecutionContext context) {
 		return new RequiredEntities(context.getBucketManager().getEntities().keySet());
 	}
+
+	/**
+	 * @see QueryDescription#collectKnownEntities()
+	 */
+	public Optional<RequiredEntities> collectKnownEntities() {
+		return Optional.empty();
+	}
 }
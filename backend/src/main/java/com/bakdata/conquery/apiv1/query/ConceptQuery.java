@@ -2,6 +2,7 @@ package com.bakdata.conquery.apiv1.query;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -105,4 +106,9 @@ public class ConceptQuery extends Query {
 	public RequiredEntities collectRequiredEntities(QueryExecutionContext context) {
 		return getRoot().collectRequiredEntities(context);
 	}
+
+	@Override
+	public Optional<RequiredEntities> collectKnownEntities() {
+		return getRoot().collectKnownEntities();
+	}
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.bakdata.conquery.apiv1.query;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -114,4 +115,14 @@ public interface QueryDescription extends Visitable {
 	default RequiredEntities collectRequiredEntities(QueryExecutionContext context){
 		return new RequiredEntities(context.getBucketManager().getEntities().keySet());
 	}
+
+	/**
+	 * Entities the results are provably restricted to, if they are already known on the ManagerNode (e.g. from an uploaded list of entities).
+	 * Executions with known entities only need to be sent to the workers responsible for their buckets.
+	 *
+	 * @return empty, if the result might contain any entity.
+	 */
+	default Optional<RequiredEntities> collectKnownEntities() {
+		return Optional.empty();
+	}
 }
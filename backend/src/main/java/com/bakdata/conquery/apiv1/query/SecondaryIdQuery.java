@@ -3,6 +3,7 @@ package com.bakdata.conquery.apiv1.query;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -170,4 +171,9 @@ public class SecondaryIdQuery extends Query {
 	public RequiredEntities collectRequiredEntities(QueryExecutionContext context) {
 		return query.collectRequiredEntities(context);
 	}
+
+	@Override
+	public Optional<RequiredEntities> collectKnownEntities() {
+		return query.collectKnownEntities();
+	}
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -348,4 +349,9 @@ public class TableExportQuery extends Query {
 	public RequiredEntities collectRequiredEntities(QueryExecutionContext context) {
 		return query.collectRequiredEntities(context);
 	}
+
+	@Override
+	public Optional<RequiredEntities> collectKnownEntities() {
+		return query.collectKnownEntities();
+	}
 }
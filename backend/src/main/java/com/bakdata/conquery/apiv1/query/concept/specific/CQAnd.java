@@ -163,4 +163,15 @@ public class CQAnd extends CQElement implements ExportForm.DefaultSelectSettable
 
 		return current;
 	}
+
+	/**
+	 * The entities are known, if they are known for any child.
+	 */
+	@Override
+	public Optional<RequiredEntities> collectKnownEntities() {
+		return getChildren().stream()
+							.map(CQElement::collectKnownEntities)
+							.flatMap(Optional::stream)
+							.reduce(RequiredEntities::intersect);
+	}
 }
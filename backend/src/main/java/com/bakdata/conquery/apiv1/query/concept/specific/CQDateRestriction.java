@@ -3,6 +3,7 @@ package com.bakdata.conquery.apiv1.query.concept.specific;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 import javax.validation.Valid;
@@ -70,4 +71,9 @@ public class CQDateRestriction extends CQElement {
 
 		return getChild().collectRequiredEntities(context.withDateRestriction(restriction));
 	}
+
+	@Override
+	public Optional<RequiredEntities> collectKnownEntities() {
+		return getChild().collectKnownEntities();
+	}
 }
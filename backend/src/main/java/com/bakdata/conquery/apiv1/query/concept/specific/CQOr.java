@@ -168,4 +168,24 @@ public class CQOr extends CQElement implements ExportForm.DefaultSelectSettable
 
 		return current;
 	}
+
+	/**
+	 * The entities are only known, if they are known for all children.
+	 */
+	@Override
+	public Optional<RequiredEntities> collectKnownEntities() {
+		RequiredEntities current = null;
+
+		for (CQElement child : getChildren()) {
+			final Optional<RequiredEntities> next = child.collectKnownEntities();
+
+			if (next.isEmpty()) {
+				return Optional.empty();
+			}
+
+			current = current == null ? next.get() : current.union(next.get());
+		}
+
+		return Optional.ofNullable(current);
+	}
 }
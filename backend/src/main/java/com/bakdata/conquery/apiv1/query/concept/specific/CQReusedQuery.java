@@ -1,6 +1,8 @@
 package com.bakdata.conquery.apiv1.query.concept.specific;
 
+import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -21,11 +23,13 @@ import com.bakdata.conquery.models.query.RequiredEntities;
 import com.bakdata.conquery.models.query.Visitable;
 import com.bakdata.conquery.models.query.queryplan.ConceptQueryPlan;
 import com.bakdata.conquery.models.query.queryplan.QPNode;
+import com.bakdata.conquery.models.query.queryplan.specific.ReusedQueryNode;
 import com.bakdata.conquery.models.query.resultinfo.ResultInfo;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonView;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -68,8 +72,17 @@ public class CQReusedQuery extends CQElement {
 			context = context.withSelectedSecondaryId(null);
 		}
 
-		return resolvedQuery.getReusableComponents()
-							.createQueryPlan(context, plan);
+		final QPNode node = resolvedQuery.getReusableComponents()
+										 .createQueryPlan(context, plan);
+
+		// The stored result is only valid, if the query is evaluated as it was executed.
+		if (!context.getDateRestriction().isAll() || context.getSelectedSecondaryId() != null) {
+			return node;
+		}
+
+		return context.getReusableResult(queryId)
+					  .<QPNode>map(entities -> new ReusedQueryNode(entities, node))
+					  .orElse(node);
 	}
 
 	@Override
@@ -98,6 +111,15 @@ public class CQReusedQuery extends CQElement {
 
 	@Override
 	public RequiredEntities collectRequiredEntities(QueryExecutionContext context) {
+		// Only excluded queries are always evaluated per entity, otherwise we might be part of a SecondaryIdQuery. The plan still skips entities outside the stored result then, see createQueryPlan.
+		if (excludeFromSecondaryId && context.getDateRestriction().isAll()) {
+			final Optional<BitSet> reusableResult = context.getExecutor().getReusableResult(queryId);
+
+			if (reusableResult.isPresent()) {
+				return new RequiredEntities(IntArrayList.wrap(reusableResult.get().stream().toArray()));
+			}
+		}
+
 		return getResolvedQuery().collectRequiredEntities(context);
 	}
 
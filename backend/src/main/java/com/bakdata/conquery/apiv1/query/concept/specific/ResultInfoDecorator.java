@@ -1,6 +1,7 @@
 package com.bakdata.conquery.apiv1.query.concept.specific;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -80,4 +81,9 @@ public class ResultInfoDecorator extends CQElement {
 	public RequiredEntities collectRequiredEntities(QueryExecutionContext context) {
 		return getChild().collectRequiredEntities(context);
 	}
+
+	@Override
+	public Optional<RequiredEntities> collectKnownEntities() {
+		return getChild().collectKnownEntities();
+	}
 }
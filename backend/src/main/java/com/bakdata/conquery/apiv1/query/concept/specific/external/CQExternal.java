@@ -10,10 +10,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import javax.annotation.Nullable;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
@@ -37,6 +40,7 @@ import com.bakdata.conquery.models.query.resultinfo.SimpleResultInfo;
 import com.bakdata.conquery.models.types.ResultType;
 import com.bakdata.conquery.util.DateReader;
 import com.bakdata.conquery.util.io.IdColumnUtil;
+import com.bakdata.conquery.util.progressreporter.ProgressReporter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonView;
 import com.google.common.collect.Streams;
@@ -58,6 +62,11 @@ public class CQExternal extends CQElement {
 
 	private static final String FORMAT_EXTRA = "EXTRA";
 
+	/**
+	 * Number of rows that are parsed and resolved together.
+	 */
+	private static final int RESOLVE_CHUNK_SIZE = 10_000;
+
 	/**
 	 * Describes the format of {@code values}, how to extract data from each row:
 	 * <p>
@@ -79,27 +88,16 @@ public class CQExternal extends CQElement {
 	private boolean onlySingles = false;
 
 	/**
-	 * Maps from Entity to the computed time-frame.
+	 * The resolved entities with their computed time-frame and the uploaded additional data.
 	 */
 	@Getter(AccessLevel.PRIVATE)
 	@JsonView(View.InternalCommunication.class)
-	private Map<Integer, CDateSet> valuesResolved;
+	private ExternalEntities resolvedEntities;
 
 	@Getter(AccessLevel.PRIVATE)
 	@JsonView(View.InternalCommunication.class)
 	private String[] headers;
 
-	/**
-	 * Contains the uploaded additional data for each column for each entity.
-	 * <p>
-	 * Column -> Entity -> Value(s)
-	 *
-	 * @implNote FK: I would prefer to implement this as a guava table, but they cannot be deserialized with Jackson so we implement the Table manually.
-	 */
-	@Getter(AccessLevel.PRIVATE)
-	@JsonView(View.InternalCommunication.class)
-	private Map<Integer, Map<String, List<String>>> extra;
-
 	public CQExternal(List<String> format, @NotEmpty String[][] values, boolean onlySingles) {
 		this.format = format;
 		this.values = values;
@@ -108,99 +106,52 @@ public class CQExternal extends CQElement {
 
 	@Override
 	public QPNode createQueryPlan(QueryPlanContext context, ConceptQueryPlan plan) {
-		if (valuesResolved == null) {
+		if (resolvedEntities == null) {
 			throw new IllegalStateException("CQExternal needs to be resolved before creating a plan");
 		}
 
-		final String[] extraHeaders = Streams.zip(
-													 Arrays.stream(headers),
-													 format.stream(),
-													 (header, format) -> format.equals(FORMAT_EXTRA) ? header : null
-											 )
-											 .filter(Objects::nonNull)
-											 .toArray(String[]::new);
-
 		if (onlySingles) {
-			return createExternalNodeOnlySingle(context, plan, extraHeaders);
+			// Substitute one element Lists by containing String
+			return createExternalNode(context, plan, values -> values.get(0));
 		}
-		return createExternalNodeForList(context, plan, extraHeaders);
+		return createExternalNode(context, plan, Function.identity());
 
 	}
 
-	private ExternalNode<String> createExternalNodeOnlySingle(QueryPlanContext context, ConceptQueryPlan plan, String[] extraHeaders) {
-		// Remove zero element Lists and substitute one element Lists by containing String
-		final Map<Integer, Map<String, String>> extraFlat = extra.entrySet().stream()
-																 .collect(Collectors.toMap(
-																		 Map.Entry::getKey,
-																		 entityToRowMap -> entityToRowMap.getValue().entrySet().stream()
-																										 .filter(headerToValue -> !headerToValue.getValue()
-																																				.isEmpty())
-																										 .collect(Collectors.toMap(
-																												 Map.Entry::getKey,
-																												 headerToValue -> headerToValue.getValue()
-																																			   .get(0)
-																										 ))
-																 ));
-
-		final Map<String, ConstantValueAggregator<String>> extraAggregators = new HashMap<>(extraHeaders.length);
-		for (String extraHeader : extraHeaders) {
-			// Just allocating, the result type is irrelevant here
-			final ConstantValueAggregator<String> aggregator = new ConstantValueAggregator<>(null, null);
-			extraAggregators.put(extraHeader, aggregator);
-			plan.registerAggregator(aggregator);
-
-		}
-
-		return new ExternalNode<>(context.getStorage().getDataset().getAllIdsTable(), valuesResolved, extraFlat, extraHeaders, extraAggregators);
-	}
+	private <T> ExternalNode<T> createExternalNode(QueryPlanContext context, ConceptQueryPlan plan, Function<List<String>, T> extraReader) {
+		final String[] extraHeaders = resolvedEntities.getExtraColumns();
 
-	private ExternalNode<List<String>> createExternalNodeForList(QueryPlanContext context, ConceptQueryPlan plan, String[] extraHeaders) {
-		final Map<String, ConstantValueAggregator<List<String>>> extraAggregators = new HashMap<>(extraHeaders.length);
-		for (String extraHeader : extraHeaders) {
+		// The aggregators are in order of the extra columns of resolvedEntities, so the node can address the columns by position.
+		final List<ConstantValueAggregator<T>> extraAggregators = new ArrayList<>(extraHeaders.length);
+		for (int column = 0; column < extraHeaders.length; column++) {
 			// Just allocating, the result type is irrelevant here
-			final ConstantValueAggregator<List<String>> aggregator = new ConstantValueAggregator<>(null, null);
-			extraAggregators.put(extraHeader, aggregator);
+			final ConstantValueAggregator<T> aggregator = new ConstantValueAggregator<>(null, null);
+			extraAggregators.add(aggregator);
 			plan.registerAggregator(aggregator);
 		}
 
-		return new ExternalNode<>(
-				context.getStorage().getDataset().getAllIdsTable(),
-				valuesResolved,
-				extra,
-				extraHeaders,
-				extraAggregators
-		);
+		return new ExternalNode<>(context.getStorage().getDataset().getAllIdsTable(), resolvedEntities, extraAggregators, extraReader);
 	}
 
 	/**
-	 * For each row try and collect all dates.
-	 *
-	 * @return Row -> Dates
+	 * For each row in [from, to) try and collect all dates into out.
+	 * <p>
+	 * If no date format is provided, put empty dates into output.
+	 * This indicates that no date context was provided and
+	 * the entries are not restricted by any date restriction,
+	 * but can also don't contribute to any date aggregation.
 	 */
-	private static CDateSet[] readDates(String[][] values, List<String> format, DateReader dateReader) {
-		final CDateSet[] out = new CDateSet[values.length];
+	private static void readDates(String[][] values, int from, int to, List<DateFormat> dateFormats, DateReader dateReader, CDateSet[] out) {
 
-		List<DateFormat> dateFormats = format.stream()
-											 .map(CQExternal::resolveDateFormat)
-											 // Don't use Stream#toList to preserve null-values
-											 .collect(Collectors.toList());
-
-
-		/*
-		 If no format is provided, put empty dates into output.
-		 This indicates that no date context was provided and
-		 the entries are not restricted by any date restriction,
-		 but can also don't contribute to any date aggregation.
-		 */
 		if (dateFormats.stream().allMatch(Objects::isNull)) {
 			// Initialize empty
-			for (int row = 0; row < values.length; row++) {
+			for (int row = from; row < to; row++) {
 				out[row] = CDateSet.createEmpty();
 			}
-			return out;
+			return;
 		}
 
-		for (int row = 1; row < values.length; row++) {
+		for (int row = from; row < to; row++) {
 			try {
 				final CDateSet dates = CDateSet.createEmpty();
 
@@ -218,18 +169,12 @@ public class CQExternal extends CQElement {
 					continue;
 				}
 
-				if (out[row] == null) {
-					out[row] = CDateSet.createEmpty();
-				}
-
-				out[row].addAll(dates);
+				out[row] = dates;
 			}
 			catch (Exception e) {
 				log.warn("Failed to parse Date from {}", row, e);
 			}
 		}
-
-		return out;
 	}
 
 	@Override
@@ -264,8 +209,15 @@ public class CQExternal extends CQElement {
 			);
 		}
 
-		valuesResolved = resolved.getResolved();
-		extra = resolved.getExtra();
+		final String[] extraHeaders = Streams.zip(
+													 Arrays.stream(headers),
+													 format.stream(),
+													 (header, format) -> format.equals(FORMAT_EXTRA) ? header : null
+											 )
+											 .filter(Objects::nonNull)
+											 .toArray(String[]::new);
+
+		resolvedEntities = ExternalEntities.create(resolved.getResolved(), resolved.getExtra(), extraHeaders);
 	}
 
 	@Data
@@ -289,18 +241,18 @@ public class CQExternal extends CQElement {
 	 * Helper method to try and resolve entities in values using the specified format.
 	 */
 	public static ResolveStatistic resolveEntities(@NotEmpty String[][] values, @NotEmpty List<String> format, EntityIdMap mapping, IdColumnConfig idColumnConfig, @NotNull DateReader dateReader, boolean onlySingles) {
-		final Map<Integer, CDateSet> resolved = new Int2ObjectOpenHashMap<>();
-
-		final List<String[]> unresolvedDate = new ArrayList<>();
-		final List<String[]> unresolvedId = new ArrayList<>();
-
-		// extract dates from rows
-		final CDateSet[] rowDates = readDates(values, format, dateReader);
-
-		// Extract extra data from rows by Row, to be collected into by entities
-		// Row -> Column -> Value
-		final Map<String, String>[] extraDataByRow = readExtras(values, format);
+		return resolveEntities(values, format, mapping, idColumnConfig, dateReader, onlySingles, null);
+	}
 
+	/**
+	 * Helper method to try and resolve entities in values using the specified format.
+	 * <p>
+	 * Rows are parsed and resolved in chunks of {@link #RESOLVE_CHUNK_SIZE} in parallel, every chunk resolves its ids per id-column in a single batch against the {@link EntityIdMap}.
+	 * The results of the chunks are held in primitive arrays by row, and are only collected by entity at the end, in order of the rows.
+	 *
+	 * @param progressReporter if not null, is advanced by the number of rows of every finished chunk. It is left to the caller to mark it done.
+	 */
+	public static ResolveStatistic resolveEntities(@NotEmpty String[][] values, @NotEmpty List<String> format, EntityIdMap mapping, IdColumnConfig idColumnConfig, @NotNull DateReader dateReader, boolean onlySingles, @Nullable ProgressReporter progressReporter) {
 		final List<Function<String[], EntityIdMap.ExternalId>> readers = IdColumnUtil.getIdReaders(format, idColumnConfig.getIdMappers());
 
 		// We will not be able to resolve anything...
@@ -308,10 +260,53 @@ public class CQExternal extends CQElement {
 			return new ResolveStatistic(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyList(), List.of(values));
 		}
 
+		final List<DateFormat> dateFormats = format.stream()
+												   .map(CQExternal::resolveDateFormat)
+												   // Don't use Stream#toList to preserve null-values
+												   .collect(Collectors.toList());
+
+		// Row -> Dates
+		final CDateSet[] rowDates = new CDateSet[values.length];
+
+		// Row -> Entity
+		final int[] rowEntities = new int[values.length];
+
+		// Extract extra data from rows by Row, to be collected into by entities
+		// Row -> Column -> Value, chunks only set their own rows, which does not change the structure of the list
+		final List<Map<String, String>> extraDataByRow = new ArrayList<>(Collections.nCopies(values.length, null));
+
+		if (progressReporter != null) {
+			progressReporter.setMax(values.length - 1);
+		}
+
+		// ignore the first row, because this is the header
+		final int chunks = Math.floorDiv(values.length - 1 + RESOLVE_CHUNK_SIZE - 1, RESOLVE_CHUNK_SIZE);
+
+		IntStream.range(0, chunks)
+				 .parallel()
+				 .forEach(chunk -> {
+					 final int from = 1 + chunk * RESOLVE_CHUNK_SIZE;
+					 final int to = Math.min(from + RESOLVE_CHUNK_SIZE, values.length);
+
+					 readDates(values, from, to, dateFormats, dateReader, rowDates);
+					 readExtras(values, from, to, format, extraDataByRow);
+					 resolveIds(values, from, to, readers, mapping, rowDates, rowEntities);
+
+					 if (progressReporter != null) {
+						 synchronized (progressReporter) {
+							 progressReporter.report(to - from);
+						 }
+					 }
+				 });
+
+		final Map<Integer, CDateSet> resolved = new Int2ObjectOpenHashMap<>();
+
+		final List<String[]> unresolvedDate = new ArrayList<>();
+		final List<String[]> unresolvedId = new ArrayList<>();
+
 		// Entity -> Column -> Values
 		final Map<Integer, Map<String, List<String>>> extraDataByEntity = new HashMap<>();
 
-		// ignore the first row, because this is the header
 		for (int rowNum = 1; rowNum < values.length; rowNum++) {
 
 			final String[] row = values[rowNum];
@@ -321,7 +316,7 @@ public class CQExternal extends CQElement {
 				continue;
 			}
 
-			int resolvedId = tryResolveId(row, readers, mapping);
+			final int resolvedId = rowEntities[rowNum];
 
 			if (resolvedId == -1) {
 				unresolvedId.add(row);
@@ -332,9 +327,9 @@ public class CQExternal extends CQElement {
 			resolved.put(resolvedId, rowDates[rowNum]);
 
 			// Entity was resolved for row so we collect the data.
-			if (extraDataByRow[rowNum] != null) {
+			if (extraDataByRow.get(rowNum) != null) {
 
-				for (Map.Entry<String, String> entry : extraDataByRow[rowNum].entrySet()) {
+				for (Map.Entry<String, String> entry : extraDataByRow.get(rowNum).entrySet()) {
 					extraDataByEntity.computeIfAbsent(resolvedId, (ignored) -> new HashMap<>())
 									 .computeIfAbsent(entry.getKey(), (ignored) -> new ArrayList<>())
 									 .add(entry.getValue());
@@ -357,74 +352,82 @@ public class CQExternal extends CQElement {
 	}
 
 	/**
-	 * Try to extract a {@link com.bakdata.conquery.models.identifiable.mapping.EntityIdMap.ExternalId} from the row,
-	 * then try to map it to an internal {@link com.bakdata.conquery.models.query.entity.Entity}
+	 * Try to extract {@link com.bakdata.conquery.models.identifiable.mapping.EntityIdMap.ExternalId}s from the rows in [from, to),
+	 * then try to map them to internal {@link com.bakdata.conquery.models.query.entity.Entity}s, one batch per id-column.
+	 * <p>
+	 * Only if all resolvable ids of a row agree on the same entity, is the entity written into out, otherwise -1. Rows without dates are not resolved at all.
 	 */
-	private static int tryResolveId(String[] row, List<Function<String[], EntityIdMap.ExternalId>> readers, EntityIdMap mapping) {
-		int resolvedId = -1;
+	private static void resolveIds(String[][] values, int from, int to, List<Function<String[], EntityIdMap.ExternalId>> readers, EntityIdMap mapping, CDateSet[] rowDates, int[] out) {
+		Arrays.fill(out, from, to, -1);
+
+		final EntityIdMap.ExternalId[] batch = new EntityIdMap.ExternalId[to - from];
 
 		for (Function<String[], EntityIdMap.ExternalId> reader : readers) {
-			final EntityIdMap.ExternalId externalId = reader.apply(row);
 
-			if (externalId == null) {
-				continue;
+			for (int row = from; row < to; row++) {
+				batch[row - from] = rowDates[row] == null ? null : reader.apply(values[row]);
 			}
 
-			int innerResolved = mapping.resolve(externalId);
+			final int[] resolved = mapping.resolve(batch);
 
-			if (innerResolved == -1) {
-				continue;
-			}
+			for (int row = from; row < to; row++) {
+				final int innerResolved = resolved[row - from];
 
-			// Only if all resolvable ids agree on the same entity, do we return the id.
-			if (resolvedId != -1 && innerResolved != resolvedId) {
-				log.error("`{}` maps to different Entities", (Object) row);
-				continue;
-			}
+				if (innerResolved == -1) {
+					continue;
+				}
 
-			resolvedId = innerResolved;
+				if (out[row] != -1 && innerResolved != out[row]) {
+					log.error("`{}` maps to different Entities", (Object) values[row]);
+					continue;
+				}
+
+				out[row] = innerResolved;
+			}
 		}
-		return resolvedId;
 	}
 
 	/**
-	 * Try and extract Extra data from input to be returned as extra-data in output.
+	 * Try and extract Extra data from input to be returned as extra-data in output, for the lines in [from, to).
 	 * <p>
 	 * Line -> ( Column -> Value )
 	 */
-	private static Map<String, String>[] readExtras(String[][] values, List<String> format) {
+	private static void readExtras(String[][] values, int from, int to, List<String> format, List<Map<String, String>> extrasByRow) {
 		final String[] names = values[0];
-		final Map<String, String>[] extrasByRow = new Map[values.length];
-
 
-		for (int line = 1; line < values.length; line++) {
+		for (int line = from; line < to; line++) {
 			for (int col = 0; col < format.size(); col++) {
 				if (!format.get(col).equals(FORMAT_EXTRA)) {
 					continue;
 				}
 
 
-				if (extrasByRow[line] == null) {
-					extrasByRow[line] = new HashMap<>(names.length);
+				if (extrasByRow.get(line) == null) {
+					extrasByRow.set(line, new HashMap<>(names.length));
 				}
 
-				extrasByRow[line].put(names[col], values[line][col]);
+				extrasByRow.get(line).put(names[col], values[line][col]);
 			}
 		}
-
-
-		return extrasByRow;
 	}
 
 
 	@Override
 	public RequiredEntities collectRequiredEntities(QueryExecutionContext context) {
-		return new RequiredEntities(valuesResolved.keySet());
+		return new RequiredEntities(resolvedEntities.getEntityList());
+	}
+
+	@Override
+	public Optional<RequiredEntities> collectKnownEntities() {
+		if (resolvedEntities == null) {
+			return Optional.empty();
+		}
+		return Optional.of(new RequiredEntities(resolvedEntities.getEntityList()));
 	}
 
 	@Override
 	public List<ResultInfo> getResultInfos() {
-		if (extra == null) {
+		if (resolvedEntities == null) {
 			return Collections.emptyList();
 		}
 		List<ResultInfo> resultInfos = new ArrayList<>();
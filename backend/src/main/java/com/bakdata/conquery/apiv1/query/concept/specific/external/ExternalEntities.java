@@ -0,0 +1,166 @@
+package com.bakdata.conquery.apiv1.query.concept.specific.external;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.bakdata.conquery.models.common.CDateSet;
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Immutable, columnar representation of the entities resolved by {@link CQExternal}, with their dates and extra data.
+ * <p>
+ * Entities are sorted, so they can be found by binary search. Dates and extra values are stored in flat arrays, and are addressed by offsets per entity.
+ * A single instance is shared by all {@link com.bakdata.conquery.models.query.queryplan.specific.ExternalNode}s of a query, so nothing is copied per plan.
+ *
+ * @implNote entity at position {@code i} has the ranges {@code dateRanges[2 * dateOffsets[i]] ... dateRanges[2 * dateOffsets[i + 1] - 1]} as pairs of min and max,
+ * and the values {@code extraValues[column][extraOffsets[column][i]] ... extraValues[column][extraOffsets[column][i + 1] - 1]} for each extra column.
+ */
+@Getter
+@ToString(onlyExplicitlyIncluded = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE, onConstructor_ = @JsonCreator)
+public class ExternalEntities {
+
+	@NonNull
+	private final int[] entities;
+
+	@NonNull
+	private final int[] dateOffsets;
+	@NonNull
+	private final int[] dateRanges;
+
+	@NonNull
+	private final String[] extraColumns;
+	@NonNull
+	private final int[][] extraOffsets;
+	@NonNull
+	private final String[][] extraValues;
+
+	/**
+	 * Build the columnar representation from entity-wise maps.
+	 *
+	 * @param dates        Entity -> Dates
+	 * @param extra        Entity -> Column -> Values
+	 * @param extraColumns the columns of extra to retain.
+	 */
+	public static ExternalEntities create(Map<Integer, CDateSet> dates, Map<Integer, Map<String, List<String>>> extra, String[] extraColumns) {
+		final int[] entities = dates.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+
+		final int[] dateOffsets = new int[entities.length + 1];
+		final IntArrayList dateRanges = new IntArrayList(entities.length * 2);
+
+		for (int index = 0; index < entities.length; index++) {
+			for (CDateRange range : dates.get(entities[index]).asRanges()) {
+				dateRanges.add(range.getMinValue());
+				dateRanges.add(range.getMaxValue());
+			}
+
+			dateOffsets[index + 1] = dateRanges.size() / 2;
+		}
+
+		final int[][] extraOffsets = new int[extraColumns.length][];
+		final String[][] extraValues = new String[extraColumns.length][];
+
+		for (int column = 0; column < extraColumns.length; column++) {
+			final String name = extraColumns[column];
+
+			final int[] offsets = new int[entities.length + 1];
+			int total = 0;
+
+			for (int index = 0; index < entities.length; index++) {
+				total += extra.getOrDefault(entities[index], Collections.emptyMap()).getOrDefault(name, Collections.emptyList()).size();
+				offsets[index + 1] = total;
+			}
+
+			final String[] values = new String[total];
+
+			for (int index = 0; index < entities.length; index++) {
+				final List<String> entityValues = extra.getOrDefault(entities[index], Collections.emptyMap()).getOrDefault(name, Collections.emptyList());
+
+				for (int value = 0; value < entityValues.size(); value++) {
+					values[offsets[index] + value] = entityValues.get(value);
+				}
+			}
+
+			extraOffsets[column] = offsets;
+			extraValues[column] = values;
+		}
+
+		return new ExternalEntities(entities, dateOffsets, dateRanges.toIntArray(), extraColumns, extraOffsets, extraValues);
+	}
+
+	/**
+	 * @return Number of contained entities.
+	 */
+	@ToString.Include
+	public int size() {
+		return entities.length;
+	}
+
+	/**
+	 * @return the position of entity, or -1 if it is not contained.
+	 */
+	public int indexOf(int entity) {
+		final int position = Arrays.binarySearch(entities, entity);
+		return position < 0 ? -1 : position;
+	}
+
+	/**
+	 * @return true if the entity at position has any dates.
+	 */
+	public boolean hasDates(int position) {
+		return dateOffsets[position] != dateOffsets[position + 1];
+	}
+
+	/**
+	 * Add the dates of the entity at position into out.
+	 */
+	public void addDates(int position, CDateSet out) {
+		for (int range = dateOffsets[position]; range < dateOffsets[position + 1]; range++) {
+			out.add(CDateRange.of(dateRanges[2 * range], dateRanges[2 * range + 1]));
+		}
+	}
+
+	/**
+	 * @return The dates of the entity at position.
+	 */
+	public CDateSet getDates(int position) {
+		final CDateSet dates = CDateSet.createEmpty();
+		addDates(position, dates);
+		return dates;
+	}
+
+	/**
+	 * @return the position of the extra column, or -1 if there is none with that name.
+	 */
+	public int indexOfExtraColumn(String name) {
+		for (int column = 0; column < extraColumns.length; column++) {
+			if (extraColumns[column].equals(name)) {
+				return column;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return An unmodifiable view of the values of the entity at position in the extra column.
+	 */
+	public List<String> getExtra(int column, int position) {
+		final int[] offsets = extraOffsets[column];
+		return Collections.unmodifiableList(Arrays.asList(extraValues[column]).subList(offsets[position], offsets[position + 1]));
+	}
+
+	@JsonIgnore
+	public IntArrayList getEntityList() {
+		return IntArrayList.wrap(entities);
+	}
+}
@@ -107,7 +107,8 @@ public class ShardNode extends ConqueryCommand implements IoHandler, Managed {
 				() -> createInternalObjectMapper(View.Persistence.Shard.class),
 				() -> createInternalObjectMapper(View.InternalCommunication.class),
 				getConfig().getCluster().getEntityBucketSize(),
-				getConfig().getQueries().getSecondaryIdSubPlanRetention()
+				getConfig().getQueries().getSecondaryIdSubPlanRetention(),
+				getConfig().getQueries().getReusableResultsSize().toBytes()
 		);
 
 		final Collection<WorkerStorage> workerStorages = config.getStorage().discoverWorkerStorages();
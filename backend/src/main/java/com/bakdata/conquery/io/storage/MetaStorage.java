@@ -1,6 +1,7 @@
 package com.bakdata.conquery.io.storage;
 
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.bakdata.conquery.io.jackson.Injectable;
 import com.bakdata.conquery.io.jackson.MutableInjectableValues;
@@ -43,6 +44,11 @@ public class MetaStorage extends ConqueryStorage implements Injectable {
 	private IdentifiableStore<Role> authRole;
 	private IdentifiableStore<Group> authGroup;
 
+	/**
+	 * Incremented on every change of users, groups and roles, so that permissions compiled for a user are rebuilt afterwards.
+	 */
+	private final AtomicLong authorizationVersion = new AtomicLong();
+
 	public void openStores(ObjectMapper mapper) {
 		authUser = storageFactory.createUserStore(centralRegistry, "meta", this, mapper);
 		authRole = storageFactory.createRoleStore(centralRegistry, "meta", this, mapper);
@@ -74,6 +80,7 @@ public class MetaStorage extends ConqueryStorage implements Injectable {
 	public void clear() {
 		super.clear();
 		centralRegistry.clear();
+		authorizationVersion.incrementAndGet();
 	}
 
 	public void addExecution(ManagedExecution query) {
@@ -98,6 +105,7 @@ public class MetaStorage extends ConqueryStorage implements Injectable {
 
 	public void addUser(User user) {
 		authUser.add(user);
+		authorizationVersion.incrementAndGet();
 	}
 
 	public User getUser(UserId userId) {
@@ -115,10 +123,12 @@ public class MetaStorage extends ConqueryStorage implements Injectable {
 	public void removeUser(UserId userId) {
 		log.info("Remove User = {}", userId);
 		authUser.remove(userId);
+		authorizationVersion.incrementAndGet();
 	}
 
 	public void addRole(Role role) {
 		authRole.add(role);
+		authorizationVersion.incrementAndGet();
 	}
 
 	public Role getRole(RoleId roleId) {
@@ -135,18 +145,22 @@ public class MetaStorage extends ConqueryStorage implements Injectable {
 
 	public void removeRole(RoleId roleId) {
 		authRole.remove(roleId);
+		authorizationVersion.incrementAndGet();
 	}
 
 	public void updateUser(User user) {
 		authUser.update(user);
+		authorizationVersion.incrementAndGet();
 	}
 
 	public void updateRole(Role role) {
 		authRole.update(role);
+		authorizationVersion.incrementAndGet();
 	}
 
 	public void addGroup(Group group) {
 		authGroup.add(group);
+		authorizationVersion.incrementAndGet();
 	}
 
 	public Group getGroup(GroupId groupId) {
@@ -163,10 +177,16 @@ public class MetaStorage extends ConqueryStorage implements Injectable {
 
 	public void removeGroup(GroupId id) {
 		authGroup.remove(id);
+		authorizationVersion.incrementAndGet();
 	}
 
 	public void updateGroup(Group group) {
 		authGroup.update(group);
+		authorizationVersion.incrementAndGet();
+	}
+
+	public long getAuthorizationVersion() {
+		return authorizationVersion.get();
 	}
 
 	public FormConfig getFormConfig(FormConfigId id) {
@@ -0,0 +1,45 @@
+package com.bakdata.conquery.metrics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheStats;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class CacheMetrics {
+
+	private static final String CACHES = "caches";
+
+	/**
+	 * Register gauges for the statistics of cache, which must record them.
+	 */
+	public static void createCacheGauges(String name, Cache<?, ?> cache) {
+		final Map<String, Gauge<?>> gauges = Map.of(
+				"hits", statsGauge(cache, CacheStats::hitCount),
+				"misses", statsGauge(cache, CacheStats::missCount),
+				"evictions", statsGauge(cache, CacheStats::evictionCount),
+				"loads.failure", statsGauge(cache, CacheStats::loadExceptionCount),
+				"loads.averageMillis", statsGauge(cache, stats -> TimeUnit.NANOSECONDS.toMillis((long) stats.averageLoadPenalty())),
+				"size", (Gauge<Long>) cache::size
+		);
+
+		final MetricRegistry registry = SharedMetricRegistries.getDefault();
+
+		gauges.forEach((gaugeName, gauge) -> {
+			final String metricName = MetricRegistry.name(CACHES, name, gaugeName);
+			// Rebind, if a previous cache was registered
+			registry.remove(metricName);
+			registry.register(metricName, gauge);
+		});
+	}
+
+	private static Gauge<Long> statsGauge(Cache<?, ?> cache, Function<CacheStats, Long> extractor) {
+		return () -> extractor.apply(cache.stats());
+	}
+}
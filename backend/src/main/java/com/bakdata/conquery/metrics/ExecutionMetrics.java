@@ -6,6 +6,7 @@ import java.util.Set;
 
 import com.bakdata.conquery.apiv1.query.QueryDescription;
 import com.bakdata.conquery.models.datasets.concepts.select.Select;
+import com.bakdata.conquery.models.execution.ExecutionPriority;
 import com.bakdata.conquery.models.execution.ExecutionState;
 import com.bakdata.conquery.models.identifiable.ids.NamespacedId;
 import com.bakdata.conquery.models.identifiable.ids.NamespacedIdentifiable;
@@ -38,6 +39,11 @@ public class ExecutionMetrics {
 	private static final String RUNNING = "running";
 	private static final String STATE = "state";
 	private static final String TIME = "time";
+	private static final String SCHEDULED = "scheduled";
+	private static final String WAIT = "wait";
+	private static final String CACHE = "cache";
+	private static final String HIT = "hit";
+	private static final String MISS = "miss";
 
 	/**
 	 * Add group to name.
@@ -59,6 +65,24 @@ public class ExecutionMetrics {
 		return SharedMetricRegistries.getDefault().counter(nameWithGroupTag(MetricRegistry.name(QUERIES, STATE, state.toString()), group));
 	}
 
+	/**
+	 * Number of tasks waiting in the {@link com.bakdata.conquery.models.query.QueryScheduler}s of this node.
+	 */
+	public static Counter getScheduledTasksCounter(ExecutionPriority priority) {
+		return SharedMetricRegistries.getDefault().counter(MetricRegistry.name(QUERIES, SCHEDULED, priority.toString()));
+	}
+
+	/**
+	 * Milliseconds tasks waited in the {@link com.bakdata.conquery.models.query.QueryScheduler}s of this node before being executed.
+	 */
+	public static Histogram getScheduledTasksWaitHistogram(ExecutionPriority priority) {
+		return SharedMetricRegistries.getDefault().histogram(MetricRegistry.name(QUERIES, SCHEDULED, WAIT, priority.toString()));
+	}
+
+	public static Counter getResultCacheCounter(boolean hit) {
+		return SharedMetricRegistries.getDefault().counter(MetricRegistry.name(QUERIES, CACHE, hit ? HIT : MISS));
+	}
+
 	public static void reportQueryClassUsage(Class<? extends QueryDescription> clazz, String group) {
 		SharedMetricRegistries.getDefault()
 							  .counter(nameWithGroupTag(MetricRegistry.name(QUERIES, CLASSES, clazz.getSimpleName()), group))
@@ -0,0 +1,46 @@
+package com.bakdata.conquery.metrics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.bakdata.conquery.models.index.IndexService;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.google.common.cache.CacheStats;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class IndexMetrics {
+
+	private static final String INDEXES = "indexes";
+
+	public static void createIndexServiceGauges(IndexService indexService) {
+		final Map<String, Gauge<?>> gauges = Map.of(
+				"hits", statsGauge(indexService, CacheStats::hitCount),
+				"misses", statsGauge(indexService, CacheStats::missCount),
+				"evictions", statsGauge(indexService, CacheStats::evictionCount),
+				"loads.success", statsGauge(indexService, CacheStats::loadSuccessCount),
+				"loads.failure", statsGauge(indexService, CacheStats::loadExceptionCount),
+				"loads.averageMillis", statsGauge(indexService, stats -> TimeUnit.NANOSECONDS.toMillis((long) stats.averageLoadPenalty())),
+				"loads.running", indexService::getLoadsInProgress,
+				"refreshes.unchanged", indexService::getRefreshesUnchanged,
+				"refreshes.rebuilt", indexService::getRefreshesRebuilt,
+				"bytes", indexService::getEstimatedMemoryConsumption
+		);
+
+		final MetricRegistry registry = SharedMetricRegistries.getDefault();
+
+		gauges.forEach((name, gauge) -> {
+			final String metricName = MetricRegistry.name(INDEXES, name);
+			// Rebind, if a previous service was registered
+			registry.remove(metricName);
+			registry.register(metricName, gauge);
+		});
+	}
+
+	private static Gauge<Long> statsGauge(IndexService indexService, Function<CacheStats, Long> extractor) {
+		return () -> extractor.apply(indexService.getStatistics());
+	}
+}
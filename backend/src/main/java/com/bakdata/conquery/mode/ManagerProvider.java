@@ -3,6 +3,7 @@ package com.bakdata.conquery.mode;
 import javax.validation.Validator;
 
 import com.bakdata.conquery.io.storage.MetaStorage;
+import com.bakdata.conquery.metrics.IndexMetrics;
 import com.bakdata.conquery.mode.cluster.ClusterStorageHandler;
 import com.bakdata.conquery.mode.local.SqlStorageHandler;
 import com.bakdata.conquery.models.config.ConqueryConfig;
@@ -57,7 +58,9 @@ public interface ManagerProvider {
 			StorageHandler storageHandler,
 			ConqueryConfig config
 	) {
-		final IndexService indexService = new IndexService(config.getCsv().createCsvParserSettings(), config.getIndex().getEmptyLabel());
+		final IndexService indexService = new IndexService(config.getCsv().createCsvParserSettings(), config.getIndex());
+		IndexMetrics.createIndexServiceGauges(indexService);
+
 		DatasetRegistry<N> datasetRegistry = new DatasetRegistry<>(
 				config.getCluster().getEntityBucketSize(),
 				config,
@@ -24,6 +24,11 @@ public interface NamespaceHandler<N extends Namespace> {
 
 	N createNamespace(NamespaceStorage storage, MetaStorage metaStorage, IndexService indexService);
 
+	/**
+	 * Called once the namespace is registered, so messages concerning its dataset can already be routed to it.
+	 */
+	void addNamespace(DatasetId id, N namespace);
+
 	void removeNamespace(DatasetId id, N namespace);
 
 	/**
@@ -1,12 +1,19 @@
 package com.bakdata.conquery.mode;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
 import com.bakdata.conquery.io.storage.NamespaceStorage;
 import com.bakdata.conquery.models.datasets.Column;
+import com.bakdata.conquery.models.datasets.Import;
 
 public interface StorageHandler {
 
 	Stream<String> lookupColumnValues(NamespaceStorage namespaceStorage, Column column);
 
+	/**
+	 * Values of the column in the given {@link Import}s only, used to extend existing searches of the column.
+	 */
+	Stream<String> lookupColumnValues(Column column, Collection<Import> imports);
+
 }
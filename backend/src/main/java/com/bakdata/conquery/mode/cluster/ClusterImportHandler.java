@@ -43,7 +43,8 @@ class ClusterImportHandler implements ImportHandler {
 				true
 		);
 
-		namespace.getJobManager().addSlowJob(job);
+		namespace.incrementDataVersion();
+		submit(namespace, job);
 
 		clearDependentConcepts(namespace.getStorage().getAllConcepts(), job.getTable());
 	}
@@ -59,17 +60,32 @@ class ClusterImportHandler implements ImportHandler {
 				config,
 				false
 		);
-		namespace.getJobManager().addSlowJob(job);
+		namespace.incrementDataVersion();
+		submit(namespace, job);
 
 		clearDependentConcepts(namespace.getStorage().getAllConcepts(), job.getTable());
 	}
 
+	/**
+	 * Imports run concurrently, only imports of the same table are executed one after another.
+	 */
+	private synchronized void submit(Namespace namespace, ImportJob job) {
+		namespace.getJobManager().getSlowJobs().stream()
+				 .filter(ImportJob.class::isInstance)
+				 .map(ImportJob.class::cast)
+				 .filter(queued -> queued.getTable().equals(job.getTable()))
+				 .forEach(job::dependsOn);
+
+		namespace.getJobManager().addSlowJob(job);
+	}
+
 	@Override
 	public void deleteImport(Import imp) {
 
 		DatasetId id = imp.getTable().getDataset().getId();
 		final DistributedNamespace namespace = datasetRegistry.get(id);
 
+		namespace.incrementDataVersion();
 		clearDependentConcepts(namespace.getStorage().getAllConcepts(), imp.getTable());
 
 		namespace.getStorage().removeImport(imp.getId());
@@ -25,7 +25,7 @@ public class ClusterNamespaceHandler implements NamespaceHandler<DistributedName
 	@Override
 	public DistributedNamespace createNamespace(NamespaceStorage storage, final MetaStorage metaStorage, IndexService indexService) {
 		NamespaceSetupData namespaceData = NamespaceHandler.createNamespaceSetup(storage, config, mapperCreator, indexService);
-		DistributedExecutionManager executionManager = new DistributedExecutionManager(metaStorage, clusterState);
+		DistributedExecutionManager executionManager = new DistributedExecutionManager(metaStorage, clusterState, config.getQueries().getResultCacheSize());
 		WorkerHandler workerHandler = new WorkerHandler(namespaceData.getCommunicationMapper(), storage);
 		clusterState.getWorkerHandlers().put(storage.getDataset().getId(), workerHandler);
 
@@ -41,10 +41,17 @@ public class ClusterNamespaceHandler implements NamespaceHandler<DistributedName
 				workerHandler
 		);
 
+		return distributedNamespace;
+	}
+
+	/**
+	 * Workers are only added once the namespace is registered, as they report to it right away.
+	 */
+	@Override
+	public void addNamespace(DatasetId id, DistributedNamespace namespace) {
 		for (ShardNodeInformation node : clusterState.getShardNodes().values()) {
-			node.send(new AddWorker(storage.getDataset()));
+			node.send(new AddWorker(namespace.getDataset()));
 		}
-		return distributedNamespace;
 	}
 
 
@@ -1,10 +1,12 @@
 package com.bakdata.conquery.mode.cluster;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
 import com.bakdata.conquery.io.storage.NamespaceStorage;
 import com.bakdata.conquery.mode.StorageHandler;
 import com.bakdata.conquery.models.datasets.Column;
+import com.bakdata.conquery.models.datasets.Import;
 import com.bakdata.conquery.models.datasets.ImportColumn;
 import com.bakdata.conquery.models.events.stores.root.StringStore;
 
@@ -12,11 +14,16 @@ public class ClusterStorageHandler implements StorageHandler {
 
 	@Override
 	public Stream<String> lookupColumnValues(NamespaceStorage namespaceStorage, Column column) {
-		return namespaceStorage.getAllImports().stream()
-							   .filter(imp -> imp.getTable().equals(column.getTable()))
-							   .flatMap(imp -> {
-								   final ImportColumn importColumn = imp.getColumns()[column.getPosition()];
-								   return ((StringStore) importColumn.getTypeDescription()).iterateValues();
-							   });
+		return lookupColumnValues(column, namespaceStorage.getAllImports());
+	}
+
+	@Override
+	public Stream<String> lookupColumnValues(Column column, Collection<Import> imports) {
+		return imports.stream()
+					  .filter(imp -> imp.getTable().equals(column.getTable()))
+					  .flatMap(imp -> {
+						  final ImportColumn importColumn = imp.getColumns()[column.getPosition()];
+						  return ((StringStore) importColumn.getTypeDescription()).iterateValues();
+					  });
 	}
 }
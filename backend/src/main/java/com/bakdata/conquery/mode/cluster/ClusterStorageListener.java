@@ -35,26 +35,31 @@ class ClusterStorageListener implements StorageListener {
 
 	@Override
 	public void onAddSecondaryId(SecondaryIdDescription secondaryId) {
+		datasetRegistry.get(secondaryId.getDataset().getId()).incrementDataVersion();
 		datasetRegistry.get(secondaryId.getDataset().getId()).getWorkerHandler().sendToAll(new UpdateSecondaryId(secondaryId));
 	}
 
 	@Override
 	public void onDeleteSecondaryId(SecondaryIdDescription secondaryId) {
+		datasetRegistry.get(secondaryId.getDataset().getId()).incrementDataVersion();
 		datasetRegistry.get(secondaryId.getDataset().getId()).getWorkerHandler().sendToAll(new RemoveSecondaryId(secondaryId));
 	}
 
 	@Override
 	public void onAddTable(Table table) {
+		datasetRegistry.get(table.getDataset().getId()).incrementDataVersion();
 		datasetRegistry.get(table.getDataset().getId()).getWorkerHandler().sendToAll(new UpdateTable(table));
 	}
 
 	@Override
 	public void onRemoveTable(Table table) {
+		datasetRegistry.get(table.getDataset().getId()).incrementDataVersion();
 		datasetRegistry.get(table.getDataset().getId()).getWorkerHandler().sendToAll(new RemoveTable(table));
 	}
 
 	@Override
 	public void onAddConcept(Concept<?> concept) {
+		datasetRegistry.get(concept.getDataset().getId()).incrementDataVersion();
 		WorkerHandler handler = datasetRegistry.get(concept.getDataset().getId()).getWorkerHandler();
 		SimpleJob simpleJob = new SimpleJob(String.format("sendToAll : Add %s ", concept.getId()), () -> handler.sendToAll(new UpdateConcept(concept)));
 		jobManager.addSlowJob(simpleJob);
@@ -62,6 +67,7 @@ class ClusterStorageListener implements StorageListener {
 
 	@Override
 	public void onDeleteConcept(Concept<?> concept) {
+		datasetRegistry.get(concept.getDataset().getId()).incrementDataVersion();
 		WorkerHandler handler = datasetRegistry.get(concept.getDataset().getId()).getWorkerHandler();
 		SimpleJob simpleJob = new SimpleJob("sendToAll: remove " + concept.getId(), () -> handler.sendToAll(new RemoveConcept(concept)));
 		jobManager.addSlowJob(simpleJob);
@@ -70,6 +76,7 @@ class ClusterStorageListener implements StorageListener {
 	@Override
 	public void onUpdateMatchingStats(final Dataset dataset) {
 		final Namespace namespace = datasetRegistry.get(dataset.getId());
+		namespace.incrementDataVersion();
 		final Collection<Concept<?>> concepts = namespace.getStorage().getAllConcepts()
 														 .stream()
 														 .filter(concept -> concept.getMatchingStats() == null)
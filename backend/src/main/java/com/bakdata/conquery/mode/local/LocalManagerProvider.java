@@ -39,7 +39,8 @@ public class LocalManagerProvider implements ManagerProvider {
 
 		SqlExecutionService sqlExecutionService = new SqlExecutionService(
 				sqlDialect.getDSLContext(),
-				ResultSetProcessorFactory.create(sqlDialect)
+				ResultSetProcessorFactory.create(sqlDialect),
+				sqlConnectorConfig.getFetchSize()
 		);
 
 		NamespaceHandler<LocalNamespace> namespaceHandler = new LocalNamespaceHandler(config, creator, sqlContext, sqlExecutionService);
@@ -51,7 +52,7 @@ public class LocalManagerProvider implements ManagerProvider {
 				environment,
 				datasetRegistry,
 				new FailingImportHandler(),
-				new LocalStorageListener(),
+				new LocalStorageListener(datasetRegistry),
 				EMPTY_NODE_PROVIDER,
 				List.of(),
 				creator,
@@ -8,7 +8,7 @@ import com.bakdata.conquery.mode.NamespaceSetupData;
 import com.bakdata.conquery.models.config.ConqueryConfig;
 import com.bakdata.conquery.models.identifiable.ids.specific.DatasetId;
 import com.bakdata.conquery.models.index.IndexService;
-import com.bakdata.conquery.models.query.ExecutionManager;
+import com.bakdata.conquery.models.jobs.SimpleJob;
 import com.bakdata.conquery.models.worker.LocalNamespace;
 import com.bakdata.conquery.sql.SqlContext;
 import com.bakdata.conquery.sql.conquery.SqlExecutionManager;
@@ -26,7 +26,17 @@ public class LocalNamespaceHandler implements NamespaceHandler<LocalNamespace> {
 	@Override
 	public LocalNamespace createNamespace(NamespaceStorage namespaceStorage, MetaStorage metaStorage, IndexService indexService) {
 		NamespaceSetupData namespaceData = NamespaceHandler.createNamespaceSetup(namespaceStorage, config, mapperCreator, indexService);
-		ExecutionManager executionManager = new SqlExecutionManager(sqlContext, sqlExecutionService, metaStorage);
+		SqlExecutionManager executionManager = new SqlExecutionManager(sqlContext, sqlExecutionService, metaStorage, namespaceData.getCommunicationMapper());
+
+		if (executionManager.isMaterializingConceptPaths()) {
+			// The materialized tables are not tracked across restarts, so they are created again for the loaded concepts.
+			namespaceData.getJobManager()
+						 .addSlowJob(new SimpleJob(
+								 "Materialize concept paths of " + namespaceStorage.getDataset().getId(),
+								 () -> executionManager.materializeConceptPaths(namespaceStorage.getAllConcepts())
+						 ));
+		}
+
 		return new LocalNamespace(
 				namespaceData.getPreprocessMapper(),
 				namespaceData.getCommunicationMapper(),
@@ -40,6 +50,11 @@ public class LocalNamespaceHandler implements NamespaceHandler<LocalNamespace> {
 		);
 	}
 
+	@Override
+	public void addNamespace(DatasetId id, LocalNamespace namespace) {
+		// nothing to do
+	}
+
 	@Override
 	public void removeNamespace(DatasetId id, LocalNamespace namespace) {
 		// nothing to do
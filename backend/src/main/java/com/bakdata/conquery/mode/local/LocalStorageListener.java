@@ -5,36 +5,86 @@ import com.bakdata.conquery.models.datasets.Dataset;
 import com.bakdata.conquery.models.datasets.SecondaryIdDescription;
 import com.bakdata.conquery.models.datasets.Table;
 import com.bakdata.conquery.models.datasets.concepts.Concept;
+import com.bakdata.conquery.models.jobs.SimpleJob;
+import com.bakdata.conquery.models.worker.DatasetRegistry;
+import com.bakdata.conquery.models.worker.LocalNamespace;
+import com.bakdata.conquery.sql.conquery.SqlExecutionManager;
+import lombok.RequiredArgsConstructor;
 
+@RequiredArgsConstructor
 public class LocalStorageListener implements StorageListener {
 
-	// When running without shards, no further actions are required
+	// When running without shards, only the converted queries have to be discarded, as they depend on the changed entities.
+
+	private final DatasetRegistry<LocalNamespace> datasetRegistry;
 
 	@Override
 	public void onAddSecondaryId(SecondaryIdDescription secondaryId) {
+		clearConvertedQueries(secondaryId.getDataset());
 	}
 
 	@Override
 	public void onDeleteSecondaryId(SecondaryIdDescription description) {
+		clearConvertedQueries(description.getDataset());
 	}
 
 	@Override
 	public void onAddTable(Table table) {
+		clearConvertedQueries(table.getDataset());
 	}
 
 	@Override
 	public void onRemoveTable(Table table) {
+		clearConvertedQueries(table.getDataset());
 	}
 
 	@Override
 	public void onAddConcept(Concept<?> concept) {
+		clearConvertedQueries(concept.getDataset());
+
+		final LocalNamespace namespace = datasetRegistry.get(concept.getDataset().getId());
+
+		if (namespace != null
+			&& namespace.getExecutionManager() instanceof SqlExecutionManager sqlExecutionManager
+			&& sqlExecutionManager.isMaterializingConceptPaths()) {
+			namespace.getJobManager()
+					 .addSlowJob(new SimpleJob("Materialize concept paths of " + concept.getId(), () -> sqlExecutionManager.materializeConceptPaths(concept)));
+		}
 	}
 
 	@Override
 	public void onDeleteConcept(Concept<?> concept) {
+		clearConvertedQueries(concept.getDataset());
+
+		final LocalNamespace namespace = datasetRegistry.get(concept.getDataset().getId());
+
+		if (namespace != null
+			&& namespace.getExecutionManager() instanceof SqlExecutionManager sqlExecutionManager
+			&& sqlExecutionManager.isMaterializingConceptPaths()) {
+			sqlExecutionManager.dropConceptPaths(concept);
+		}
 	}
 
+	/**
+	 * Matching stats are updated after the data of the tables changed, so the concept paths are materialized again.
+	 */
 	@Override
 	public void onUpdateMatchingStats(Dataset dataset) {
+		final LocalNamespace namespace = datasetRegistry.get(dataset.getId());
+
+		if (namespace != null
+			&& namespace.getExecutionManager() instanceof SqlExecutionManager sqlExecutionManager
+			&& sqlExecutionManager.isMaterializingConceptPaths()) {
+			namespace.getJobManager()
+					 .addSlowJob(new SimpleJob("Materialize concept paths of " + dataset.getId(), () -> sqlExecutionManager.materializeConceptPaths(namespace.getStorage().getAllConcepts())));
+		}
+	}
+
+	private void clearConvertedQueries(Dataset dataset) {
+		final LocalNamespace namespace = datasetRegistry.get(dataset.getId());
+
+		if (namespace != null && namespace.getExecutionManager() instanceof SqlExecutionManager sqlExecutionManager) {
+			sqlExecutionManager.clearConvertedQueries();
+		}
 	}
 }
@@ -1,10 +1,12 @@
 package com.bakdata.conquery.mode.local;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
 import com.bakdata.conquery.io.storage.NamespaceStorage;
 import com.bakdata.conquery.mode.StorageHandler;
 import com.bakdata.conquery.models.datasets.Column;
+import com.bakdata.conquery.models.datasets.Import;
 import com.bakdata.conquery.sql.execution.SqlExecutionService;
 import lombok.extern.slf4j.Slf4j;
 import org.jooq.DSLContext;
@@ -30,6 +32,14 @@ public class SqlStorageHandler implements StorageHandler {
 		return queryForDistinctValues(columValuesQuery);
 	}
 
+	/**
+	 * There are no {@link Import}s in SQL mode, so they never add values to existing searches.
+	 */
+	@Override
+	public Stream<String> lookupColumnValues(Column column, Collection<Import> imports) {
+		return Stream.empty();
+	}
+
 	private Stream<String> queryForDistinctValues(Select<Record1<Object>> columValuesQuery) {
 		try {
 			return sqlExecutionService.fetchStream(columValuesQuery)
@@ -8,8 +8,11 @@ import java.util.Set;
 
 import com.bakdata.conquery.io.storage.MetaStorage;
 import com.bakdata.conquery.models.auth.entities.Subject;
+import com.bakdata.conquery.models.auth.entities.User;
+import com.bakdata.conquery.models.auth.permissions.PermissionIndex;
 import com.bakdata.conquery.models.identifiable.ids.specific.UserId;
 import com.google.common.collect.Sets;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.apache.shiro.authc.AuthenticationException;
 import org.apache.shiro.authc.AuthenticationInfo;
@@ -44,11 +47,19 @@ public class ConqueryAuthorizationRealm extends AuthorizingRealm {
 	protected AuthorizationInfo doGetAuthorizationInfo(PrincipalCollection principals) {
 		Objects.requireNonNull(principals, "No principal info was provided");
 		Subject subject = principals.oneByType(Subject.class);
-		SimpleAuthorizationInfo info = new ConqueryAuthorizationInfo();
 
-		info.addObjectPermissions(Collections.unmodifiableSet(subject.getUser().getEffectivePermissions()));
-		
-		return info;
+		return new ConqueryAuthorizationInfo(subject.getUser());
+	}
+
+	/**
+	 * Permissions are looked up in the {@link PermissionIndex} of the user, which is compiled once and not for every check.
+	 */
+	@Override
+	protected boolean isPermitted(Permission permission, AuthorizationInfo info) {
+		if (info instanceof ConqueryAuthorizationInfo conqueryInfo) {
+			return conqueryInfo.getUser().getPermissionIndex().implies(permission);
+		}
+		return super.isPermitted(permission, info);
 	}
 
 	@Override
@@ -78,10 +89,23 @@ public class ConqueryAuthorizationRealm extends AuthorizingRealm {
 	/**
 	 * This AuthorizationInfo handles the collection of large amounts of {@link Permission}s by wrapping collections into a view
 	 * instead of running an iterator over them. This also prevents a {@link ConcurrentModificationException} which occurred when 
-	 * Permission were collected
+	 * Permission were collected.
+	 * The effective permissions of the user are only collected, when they are requested, checks use {@link User#getPermissionIndex()}.
 	 */
 	@SuppressWarnings("serial")
+	@RequiredArgsConstructor
 	public static class ConqueryAuthorizationInfo extends SimpleAuthorizationInfo {
+
+		@Getter
+		private final transient User user;
+
+		@Override
+		public Set<Permission> getObjectPermissions() {
+			if (objectPermissions == null) {
+				addObjectPermissions(Collections.unmodifiableSet(user.getEffectivePermissions()));
+			}
+			return super.getObjectPermissions();
+		}
 		@Override
 		public void addRole(String role) {
 			throw new UnsupportedOperationException();
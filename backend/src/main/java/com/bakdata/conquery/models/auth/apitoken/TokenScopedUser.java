@@ -7,11 +7,14 @@ import com.bakdata.conquery.models.auth.permissions.Ability;
 import com.bakdata.conquery.models.auth.permissions.Authorized;
 import com.bakdata.conquery.models.auth.permissions.ConqueryPermission;
 import com.bakdata.conquery.models.identifiable.ids.specific.UserId;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.shiro.authz.UnauthorizedException;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
@@ -73,11 +76,23 @@ public class TokenScopedUser implements Subject {
 	public boolean[] isPermitted(List<? extends Authorized> authorized, Ability ability) {
 		final EnumSet<Ability> abilitySet = EnumSet.of(ability);
 
-		boolean[] ret = new boolean[authorized.size()];
-		for (int i = 0; i < ret.length; i++) {
-			Authorized object = authorized.get(i);
-			ret[i] = tokenContext.isCoveredByScopes(object.createPermission(abilitySet)) &&
-					 delegate.isPermitted(object, ability);
+		// Objects that are not covered by the scopes are not permitted, the remaining ones are checked by the user at once.
+		final IntList covered = new IntArrayList();
+		final List<Authorized> coveredObjects = new ArrayList<>();
+
+		for (int i = 0; i < authorized.size(); i++) {
+			final Authorized object = authorized.get(i);
+			if (tokenContext.isCoveredByScopes(object.createPermission(abilitySet))) {
+				covered.add(i);
+				coveredObjects.add(object);
+			}
+		}
+
+		final boolean[] permitted = delegate.isPermitted(coveredObjects, ability);
+
+		final boolean[] ret = new boolean[authorized.size()];
+		for (int i = 0; i < permitted.length; i++) {
+			ret[covered.getInt(i)] = permitted[i];
 		}
 		return ret;
 	}
@@ -8,6 +8,7 @@ import com.bakdata.conquery.models.identifiable.ids.specific.UserId;
 import lombok.NonNull;
 
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -32,6 +33,22 @@ public interface Subject extends Principal {
 
 	boolean[] isPermitted(List<? extends Authorized> authorized, Ability ability);
 
+	/**
+	 * The objects the subject is permitted the ability on, in their order. All objects are checked at once.
+	 */
+	default <T extends Authorized> List<T> filterPermitted(Collection<T> objects, Ability ability) {
+		final List<T> candidates = new ArrayList<>(objects);
+		final boolean[] permitted = isPermitted(candidates, ability);
+
+		final List<T> out = new ArrayList<>();
+		for (int index = 0; index < permitted.length; index++) {
+			if (permitted[index]) {
+				out.add(candidates.get(index));
+			}
+		}
+		return out;
+	}
+
 	boolean isOwner(Authorized object);
 
 	boolean isDisplayLogout();
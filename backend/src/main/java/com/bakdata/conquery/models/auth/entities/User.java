@@ -1,19 +1,20 @@
 package com.bakdata.conquery.models.auth.entities;
 
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import com.bakdata.conquery.io.storage.MetaStorage;
 import com.bakdata.conquery.models.auth.ConqueryAuthenticationInfo;
 import com.bakdata.conquery.models.auth.permissions.Ability;
 import com.bakdata.conquery.models.auth.permissions.Authorized;
 import com.bakdata.conquery.models.auth.permissions.ConqueryPermission;
+import com.bakdata.conquery.models.auth.permissions.PermissionIndex;
 import com.bakdata.conquery.models.execution.Owned;
 import com.bakdata.conquery.models.identifiable.ids.specific.RoleId;
 import com.bakdata.conquery.models.identifiable.ids.specific.UserId;
@@ -21,7 +22,8 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.Sets;
-import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
@@ -42,6 +44,12 @@ public class User extends PermissionOwner<UserId> implements Principal, RoleOwne
 	@Getter(AccessLevel.PROTECTED)
 	private final transient ShiroUserAdapter shiroUserAdapter;
 
+	/**
+	 * The effective permissions, compiled for lookups. Rebuilt once users, groups or roles have changed.
+	 */
+	@JsonIgnore
+	private transient volatile CompiledPermissions compiledPermissions;
+
 	@JsonCreator
 	protected User(String name, String label) {
 		this(name, label, null);
@@ -72,6 +80,24 @@ public class User extends PermissionOwner<UserId> implements Principal, RoleOwne
 		return permissions;
 	}
 
+	/**
+	 * The effective permissions indexed for lookups, which are shared by all permission checks until users, groups or roles change.
+	 */
+	@JsonIgnore
+	public PermissionIndex getPermissionIndex() {
+		// The version is read first: Changes made while compiling are then picked up by the next check at the latest.
+		final long version = storage.getAuthorizationVersion();
+
+		CompiledPermissions compiled = compiledPermissions;
+
+		if (compiled == null || compiled.version() != version) {
+			compiled = new CompiledPermissions(version, PermissionIndex.of(getEffectivePermissions()));
+			compiledPermissions = compiled;
+		}
+
+		return compiled.index();
+	}
+
 	@Override
 	public UserId createId() {
 		return new UserId(name);
@@ -125,16 +151,46 @@ public class User extends PermissionOwner<UserId> implements Principal, RoleOwne
 
 
 	public boolean isPermittedAll(Collection<? extends Authorized> authorized, Ability ability) {
-		return authorized.stream()
-						 .allMatch(auth -> isPermitted(auth, ability));
+		final EnumSet<Ability> abilities = EnumSet.of(ability);
+
+		return shiroUserAdapter.isPermittedAll(authorized.stream()
+														 .filter(auth -> !isOwner(auth))
+														 .map(auth -> (Permission) auth.createPermission(abilities))
+														 .toList());
 	}
 
 
 	public boolean[] isPermitted(List<? extends Authorized> authorizeds, Ability ability) {
-		return authorizeds.stream()
-						  .map(auth -> isPermitted(auth, ability))
-						  .collect(Collectors.toCollection(BooleanArrayList::new))
-						  .toBooleanArray();
+		final EnumSet<Ability> abilities = EnumSet.of(ability);
+		final boolean[] permitted = new boolean[authorizeds.size()];
+
+		// Owned objects are permitted anyway, the permissions of all others are submitted to Shiro at once.
+		final IntList checked = new IntArrayList();
+		final List<Permission> permissions = new ArrayList<>();
+
+		for (int index = 0; index < authorizeds.size(); index++) {
+			final Authorized authorized = authorizeds.get(index);
+
+			if (isOwner(authorized)) {
+				permitted[index] = true;
+				continue;
+			}
+
+			checked.add(index);
+			permissions.add(authorized.createPermission(abilities));
+		}
+
+		if (permissions.isEmpty()) {
+			return permitted;
+		}
+
+		final boolean[] results = shiroUserAdapter.isPermitted(permissions);
+
+		for (int result = 0; result < results.length; result++) {
+			permitted[checked.getInt(result)] = results[result];
+		}
+
+		return permitted;
 	}
 
 
@@ -161,6 +217,9 @@ public class User extends PermissionOwner<UserId> implements Principal, RoleOwne
 	}
 
 
+	private record CompiledPermissions(long version, PermissionIndex index) {
+	}
+
 	/**
 	 * This class is non-static so it's a fixed part of the enclosing User object.
 	 * It's protected for testing purposes only.
@@ -0,0 +1,122 @@
+package com.bakdata.conquery.models.auth.permissions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.shiro.authz.Permission;
+
+/**
+ * The permissions of a subject, indexed by domain and instance.
+ * <p>
+ * Checking a requested permission only evaluates the held permissions that could imply it, instead of all held permissions.
+ * Whether a held permission implies the requested one is still decided by {@link Permission#implies(Permission)}.
+ * <p>
+ * A held {@link WildcardPermission} can only imply a requested one, if its domains contain the wildcard or all domains of the requested permission,
+ * and if it either has no instance part, its instances contain the wildcard or they contain all instances of the requested permission.
+ * So it is sufficient to look up the first domain and the first instance of the requested permission.
+ */
+public class PermissionIndex {
+
+	private static final String WILDCARD = "*";
+
+	private static final int DOMAIN_PART = 0;
+	private static final int INSTANCE_PART = 2;
+
+	/**
+	 * Permissions on all domains and permissions that are not {@link WildcardPermission}s, these are always evaluated.
+	 */
+	private final List<Permission> unindexed = new ArrayList<>();
+
+	/**
+	 * Permissions on all instances of a domain.
+	 */
+	private final Map<String, List<Permission>> byDomain = new HashMap<>();
+
+	/**
+	 * Permissions on specific instances of a domain.
+	 */
+	private final Map<String, Map<String, List<Permission>>> byInstance = new HashMap<>();
+
+	private PermissionIndex() {
+	}
+
+	public static PermissionIndex of(Collection<? extends Permission> permissions) {
+		final PermissionIndex index = new PermissionIndex();
+
+		for (Permission permission : permissions) {
+			index.add(permission);
+		}
+
+		return index;
+	}
+
+	private void add(Permission permission) {
+		if (!(permission instanceof WildcardPermission wildcard) || wildcard.getDomains().contains(WILDCARD)) {
+			unindexed.add(permission);
+			return;
+		}
+
+		final List<Set<String>> parts = wildcard.getParts();
+
+		for (String domain : parts.get(DOMAIN_PART)) {
+			if (parts.size() <= INSTANCE_PART || parts.get(INSTANCE_PART).contains(WILDCARD)) {
+				byDomain.computeIfAbsent(domain, ignored -> new ArrayList<>()).add(permission);
+				continue;
+			}
+
+			final Map<String, List<Permission>> instances = byInstance.computeIfAbsent(domain, ignored -> new HashMap<>());
+
+			for (String instance : parts.get(INSTANCE_PART)) {
+				instances.computeIfAbsent(instance, ignored -> new ArrayList<>()).add(permission);
+			}
+		}
+	}
+
+	public boolean implies(Permission requested) {
+		if (impliedBy(unindexed, requested)) {
+			return true;
+		}
+
+		if (!(requested instanceof WildcardPermission wildcard)) {
+			// Without structure to look up, fall back to evaluating all permissions.
+			return byDomain.values().stream().anyMatch(permissions -> impliedBy(permissions, requested))
+				   || byInstance.values().stream().flatMap(instances -> instances.values().stream()).anyMatch(permissions -> impliedBy(permissions, requested));
+		}
+
+		final List<Set<String>> parts = wildcard.getParts();
+
+		if (parts.get(DOMAIN_PART).contains(WILDCARD)) {
+			// Can only be implied by permissions on all domains.
+			return false;
+		}
+
+		final String domain = parts.get(DOMAIN_PART).iterator().next();
+
+		if (impliedBy(byDomain.getOrDefault(domain, Collections.emptyList()), requested)) {
+			return true;
+		}
+
+		// Permissions on specific instances can neither imply requests without instances nor requests on all instances.
+		if (parts.size() <= INSTANCE_PART || parts.get(INSTANCE_PART).contains(WILDCARD)) {
+			return false;
+		}
+
+		final String instance = parts.get(INSTANCE_PART).iterator().next();
+
+		return impliedBy(byInstance.getOrDefault(domain, Collections.emptyMap()).getOrDefault(instance, Collections.emptyList()), requested);
+	}
+
+	private static boolean impliedBy(List<Permission> held, Permission requested) {
+		for (Permission permission : held) {
+			if (permission.implies(requested)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -11,6 +11,7 @@ import javax.validation.constraints.NotNull;
 
 import com.bakdata.conquery.models.forms.frontendconfiguration.FormScanner;
 import com.fasterxml.jackson.annotation.JsonAlias;
+import io.dropwizard.util.DataSize;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -73,6 +74,18 @@ public class FrontendConfig {
 	 */
 	private boolean alwaysAllowCreateValue = false;
 
+	/**
+	 * Memory for the concept trees sent to the frontend. Least recently used trees are evicted first.
+	 */
+	@NotNull
+	private DataSize conceptCacheSize = DataSize.megabytes(64);
+
+	/**
+	 * Memory for search results of SelectFilters, and separately for listings of their values. Least recently used results are evicted first.
+	 */
+	@NotNull
+	private DataSize searchCacheSize = DataSize.megabytes(128);
+
 
 	@Data
 	public static class CurrencyConfig {
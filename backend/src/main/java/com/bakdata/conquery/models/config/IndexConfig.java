@@ -2,6 +2,7 @@ package com.bakdata.conquery.models.config;
 
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.nio.file.Path;
 
 import javax.annotation.Nullable;
 import javax.validation.constraints.Min;
@@ -11,6 +12,8 @@ import com.bakdata.conquery.models.index.IndexKey;
 import com.bakdata.conquery.util.search.TrieSearch;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.Duration;
 import io.dropwizard.validation.ValidationMethod;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +40,35 @@ public class IndexConfig {
 	@NotNull
 	private String emptyLabel = "No Value";
 
+	/**
+	 * Directory into which mappings are compiled and from which they are memory-mapped on load (e.g. next to the storage directory).
+	 * A compiled mapping is only rebuilt if the checksum of its csv changed.
+	 * If not set, mappings are parsed into the heap on every load.
+	 * <p>
+	 * Searches of columns are compiled there as well, and only rebuilt if the values of their column changed.
+	 */
+	@Nullable
+	private Path compiledIndexDirectory;
+
+	/**
+	 * Number of threads, that build mappings. A single mapping is also built by all of them.
+	 */
+	@Min(1)
+	private int loadingThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * If set, loaded mappings are checked for changes of their csv after this duration and rebuilt in the background.
+	 * Until the rebuild is done, the old mapping is served.
+	 */
+	@Nullable
+	private Duration refreshInterval;
+
+	/**
+	 * If set, mappings are evicted when the estimated heap usage of all loaded mappings exceeds this size.
+	 */
+	@Nullable
+	private DataSize maximumSize;
+
 	@JsonIgnore
 	@ValidationMethod(message = "Specified baseUrl is not valid")
 	public boolean isValidUrl() {
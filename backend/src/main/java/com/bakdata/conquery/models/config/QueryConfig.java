@@ -1,5 +1,6 @@
 package com.bakdata.conquery.models.config;
 
+import io.dropwizard.util.DataSize;
 import io.dropwizard.util.Duration;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,4 +20,15 @@ public class QueryConfig {
 	 * TODO Implement global limit of active secondaryId sub plans
 	 */
 	private int secondaryIdSubPlanRetention = 15;
+
+	/**
+	 * Memory per dataset for the results of finished executions, which are reused for equal queries submitted later, as long as the data did not change. 0 disables the cache.
+	 */
+	private DataSize resultCacheSize = DataSize.megabytes(64);
+
+	/**
+	 * Memory per worker for the entities of finished queries, which are used to evaluate {@link com.bakdata.conquery.apiv1.query.concept.specific.CQReusedQuery} without re-executing them.
+	 * Least recently used entries are evicted first.
+	 */
+	private DataSize reusableResultsSize = DataSize.megabytes(64);
 }
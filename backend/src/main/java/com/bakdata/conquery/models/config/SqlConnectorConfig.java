@@ -27,4 +27,22 @@ public class SqlConnectorConfig {
 	private String jdbcConnectionUrl;
 
 	private String primaryColumn = "pid";
+
+	/**
+	 * Number of rows fetched from the database at once, while reading the results of an execution.
+	 */
+	@Builder.Default
+	private int fetchSize = 1000;
+
+	/**
+	 * Number of converted queries per dataset, that are kept so equal queries are not converted again.
+	 */
+	@Builder.Default
+	private int convertedQueryCacheSize = 100;
+
+	/**
+	 * If true, the most specific children of the values of tree concept connectors are resolved once when a concept is added, and stored in tables of the database.
+	 * Converted queries then select from these tables, instead of evaluating the conditions of the tree.
+	 */
+	private boolean materializeConceptPaths;
 }
@@ -1,5 +1,7 @@
 package com.bakdata.conquery.models.datasets;
 
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Map;
 
 import javax.annotation.Nullable;
@@ -18,6 +20,7 @@ import com.bakdata.conquery.models.identifiable.Labeled;
 import com.bakdata.conquery.models.identifiable.ids.NamespacedIdentifiable;
 import com.bakdata.conquery.models.identifiable.ids.specific.ColumnId;
 import com.bakdata.conquery.models.identifiable.ids.specific.DictionaryId;
+import com.bakdata.conquery.models.index.CompiledColumnSearch;
 import com.bakdata.conquery.models.query.FilterSearch;
 import com.bakdata.conquery.util.search.TrieSearch;
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -156,6 +159,14 @@ public class Column extends Labeled<ColumnId> implements NamespacedIdentifiable<
 
 		StopWatch timer = StopWatch.createStarted();
 
+		final Path compiledFile = CompiledColumnSearch.getFile(config, this);
+		final byte[] checksum = compiledFile == null ? null : CompiledColumnSearch.checksum(storage.getStorageHandler().lookupColumnValues(storage, this));
+
+		if (compiledFile != null && CompiledColumnSearch.load(search, compiledFile, checksum)) {
+			log.debug("Loaded compiled search of {} in {}", getId(), timer);
+			return search;
+		}
+
 		log.trace("START-COLUMN ADDING_ITEMS for {}", getId());
 
 		storage.getStorageHandler()
@@ -173,6 +184,36 @@ public class Column extends Labeled<ColumnId> implements NamespacedIdentifiable<
 
 		log.trace("DONE-COLUMN SHRINKING for {} in {}", getId(), timer);
 
+		if (compiledFile != null) {
+			CompiledColumnSearch.compile(search, compiledFile, checksum);
+		}
+
+		return search;
+	}
+
+	/**
+	 * Creates a copy of an existing search of this column, extended by the values of the new imports only.
+	 */
+	public TrieSearch<FrontendValue> extendTrieSearch(TrieSearch<FrontendValue> existing, Collection<Import> imports, IndexConfig config, NamespaceStorage storage) {
+		final TrieSearch<FrontendValue> search = existing.extend();
+
+		StopWatch timer = StopWatch.createStarted();
+
+		storage.getStorageHandler()
+			   .lookupColumnValues(this, imports)
+			   .map(value -> new FrontendValue(value, value))
+			   .forEach(feValue -> search.addItem(feValue, FilterSearch.extractKeywords(feValue)));
+
+		search.shrinkToFit();
+
+		final Path compiledFile = CompiledColumnSearch.getFile(config, this);
+
+		if (compiledFile != null) {
+			CompiledColumnSearch.compile(search, compiledFile, CompiledColumnSearch.checksum(storage.getStorageHandler().lookupColumnValues(storage, this)));
+		}
+
+		log.trace("DONE-COLUMN EXTENDING for {} with {} in {}", getId(), imports, timer);
+
 		return search;
 	}
 }
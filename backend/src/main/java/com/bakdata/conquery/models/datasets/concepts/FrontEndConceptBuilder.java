@@ -48,12 +48,11 @@ public class FrontEndConceptBuilder {
 
 	private final ConqueryConfig conqueryConfig;
 
-	public FrontendRoot createRoot(NamespaceStorage storage, Subject subject) {
-
-		final FrontendRoot root = new FrontendRoot();
-		final Map<Id<?>, FrontendNode> roots = root.getConcepts();
-
-		final List<? extends Concept<?>> allConcepts = new ArrayList<>(storage.getAllConcepts());
+	/**
+	 * The concepts that are displayed to subject, in the order they are stored.
+	 */
+	public List<Concept<?>> getPermittedConcepts(NamespaceStorage storage, Subject subject) {
+		final List<Concept<?>> allConcepts = new ArrayList<>(storage.getAllConcepts());
 		// Remove any hidden concepts
 		allConcepts.removeIf(Concept::isHidden);
 
@@ -62,22 +61,31 @@ public class FrontEndConceptBuilder {
 		}
 
 		// Submit all permissions to Shiro
-		final boolean[] isPermitted = subject.isPermitted(allConcepts, Ability.READ);
+		final List<Concept<?>> permitted = subject.filterPermitted(allConcepts, Ability.READ);
 
-		for (int i = 0; i < allConcepts.size(); i++) {
-			if (!isPermitted[i]) {
-				continue;
-			}
-
-			roots.put(allConcepts.get(i).getId(), createConceptRoot(allConcepts.get(i), storage.getStructure()));
-		}
-		if (roots.isEmpty()) {
+		if (permitted.isEmpty()) {
 			log.warn("No concepts could be collected for {} on dataset {}. The subject is possibly lacking the permission to use them.", subject.getId(), storage.getDataset()
 																																								 .getId());
 		}
 		else {
-			log.trace("Collected {} concepts for {} on dataset {}.", roots.size(), subject.getId(), storage.getDataset().getId());
+			log.trace("Collected {} concepts for {} on dataset {}.", permitted.size(), subject.getId(), storage.getDataset().getId());
 		}
+
+		return permitted;
+	}
+
+	/**
+	 * Build the root from concepts, which have already been checked for permissions.
+	 */
+	public FrontendRoot createRoot(NamespaceStorage storage, List<Concept<?>> concepts) {
+
+		final FrontendRoot root = new FrontendRoot();
+		final Map<Id<?>, FrontendNode> roots = root.getConcepts();
+
+		for (Concept<?> concept : concepts) {
+			roots.put(concept.getId(), createConceptRoot(concept, storage.getStructure()));
+		}
+
 		//add the structure tree
 		for (StructureNode sn : storage.getStructure()) {
 			final FrontendNode node = createStructureNode(sn, roots);
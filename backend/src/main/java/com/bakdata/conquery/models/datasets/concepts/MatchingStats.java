@@ -102,6 +102,25 @@ public class MatchingStats {
                 span = time.spanClosed(span);
             }
         }
+
+        /**
+         * Add pre-aggregated events, see {@link com.bakdata.conquery.models.events.CBlockMatchingStats}.
+         *
+         * @param entities relative to root.
+         */
+        public void addEvents(long events, int root, int[] entities, CDateRange eventsSpan) {
+            numberOfEvents += events;
+
+            for (int entity : entities) {
+                if (foundEntities.add(root + entity)) {
+                    numberOfEntities++;
+                }
+            }
+
+            if (eventsSpan != null) {
+                span = eventsSpan.spanClosed(span);
+            }
+        }
     }
 
 }
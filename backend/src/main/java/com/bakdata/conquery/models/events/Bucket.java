@@ -35,7 +35,6 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import io.dropwizard.validation.ValidationMethod;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -51,7 +50,6 @@ import lombok.extern.slf4j.Slf4j;
 @Getter
 @Setter
 @ToString(of = {"numberOfEvents", "stores"}, callSuper = true)
-@AllArgsConstructor
 @RequiredArgsConstructor(onConstructor_ = {@JsonCreator}, access = AccessLevel.PROTECTED)
 public class Bucket extends IdentifiableImpl<BucketId> implements NamespacedIdentifiable<BucketId> {
 
@@ -84,6 +82,16 @@ public class Bucket extends IdentifiableImpl<BucketId> implements NamespacedIden
 	@NsIdRef
 	private final Import imp;
 
+	/**
+	 * Calculated when the bucket is created, buckets persisted without them calculate them on first use.
+	 */
+	@Getter(AccessLevel.NONE)
+	private BucketStatistics statistics;
+
+	public Bucket(int bucket, int root, int numberOfEvents, ColumnStore[] stores, Set<Integer> entities, int[] start, int[] ends, Import imp) {
+		this(bucket, root, numberOfEvents, entities, start, ends, imp);
+		this.stores = stores;
+	}
 
 	@JsonIgnore
 	@ValidationMethod(message = "Number of events does not match to the number of stores")
@@ -97,6 +105,17 @@ public class Bucket extends IdentifiableImpl<BucketId> implements NamespacedIden
 		return imp.getTable();
 	}
 
+	public BucketStatistics getStatistics() {
+		BucketStatistics current = statistics;
+
+		if (current == null) {
+			current = BucketStatistics.calculate(this);
+			statistics = current;
+		}
+
+		return current;
+	}
+
 	@Override
 	public BucketId createId() {
 		return new BucketId(imp.getId(), bucket);
@@ -154,6 +154,8 @@ public class BucketManager {
 
 	public synchronized void addCalculatedCBlock(CBlock cBlock) {
 		registerCBlock(cBlock, connectorToCblocks);
+		// Queries executed before the CBlock was available may have missed entities.
+		worker.getQueryExecutor().invalidateReusableResults();
 	}
 
 	public void addBucket(Bucket bucket) {
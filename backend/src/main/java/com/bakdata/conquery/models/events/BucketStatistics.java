@@ -0,0 +1,171 @@
+package com.bakdata.conquery.models.events;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import com.bakdata.conquery.models.datasets.Column;
+import com.bakdata.conquery.models.events.stores.root.ColumnStore;
+import com.bakdata.conquery.models.events.stores.root.DateRangeStore;
+import com.bakdata.conquery.models.events.stores.root.DateStore;
+import com.bakdata.conquery.models.events.stores.root.IntegerStore;
+import com.bakdata.conquery.models.events.stores.root.MoneyStore;
+import com.bakdata.conquery.models.events.stores.root.StringStore;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntSets;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Minimum, maximum and number of values of each column of a single {@link Bucket}, by {@link Column#getPosition()}.
+ * <p>
+ * They are calculated when the {@link Bucket} is created and persisted with it, so filters can skip whole buckets whose values are outside their range.
+ * Minimum and maximum are tracked for {@link MajorTypeId#INTEGER}, {@link MajorTypeId#MONEY}, {@link MajorTypeId#DATE} and {@link MajorTypeId#DATE_RANGE} columns, other columns are unbounded.
+ * For {@link MajorTypeId#STRING} columns, the distinct ids of their values are tracked, so select filters can skip buckets without any of the selected values.
+ */
+@Getter
+public class BucketStatistics {
+
+	private final long[] min;
+
+	private final long[] max;
+
+	private final int[] values;
+
+	/**
+	 * Hashed, as they are probed by the ids of the selected values, if there are fewer of those.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final IntSet[] distinctStringIds;
+
+	private BucketStatistics(long[] min, long[] max, int[] values, IntSet[] distinctStringIds) {
+		this.min = min;
+		this.max = max;
+		this.values = values;
+		this.distinctStringIds = distinctStringIds;
+	}
+
+	/**
+	 * Distinct ids are persisted as plain arrays, null for columns other than strings.
+	 */
+	@JsonCreator
+	public static BucketStatistics create(long[] min, long[] max, int[] values, int[][] distinctStringIds) {
+		final IntSet[] sets = new IntSet[values.length];
+
+		if (distinctStringIds != null) {
+			for (int position = 0; position < sets.length; position++) {
+				sets[position] = distinctStringIds[position] == null ? null : IntSets.unmodifiable(new IntOpenHashSet(distinctStringIds[position]));
+			}
+		}
+
+		return new BucketStatistics(min, max, values, sets);
+	}
+
+	@JsonProperty("distinctStringIds")
+	public int[][] getDistinctStringIdArrays() {
+		return Arrays.stream(distinctStringIds)
+					 .map(ids -> ids == null ? null : ids.toIntArray())
+					 .toArray(int[][]::new);
+	}
+
+	public static BucketStatistics calculate(Bucket bucket) {
+		final ColumnStore[] stores = bucket.getStores();
+
+		final long[] min = new long[stores.length];
+		final long[] max = new long[stores.length];
+		final int[] values = new int[stores.length];
+		final IntSet[] distinctStringIds = new IntSet[stores.length];
+
+		for (Column column : bucket.getTable().getColumns()) {
+			final int position = column.getPosition();
+			final ColumnStore store = stores[position];
+
+			long columnMin = Long.MAX_VALUE;
+			long columnMax = Long.MIN_VALUE;
+			int columnValues = 0;
+			final IntOpenHashSet columnStringIds = column.getType() == MajorTypeId.STRING ? new IntOpenHashSet() : null;
+
+			for (int event = 0; event < bucket.getNumberOfEvents(); event++) {
+				if (!store.has(event)) {
+					continue;
+				}
+
+				columnValues++;
+
+				switch (column.getType()) {
+					case INTEGER -> {
+						final long value = ((IntegerStore) store).getInteger(event);
+						columnMin = Math.min(columnMin, value);
+						columnMax = Math.max(columnMax, value);
+					}
+					case MONEY -> {
+						final long value = ((MoneyStore) store).getMoney(event);
+						columnMin = Math.min(columnMin, value);
+						columnMax = Math.max(columnMax, value);
+					}
+					case DATE -> {
+						final int value = ((DateStore) store).getDate(event);
+						columnMin = Math.min(columnMin, value);
+						columnMax = Math.max(columnMax, value);
+					}
+					case DATE_RANGE -> {
+						final CDateRange value = ((DateRangeStore) store).getDateRange(event);
+						columnMin = Math.min(columnMin, value.getMinValue());
+						columnMax = Math.max(columnMax, value.getMaxValue());
+					}
+					case STRING -> {
+						columnStringIds.add(((StringStore) store).getString(event));
+						columnMin = Long.MIN_VALUE;
+						columnMax = Long.MAX_VALUE;
+					}
+					default -> {
+						columnMin = Long.MIN_VALUE;
+						columnMax = Long.MAX_VALUE;
+					}
+				}
+			}
+
+			min[position] = columnMin;
+			max[position] = columnMax;
+			values[position] = columnValues;
+
+			if (columnStringIds != null) {
+				columnStringIds.trim();
+				distinctStringIds[position] = IntSets.unmodifiable(columnStringIds);
+			}
+		}
+
+		return new BucketStatistics(min, max, values, distinctStringIds);
+	}
+
+	/**
+	 * @return The distinct ids of the values of the string column in the {@link Bucket}, or null if they are unknown.
+	 */
+	@Nullable
+	public IntSet getDistinctStringIds(Column column) {
+		return distinctStringIds[column.getPosition()];
+	}
+
+	/**
+	 * @param from inclusive lower bound, or null if open.
+	 * @param to   inclusive upper bound, or null if open.
+	 * @return false, if no value of the column in the {@link Bucket} is within the bounds.
+	 */
+	public boolean mayContain(Column column, @Nullable Long from, @Nullable Long to) {
+		final int position = column.getPosition();
+
+		if (values[position] == 0) {
+			return false;
+		}
+
+		if (from != null && max[position] < from) {
+			return false;
+		}
+
+		return to == null || min[position] <= to;
+	}
+}
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import javax.annotation.Nullable;
 import javax.validation.constraints.NotNull;
 
 import com.bakdata.conquery.io.jackson.serializer.CBlockDeserializer;
@@ -61,6 +62,7 @@ public class CBlock extends IdentifiableImpl<CBlockId> implements NamespacedIden
 								  + Integer.BYTES // maxDate
 						  )
 						  + entries * depthEstimate * Integer.BYTES // mostSpecificChildren (rough estimate, not resident on ManagerNode)
+						  + entities * depthEstimate * Integer.BYTES // matchingStats: entities per element along their paths (rough estimate)
 		);
 	}
 
@@ -96,14 +98,24 @@ public class CBlock extends IdentifiableImpl<CBlockId> implements NamespacedIden
 	 */
 	private final int[][] mostSpecificChildren;
 
+	/**
+	 * Matching statistics of this CBlock, collected by {@link com.bakdata.conquery.models.messages.namespaces.specific.UpdateMatchingStatsMessage}.
+	 *
+	 * @implNote Is null for CBlocks persisted before they were calculated alongside.
+	 */
+	@Nullable
+	private CBlockMatchingStats matchingStats;
+
 	public static CBlock createCBlock(ConceptTreeConnector connector, Bucket bucket, int bucketSize) {
 		final int root = bucket.getBucket() * bucketSize;
 
 		final int[][] mostSpecificChildren = calculateSpecificChildrenPaths(bucket, connector);
 		final long[] includedConcepts = calculateConceptElementPathBloomFilter(bucketSize, bucket, mostSpecificChildren);
 		final CDateRange[] entitySpans = calculateEntityDateIndices(bucket, bucketSize);
+		final CBlock cBlock = new CBlock(bucket, connector, root, includedConcepts, entitySpans, mostSpecificChildren);
+		cBlock.setMatchingStats(CBlockMatchingStats.calculate(bucket, root, mostSpecificChildren));
 
-		return new CBlock(bucket, connector, root, includedConcepts, entitySpans, mostSpecificChildren);
+		return cBlock;
 	}
 
 
@@ -0,0 +1,128 @@
+package com.bakdata.conquery.models.events;
+
+import java.util.Map;
+
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import com.bakdata.conquery.models.datasets.Column;
+import com.bakdata.conquery.models.datasets.concepts.ConceptElement;
+import com.bakdata.conquery.models.datasets.concepts.Connector;
+import com.bakdata.conquery.models.datasets.concepts.MatchingStats;
+import com.bakdata.conquery.models.datasets.concepts.tree.TreeConcept;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Matching statistics of a single {@link CBlock}, by {@link com.bakdata.conquery.models.datasets.concepts.tree.ConceptTreeNode#getLocalId()} of the elements matched in it.
+ * <p>
+ * They are calculated alongside the {@link CBlock} and persisted with it, so the matching stats of a worker can be collected by merging these, instead of walking all events again.
+ * The entities are kept per element, as the same entity can be contained in multiple {@link CBlock}s of a concept (one per table).
+ */
+@Getter
+@RequiredArgsConstructor(onConstructor_ = @JsonCreator)
+public class CBlockMatchingStats {
+
+	private final int[] localIds;
+
+	private final long[] events;
+
+	/**
+	 * The entities per element, relative to {@link CBlock#getRoot()}. These are small, so they are written compactly as variable length ints.
+	 */
+	private final int[][] entities;
+
+	private final CDateRange[] spans;
+
+	/**
+	 * Count matching events, entities and the span of their dates per element, using the paths calculated for the {@link CBlock}.
+	 */
+	public static CBlockMatchingStats calculate(Bucket bucket, int root, int[][] mostSpecificChildren) {
+		final Int2ObjectMap<Accumulator> accumulators = new Int2ObjectOpenHashMap<>();
+
+		for (int entity : bucket.entities()) {
+			final int end = bucket.getEntityEnd(entity);
+
+			for (int event = bucket.getEntityStart(entity); event < end; event++) {
+				final int[] path = mostSpecificChildren[event];
+
+				if (path == null || Connector.isNotContained(path)) {
+					continue;
+				}
+
+				final CDateRange eventSpan = calculateEventSpan(bucket, event);
+
+				// The path contains all elements from the root to the most specific element.
+				for (int localId : path) {
+					accumulators.computeIfAbsent(localId, (ignored) -> new Accumulator()).add(entity - root, eventSpan);
+				}
+			}
+		}
+
+		final int[] localIds = accumulators.keySet().toIntArray();
+		final long[] events = new long[localIds.length];
+		final int[][] entities = new int[localIds.length][];
+		final CDateRange[] spans = new CDateRange[localIds.length];
+
+		for (int index = 0; index < localIds.length; index++) {
+			final Accumulator accumulator = accumulators.get(localIds[index]);
+
+			events[index] = accumulator.events;
+			entities[index] = accumulator.entities.toIntArray();
+			spans[index] = accumulator.span;
+		}
+
+		return new CBlockMatchingStats(localIds, events, entities, spans);
+	}
+
+	private static CDateRange calculateEventSpan(Bucket bucket, int event) {
+		CDateRange span = null;
+
+		for (Column column : bucket.getTable().getColumns()) {
+			if (!column.getType().isDateCompatible()) {
+				continue;
+			}
+
+			if (!bucket.has(event, column)) {
+				continue;
+			}
+
+			span = bucket.getAsDateRange(event, column).spanClosed(span);
+		}
+
+		return span;
+	}
+
+	/**
+	 * Add the statistics into results, which are collected by {@link ConceptElement} of concept.
+	 */
+	public void mergeInto(TreeConcept concept, int root, Map<ConceptElement<?>, MatchingStats.Entry> results) {
+		for (int index = 0; index < localIds.length; index++) {
+			final ConceptElement<?> element = (ConceptElement<?>) concept.getElementByLocalId(localIds[index]);
+
+			results.computeIfAbsent(element, (ignored) -> new MatchingStats.Entry())
+				   .addEvents(events[index], root, entities[index], spans[index]);
+		}
+	}
+
+	private static class Accumulator {
+		private long events;
+		private final IntArrayList entities = new IntArrayList();
+		private CDateRange span;
+
+		private void add(int entity, CDateRange eventSpan) {
+			events++;
+
+			// Events of an entity are consecutive, so comparing with the last entity is enough to keep them distinct.
+			if (entities.isEmpty() || entities.getInt(entities.size() - 1) != entity) {
+				entities.add(entity);
+			}
+
+			if (eventSpan != null) {
+				span = eventSpan.spanClosed(span);
+			}
+		}
+	}
+}
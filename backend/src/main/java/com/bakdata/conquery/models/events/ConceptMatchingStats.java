@@ -0,0 +1,142 @@
+package com.bakdata.conquery.models.events;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.bakdata.conquery.models.datasets.Table;
+import com.bakdata.conquery.models.datasets.concepts.Concept;
+import com.bakdata.conquery.models.datasets.concepts.ConceptElement;
+import com.bakdata.conquery.models.datasets.concepts.Connector;
+import com.bakdata.conquery.models.datasets.concepts.MatchingStats;
+import com.bakdata.conquery.models.datasets.concepts.tree.ConceptTreeNode;
+import com.bakdata.conquery.models.datasets.concepts.tree.TreeConcept;
+import com.bakdata.conquery.models.identifiable.ids.specific.CBlockId;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Matching statistics of a single {@link Concept} on a worker, merged from the {@link CBlockMatchingStats} of its {@link CBlock}s.
+ * <p>
+ * An update only merges the {@link CBlock}s that were not merged before, so refreshing the stats after an import only visits the {@link CBlock}s of that import.
+ * Entities cannot be subtracted, so if a merged {@link CBlock} was removed or replaced since, or the concept was updated, the stats are merged from scratch.
+ */
+@Slf4j
+public class ConceptMatchingStats {
+
+	/**
+	 * The {@link CBlock#getMatchingStats()} that were merged, by their {@link CBlock}. Null for {@link CBlock}s whose events were walked.
+	 */
+	private final Map<CBlockId, CBlockMatchingStats> merged = new HashMap<>();
+
+	private final Map<ConceptElement<?>, MatchingStats.Entry> entries = new HashMap<>();
+
+	/**
+	 * The instance of the concept that {@link #entries} refer to.
+	 */
+	private Concept<?> concept;
+
+	/**
+	 * Merge the {@link CBlock}s that are new since the last update.
+	 *
+	 * @param cBlocks all current {@link CBlock}s of concept.
+	 * @return a copy of the merged stats, that is not changed by later updates.
+	 */
+	public synchronized Map<ConceptElement<?>, MatchingStats.Entry> update(Concept<?> concept, Collection<CBlock> cBlocks) {
+		if (isOutdated(concept, cBlocks)) {
+			log.trace("Merging all CBlocks of `{}` again", concept.getId());
+
+			merged.clear();
+			entries.clear();
+			this.concept = concept;
+		}
+
+		for (CBlock cBlock : cBlocks) {
+			if (merged.containsKey(cBlock.getId())) {
+				continue;
+			}
+
+			try {
+				if (cBlock.getMatchingStats() != null) {
+					cBlock.getMatchingStats().mergeInto(cBlock.getConnector().getConcept(), cBlock.getRoot(), entries);
+				}
+				else {
+					walkEvents(concept, cBlock, entries);
+				}
+			}
+			catch (Exception e) {
+				log.error("Failed to collect the matching stats for {}", cBlock, e);
+			}
+
+			merged.put(cBlock.getId(), cBlock.getMatchingStats());
+		}
+
+		final Map<ConceptElement<?>, MatchingStats.Entry> copy = new HashMap<>(entries.size());
+
+		entries.forEach((element, entry) -> copy.put(element, new MatchingStats.Entry(entry.getNumberOfEvents(), entry.getNumberOfEntities(), entry.getSpan())));
+
+		return copy;
+	}
+
+	/**
+	 * @return true if a merged {@link CBlock} is no longer present or was replaced, or if the concept was replaced.
+	 */
+	private boolean isOutdated(Concept<?> concept, Collection<CBlock> cBlocks) {
+		if (this.concept != concept) {
+			return true;
+		}
+
+		final Map<CBlockId, CBlock> current = new HashMap<>(cBlocks.size());
+
+		for (CBlock cBlock : cBlocks) {
+			current.put(cBlock.getId(), cBlock);
+		}
+
+		for (Map.Entry<CBlockId, CBlockMatchingStats> entry : merged.entrySet()) {
+			final CBlock cBlock = current.get(entry.getKey());
+
+			if (cBlock == null || cBlock.getMatchingStats() != entry.getValue()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Fallback for {@link CBlock}s persisted without {@link CBlock#getMatchingStats()}: walk all their events.
+	 */
+	private static void walkEvents(Concept<?> concept, CBlock cBlock, Map<ConceptElement<?>, MatchingStats.Entry> results) {
+		final Bucket bucket = cBlock.getBucket();
+		final Table table = bucket.getTable();
+
+		for (int entity : bucket.entities()) {
+
+			final int entityEnd = bucket.getEntityEnd(entity);
+
+			for (int event = bucket.getEntityStart(entity); event < entityEnd; event++) {
+
+				final int[] localIds = cBlock.getPathToMostSpecificChild(event);
+
+
+				if (!(concept instanceof TreeConcept) || localIds == null) {
+
+					results.computeIfAbsent(concept, (ignored) -> new MatchingStats.Entry()).addEvent(table, bucket, event, entity);
+
+					continue;
+				}
+
+				if (Connector.isNotContained(localIds)) {
+					continue;
+				}
+
+				ConceptTreeNode<?> element = ((TreeConcept) concept).getElementByLocalIdPath(localIds);
+
+				while (element != null) {
+					results.computeIfAbsent(((ConceptElement<?>) element), (ignored) -> new MatchingStats.Entry())
+						   .addEvent(table, bucket, event, entity);
+					element = element.getParent();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.bakdata.conquery.models.execution;
+
+/**
+ * Priority classes of executions on the workers, see {@link com.bakdata.conquery.models.query.QueryScheduler}. Classes are ordered by decreasing precedence.
+ */
+public enum ExecutionPriority {
+	/**
+	 * Executions issued by the system on behalf of a user, like entity previews or statistics. They are usually small and someone is waiting for them.
+	 */
+	SYSTEM,
+	/**
+	 * Queries submitted by users.
+	 */
+	INTERACTIVE,
+	/**
+	 * Forms, which usually span many entities and are expected to take longer.
+	 */
+	BATCH;
+}
@@ -1,7 +1,11 @@
 package com.bakdata.conquery.models.execution;
 
+import java.util.Set;
+
+import com.bakdata.conquery.models.identifiable.ids.specific.WorkerId;
 import com.bakdata.conquery.models.messages.namespaces.WorkerMessage;
 import com.bakdata.conquery.models.query.results.ShardResult;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
  * This interface must be implemented if a {@link ManagedExecution} requires direct computation using the query engine on the shard nodes.
@@ -15,6 +19,12 @@ public interface InternalExecution<R extends ShardResult> {
 	 */
 	WorkerMessage createExecutionMessage();
 
+	/**
+	 * The workers the execution message is sent to, and results are expected from. Only valid after {@link ManagedExecution#start()}.
+	 */
+	@JsonIgnore
+	Set<WorkerId> getInvolvedWorkers();
+
 	/**
 	 * The callback for the results the shard nodes return.
 	 * Is called once per shard node
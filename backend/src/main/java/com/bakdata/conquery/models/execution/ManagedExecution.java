@@ -252,6 +252,14 @@ public abstract class ManagedExecution extends IdentifiableImpl<ManagedExecution
 		);
 	}
 
+	/**
+	 * The priority class of the execution on the workers.
+	 */
+	@JsonIgnore
+	public ExecutionPriority getPriority() {
+		return isSystem() ? ExecutionPriority.SYSTEM : ExecutionPriority.INTERACTIVE;
+	}
+
 	@JsonIgnore
 	public Duration getExecutionTime() {
 		return (startTime != null && finishTime != null) ? Duration.between(startTime, finishTime) : null;
@@ -443,6 +451,11 @@ public abstract class ManagedExecution extends IdentifiableImpl<ManagedExecution
 		}
 
 		setState(ExecutionState.NEW);
+
+		// Release waiters of a cancelled execution
+		if (execution != null) {
+			execution.countDown();
+		}
 	}
 
 	public abstract void cancel();
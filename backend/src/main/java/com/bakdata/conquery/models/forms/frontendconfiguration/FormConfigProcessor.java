@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
@@ -72,27 +73,21 @@ public class FormConfigProcessor {
 			// If no specific form type is provided, show all types the subject is permitted to create.
 			// However if a subject queries for specific form types, we will show all matching regardless whether
 			// the form config can be used by the subject again.
-			final Set<String> allowedFormTypes = new HashSet<>();
-
-			for (FormType formType : FormScanner.FRONTEND_FORM_CONFIGS.values()) {
-				if (!subject.isPermitted(formType, Ability.CREATE)) {
-					continue;
-				}
-
-				allowedFormTypes.add(formType.getName());
-			}
-			requestedFormType = allowedFormTypes;
+			requestedFormType = subject.filterPermitted(FormScanner.FRONTEND_FORM_CONFIGS.values(), Ability.CREATE)
+									   .stream()
+									   .map(FormType::getName)
+									   .collect(Collectors.toSet());
 		}
 
 		final Set<String> formTypesFinal = requestedFormType;
 
-		final Stream<FormConfig> stream = storage.getAllFormConfigs().stream()
-												 .filter(c -> dataset.equals(c.getDataset()))
-												 .filter(c -> formTypesFinal.contains(c.getFormType()))
-												 .filter(c -> subject.isPermitted(c, Ability.READ));
+		final List<FormConfig> candidates = storage.getAllFormConfigs().stream()
+												   .filter(c -> dataset.equals(c.getDataset()))
+												   .filter(c -> formTypesFinal.contains(c.getFormType()))
+												   .toList();
 
 
-		return stream.map(c -> c.overview(subject));
+		return subject.filterPermitted(candidates, Ability.READ).stream().map(c -> c.overview(subject));
 	}
 
 	/**
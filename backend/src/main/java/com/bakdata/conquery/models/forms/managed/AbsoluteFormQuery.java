@@ -3,6 +3,7 @@ package com.bakdata.conquery.models.forms.managed;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -113,4 +114,9 @@ public class AbsoluteFormQuery extends Query {
 	public RequiredEntities collectRequiredEntities(QueryExecutionContext context) {
 		return query.collectRequiredEntities(context);
 	}
+
+	@Override
+	public Optional<RequiredEntities> collectKnownEntities() {
+		return query.collectKnownEntities();
+	}
 }
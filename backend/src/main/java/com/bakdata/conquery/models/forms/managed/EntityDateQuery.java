@@ -3,6 +3,7 @@ package com.bakdata.conquery.models.forms.managed;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -114,4 +115,9 @@ public class EntityDateQuery extends Query {
 	public RequiredEntities collectRequiredEntities(QueryExecutionContext context) {
 		return query.collectRequiredEntities(context);
 	}
+
+	@Override
+	public Optional<RequiredEntities> collectKnownEntities() {
+		return query.collectKnownEntities();
+	}
 }
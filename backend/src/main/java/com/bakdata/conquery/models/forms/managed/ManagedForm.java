@@ -8,6 +8,7 @@ import com.bakdata.conquery.io.cps.CPSType;
 import com.bakdata.conquery.io.storage.MetaStorage;
 import com.bakdata.conquery.models.auth.entities.User;
 import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.execution.ExecutionPriority;
 import com.bakdata.conquery.models.execution.ManagedExecution;
 import com.bakdata.conquery.models.forms.configs.FormConfig;
 import com.bakdata.conquery.models.query.PrintSettings;
@@ -88,6 +89,12 @@ public abstract class ManagedForm<F extends Form> extends ManagedExecution {
 
 
 
+	@Override
+	@JsonIgnore
+	public ExecutionPriority getPriority() {
+		return isSystem() ? ExecutionPriority.SYSTEM : ExecutionPriority.BATCH;
+	}
+
 	@Override
 	protected String makeDefaultLabel(PrintSettings cfg) {
 		return getSubmittedForm().getLocalizedTypeLabel();
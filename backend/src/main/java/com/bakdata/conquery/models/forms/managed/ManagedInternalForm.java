@@ -1,7 +1,10 @@
 package com.bakdata.conquery.models.forms.managed;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -19,6 +22,7 @@ import com.bakdata.conquery.models.execution.InternalExecution;
 import com.bakdata.conquery.models.execution.ManagedExecution;
 import com.bakdata.conquery.models.identifiable.IdMap;
 import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.identifiable.ids.specific.WorkerId;
 import com.bakdata.conquery.models.messages.namespaces.WorkerMessage;
 import com.bakdata.conquery.models.messages.namespaces.specific.CancelQuery;
 import com.bakdata.conquery.models.messages.namespaces.specific.ExecuteForm;
@@ -100,9 +104,23 @@ public class ManagedInternalForm<F extends Form & InternalForm> extends ManagedF
 			subQueries.values().stream().forEach(flatSubQueries::add);
 		}
 		flatSubQueries.values().forEach(ManagedQuery::start);
+
+		// All sub queries are sent in a single message, so every involved worker answers for each of them.
+		final Set<WorkerId> involvedWorkers = getInvolvedWorkers();
+		flatSubQueries.values().forEach(mq -> mq.setInvolvedWorkers(Collections.synchronizedSet(new HashSet<>(involvedWorkers))));
+
 		super.start();
 	}
 
+	@Override
+	@JsonIgnore
+	public Set<WorkerId> getInvolvedWorkers() {
+		return flatSubQueries.values().stream()
+							 .map(ManagedQuery::getInvolvedWorkers)
+							 .flatMap(Set::stream)
+							 .collect(Collectors.toSet());
+	}
+
 	@Override
 	public List<ColumnDescriptor> generateColumnDescriptions(boolean isInitialized, Namespace namespace, ConqueryConfig config) {
 		return subQueries.values().iterator().next().generateColumnDescriptions(isInitialized, namespace, config);
@@ -163,7 +181,9 @@ public class ManagedInternalForm<F extends Form & InternalForm> extends ManagedF
 	@Override
 	public WorkerMessage createExecutionMessage() {
 		return new ExecuteForm(getId(), flatSubQueries.entrySet().stream()
-													  .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getQuery())));
+													  .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getQuery())),
+							   getPriority(), getOwner() == null ? null : getOwner().getId()
+		);
 	}
 
 	/**
@@ -1,17 +1,31 @@
 package com.bakdata.conquery.models.identifiable.mapping;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.bakdata.conquery.io.storage.NamespaceStorage;
 import com.bakdata.conquery.models.config.ColumnConfig;
+import com.bakdata.conquery.models.dictionary.EncodedDictionary;
 import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.univocity.parsers.common.record.Record;
 import com.univocity.parsers.csv.CsvParser;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -22,30 +36,50 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Mapping from uploaded {@link ExternalId} for resolving in {@link com.bakdata.conquery.apiv1.query.concept.specific.external.CQExternal}, and also for printing with {@link EntityPrintId}.
- *
+ * <p>
+ * To keep the mapping small for large populations, every csv entity id is stored once in a pool, and all other structures refer to it by its position in that pool.
+ * External ids are held in an {@link ExternalIdTable} per {@link ExternalId#getType()}, keyed by their bytes, so neither {@link ExternalId} nor {@link String} objects are kept for them.
+ * <p>
+ * The mapping is (de-)serialized by streaming over these structures, see {@link Serializer} for the format.
  */
-@Getter
 @EqualsAndHashCode
 @Slf4j
 @NoArgsConstructor
+@JsonSerialize(using = EntityIdMap.Serializer.class)
+@JsonDeserialize(using = EntityIdMap.Deserializer.class)
 public class EntityIdMap {
 
+	@Getter
 	@Setter
-	@JsonIgnore
 	@EqualsAndHashCode.Exclude
 	private NamespaceStorage storage;
 
 	/**
-	 * The map from csv entity ids to external entity ids.
+	 * Pool of csv entity ids. The position of an id in the pool is used to reference it.
+	 */
+	private final ObjectArrayList<String> internalIds = new ObjectArrayList<>();
+
+	/**
+	 * Position of csv entity ids in {@link #internalIds}.
 	 */
-	@JsonIgnore
-	private final Map<String, EntityPrintId> internalToPrint = new HashMap<>();
+	@EqualsAndHashCode.Exclude
+	private final Object2IntOpenHashMap<String> internalIdPositions = createPositionMap();
 
 	/**
-	 * The map from external entity ids to csv entity ids.
+	 * The external entity ids (for printing) by position of their csv entity id, null if there is none.
 	 */
-	@JsonIgnore
-	private final Map<ExternalId, String> external2Internal = new HashMap<>();
+	private final ObjectArrayList<EntityPrintId> printIds = new ObjectArrayList<>();
+
+	/**
+	 * The maps from external entity ids to the position of their csv entity id, by type of the external id.
+	 */
+	private final Map<String, ExternalIdTable> external2Internal = new HashMap<>();
+
+	private static Object2IntOpenHashMap<String> createPositionMap() {
+		final Object2IntOpenHashMap<String> map = new Object2IntOpenHashMap<>();
+		map.defaultReturnValue(-1);
+		return map;
+	}
 
 	/**
 	 * Read incoming CSV-file extracting Id-Mappings for {@link ExternalId} and {@link EntityPrintId}.
@@ -87,78 +121,97 @@ public class EntityIdMap {
 			mapping.addOutputMapping(id, new EntityPrintId(idParts.toArray(new String[0])));
 		}
 
-		return mapping;
-	}
+		mapping.trim();
 
-
-	/**
-	 * Helper class for serialization.
-	 */
-	@Data
-	@Getter
-	@RequiredArgsConstructor(onConstructor_ = @JsonCreator)
-	public static class Container {
-		private final List<ExternalId> keys;
-		private final List<String> values;
-		private final Map<String, EntityPrintId> internalToPrint;
+		return mapping;
 	}
 
 	/**
-	 * Constructor to deserialize from {@link Container}.
+	 * Map an internal id to an external.
 	 */
-	@JsonCreator
-	public EntityIdMap(Container container) {
+	public EntityPrintId toExternal(String internal) {
+		final int position = internalIdPositions.getInt(internal);
 
-		for (int index = 0; index < container.keys.size(); index++) {
-			getExternal2Internal().put(container.keys.get(index), container.values.get(index));
+		if (position == -1) {
+			return null;
 		}
 
-		getInternalToPrint().putAll(container.internalToPrint);
+		return printIds.get(position);
 	}
 
 	/**
-	 * JsonValue to Serialize as {@link Container}, as Jackson cannot handle complex classes as Map-keys (ie {@link ExternalId}.
+	 * Materializes all csv entity ids that have an external entity id.
+	 *
+	 * @implNote This creates a copy of the mapping, only use it for display.
 	 */
-	@JsonValue
-	private Container getContainer() {
-		final List<ExternalId> keys = new ArrayList<>(external2Internal.size());
-		final List<String> values = new ArrayList<>(external2Internal.size());
+	public Map<String, EntityPrintId> getInternalToPrint() {
+		final Map<String, EntityPrintId> internalToPrint = new LinkedHashMap<>();
 
-		external2Internal.forEach((key, value) -> {
-			keys.add(key);
-			values.add(value);
-		});
+		for (int position = 0; position < internalIds.size(); position++) {
+			if (printIds.get(position) != null) {
+				internalToPrint.put(internalIds.get(position), printIds.get(position));
+			}
+		}
 
-		return new Container(keys, values, internalToPrint);
+		return internalToPrint;
 	}
 
 	/**
-	 * Map an internal id to an external.
+	 * Resolve external ID to Entity Id.
+	 *
+	 * Return -1 when not resolved.
 	 */
-	public EntityPrintId toExternal(String internal) {
-		return internalToPrint.get(internal);
+	public int resolve(ExternalId key) {
+		return resolve(key, getStorage().getPrimaryDictionary(), external2Internal.get(key.getType()));
 	}
 
 	/**
-	 * Resolve external ID to Entity Id.
+	 * Resolve many external IDs at once, see {@link #resolve(ExternalId)}.
+	 * <p>
+	 * The primary dictionary is only fetched once per batch, and the table of the type is only looked up again when the type changes between consecutive keys.
+	 * Batches read from a single id-column therefore only pay for the actual lookups.
 	 *
-	 * Return -1 when not resolved.
+	 * @return the entity ids in order of keys, -1 where a key could not be resolved or is null.
 	 */
-	public int resolve(ExternalId key) {
-		String value = external2Internal.get(key);
+	public int[] resolve(ExternalId[] keys) {
+		final EncodedDictionary primary = getStorage().getPrimaryDictionary();
+		final int[] resolved = new int[keys.length];
+
+		String currentType = null;
+		ExternalIdTable ofType = null;
 
-		if (value != null) {
-			return getStorage().getPrimaryDictionary().getId(value);
+		for (int index = 0; index < keys.length; index++) {
+			final ExternalId key = keys[index];
+
+			if (key == null) {
+				resolved[index] = -1;
+				continue;
+			}
+
+			if (!key.getType().equals(currentType)) {
+				currentType = key.getType();
+				ofType = external2Internal.get(currentType);
+			}
+
+			resolved[index] = resolve(key, primary, ofType);
 		}
 
-		// Maybe we can find them directly in the dictionary?
-		final int id = getStorage().getPrimaryDictionary().getId(key.getId());
+		return resolved;
+	}
+
+	private int resolve(ExternalId key, EncodedDictionary primary, ExternalIdTable ofType) {
+		final int position = ofType == null ? -1 : ofType.get(key.getId());
 
-		return id;
+		if (position != -1) {
+			return primary.getId(internalIds.get(position));
+		}
+
+		// Maybe we can find them directly in the dictionary?
+		return primary.getId(key.getId());
 	}
 
 	public void addOutputMapping(String csvEntityId, EntityPrintId externalEntityId) {
-		final EntityPrintId prior = internalToPrint.put(csvEntityId, externalEntityId);
+		final EntityPrintId prior = printIds.set(getOrCreatePosition(csvEntityId), externalEntityId);
 
 		if (prior != null && prior.equals(externalEntityId)) {
 			log.warn("Duplicate mapping  for {} to {} and {}", csvEntityId, externalEntityId, prior);
@@ -167,14 +220,42 @@ public class EntityIdMap {
 
 
 	public void addInputMapping(String csvEntityId, ExternalId externalEntityId) {
+		final int position = getOrCreatePosition(csvEntityId);
 
-		final String prior = external2Internal.put(externalEntityId, csvEntityId);
+		final int prior = external2Internal.computeIfAbsent(externalEntityId.getType(), (ignored) -> new ExternalIdTable())
+										   .put(externalEntityId.getId(), position);
 
-		if (prior != null && prior.equals(csvEntityId)) {
-			log.warn("Duplicate mapping  for {} to {} and {}", externalEntityId, csvEntityId, prior);
+		if (prior == position) {
+			log.warn("Duplicate mapping  for {} to {} and {}", externalEntityId, csvEntityId, internalIds.get(prior));
 		}
 	}
 
+	private int getOrCreatePosition(String csvEntityId) {
+		final int existing = internalIdPositions.getInt(csvEntityId);
+
+		if (existing != -1) {
+			return existing;
+		}
+
+		final int position = internalIds.size();
+
+		internalIds.add(csvEntityId);
+		printIds.add(null);
+		internalIdPositions.put(csvEntityId, position);
+
+		return position;
+	}
+
+	/**
+	 * Release excess capacity of the underlying structures, after the mapping was built.
+	 */
+	public void trim() {
+		internalIds.trim();
+		printIds.trim();
+		internalIdPositions.trim();
+		external2Internal.values().forEach(ExternalIdTable::trim);
+	}
+
 	@Data
 	@RequiredArgsConstructor(onConstructor_ = @JsonCreator)
 	public static class ExternalId {
@@ -182,4 +263,212 @@ public class EntityIdMap {
 		private final String id;
 	}
 
+	/**
+	 * Writes the mapping without materializing intermediate collections:
+	 * <pre>
+	 * {
+	 *   "internalIds": ["csvId", ...],
+	 *   "printIds": [["part", ...] | null, ...],  // aligned with internalIds
+	 *   "externalIds": {"type": {"ids": binary, "lengths": [length, ...], "positions": [positionOfCsvId, ...]}, ...}
+	 * }
+	 * </pre>
+	 * The external ids of a type are written as the pool of their UTF-8 bytes, delimited by their lengths, see {@link ExternalIdTable}.
+	 */
+	public static class Serializer extends JsonSerializer<EntityIdMap> {
+		@Override
+		public void serialize(EntityIdMap value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+			gen.writeStartObject();
+
+			gen.writeArrayFieldStart(Fields.INTERNAL_IDS);
+			for (String internalId : value.internalIds) {
+				gen.writeString(internalId);
+			}
+			gen.writeEndArray();
+
+			gen.writeArrayFieldStart(Fields.PRINT_IDS);
+			for (EntityPrintId printId : value.printIds) {
+				if (printId == null) {
+					gen.writeNull();
+					continue;
+				}
+
+				gen.writeStartArray();
+				for (String part : printId.getExternalId()) {
+					gen.writeString(part);
+				}
+				gen.writeEndArray();
+			}
+			gen.writeEndArray();
+
+			gen.writeObjectFieldStart(Fields.EXTERNAL_IDS);
+			for (Map.Entry<String, ExternalIdTable> ofType : value.external2Internal.entrySet()) {
+				final ExternalIdTable table = ofType.getValue();
+
+				gen.writeObjectFieldStart(ofType.getKey());
+
+				gen.writeFieldName(Fields.IDS);
+				gen.writeBinary(table.getPool(), 0, table.getPoolSize());
+
+				gen.writeArrayFieldStart(Fields.LENGTHS);
+				for (int entry = 0; entry < table.size(); entry++) {
+					gen.writeNumber(table.getLength(entry));
+				}
+				gen.writeEndArray();
+
+				gen.writeArrayFieldStart(Fields.POSITIONS);
+				for (int entry = 0; entry < table.size(); entry++) {
+					gen.writeNumber(table.getPosition(entry));
+				}
+				gen.writeEndArray();
+
+				gen.writeEndObject();
+			}
+			gen.writeEndObject();
+
+			gen.writeEndObject();
+		}
+	}
+
+	/**
+	 * Reads the format written by {@link Serializer}, the former format of external ids as pairs of id and position, and the format of lists of keys and values and a map for printing before that.
+	 */
+	public static class Deserializer extends JsonDeserializer<EntityIdMap> {
+
+		@Override
+		public EntityIdMap deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+			final EntityIdMap mapping = new EntityIdMap();
+
+			// Former format
+			List<ExternalId> keys = null;
+			List<String> values = null;
+			Map<String, EntityPrintId> internalToPrint = null;
+
+			if (p.currentToken() != JsonToken.START_OBJECT) {
+				return (EntityIdMap) ctxt.handleUnexpectedToken(EntityIdMap.class, p);
+			}
+
+			while (p.nextToken() == JsonToken.FIELD_NAME) {
+				final String field = p.getCurrentName();
+				p.nextToken();
+
+				switch (field) {
+					case Fields.INTERNAL_IDS -> {
+						while (p.nextToken() != JsonToken.END_ARRAY) {
+							mapping.getOrCreatePosition(p.getText());
+						}
+					}
+					case Fields.PRINT_IDS -> {
+						int position = 0;
+
+						while (p.nextToken() != JsonToken.END_ARRAY) {
+							if (p.currentToken() != JsonToken.VALUE_NULL) {
+								mapping.printIds.set(position, EntityPrintId.from(readParts(p)));
+							}
+							position++;
+						}
+					}
+					case Fields.EXTERNAL_IDS -> {
+						while (p.nextToken() == JsonToken.FIELD_NAME) {
+							final String type = p.getCurrentName();
+
+							if (p.nextToken() == JsonToken.START_ARRAY) {
+								final ExternalIdTable ofType = mapping.external2Internal.computeIfAbsent(type, (ignored) -> new ExternalIdTable());
+
+								while (p.nextToken() != JsonToken.END_ARRAY) {
+									final String externalId = p.getText();
+									p.nextToken();
+									ofType.put(externalId, p.getIntValue());
+								}
+								continue;
+							}
+
+							mapping.external2Internal.put(type, readTable(p, ctxt));
+						}
+					}
+					case Fields.LEGACY_KEYS -> keys = ctxt.readValue(p, ctxt.getTypeFactory().constructType(new TypeReference<List<ExternalId>>() {
+					}));
+					case Fields.LEGACY_VALUES -> values = ctxt.readValue(p, ctxt.getTypeFactory().constructType(new TypeReference<List<String>>() {
+					}));
+					case Fields.LEGACY_INTERNAL_TO_PRINT -> internalToPrint = ctxt.readValue(p, ctxt.getTypeFactory().constructType(new TypeReference<Map<String, EntityPrintId>>() {
+					}));
+					default -> {
+						ctxt.handleUnknownProperty(p, this, EntityIdMap.class, field);
+					}
+				}
+			}
+
+			if (keys != null && values != null) {
+				for (int index = 0; index < keys.size(); index++) {
+					mapping.addInputMapping(values.get(index), keys.get(index));
+				}
+			}
+
+			if (internalToPrint != null) {
+				internalToPrint.forEach(mapping::addOutputMapping);
+			}
+
+			mapping.trim();
+
+			return mapping;
+		}
+
+		private ExternalIdTable readTable(JsonParser p, DeserializationContext ctxt) throws IOException {
+			byte[] pool = null;
+			IntArrayList lengths = null;
+			IntArrayList positions = null;
+
+			while (p.nextToken() == JsonToken.FIELD_NAME) {
+				final String field = p.getCurrentName();
+				p.nextToken();
+
+				switch (field) {
+					case Fields.IDS -> pool = p.getBinaryValue();
+					case Fields.LENGTHS -> lengths = readInts(p);
+					case Fields.POSITIONS -> positions = readInts(p);
+					default -> ctxt.handleUnknownProperty(p, this, ExternalIdTable.class, field);
+				}
+			}
+
+			if (pool == null || lengths == null || positions == null) {
+				return ctxt.reportInputMismatch(ExternalIdTable.class, "Table of external ids is missing one of %s, %s or %s", Fields.IDS, Fields.LENGTHS, Fields.POSITIONS);
+			}
+
+			return ExternalIdTable.read(pool, lengths.toIntArray(), positions.toIntArray());
+		}
+
+		private static IntArrayList readInts(JsonParser p) throws IOException {
+			final IntArrayList ints = new IntArrayList();
+
+			while (p.nextToken() != JsonToken.END_ARRAY) {
+				ints.add(p.getIntValue());
+			}
+
+			return ints;
+		}
+
+		private static String[] readParts(JsonParser p) throws IOException {
+			final List<String> parts = new ArrayList<>();
+
+			while (p.nextToken() != JsonToken.END_ARRAY) {
+				parts.add(p.currentToken() == JsonToken.VALUE_NULL ? null : p.getText());
+			}
+
+			return parts.toArray(String[]::new);
+		}
+	}
+
+	private static final class Fields {
+		private static final String INTERNAL_IDS = "internalIds";
+		private static final String PRINT_IDS = "printIds";
+		private static final String EXTERNAL_IDS = "externalIds";
+
+		private static final String IDS = "ids";
+		private static final String LENGTHS = "lengths";
+		private static final String POSITIONS = "positions";
+
+		private static final String LEGACY_KEYS = "keys";
+		private static final String LEGACY_VALUES = "values";
+		private static final String LEGACY_INTERNAL_TO_PRINT = "internalToPrint";
+	}
+
 }
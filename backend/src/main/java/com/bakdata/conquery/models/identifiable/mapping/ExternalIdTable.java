@@ -0,0 +1,227 @@
+package com.bakdata.conquery.models.identifiable.mapping;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Open-addressing table from the external ids of a single {@link EntityIdMap.ExternalId#getType()} to the position of their csv entity id.
+ * <p>
+ * The ids are not held as {@link String}s, but as UTF-8 in a single pool of bytes, with their lengths and positions in primitive lists aligned by entry.
+ * The hash slots only hold the entry, so a mapping costs a few ints plus the bytes of its id.
+ */
+class ExternalIdTable {
+
+	private static final float LOAD_FACTOR = 0.75f;
+
+	/**
+	 * The UTF-8 bytes of all ids, in order of their entry.
+	 */
+	private final ByteArrayList pool = new ByteArrayList();
+
+	/**
+	 * Start of the id of every entry in {@link #pool}, the last element marks the end of the pool.
+	 */
+	private final IntArrayList offsets = IntArrayList.of(0);
+
+	/**
+	 * Position of the csv entity id of every entry.
+	 */
+	private final IntArrayList positions = new IntArrayList();
+
+	/**
+	 * Entry + 1 by hash, 0 marks a free slot.
+	 */
+	private int[] slots = new int[16];
+
+	public int size() {
+		return positions.size();
+	}
+
+	/**
+	 * @return the position mapped to the id, -1 if there is none.
+	 */
+	public int get(String id) {
+		final byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+		final int entry = slots[find(bytes)] - 1;
+
+		if (entry == -1) {
+			return -1;
+		}
+
+		return positions.getInt(entry);
+	}
+
+	/**
+	 * @return the position previously mapped to the id, -1 if there was none.
+	 */
+	public int put(String id, int position) {
+		return put(id.getBytes(StandardCharsets.UTF_8), position);
+	}
+
+	private int put(byte[] bytes, int position) {
+		final int slot = find(bytes);
+		final int entry = slots[slot] - 1;
+
+		if (entry != -1) {
+			return positions.set(entry, position);
+		}
+
+		pool.addElements(pool.size(), bytes);
+		offsets.add(pool.size());
+		positions.add(position);
+		slots[slot] = positions.size();
+
+		if (positions.size() > slots.length * LOAD_FACTOR) {
+			rehash(slots.length * 2);
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return the slot holding the id, or the free slot it belongs in.
+	 */
+	private int find(byte[] bytes) {
+		final int mask = slots.length - 1;
+		final byte[] elements = pool.elements();
+
+		for (int slot = hash(bytes, 0, bytes.length) & mask; ; slot = (slot + 1) & mask) {
+			final int entry = slots[slot] - 1;
+
+			if (entry == -1) {
+				return slot;
+			}
+
+			if (Arrays.equals(elements, offsets.getInt(entry), offsets.getInt(entry + 1), bytes, 0, bytes.length)) {
+				return slot;
+			}
+		}
+	}
+
+	private void rehash(int capacity) {
+		final int mask = capacity - 1;
+		final byte[] elements = pool.elements();
+		final int[] rehashed = new int[capacity];
+
+		for (int entry = 0; entry < positions.size(); entry++) {
+			int slot = hash(elements, offsets.getInt(entry), offsets.getInt(entry + 1)) & mask;
+
+			while (rehashed[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+
+			rehashed[slot] = entry + 1;
+		}
+
+		slots = rehashed;
+	}
+
+	private static int hash(byte[] bytes, int from, int to) {
+		int hash = 1;
+
+		for (int index = from; index < to; index++) {
+			hash = 31 * hash + bytes[index];
+		}
+
+		return HashCommon.mix(hash);
+	}
+
+	/**
+	 * Release excess capacity, after the table was built.
+	 */
+	public void trim() {
+		pool.trim();
+		offsets.trim();
+		positions.trim();
+
+		final int capacity = HashCommon.arraySize(Math.max(positions.size(), 1), LOAD_FACTOR);
+
+		if (capacity < slots.length) {
+			rehash(capacity);
+		}
+	}
+
+	/**
+	 * The UTF-8 bytes of all ids, the ids of the entries are delimited by {@link #getLength(int)}.
+	 * @implNote This is a view of the pool, it may be larger than the ids.
+	 */
+	public byte[] getPool() {
+		return pool.elements();
+	}
+
+	public int getPoolSize() {
+		return pool.size();
+	}
+
+	public int getLength(int entry) {
+		return offsets.getInt(entry + 1) - offsets.getInt(entry);
+	}
+
+	public int getPosition(int entry) {
+		return positions.getInt(entry);
+	}
+
+	/**
+	 * Rebuild a table from the entries exposed by {@link #getPool()}, {@link #getLength(int)} and {@link #getPosition(int)}.
+	 */
+	public static ExternalIdTable read(byte[] pool, int[] lengths, int[] positions) {
+		final ExternalIdTable table = new ExternalIdTable();
+		table.pool.addElements(0, pool);
+		table.positions.addElements(0, positions);
+
+		int offset = 0;
+		for (int length : lengths) {
+			offset += length;
+			table.offsets.add(offset);
+		}
+
+		if (offset != pool.length || lengths.length != positions.length) {
+			throw new IllegalArgumentException("Lengths of %d entries do not cover pool of %d bytes, or do not match %d positions.".formatted(lengths.length, pool.length, positions.length));
+		}
+
+		table.rehash(HashCommon.arraySize(Math.max(positions.length, 1), LOAD_FACTOR));
+
+		return table;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof ExternalIdTable other) || other.size() != size()) {
+			return false;
+		}
+
+		final byte[] elements = pool.elements();
+
+		for (int entry = 0; entry < size(); entry++) {
+			final byte[] bytes = Arrays.copyOfRange(elements, offsets.getInt(entry), offsets.getInt(entry + 1));
+			final int found = other.slots[other.find(bytes)] - 1;
+
+			if (found == -1 || other.positions.getInt(found) != positions.getInt(entry)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		final byte[] elements = pool.elements();
+		int hashCode = 0;
+
+		// Independent of the order of entries, like the hashCode of maps.
+		for (int entry = 0; entry < size(); entry++) {
+			hashCode += hash(elements, offsets.getInt(entry), offsets.getInt(entry + 1)) ^ positions.getInt(entry);
+		}
+
+		return hashCode;
+	}
+}
@@ -0,0 +1,112 @@
+package com.bakdata.conquery.models.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import com.bakdata.conquery.apiv1.frontend.FrontendValue;
+import com.bakdata.conquery.models.config.IndexConfig;
+import com.bakdata.conquery.models.datasets.Column;
+import com.bakdata.conquery.util.search.TrieSearch;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Searches of {@link Column}s, compiled into {@link IndexConfig#getCompiledIndexDirectory()} like {@link FrontendValueIndex}es, so they are memory-mapped instead of rebuilt from the imports after a restart.
+ * <p>
+ * A compiled search carries a checksum of the values of its column, that does not depend on the order of the imports, and is only used if the values did not change since.
+ */
+@Slf4j
+@UtilityClass
+public class CompiledColumnSearch {
+
+	private static final String FILE_PREFIX = "column-";
+
+	private static final HashFunction VALUE_HASH = Hashing.murmur3_128();
+
+	/**
+	 * Location of the compiled search of the column, or null if searches are not compiled.
+	 */
+	@Nullable
+	public static Path getFile(IndexConfig config, Column column) {
+		if (config.getCompiledIndexDirectory() == null) {
+			return null;
+		}
+
+		return config.getCompiledIndexDirectory()
+					 .resolve(FILE_PREFIX + Hashing.sha256().hashString(column.getId().toString(), StandardCharsets.UTF_8) + IndexService.COMPILED_INDEX_EXTENSION);
+	}
+
+	/**
+	 * Sum of the hashes of all values and their count: Only reading the values is much cheaper than indexing them, and the sum is independent of their order.
+	 */
+	public static byte[] checksum(Stream<String> values) {
+		final long[] sums = new long[3];
+
+		try (values) {
+			values.forEach(value -> {
+				final ByteBuffer hash = ByteBuffer.wrap(VALUE_HASH.hashString(value, StandardCharsets.UTF_8).asBytes());
+
+				sums[0] += hash.getLong(0);
+				sums[1] += hash.getLong(Long.BYTES);
+				sums[2]++;
+			});
+		}
+
+		final ByteBuffer checksum = ByteBuffer.allocate(3 * Long.BYTES);
+		Arrays.stream(sums).forEach(checksum::putLong);
+
+		return checksum.array();
+	}
+
+	/**
+	 * Back the search by its compiled file, if the file is from the same values and configuration.
+	 *
+	 * @return false, if the search has to be built from the values.
+	 */
+	public static boolean load(TrieSearch<FrontendValue> search, Path file, byte[] checksum) {
+		if (!Files.exists(file)) {
+			return false;
+		}
+
+		try {
+			final MappedSearchIndex loaded = MappedSearchIndex.open(file);
+
+			if (!Arrays.equals(loaded.getChecksum(), checksum) || !loaded.getConfiguration().equals(search.toString())) {
+				log.debug("Values of compiled search `{}` changed, rebuilding it.", file);
+				return false;
+			}
+
+			search.setCompact(loaded.getIndex());
+			return true;
+		}
+		catch (IOException | RuntimeException e) {
+			log.warn("Unable to load compiled search from `{}`, rebuilding it.", file, e);
+			return false;
+		}
+	}
+
+	/**
+	 * Write the shrunk search into its file and back it by the file, so it no longer occupies the heap.
+	 * Failing to do so only leaves the search on the heap.
+	 */
+	public static void compile(TrieSearch<FrontendValue> search, Path file, byte[] checksum) {
+		try {
+			Files.createDirectories(file.getParent());
+			MappedSearchIndex.write(file, checksum, search.toString(), search.getCompact());
+
+			search.setCompact(MappedSearchIndex.open(file).getIndex());
+		}
+		catch (IOException | RuntimeException e) {
+			log.warn("Unable to compile search into `{}`, keeping it on the heap.", file, e);
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package com.bakdata.conquery.models.index;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -13,7 +16,7 @@ import org.apache.commons.lang3.time.StopWatch;
 
 @Slf4j
 @ToString
-public class FrontendValueIndex extends TrieSearch<FrontendValue> implements Index<FrontendValueIndexKey> {
+public class FrontendValueIndex extends TrieSearch<FrontendValue> implements Index<FrontendValueIndexKey>, PersistentIndex {
 
 
 	/**
@@ -28,6 +31,19 @@ public class FrontendValueIndex extends TrieSearch<FrontendValue> implements Ind
 	private final String optionValueTemplate;
 	private final String defaultEmptyLabel;
 
+	/**
+	 * Rough heap usage of a single value and its keyword and ngram entries in the trie, excluding the characters of the value.
+	 */
+	private static final int ENTRY_OVERHEAD = 256;
+
+	private long estimatedBytes = 0;
+
+	/**
+	 * Size of the compiled file, if the search was compiled or loaded from a compiled file, otherwise -1.
+	 * The search then lives off-heap, but searching pages in large parts of the file, so it still counts towards the memory of {@link IndexService}.
+	 */
+	private long compiledBytes = -1;
+
 	public FrontendValueIndex(int suffixCutoff, String split, String valueTemplate, String optionValueTemplate, String defaultEmptyLabel1) {
 		super(suffixCutoff, split);
 		this.valueTemplate = valueTemplate;
@@ -44,6 +60,20 @@ public class FrontendValueIndex extends TrieSearch<FrontendValue> implements Ind
 		);
 
 		addItem(feValue, FilterSearch.extractKeywords(feValue));
+
+		estimatedBytes += ENTRY_OVERHEAD + 2L * (length(internalValue) + length(feValue.getLabel()) + length(feValue.getOptionValue()));
+	}
+
+	private static int length(String value) {
+		return value == null ? 0 : value.length();
+	}
+
+	@Override
+	public long estimateMemoryConsumption() {
+		if (compiledBytes != -1) {
+			return compiledBytes;
+		}
+		return estimatedBytes;
 	}
 
 	@Override
@@ -77,4 +107,34 @@ public class FrontendValueIndex extends TrieSearch<FrontendValue> implements Ind
 		log.trace("DONE-FV-FIN SHRINKING in {}", timer);
 
 	}
+
+	@Override
+	public void compile(Path file, byte[] checksum) throws IOException {
+		MappedSearchIndex.write(file, checksum, describeConfiguration(), getCompact());
+
+		final MappedSearchIndex compiled = MappedSearchIndex.open(file);
+
+		setCompact(compiled.getIndex());
+		compiledBytes = compiled.getByteSize();
+	}
+
+	@Override
+	public boolean loadCompiled(Path file, byte[] checksum) throws IOException {
+		final MappedSearchIndex loaded = MappedSearchIndex.open(file);
+
+		if (!Arrays.equals(loaded.getChecksum(), checksum) || !loaded.getConfiguration().equals(describeConfiguration())) {
+			return false;
+		}
+
+		setCompact(loaded.getIndex());
+		compiledBytes = loaded.getByteSize();
+		return true;
+	}
+
+	/**
+	 * Everything besides the csv that influences the content of the search.
+	 */
+	private String describeConfiguration() {
+		return String.join("\n", super.toString(), valueTemplate, optionValueTemplate, defaultEmptyLabel);
+	}
 }
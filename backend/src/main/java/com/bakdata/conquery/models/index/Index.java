@@ -10,4 +10,9 @@ public interface Index<T extends IndexKey<? extends Index<T>>> {
 
 	void finalizer();
 
+	/**
+	 * Rough estimate of the heap used by this index in bytes. Used to bound the memory of {@link IndexService}.
+	 */
+	long estimateMemoryConsumption();
+
 }
@@ -1,31 +1,58 @@
 package com.bakdata.conquery.models.index;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.time.Duration;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import com.bakdata.conquery.io.jackson.Injectable;
 import com.bakdata.conquery.io.jackson.MutableInjectableValues;
+import com.bakdata.conquery.models.config.IndexConfig;
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Functions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.univocity.parsers.common.IterableResult;
 import com.univocity.parsers.common.ParsingContext;
 import com.univocity.parsers.common.record.Record;
 import com.univocity.parsers.csv.CsvParser;
 import com.univocity.parsers.csv.CsvParserSettings;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.StopWatch;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.text.StringSubstitutor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -33,89 +60,426 @@ import org.jetbrains.annotations.Nullable;
 /**
  * A service that provides indexes for given {@link IndexKey}s.
  * An index is created upon first request and cached.
+ * <p>
+ * Rows of the csv are parsed on the requesting thread, but the template substitution is done in chunks on a pool of workers.
+ * If a refresh interval is configured, indexes are rebuilt in the background when their csv changed, while readers keep using the old index.
+ * <p>
+ * If a directory for compiled indexes is configured, {@link PersistentIndex}es are additionally written there and memory-mapped,
+ * so they survive eviction and restarts, and are only rebuilt when the checksum of their csv changes.
  */
 @Slf4j
-public class IndexService implements Injectable {
+public class IndexService implements Injectable, Closeable {
+
+	public static final String COMPILED_INDEX_EXTENSION = ".cqidx";
+
+	/**
+	 * Number of rows that are handed to a worker at once.
+	 */
+	private static final int CHUNK_SIZE = 10_000;
 
 	private final CsvParserSettings csvParserSettings;
 	private final String emptyDefaultLabel;
+	@Nullable
+	private final Path compiledIndexDirectory;
+
+	/**
+	 * Computes template substitutions of parsed chunks.
+	 */
+	private final ExecutorService workers;
+	private final int maxPendingChunks;
+
+	/**
+	 * Runs background refreshes of loaded indexes.
+	 */
+	private final ExecutorService refresher;
+
+	/**
+	 * Checksums of the csv files the loaded indexes were built from. Used to skip refreshes of unchanged sources.
+	 */
+	private final Map<IndexKey<?>, byte[]> sourceChecksums = new ConcurrentHashMap<>();
+
+	/**
+	 * Checksums of local csv files, together with the size and modification time they were computed for.
+	 * As long as these don't change, the file is not read again. Kept independently of the cache, as they describe the file, not the index.
+	 */
+	private final Map<URI, StampedChecksum> fileChecksums = new ConcurrentHashMap<>();
+
+	private final AtomicInteger loadsInProgress = new AtomicInteger();
+	private final LongAdder refreshesUnchanged = new LongAdder();
+	private final LongAdder refreshesRebuilt = new LongAdder();
+	private final LongAdder checksumsComputed = new LongAdder();
+
+	private final LoadingCache<IndexKey<?>, Index<?>> mappings;
+
+	public IndexService(CsvParserSettings csvParserSettings, String emptyDefaultLabel) {
+		this(csvParserSettings, defaultConfig(emptyDefaultLabel));
+	}
+
+	public IndexService(CsvParserSettings csvParserSettings, IndexConfig config) {
+		this.csvParserSettings = csvParserSettings.clone();
+		this.emptyDefaultLabel = config.getEmptyLabel();
+		this.compiledIndexDirectory = config.getCompiledIndexDirectory();
+		this.csvParserSettings.setHeaderExtractionEnabled(true);
+
+		workers = Executors.newFixedThreadPool(config.getLoadingThreads(), new ThreadFactoryBuilder().setNameFormat("IndexService-worker-%d").setDaemon(true).build());
+		maxPendingChunks = 2 * config.getLoadingThreads();
+
+		final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+
+		if (config.getMaximumSize() != null) {
+			// Weights are in KiB, as Guava's weights are ints
+			builder.maximumWeight(config.getMaximumSize().toKibibytes())
+				   .weigher((IndexKey<?> key, Index<?> index) -> (int) Math.min(Integer.MAX_VALUE, Math.max(1, index.estimateMemoryConsumption() / 1024)));
+		}
 
-	private final LoadingCache<IndexKey<?>, Index<?>> mappings = CacheBuilder.newBuilder().recordStats().build(new CacheLoader<>() {
+		if (config.getRefreshInterval() != null) {
+			builder.refreshAfterWrite(config.getRefreshInterval().getQuantity(), config.getRefreshInterval().getUnit());
+		}
+
+		refresher = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("IndexService-refresh-%d").setDaemon(true).build());
+
+		mappings = builder.removalListener(notification -> {
+							  if (notification.getCause() != RemovalCause.REPLACED) {
+								  sourceChecksums.remove(notification.getKey());
+							  }
+						  })
+						  .build(CacheLoader.asyncReloading(new IndexLoader(), refresher));
+	}
+
+	private static IndexConfig defaultConfig(String emptyDefaultLabel) {
+		final IndexConfig config = new IndexConfig();
+		config.setEmptyLabel(emptyDefaultLabel);
+		return config;
+	}
+
+	private class IndexLoader extends CacheLoader<IndexKey<?>, Index<?>> {
 		@Override
 		public Index<?> load(@NotNull IndexKey<?> key) throws Exception {
+			loadsInProgress.incrementAndGet();
+			try {
+				return buildIndex(key);
+			}
+			finally {
+				loadsInProgress.decrementAndGet();
+			}
+		}
+
+		/**
+		 * Rebuilds the index only if its source changed, otherwise the old index is kept.
+		 */
+		@Override
+		public ListenableFuture<Index<?>> reload(@NotNull IndexKey<?> key, @NotNull Index<?> oldValue) throws Exception {
+			final byte[] previous = sourceChecksums.get(key);
+
+			if (previous != null && Arrays.equals(previous, computeChecksum(key))) {
+				log.trace("Source of mapping {} is unchanged, keeping it.", key);
+				refreshesUnchanged.increment();
+				return Futures.immediateFuture(oldValue);
+			}
+
+			log.info("Source of mapping {} changed, rebuilding it in the background.", key);
+			refreshesRebuilt.increment();
+
+			return Futures.immediateFuture(load(key));
+		}
+	}
 
-			final StopWatch timer = StopWatch.createStarted();
+	private Index<?> buildIndex(IndexKey<?> key) throws IOException {
+		final StopWatch timer = StopWatch.createStarted();
 
-			log.info("Started to parse mapping {}", key);
+		log.info("Started to parse mapping {}", key);
 
-			final Map<String, String> emptyDefaults = computeEmptyDefaults(key);
+		final Index<?> int2ext = key.createIndex(emptyDefaultLabel);
 
-			final Index<?> int2ext = key.createIndex(emptyDefaultLabel);
+		final Path compiledFile = getCompiledFile(key, int2ext);
 
-			final CsvParser csvParser = new CsvParser(csvParserSettings);
+		if (compiledFile != null && Files.exists(compiledFile)) {
+			final byte[] checksum = computeChecksum(key);
 
-			try (InputStream inputStream = key.getCsv().toURL().openStream()) {
+			if (loadCompiled(key, (PersistentIndex) int2ext, compiledFile, checksum)) {
+				sourceChecksums.put(key, checksum);
+				log.info("Loaded compiled mapping {} with {} entries, within {}", key, int2ext.size(), timer);
+				return int2ext;
+			}
+		}
+
+		final byte[] checksum = parseInto(key, int2ext);
+
+		// Run finalizing operations on the index
+		int2ext.finalizer();
+
+		if (compiledFile != null) {
+			((PersistentIndex) int2ext).compile(compiledFile, checksum);
+			log.debug("Compiled mapping {} to `{}`", key, compiledFile);
+		}
+
+		sourceChecksums.put(key, checksum);
+
+		log.info("Finished parsing mapping {} with {} entries, within {}", key, int2ext.size(), timer);
+
+		return int2ext;
+	}
 
-				final IterableResult<Record, ParsingContext> records = csvParser.iterateRecords(inputStream);
+	/**
+	 * Parse the csv of key and put all mappings into the index.
+	 * Rows are read on the calling thread and handed in chunks to {@link #workers} for template substitution.
+	 * Finished chunks are put into the index in order of the csv, so duplicate handling does not change.
+	 *
+	 * @return the checksum of the parsed csv.
+	 */
+	private byte[] parseInto(IndexKey<?> key, Index<?> int2ext) throws IOException {
+		final Map<String, String> emptyDefaults = computeEmptyDefaults(key);
+
+		final CsvParser csvParser = new CsvParser(csvParserSettings);
+		final MessageDigest digest = createDigest();
+
+		// Taken before reading, so a change while parsing results in a mismatch later on
+		final FileStamp stamp = FileStamp.of(key.getCsv());
+
+		final Deque<Future<List<Mapping>>> pending = new ArrayDeque<>();
+
+		try (InputStream inputStream = new DigestInputStream(key.getCsv().toURL().openStream(), digest)) {
+
+			final IterableResult<Record, ParsingContext> records = csvParser.iterateRecords(inputStream);
+
+			// Workers only see the raw values of rows, so we resolve columns by their header ourselves.
+			final Object2IntMap<String> columns = new Object2IntOpenHashMap<>();
+			columns.defaultReturnValue(-1);
+
+			final String[] headers = records.getContext().headers();
+			for (int column = 0; column < headers.length; column++) {
+				if (headers[column] != null) {
+					columns.putIfAbsent(headers[column], column);
+				}
+			}
 
-				// Set default to "" for all columns
-				final String[] headers = records.getContext().headers();
-				records.getContext().recordMetaData().setDefaultValueOfColumns("", headers);
+			List<String[]> chunk = new ArrayList<>(CHUNK_SIZE);
+			long chunkStart = csvParser.getContext().currentLine();
 
-				// Iterate records
-				for (Record row : records) {
-					final Pair<String, Map<String, String>> pair = computeInternalExternal(key, csvParser, row);
-					if (pair == null) {
-						continue;
-					}
+			// Iterate records
+			for (Record row : records) {
+				chunk.add(row.getValues());
+
+				if (chunk.size() < CHUNK_SIZE) {
+					continue;
+				}
+
+				pending.add(submitChunk(key, columns, chunk, chunkStart, emptyDefaults));
+
+				chunk = new ArrayList<>(CHUNK_SIZE);
+				chunkStart = csvParser.getContext().currentLine();
+
+				// Bound the number of chunks held in memory
+				while (pending.size() > maxPendingChunks) {
+					putChunk(pending.poll(), int2ext);
+				}
+			}
+
+			pending.add(submitChunk(key, columns, chunk, chunkStart, emptyDefaults));
+
+			while (!pending.isEmpty()) {
+				putChunk(pending.poll(), int2ext);
+			}
+		}
+		catch (IOException ioException) {
+			log.warn("Failed to open `{}`", key.getCsv(), ioException);
+			throw ioException;
+		}
+		finally {
+			pending.forEach(future -> future.cancel(true));
+		}
+
+		final byte[] checksum = digest.digest();
+		rememberChecksum(key.getCsv(), stamp, checksum);
+
+		return checksum;
+	}
+
+	/**
+	 * A single row of the csv after template substitution.
+	 */
+	private record Mapping(long line, String internalValue, Map<String, String> externalValue) {
+	}
 
-					final String internalValue = pair.getLeft();
-					final Map<String, String> externalValue = pair.getRight();
+	private Future<List<Mapping>> submitChunk(IndexKey<?> key, Object2IntMap<String> columns, List<String[]> chunk, long chunkStart, Map<String, String> emptyDefaults) {
+		return workers.submit(() -> {
+			final List<Mapping> mappings = new ArrayList<>(chunk.size());
 
-					// If the computed value is equal to a template without any values, replace it with value
-					externalValue.replaceAll((template, value) -> emptyDefaults.get(template).equals(value) ? internalValue : value);
+			for (int index = 0; index < chunk.size(); index++) {
+				final Mapping mapping = computeInternalExternal(key, columns, chunkStart + index, chunk.get(index));
 
-					try {
-						int2ext.put(internalValue, externalValue);
-					}
-					catch (IllegalArgumentException e) {
-						log.warn("Skipping mapping '{}'->'{}' in row {}, because there was already a mapping",
-								 internalValue, externalValue, csvParser.getContext().currentLine(),
-								 (Exception) (log.isTraceEnabled() ? e : null) // Cast to Exception to satisfy format-string check
-						);
-					}
+				if (mapping == null) {
+					continue;
 				}
+
+				// If the computed value is equal to a template without any values, replace it with value
+				mapping.externalValue()
+					   .replaceAll((template, value) -> emptyDefaults.get(template).equals(value) ? mapping.internalValue() : value);
+
+				mappings.add(mapping);
 			}
-			catch (IOException ioException) {
-				log.warn("Failed to open `{}`", key.getCsv(), ioException);
-				throw ioException;
+
+			return mappings;
+		});
+	}
+
+	private void putChunk(Future<List<Mapping>> chunk, Index<?> int2ext) throws IOException {
+		final List<Mapping> mappings;
+
+		try {
+			mappings = chunk.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while parsing mapping", e);
+		}
+		catch (ExecutionException e) {
+			throw new IOException("Failed to parse chunk of mapping", e.getCause());
+		}
+
+		for (Mapping mapping : mappings) {
+			try {
+				int2ext.put(mapping.internalValue(), mapping.externalValue());
+			}
+			catch (IllegalArgumentException e) {
+				log.warn("Skipping mapping '{}'->'{}' in row {}, because there was already a mapping",
+						 mapping.internalValue(), mapping.externalValue(), mapping.line(),
+						 (Exception) (log.isTraceEnabled() ? e : null) // Cast to Exception to satisfy format-string check
+				);
 			}
+		}
+	}
 
-			// Run finalizing operations on the index
-			int2ext.finalizer();
+	/**
+	 * Location of the compiled file for the index, or null if the index is not compiled.
+	 * The name is derived from the key, so changes to templates or columns result in a different file.
+	 */
+	@Nullable
+	private Path getCompiledFile(IndexKey<?> key, Index<?> index) throws IOException {
+		if (compiledIndexDirectory == null || !(index instanceof PersistentIndex)) {
+			return null;
+		}
 
-			log.info("Finished parsing mapping {} with {} entries, within {}", key, int2ext.size(), timer);
+		Files.createDirectories(compiledIndexDirectory);
 
-			return int2ext;
+		return compiledIndexDirectory.resolve(Hashing.sha256().hashString(key.toString(), StandardCharsets.UTF_8) + COMPILED_INDEX_EXTENSION);
+	}
+
+	/**
+	 * Try to back the index by its compiled file. Only succeeds if the csv did not change since compilation.
+	 */
+	private boolean loadCompiled(IndexKey<?> key, PersistentIndex index, Path compiledFile, byte[] checksum) {
+		try {
+			if (index.loadCompiled(compiledFile, checksum)) {
+				return true;
+			}
+
+			log.info("Source of mapping {} changed, rebuilding compiled file `{}`", key, compiledFile);
+		}
+		catch (IOException | RuntimeException e) {
+			log.warn("Unable to load compiled mapping {} from `{}`, rebuilding it.", key, compiledFile, e);
 		}
-	});
 
-	public IndexService(CsvParserSettings csvParserSettings, String emptyDefaultLabel) {
-		this.csvParserSettings = csvParserSettings.clone();
-		this.emptyDefaultLabel = emptyDefaultLabel;
-		this.csvParserSettings.setHeaderExtractionEnabled(true);
+		return false;
+	}
+
+	/**
+	 * Checksum of the csv of key. Local files are only read, if their size or modification time changed since their checksum was last computed.
+	 */
+	private byte[] computeChecksum(IndexKey<?> key) throws IOException {
+		final URI csv = key.getCsv();
+		final FileStamp stamp = FileStamp.of(csv);
+
+		if (stamp != null) {
+			final StampedChecksum known = fileChecksums.get(csv);
+
+			if (known != null && known.stamp().equals(stamp)) {
+				return known.checksum();
+			}
+		}
+
+		final MessageDigest digest = createDigest();
+
+		try (InputStream inputStream = new DigestInputStream(csv.toURL().openStream(), digest)) {
+			inputStream.transferTo(OutputStream.nullOutputStream());
+		}
+
+		checksumsComputed.increment();
+
+		final byte[] checksum = digest.digest();
+		rememberChecksum(csv, stamp, checksum);
+
+		return checksum;
+	}
+
+	private void rememberChecksum(URI csv, @Nullable FileStamp stamp, byte[] checksum) {
+		if (stamp == null) {
+			return;
+		}
+
+		fileChecksums.put(csv, new StampedChecksum(stamp, checksum));
+	}
+
+	/**
+	 * Size and modification time of a local file, used as a cheap check whether the file changed.
+	 */
+	private record FileStamp(long size, FileTime lastModified) {
+
+		/**
+		 * @return null if csv is not a local file or its attributes cannot be read, then it has to be hashed every time.
+		 */
+		@Nullable
+		static FileStamp of(URI csv) {
+			if (!"file".equals(csv.getScheme())) {
+				return null;
+			}
+
+			try {
+				final BasicFileAttributes attributes = Files.readAttributes(Path.of(csv), BasicFileAttributes.class);
+				return new FileStamp(attributes.size(), attributes.lastModifiedTime());
+			}
+			catch (IOException | RuntimeException e) {
+				log.trace("Unable to read attributes of `{}`", csv, e);
+				return null;
+			}
+		}
+	}
+
+	private record StampedChecksum(FileStamp stamp, byte[] checksum) {
+	}
+
+	@SneakyThrows(NoSuchAlgorithmException.class)
+	private static MessageDigest createDigest() {
+		return MessageDigest.getInstance("SHA-256");
+	}
+
+	/**
+	 * Value of the cell in column, empty cells are "".
+	 */
+	private static String getCell(Object2IntMap<String> columns, String[] row, String column) {
+		final int index = columns.getInt(column);
+
+		if (index == -1) {
+			throw new IllegalArgumentException(String.format("Header name '%s' not found. Available columns are: %s", column, columns.keySet()));
+		}
+
+		if (index >= row.length || row[index] == null) {
+			return "";
+		}
+
+		return row[index];
 	}
 
 	@Nullable
-	private Pair<String, Map<String, String>> computeInternalExternal(@NotNull IndexKey<?> key, CsvParser csvParser, Record row) {
-		final StringSubstitutor substitutor = new StringSubstitutor(row::getString, "{{", "}}", StringSubstitutor.DEFAULT_ESCAPE);
+	private Mapping computeInternalExternal(@NotNull IndexKey<?> key, Object2IntMap<String> columns, long line, String[] row) {
+		final StringSubstitutor substitutor = new StringSubstitutor(column -> getCell(columns, row, column), "{{", "}}", StringSubstitutor.DEFAULT_ESCAPE);
 
-		final String internalValue = row.getString(key.getInternalColumn());
+		final String internalValue = getCell(columns, row, key.getInternalColumn());
 
 		if (internalValue == null) {
-			log.trace("Could not create a mapping for row {} because the cell for the internal value was empty. Row: {}", csvParser.getContext().currentLine(),
+			log.trace("Could not create a mapping for row {} because the cell for the internal value was empty. Row: {}", line,
 					  log.isTraceEnabled()
-					  ? StringUtils.join(row.toFieldMap())
+					  ? Arrays.toString(row)
 					  : null
 			);
 			return null;
@@ -125,7 +489,7 @@ public class IndexService implements Injectable {
 
 		final Map<String, String> templateToConcrete = computeTemplates(substitutor, externalTemplates);
 
-		return Pair.of(internalValue, templateToConcrete);
+		return new Mapping(line, internalValue, templateToConcrete);
 	}
 
 	@NotNull
@@ -149,6 +513,15 @@ public class IndexService implements Injectable {
 		mappings.invalidateAll();
 	}
 
+	/**
+	 * Stops running refreshes and template substitutions. Loads started afterwards will fail.
+	 */
+	@Override
+	public void close() {
+		refresher.shutdownNow();
+		workers.shutdownNow();
+	}
+
 
 	@SuppressWarnings("unchecked")
 	public <K extends IndexKey<I>, I extends Index<K>> I getIndex(K key) {
@@ -164,6 +537,38 @@ public class IndexService implements Injectable {
 		return mappings.stats();
 	}
 
+	/**
+	 * Sum of the estimated heap usage of all loaded indexes.
+	 */
+	public long getEstimatedMemoryConsumption() {
+		return mappings.asMap().values().stream().mapToLong(Index::estimateMemoryConsumption).sum();
+	}
+
+	public int getLoadsInProgress() {
+		return loadsInProgress.get();
+	}
+
+	/**
+	 * Number of background refreshes, that found the source unchanged and kept the index.
+	 */
+	public long getRefreshesUnchanged() {
+		return refreshesUnchanged.sum();
+	}
+
+	/**
+	 * Number of background refreshes, that rebuilt the index because its source changed.
+	 */
+	public long getRefreshesRebuilt() {
+		return refreshesRebuilt.sum();
+	}
+
+	/**
+	 * Number of times a csv was read completely, only to compute its checksum.
+	 */
+	public long getChecksumsComputed() {
+		return checksumsComputed.sum();
+	}
+
 	public Set<IndexKey<?>> getLoadedIndexes() {
 		return mappings.asMap().keySet();
 	}
@@ -1,5 +1,8 @@
 package com.bakdata.conquery.models.index;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -8,20 +11,101 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @RequiredArgsConstructor
-public class MapIndex extends HashMap<String, String> implements Index<MapIndexKey> {
+public class MapIndex implements Index<MapIndexKey>, PersistentIndex {
+
+	/**
+	 * Rough heap usage of a single mapping in {@link #int2ext}, excluding the characters of key and value.
+	 */
+	private static final int ENTRY_OVERHEAD = 96;
 
 	private final String externalTemplate;
 
+	/**
+	 * Holds the mappings while the index is built and if it is not compiled.
+	 */
+	private Map<String, String> int2ext = new HashMap<>();
+
+	/**
+	 * Off-heap mappings, if the index was compiled or loaded from a compiled file.
+	 */
+	private MappedStringMap compiled = null;
+
+	private long estimatedBytes = 0;
+
 	@Override
 	public void put(String key, Map<String, String> templateToConcrete) {
-		if (containsKey(key)) {
+		if (compiled != null) {
+			throw new IllegalStateException("Cannot add mappings to a compiled index.");
+		}
+
+		if (key == null) {
+			throw new IllegalArgumentException("Cannot map null to '" + templateToConcrete + "'.");
+		}
+
+		if (int2ext.containsKey(key)) {
 			throw new IllegalArgumentException("The key '" + key + "' already exists in the index. Cannot map '" + key + "' -> '" + templateToConcrete + "'.");
 		}
-		super.put(key, templateToConcrete.get(externalTemplate));
+		final String value = templateToConcrete.get(externalTemplate);
+		int2ext.put(key, value);
+
+		estimatedBytes += ENTRY_OVERHEAD + 2L * (key.length() + (value != null ? value.length() : 0));
+	}
+
+	/**
+	 * Keys mapped to null return null, absent keys (including null) return defaultValue. Both hold for compiled and uncompiled indexes.
+	 */
+	public String getOrDefault(String key, String defaultValue) {
+		if (key == null) {
+			return defaultValue;
+		}
+
+		if (compiled != null) {
+			return compiled.getOrDefault(key, defaultValue);
+		}
+
+		return int2ext.getOrDefault(key, defaultValue);
+	}
+
+	@Override
+	public int size() {
+		if (compiled != null) {
+			return compiled.getSize();
+		}
+		return int2ext.size();
+	}
+
+	@Override
+	public long estimateMemoryConsumption() {
+		if (compiled != null) {
+			// The mappings live off-heap
+			return 0;
+		}
+		return estimatedBytes;
 	}
 
 	@Override
 	public void finalizer() {
 		// Nothing to finalize
 	}
+
+	@Override
+	public void compile(Path file, byte[] checksum) throws IOException {
+		MappedStringMap.write(file, checksum, int2ext);
+
+		compiled = MappedStringMap.open(file);
+		int2ext = null;
+	}
+
+	@Override
+	public boolean loadCompiled(Path file, byte[] checksum) throws IOException {
+		final MappedStringMap loaded = MappedStringMap.open(file);
+
+		if (!Arrays.equals(loaded.getChecksum(), checksum)) {
+			return false;
+		}
+
+		compiled = loaded;
+		int2ext = null;
+		return true;
+	}
 }
@@ -0,0 +1,258 @@
+package com.bakdata.conquery.models.index;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.bakdata.conquery.apiv1.frontend.FrontendValue;
+import com.bakdata.conquery.util.search.CompactSearchIndex;
+import com.bakdata.conquery.util.search.CompactTerms;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link CompactSearchIndex} of {@link FrontendValue}s, that lives in a memory-mapped file instead of the heap.
+ * <p>
+ * Values are decoded from the file whenever they are accessed, only the terms and postings touched by a search are paged in.
+ * Like {@link MappedStringMap}, the file carries the checksum of the source it was compiled from and additionally the configuration of the search,
+ * so {@link IndexService} can detect stale files.
+ * <p>
+ * The values and both dictionaries are mapped separately, the dictionaries are split into segments by {@link CompactTerms}, so only the values are bound to a single mapping.
+ *
+ * <pre>
+ * int      magic
+ * int      version
+ * long     number of bytes of the values (b)
+ * byte[b]  values:
+ *   int      checksum length, followed by the checksum
+ *   int      configuration length, followed by the configuration
+ *   int      number of values (n)
+ *   int[3n+1] offsets of value, label and option value of each value in the string blob
+ *   byte[n]  1 if the value has an option value
+ *   int      number of iterated values (m)
+ *   int[m]   iteration order
+ *   byte[]   string blob
+ * ...      whole words as {@link CompactTerms}
+ * ...      ngrams as {@link CompactTerms}
+ * </pre>
+ */
+@Slf4j
+public class MappedSearchIndex {
+
+	private static final int MAGIC = 0x43514656; // "CQFV"
+	private static final int VERSION = 2;
+
+	private static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES;
+
+	private static final int FIELDS = 3;
+
+	private final ByteBuffer buffer;
+
+	@Getter
+	private final byte[] checksum;
+	@Getter
+	private final String configuration;
+	@Getter
+	private final CompactSearchIndex<FrontendValue> index;
+
+	/**
+	 * Number of bytes of the file, all of which are mapped.
+	 */
+	@Getter
+	private final long byteSize;
+
+	private final int stringOffsetsStart;
+	private final int flagsStart;
+	private final int stringBlobStart;
+
+	private MappedSearchIndex(ByteBuffer buffer, CompactTerms whole, CompactTerms ngrams, long byteSize) {
+		this.buffer = buffer;
+		this.byteSize = byteSize;
+
+		int position = 0;
+
+		final int checksumLength = buffer.getInt(position);
+		position += Integer.BYTES;
+
+		checksum = new byte[checksumLength];
+		buffer.get(position, checksum);
+		position += checksumLength;
+
+		final int configurationLength = buffer.getInt(position);
+		position += Integer.BYTES;
+
+		final byte[] configurationBytes = new byte[configurationLength];
+		buffer.get(position, configurationBytes);
+		configuration = new String(configurationBytes, StandardCharsets.UTF_8);
+		position += configurationLength;
+
+		final int size = buffer.getInt(position);
+		position += Integer.BYTES;
+
+		stringOffsetsStart = position;
+		flagsStart = stringOffsetsStart + (FIELDS * size + 1) * Integer.BYTES;
+		position = flagsStart + size;
+
+		final int iterated = buffer.getInt(position);
+		position += Integer.BYTES;
+
+		final IntBuffer iterationOrder = buffer.slice(position, iterated * Integer.BYTES).asIntBuffer();
+		position += iterated * Integer.BYTES;
+
+		stringBlobStart = position;
+
+		index = new CompactSearchIndex<>(whole, ngrams, new MappedValues(size), iterationOrder);
+	}
+
+	/**
+	 * Map the compiled file into memory.
+	 */
+	public static MappedSearchIndex open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+
+			while (header.hasRemaining()) {
+				if (channel.read(header) == -1) {
+					throw new IllegalStateException(String.format("Compiled search `%s` is truncated.", file));
+				}
+			}
+
+			if (header.getInt(0) != MAGIC || header.getInt(Integer.BYTES) != VERSION) {
+				throw new IllegalStateException("Not a compiled search or incompatible version.");
+			}
+
+			final long valuesBytes = header.getLong(2 * Integer.BYTES);
+
+			// The mappings stay valid after the channel is closed.
+			final MappedByteBuffer values = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, valuesBytes);
+
+			final CompactTerms whole = CompactTerms.map(channel, HEADER_BYTES + valuesBytes);
+			final CompactTerms ngrams = CompactTerms.map(channel, HEADER_BYTES + valuesBytes + whole.getByteSize());
+
+			return new MappedSearchIndex(values, whole, ngrams, channel.size());
+		}
+	}
+
+	/**
+	 * Write a search into a compiled file. The file is written next to its final location and then moved, so readers never see a partial file.
+	 */
+	public static void write(Path file, byte[] checksum, String configuration, CompactSearchIndex<FrontendValue> index) throws IOException {
+		final List<FrontendValue> values = index.getValues();
+		final byte[][] strings = new byte[FIELDS * values.size()][];
+
+		long stringBytes = 0;
+
+		for (int position = 0; position < values.size(); position++) {
+			final FrontendValue value = values.get(position);
+
+			strings[FIELDS * position] = value.getValue().getBytes(StandardCharsets.UTF_8);
+			strings[FIELDS * position + 1] = value.getLabel().getBytes(StandardCharsets.UTF_8);
+			strings[FIELDS * position + 2] = value.getOptionValue() == null ? new byte[0] : value.getOptionValue().getBytes(StandardCharsets.UTF_8);
+
+			stringBytes += strings[FIELDS * position].length + strings[FIELDS * position + 1].length + strings[FIELDS * position + 2].length;
+		}
+
+		final byte[] configurationBytes = configuration.getBytes(StandardCharsets.UTF_8);
+		final IntBuffer iterationOrder = index.getIterationOrder();
+
+		final long valuesBytes = Integer.BYTES + checksum.length
+								 + Integer.BYTES + configurationBytes.length
+								 + Integer.BYTES + (FIELDS * (long) values.size() + 1) * Integer.BYTES + values.size()
+								 + Integer.BYTES + (long) iterationOrder.limit() * Integer.BYTES
+								 + stringBytes;
+
+		if (valuesBytes > Integer.MAX_VALUE) {
+			throw new IllegalStateException(String.format("Values of search `%s` are too large to be mapped (%d bytes)", file, valuesBytes));
+		}
+
+		final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(valuesBytes);
+
+			out.writeInt(checksum.length);
+			out.write(checksum);
+
+			out.writeInt(configurationBytes.length);
+			out.write(configurationBytes);
+
+			out.writeInt(values.size());
+
+			// Fits, as the values are smaller than Integer.MAX_VALUE.
+			int offset = 0;
+			out.writeInt(0);
+			for (byte[] string : strings) {
+				offset += string.length;
+				out.writeInt(offset);
+			}
+
+			for (FrontendValue value : values) {
+				out.writeByte(value.getOptionValue() == null ? 0 : 1);
+			}
+
+			out.writeInt(iterationOrder.limit());
+			for (int position = 0; position < iterationOrder.limit(); position++) {
+				out.writeInt(iterationOrder.get(position));
+			}
+
+			for (byte[] string : strings) {
+				out.write(string);
+			}
+
+			index.getWhole().writeTo(out);
+			index.getNgrams().writeTo(out);
+		}
+
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		log.debug("Compiled search of {} values into `{}`", values.size(), file);
+	}
+
+	private String readString(int field) {
+		final int start = buffer.getInt(stringOffsetsStart + field * Integer.BYTES);
+		final int end = buffer.getInt(stringOffsetsStart + (field + 1) * Integer.BYTES);
+
+		final byte[] bytes = new byte[end - start];
+		buffer.get(stringBlobStart + start, bytes);
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * The value table of the search, decoding values on access.
+	 */
+	private class MappedValues extends AbstractList<FrontendValue> implements RandomAccess {
+
+		private final int size;
+
+		private MappedValues(int size) {
+			this.size = size;
+		}
+
+		@Override
+		public FrontendValue get(int position) {
+			final String optionValue = buffer.get(flagsStart + position) == 0 ? null : readString(FIELDS * position + 2);
+
+			return new FrontendValue(readString(FIELDS * position), readString(FIELDS * position + 1), optionValue);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,280 @@
+package com.bakdata.conquery.models.index;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable String to String map, that lives in a memory-mapped file instead of the heap.
+ * <p>
+ * Keys are stored sorted by their UTF-8 bytes and are looked up by binary search. Values are deduplicated into a string-pool,
+ * which pays off for mappings where many codes map to the same label.
+ * The file also carries the checksum of the source it was compiled from, so {@link IndexService} can detect stale files.
+ *
+ * <pre>
+ * int     magic
+ * int     version
+ * int     checksum length, followed by the checksum
+ * int     number of entries (n)
+ * int     number of pooled values (m)
+ * int[n+1] offsets of the keys in the key blob
+ * int[n]   position of each keys value in the pool, -1 for null values
+ * int[m+1] offsets of the values in the value blob
+ * byte[]  key blob
+ * byte[]  value blob
+ * </pre>
+ */
+@Slf4j
+public class MappedStringMap {
+
+	private static final int MAGIC = 0x43514958; // "CQIX"
+	private static final int VERSION = 1;
+
+	/**
+	 * Value reference of keys mapped to null.
+	 */
+	private static final int NULL_REF = -1;
+
+	private final ByteBuffer buffer;
+
+	@Getter
+	private final byte[] checksum;
+	@Getter
+	private final int size;
+	private final int poolSize;
+
+	private final int keyOffsetsStart;
+	private final int valueRefsStart;
+	private final int poolOffsetsStart;
+	private final int keyBlobStart;
+	private final int poolBlobStart;
+
+	private MappedStringMap(ByteBuffer buffer) {
+		this.buffer = buffer;
+
+		int position = 0;
+
+		if (buffer.getInt(position) != MAGIC || buffer.getInt(position + Integer.BYTES) != VERSION) {
+			throw new IllegalStateException("Not a compiled index or incompatible version.");
+		}
+		position += 2 * Integer.BYTES;
+
+		final int checksumLength = buffer.getInt(position);
+		position += Integer.BYTES;
+
+		checksum = new byte[checksumLength];
+		buffer.get(position, checksum);
+		position += checksumLength;
+
+		size = buffer.getInt(position);
+		position += Integer.BYTES;
+		poolSize = buffer.getInt(position);
+		position += Integer.BYTES;
+
+		keyOffsetsStart = position;
+		valueRefsStart = keyOffsetsStart + (size + 1) * Integer.BYTES;
+		poolOffsetsStart = valueRefsStart + size * Integer.BYTES;
+		keyBlobStart = poolOffsetsStart + (poolSize + 1) * Integer.BYTES;
+		poolBlobStart = keyBlobStart + buffer.getInt(keyOffsetsStart + size * Integer.BYTES);
+	}
+
+	/**
+	 * Map the compiled file into memory.
+	 */
+	public static MappedStringMap open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IllegalStateException(String.format("Compiled index `%s` is too large to be mapped (%d bytes)", file, channel.size()));
+			}
+
+			// The mapping stays valid after the channel is closed.
+			final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new MappedStringMap(mapped);
+		}
+	}
+
+	/**
+	 * Write entries into a compiled file. The file is written next to its final location and then moved, so readers never see a partial file.
+	 */
+	public static void write(Path file, byte[] checksum, Map<String, String> entries) throws IOException {
+		final byte[][] keys = new byte[entries.size()][];
+		final String[] values = new String[entries.size()];
+
+		{
+			int index = 0;
+			for (String key : entries.keySet()) {
+				keys[index++] = key.getBytes(StandardCharsets.UTF_8);
+			}
+		}
+
+		Arrays.sort(keys, Arrays::compareUnsigned);
+
+		for (int index = 0; index < keys.length; index++) {
+			values[index] = entries.get(new String(keys[index], StandardCharsets.UTF_8));
+		}
+
+		// Build the value pool
+		final Object2IntMap<String> pool = new Object2IntOpenHashMap<>();
+		pool.defaultReturnValue(-1);
+
+		final int[] valueRefs = new int[values.length];
+		final byte[][] pooled = new byte[values.length][];
+		int poolSize = 0;
+
+		for (int index = 0; index < values.length; index++) {
+			final String value = values[index];
+
+			if (value == null) {
+				valueRefs[index] = NULL_REF;
+				continue;
+			}
+
+			int ref = pool.getInt(value);
+
+			if (ref == -1) {
+				ref = poolSize++;
+				pool.put(value, ref);
+				pooled[ref] = value.getBytes(StandardCharsets.UTF_8);
+			}
+
+			valueRefs[index] = ref;
+		}
+
+		final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(checksum.length);
+			out.write(checksum);
+
+			out.writeInt(keys.length);
+			out.writeInt(poolSize);
+
+			long offset = 0;
+			out.writeInt(0);
+			for (byte[] key : keys) {
+				offset += key.length;
+				out.writeInt(Math.toIntExact(offset));
+			}
+
+			for (int ref : valueRefs) {
+				out.writeInt(ref);
+			}
+
+			offset = 0;
+			out.writeInt(0);
+			for (int ref = 0; ref < poolSize; ref++) {
+				offset += pooled[ref].length;
+				out.writeInt(Math.toIntExact(offset));
+			}
+
+			for (byte[] key : keys) {
+				out.write(key);
+			}
+
+			for (int ref = 0; ref < poolSize; ref++) {
+				out.write(pooled[ref]);
+			}
+		}
+
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		log.debug("Compiled {} entries with {} distinct values into `{}`", keys.length, poolSize, file);
+	}
+
+	@Nullable
+	public String get(String key) {
+		return getOrDefault(key, null);
+	}
+
+	/**
+	 * Like {@link Map#getOrDefault(Object, Object)}: Keys mapped to null return null, only absent keys return defaultValue.
+	 */
+	@Nullable
+	public String getOrDefault(String key, @Nullable String defaultValue) {
+		final int index = find(key.getBytes(StandardCharsets.UTF_8));
+
+		if (index == -1) {
+			return defaultValue;
+		}
+
+		return readValue(buffer.getInt(valueRefsStart + index * Integer.BYTES));
+	}
+
+	/**
+	 * @return the index of the entry of the key, -1 if there is none.
+	 */
+	private int find(byte[] bytes) {
+		int low = 0;
+		int high = size - 1;
+
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			final int cmp = compareKey(mid, bytes);
+
+			if (cmp < 0) {
+				low = mid + 1;
+			}
+			else if (cmp > 0) {
+				high = mid - 1;
+			}
+			else {
+				return mid;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Compare the stored key at index with the searched bytes (unsigned lexicographic, like the sort order of the file).
+	 */
+	private int compareKey(int index, byte[] searched) {
+		final int start = keyBlobStart + buffer.getInt(keyOffsetsStart + index * Integer.BYTES);
+		final int end = keyBlobStart + buffer.getInt(keyOffsetsStart + (index + 1) * Integer.BYTES);
+		final int length = end - start;
+
+		final int common = Math.min(length, searched.length);
+
+		for (int pos = 0; pos < common; pos++) {
+			final int cmp = Byte.compareUnsigned(buffer.get(start + pos), searched[pos]);
+			if (cmp != 0) {
+				return cmp;
+			}
+		}
+
+		return Integer.compare(length, searched.length);
+	}
+
+	@Nullable
+	private String readValue(int ref) {
+		if (ref == NULL_REF) {
+			return null;
+		}
+
+		final int start = buffer.getInt(poolOffsetsStart + ref * Integer.BYTES);
+		final int end = buffer.getInt(poolOffsetsStart + (ref + 1) * Integer.BYTES);
+
+		final byte[] bytes = new byte[end - start];
+		buffer.get(poolBlobStart + start, bytes);
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
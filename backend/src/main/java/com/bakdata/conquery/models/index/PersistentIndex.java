@@ -0,0 +1,26 @@
+package com.bakdata.conquery.models.index;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * An {@link Index} that {@link IndexService} can compile into a file, so it does not need to be parsed from its csv again
+ * as long as the csv does not change.
+ */
+public interface PersistentIndex {
+
+	/**
+	 * Write the (finalized) index into the file and back the index by it from now on.
+	 *
+	 * @param checksum of the csv the index was built from.
+	 */
+	void compile(Path file, byte[] checksum) throws IOException;
+
+	/**
+	 * Back the index by a previously compiled file.
+	 *
+	 * @param checksum of the current csv.
+	 * @return false if the file was compiled from a different csv and must be rebuilt.
+	 */
+	boolean loadCompiled(Path file, byte[] checksum) throws IOException;
+}
@@ -41,6 +41,14 @@ public class CalculateCBlocksJob extends Job {
 		return "Calculate CBlocks[" + infos.size() + "]";
 	}
 
+	/**
+	 * CBlocks only depend on their Bucket and Connector being present, which are added by the jobs before.
+	 */
+	@Override
+	public boolean isIndependent() {
+		return true;
+	}
+
 	public void addCBlock(Bucket bucket, ConceptTreeConnector connector) {
 		infos.add(new CalculationInformation(connector, bucket));
 	}
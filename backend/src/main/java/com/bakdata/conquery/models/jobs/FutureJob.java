@@ -0,0 +1,55 @@
+package com.bakdata.conquery.models.jobs;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.bakdata.conquery.util.progressreporter.ProgressReporter;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Job computing a result for a waiting client, see {@link JobManager#submitSlowJob(String, int, Function)}.
+ * <p>
+ * Failures complete the future instead of failing the executor, as they concern only the client.
+ */
+@RequiredArgsConstructor
+public class FutureJob<T> extends Job {
+
+	@Getter
+	private final String label;
+	@Getter
+	private final int weight;
+	private final Function<ProgressReporter, T> work;
+
+	@Getter
+	private final CompletableFuture<T> future = new CompletableFuture<>();
+
+	/**
+	 * The work only reads, so it does not have to wait for other independent jobs.
+	 */
+	@Override
+	public boolean isIndependent() {
+		return true;
+	}
+
+	@Override
+	public void cancel() {
+		super.cancel();
+		// Cancelled jobs are skipped by the executor, so the client has to be released here.
+		future.cancel(false);
+	}
+
+	@Override
+	public void execute() {
+		if (future.isDone()) {
+			return;
+		}
+
+		try {
+			future.complete(work.apply(getProgressReporter()));
+		}
+		catch (RuntimeException e) {
+			future.completeExceptionally(e);
+		}
+	}
+}
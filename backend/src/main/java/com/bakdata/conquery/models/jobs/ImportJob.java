@@ -28,6 +28,7 @@ import com.bakdata.conquery.models.datasets.Table;
 import com.bakdata.conquery.models.dictionary.Dictionary;
 import com.bakdata.conquery.models.dictionary.DictionaryMapping;
 import com.bakdata.conquery.models.events.Bucket;
+import com.bakdata.conquery.models.events.BucketStatistics;
 import com.bakdata.conquery.models.events.MajorTypeId;
 import com.bakdata.conquery.models.events.stores.root.ColumnStore;
 import com.bakdata.conquery.models.events.stores.root.IntegerStore;
@@ -84,6 +85,14 @@ public class ImportJob extends Job {
 
 	private static final int NUMBER_OF_STEPS = /* directly in execute = */4;
 
+	/**
+	 * Imports of different tables only share the primary and shared dictionaries, which are guarded. Imports of the same table depend on each other, see {@link com.bakdata.conquery.mode.cluster.ClusterImportHandler}.
+	 */
+	@Override
+	public boolean isIndependent() {
+		return true;
+	}
+
 	public static ImportJob createOrUpdate(DistributedNamespace namespace, InputStream inputStream, int entityBucketSize, IdMutex<DictionaryId> sharedDictionaryLocks, ConqueryConfig config, boolean update)
 			throws IOException {
 
@@ -328,6 +337,8 @@ public class ImportJob extends Job {
 		WorkerHandler handler = namespace.getWorkerHandler();
 		workerAssignments.forEach(handler::addBucketsToWorker);
 
+		// Executions started during the import might have seen only parts of it.
+		namespace.incrementDataVersion();
 	}
 
 	/**
@@ -430,7 +441,7 @@ public class ImportJob extends Job {
 					  .map(store -> store.select(selectionStart.toIntArray(), selectionLength.toIntArray()))
 					  .toArray(ColumnStore[]::new);
 
-		return new Bucket(
+		final Bucket bucket = new Bucket(
 				bucketId,
 				root,
 				selectionLength.intStream().sum(),
@@ -440,29 +451,41 @@ public class ImportJob extends Job {
 				entityEnds,
 				imp
 		);
+
+		// Compound stores resolve their columns through the bucket, which is otherwise only set when the bucket is deserialized.
+		for (ColumnStore store : bucketStores) {
+			store.setParent(bucket);
+		}
+
+		bucket.setStatistics(BucketStatistics.calculate(bucket));
+
+		return bucket;
 	}
 
 	private DictionaryMapping importPrimaryDictionary(Dictionary primaryDictionary) {
 
 
-		Dictionary orig = namespace.getStorage().getPrimaryDictionaryRaw();
+		// Concurrent imports must not overwrite each others new ids.
+		synchronized (namespace) {
+			Dictionary orig = namespace.getStorage().getPrimaryDictionaryRaw();
 
-		Dictionary primaryDict = Dictionary.copyUncompressed(orig);
+			Dictionary primaryDict = Dictionary.copyUncompressed(orig);
 
-		DictionaryMapping primaryMapping = DictionaryMapping.createAndImport(primaryDictionary, primaryDict);
+			DictionaryMapping primaryMapping = DictionaryMapping.createAndImport(primaryDictionary, primaryDict);
 
-		log.debug("Mapped {} new ids", primaryMapping.getNumberOfNewIds());
+			log.debug("Mapped {} new ids", primaryMapping.getNumberOfNewIds());
 
-		//if no new ids we shouldn't recompress and store
-		if (primaryMapping.getNumberOfNewIds() == 0) {
-			log.trace("No new ids");
-			return primaryMapping;
-		}
+			//if no new ids we shouldn't recompress and store
+			if (primaryMapping.getNumberOfNewIds() == 0) {
+				log.trace("No new ids");
+				return primaryMapping;
+			}
 
-		namespace.getStorage()
-				 .updatePrimaryDictionary(primaryDict);
+			namespace.getStorage()
+					 .updatePrimaryDictionary(primaryDict);
 
-		return primaryMapping;
+			return primaryMapping;
+		}
 	}
 
 	private void distributeWorkerResponsibilities(DictionaryMapping primaryMapping) {
@@ -1,6 +1,8 @@
 package com.bakdata.conquery.models.jobs;
 
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.bakdata.conquery.util.progressreporter.ProgressReporter;
@@ -21,6 +23,46 @@ public abstract class Job {
 	@Getter(AccessLevel.PROTECTED)
 	private final AtomicBoolean cancelledState = new AtomicBoolean(false);
 
+	/**
+	 * Jobs that have to be done before this job is started, in addition to the order of the queue.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final Set<Job> dependencies = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Set by the {@link JobExecutor} after the job was executed or skipped.
+	 */
+	@Setter(AccessLevel.PACKAGE)
+	private volatile boolean done = false;
+
+	public void dependsOn(Job job) {
+		dependencies.add(job);
+	}
+
+	/**
+	 * @return true if all dependencies are done.
+	 */
+	public boolean isReady() {
+		// Done jobs are released, as they might hold on to a lot of data.
+		dependencies.removeIf(Job::isDone);
+		return dependencies.isEmpty();
+	}
+
+	/**
+	 * Jobs are executed strictly in order of submission by default.
+	 * Independent jobs only wait for the jobs submitted before them that are not independent, and for their dependencies. Consecutive independent jobs are therefore executed concurrently.
+	 */
+	public boolean isIndependent() {
+		return false;
+	}
+
+	/**
+	 * Resource hint for the {@link JobExecutor}: the number of its threads the job occupies, e.g. because it uses many threads or much memory itself.
+	 */
+	public int getWeight() {
+		return 1;
+	}
+
 	public void cancel() {
 		cancelledState.set(true);
 	}
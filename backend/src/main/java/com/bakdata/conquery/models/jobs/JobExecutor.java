@@ -1,8 +1,13 @@
 package com.bakdata.conquery.models.jobs;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -12,22 +17,49 @@ import com.bakdata.conquery.metrics.JobMetrics;
 import com.bakdata.conquery.util.io.ConqueryMDC;
 import com.codahale.metrics.Timer;
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.common.util.concurrent.Uninterruptibles;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Dispatches jobs onto a bounded pool of threads.
+ * <p>
+ * Jobs are started in order of submission. A job that is not {@link Job#isIndependent()} waits for all jobs submitted before it, and all jobs submitted after it wait for it.
+ * Independent jobs in between run concurrently, as long as their {@link Job#getWeight()} fits the parallelism of the executor and their dependencies are done.
+ * With a parallelism of one, all jobs are executed strictly one after another.
+ */
 @Slf4j
 public class JobExecutor extends Thread {
 
 	private final LinkedBlockingDeque<Job> jobs = new LinkedBlockingDeque<>();
-	private final AtomicReference<Job> currentJob = new AtomicReference<>();
+	private final Set<Job> runningJobs = ConcurrentHashMap.newKeySet();
 	private final AtomicBoolean closed = new AtomicBoolean(false);
 	private final boolean failOnError;
 
+	private final int parallelism;
+	private final ExecutorService pool;
+	/**
+	 * Guards the state of dispatching, and is notified when a job finishes.
+	 */
+	private final Object lock = new Object();
+	private int usedWeight = 0;
+	private boolean runningOrderedJob = false;
+
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
 	public JobExecutor(String name, boolean failOnError) {
+		this(name, failOnError, 1);
+	}
+
+	public JobExecutor(String name, boolean failOnError, int parallelism) {
 		super(name);
 
 		this.failOnError = failOnError;
+		this.parallelism = Math.max(1, parallelism);
+		pool = Executors.newFixedThreadPool(this.parallelism, new ThreadFactoryBuilder().setNameFormat(name.replace("%", "%%") + " %d").setDaemon(true).build());
+
 		JobMetrics.createJobQueueGauge(name, jobs);
 	}
 
@@ -37,44 +69,38 @@ public class JobExecutor extends Thread {
 			return;
 		}
 		jobs.add(job);
+
+		synchronized (lock) {
+			lock.notifyAll();
+		}
 	}
 
 	public boolean cancelJob(UUID jobId) {
-		for (Job job1 : jobs) {
-			if (job1.getJobId().equals(jobId)) {
-				job1.cancel();
+		for (Job job : getJobs()) {
+			if (job.getJobId().equals(jobId)) {
+				job.cancel();
 
 				return true;
 			}
 		}
 
-		final Job job = currentJob.get();
-
-		if(job != null && job.getJobId().equals(jobId)){
-			job.cancel();
-			return true;
-		}
-
 		return false;
 	}
 
 	public List<Job> getJobs() {
-		List<Job> jobs = new ArrayList<>(this.jobs.size() + 1);
-		Job current = currentJob.get();
-		if (current != null) {
-			jobs.add(current);
-		}
+		List<Job> jobs = new ArrayList<>(this.jobs.size() + runningJobs.size());
+		jobs.addAll(runningJobs);
 		jobs.addAll(this.jobs);
 		return jobs;
 	}
-	
+
 	/**
 	 * Checks if the executor is currently working on a job or if there are jobs left in its queue.
 	 * If so, the executor is busy.
 	 * @return True if there is work left to do for this executor
 	 */
 	public boolean isBusy() {
-		if(currentJob.get() != null) {
+		if(!runningJobs.isEmpty()) {
 			log.trace("JobExecutor {} is still working on a task.", getName());
 			return true;
 		}
@@ -89,6 +115,7 @@ public class JobExecutor extends Thread {
 		log.info("Closing {}", getName());
 		closed.set(true);
 		Uninterruptibles.joinUninterruptibly(this);
+		MoreExecutors.shutdownAndAwaitTermination(pool, 1, TimeUnit.DAYS);
 		JobMetrics.removeJobQueueSizeGauge(getName());
 	}
 
@@ -98,54 +125,133 @@ public class JobExecutor extends Thread {
 		ConqueryMDC.setLocation(this.getName());
 
 		while(!closed.get()) {
-			Job job;
 			try {
-				while((job =jobs.poll(100, TimeUnit.MILLISECONDS))!=null) {
-					currentJob.set(job);
-					job.getProgressReporter().start();
-					Stopwatch timer = Stopwatch.createStarted();
+				synchronized (lock) {
+					if (!dispatch()) {
+						lock.wait(100);
+					}
+				}
+			} catch (InterruptedException e) {
+				log.warn("Interrupted JobManager polling", e);
+
+				if (failOnError) {
+					log.error("Propagating Error outer loop");
+					throw e.getCause();
+				}
+			}
 
-					final Timer.Context time = JobMetrics.getJobExecutorTimer(job);
+			final Throwable error = failure.get();
+			if (error != null) {
+				log.error("Propagating Error inner loop");
+				throw error;
+			}
+		}
+	}
+
+	/**
+	 * Start all jobs that are allowed to run right now.
+	 *
+	 * @return true if any job was started.
+	 */
+	private boolean dispatch() {
+		boolean started = false;
+		// Set once an earlier job stays in the queue, because its dependencies are not done yet.
+		boolean waiting = false;
 
-					try {
-						if(job.isCancelled()){
-							log.trace("{} skipping cancelled job {}", this.getName(), job);
-							continue;
-						}
+		final Iterator<Job> iterator = jobs.iterator();
 
-						log.trace("{} started job {} with Id {}", this.getName(), job, job.getJobId());
-						ConqueryMDC.setLocation(this.getName());
-						job.execute();
-						ConqueryMDC.setLocation(this.getName());
+		while (iterator.hasNext() && !runningOrderedJob) {
+			final Job job = iterator.next();
+			final int weight = Math.min(job.getWeight(), parallelism);
 
-					}
-					catch (Throwable e) {
-						ConqueryMDC.setLocation(this.getName());
+			if (!job.isIndependent()) {
+				// Only start once everything before it is done, everything after it waits.
+				if (started || waiting || !runningJobs.isEmpty() || !job.isReady()) {
+					break;
+				}
 
-						log.error("Job "+job+" failed", e);
-						if (failOnError) {
-							log.error("Propagating Error inner loop");
-							throw e;
-						}
-					} finally {
-						ConqueryMDC.setLocation(this.getName());
+				runningOrderedJob = true;
+				start(job, parallelism);
+				iterator.remove();
+				return true;
+			}
 
-						job.getProgressReporter().done();
+			if (!job.isReady()) {
+				waiting = true;
+				continue;
+			}
+
+			if (usedWeight + weight > parallelism) {
+				// Keep the order of independent jobs, so heavy jobs are not starved by light ones.
+				break;
+			}
+
+			start(job, weight);
+			iterator.remove();
+			started = true;
+		}
+
+		return started;
+	}
 
-						log.trace("Finished job {} within {}", job, timer.stop());
-						time.stop();
+	private void start(Job job, int weight) {
+		usedWeight += weight;
+		runningJobs.add(job);
+
+		pool.execute(() -> {
+			try {
+				execute(job);
+			}
+			finally {
+				synchronized (lock) {
+					runningJobs.remove(job);
+					usedWeight -= weight;
+
+					if (!job.isIndependent()) {
+						runningOrderedJob = false;
 					}
-				}
-			} catch (InterruptedException e) {
-				log.warn("Interrupted JobManager polling", e);
 
-				if (failOnError) {
-					log.error("Propagating Error outer loop");
-					throw e.getCause();
+					lock.notifyAll();
 				}
-			} finally {
-				currentJob.set(null);
 			}
+		});
+	}
+
+	private void execute(Job job) {
+		ConqueryMDC.setLocation(this.getName());
+
+		job.getProgressReporter().start();
+		Stopwatch timer = Stopwatch.createStarted();
+
+		final Timer.Context time = JobMetrics.getJobExecutorTimer(job);
+
+		try {
+			if(job.isCancelled()){
+				log.trace("{} skipping cancelled job {}", this.getName(), job);
+				return;
+			}
+
+			log.trace("{} started job {} with Id {}", this.getName(), job, job.getJobId());
+			ConqueryMDC.setLocation(this.getName());
+			job.execute();
+			ConqueryMDC.setLocation(this.getName());
+
+		}
+		catch (Throwable e) {
+			ConqueryMDC.setLocation(this.getName());
+
+			log.error("Job "+job+" failed", e);
+			if (failOnError) {
+				failure.compareAndSet(null, e);
+			}
+		} finally {
+			ConqueryMDC.setLocation(this.getName());
+
+			job.getProgressReporter().done();
+			job.setDone(true);
+
+			log.trace("Finished job {} within {}", job, timer.stop());
+			time.stop();
 		}
 	}
 
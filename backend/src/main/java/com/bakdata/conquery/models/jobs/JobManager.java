@@ -3,8 +3,11 @@ package com.bakdata.conquery.models.jobs;
 import java.io.Closeable;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.bakdata.conquery.util.progressreporter.ProgressReporter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -18,8 +21,15 @@ public class JobManager implements Closeable {
 	};
 
 	public JobManager(String name, boolean failOnError) {
+		this(name, failOnError, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param slowJobParallelism the number of slow jobs that may run concurrently, see {@link Job#isIndependent()}.
+	 */
+	public JobManager(String name, boolean failOnError, int slowJobParallelism) {
 
-		slowExecutor = new JobExecutor("Job Manager slow " + name, failOnError);
+		slowExecutor = new JobExecutor("Job Manager slow " + name, failOnError, slowJobParallelism);
 		fastExecutor = new JobExecutor("Job Manager fast " + name, failOnError);
 
 		slowExecutor.setUncaughtExceptionHandler(notifyExecutorDied);
@@ -38,6 +48,18 @@ public class JobManager implements Closeable {
 		fastExecutor.add(job);
 	}
 
+	/**
+	 * Submits the work as a slow job, so clients waiting for its result can follow its progress in {@link #getJobStatus()}.
+	 *
+	 * @param weight see {@link Job#getWeight()}.
+	 * @return the result of the work, failed if the work failed, or cancelled with the job.
+	 */
+	public <T> CompletableFuture<T> submitSlowJob(String label, int weight, Function<ProgressReporter, T> work) {
+		final FutureJob<T> job = new FutureJob<>(label, weight, work);
+		addSlowJob(job);
+		return job.getFuture();
+	}
+
 	public List<JobStatus> getJobStatus() {
 		return getSlowJobs().stream()
 							.map(job -> new JobStatus(job.getJobId(), job.getProgressReporter().getProgress(), job.getLabel(), job.isCancelled()))
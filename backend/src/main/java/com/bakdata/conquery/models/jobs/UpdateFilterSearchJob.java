@@ -2,10 +2,15 @@ package com.bakdata.conquery.models.jobs;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -16,31 +21,39 @@ import java.util.stream.Stream;
 import com.bakdata.conquery.apiv1.frontend.FrontendValue;
 import com.bakdata.conquery.io.storage.NamespaceStorage;
 import com.bakdata.conquery.models.config.IndexConfig;
+import com.bakdata.conquery.models.datasets.Column;
+import com.bakdata.conquery.models.datasets.Import;
+import com.bakdata.conquery.models.datasets.Table;
 import com.bakdata.conquery.models.datasets.concepts.Searchable;
 import com.bakdata.conquery.models.datasets.concepts.filters.specific.SelectFilter;
+import com.bakdata.conquery.models.query.FilterSearch;
 import com.bakdata.conquery.util.search.TrieSearch;
-import com.google.common.base.Functions;
 import com.google.common.collect.Sets;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.StopWatch;
 
+/**
+ * Creates or updates the searches of all {@link Searchable}s of a {@link FilterSearch}.
+ * <p>
+ * Searches of columns, whose imports have only been added to since their last update, are extended by the values of the new imports only. All other searches are rebuilt.
+ * Searches are built aside and replaced when done, so searches in progress are never affected. Totals of searchables whose searches were only extended are increased by the values added,
+ * only totals of searchables whose searches were rebuilt are recounted.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class UpdateFilterSearchJob extends Job {
 	@NonNull
 	private final NamespaceStorage storage;
 
-	@NonNull
-	private final Map<Searchable<?>, TrieSearch<FrontendValue>> searchCache;
-
 	@NonNull
 	private final IndexConfig indexConfig;
 
 	@NonNull
-	private final Object2LongMap<Searchable<?>> totals;
+	private final FilterSearch filterSearch;
 
 	@Override
 	public void execute() throws Exception {
@@ -67,11 +80,24 @@ public class UpdateFilterSearchJob extends Job {
 								.filter(Predicate.not(Searchable::isSearchDisabled))
 								.collect(Collectors.toSet());
 
+		final Map<Searchable<?>, TrieSearch<FrontendValue>> searchCache = filterSearch.getSearchCache();
+		final Map<Searchable<?>, FilterSearch.IndexedSource> indexedSources = filterSearch.getIndexedSources();
+
+		// Searchables that have been removed or disabled since the last update.
+		searchCache.keySet().retainAll(collectedSearchables);
+		indexedSources.keySet().retainAll(collectedSearchables);
+
+		final Map<Table, Set<Import>> importsByTable = collectImportsByTable();
+
+		// The searches before this update, to count the values added by extending them.
+		final Map<Searchable<?>, TrieSearch<FrontendValue>> previousSearches = new HashMap<>(searchCache);
 
 		// Most computations are cheap but data intensive: we fork here to use as many cores as possible.
-		final ExecutorService service = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() - 1);
+		final ExecutorService service = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
 
-		final Map<Searchable<?>, TrieSearch<FrontendValue>> synchronizedResult = Collections.synchronizedMap(searchCache);
+		final Set<Searchable<?>> updated = ConcurrentHashMap.newKeySet();
+		final Set<Searchable<?>> rebuilt = ConcurrentHashMap.newKeySet();
+		final Set<Searchable<?>> done = ConcurrentHashMap.newKeySet();
 
 		log.debug("Found {} searchable Objects.", collectedSearchables.size());
 
@@ -84,9 +110,27 @@ public class UpdateFilterSearchJob extends Job {
 				log.info("BEGIN collecting entries for `{}`", searchable.getId());
 
 				try {
-					final TrieSearch<FrontendValue> search = searchable.createTrieSearch(indexConfig, storage);
+					final Set<Import> imports = searchable instanceof Column column
+												? importsByTable.getOrDefault(column.getTable(), Collections.emptySet())
+												: Collections.emptySet();
+
+					final TrieSearch<FrontendValue> existing = searchCache.get(searchable);
+					final FilterSearch.IndexedSource indexed = indexedSources.get(searchable);
+
+					if (!canExtend(searchable, imports, existing, indexed)) {
+						rebuilt.add(searchable);
+					}
+
+					final TrieSearch<FrontendValue> search = createOrExtendSearch(searchable, imports, existing, indexed);
+
+					if (search == null) {
+						log.debug("DONE `{}` is up to date", searchable.getId());
+						return;
+					}
 
-					synchronizedResult.put(searchable, search);
+					searchCache.put(searchable, search);
+					indexedSources.put(searchable, new FilterSearch.IndexedSource(searchable, imports, filterSearch.nextVersion()));
+					updated.add(searchable);
 
 					log.debug(
 							"DONE collecting {} entries for `{}`, within {}",
@@ -98,6 +142,9 @@ public class UpdateFilterSearchJob extends Job {
 				catch (Exception e) {
 					log.error("Failed to create search for {}", searchable, e);
 				}
+				finally {
+					done.add(searchable);
+				}
 
 			});
 		}
@@ -111,37 +158,119 @@ public class UpdateFilterSearchJob extends Job {
 				service.shutdownNow();
 				return;
 			}
-			log.debug("Still waiting for {} to finish.", Sets.difference(collectedSearchables, synchronizedResult.keySet()));
+			log.debug("Still waiting for {} to finish.", Sets.difference(collectedSearchables, done));
 		}
 
-		log.debug("BEGIN counting Search totals.");
+		log.debug("BEGIN counting Search totals for {} updated searches.", updated.size());
 
+		final Object2LongMap<Searchable<?>> previousTotals = filterSearch.getTotals();
+		final Object2LongMap<Searchable<?>> totals = new Object2LongOpenHashMap<>();
 
 		// Precompute totals as that can be slow when doing it on-demand.
-		totals.putAll(
-				Stream.concat(
-							  // SelectFilters without their own labels are not "real" Searchables and therefore not in collectedSearchables
-							  // We however want the real totals of ALL Searchables (and especially SelectFilters), which is why we include them here explicitly
-							  allSelectFilters.parallelStream(),
-							  collectedSearchables.parallelStream()
-					  )
-					  .distinct()
-					  .collect(Collectors.toMap(
-							  Functions.identity(),
-							  filter -> filter.getSearchReferences().stream()
-											  .map(searchCache::get)
-											  .filter(Objects::nonNull) // Failed or disabled searches are null
-											  .flatMap(TrieSearch::stream)
-											  .mapToInt(FrontendValue::hashCode)
-											  .distinct()
-											  .count()
-					  ))
-		);
-
+		Stream.concat(
+					  // SelectFilters without their own labels are not "real" Searchables and therefore not in collectedSearchables
+					  // We however want the real totals of ALL Searchables (and especially SelectFilters), which is why we include them here explicitly
+					  allSelectFilters.stream(),
+					  collectedSearchables.stream()
+			  )
+			  .distinct()
+			  .forEach(searchable -> {
+				  final List<Searchable<?>> references = searchable.getSearchReferences();
+
+				  if (!previousTotals.containsKey(searchable) || references.stream().anyMatch(rebuilt::contains)) {
+					  totals.put(searchable, countTotal(searchable, searchCache));
+					  return;
+				  }
+
+				  totals.put(searchable, previousTotals.getLong(searchable) + countAdded(references, updated, previousSearches, searchCache));
+			  });
+
+		filterSearch.setTotals(totals);
 
 		log.debug("DONE loading SourceSearch");
 	}
 
+	/**
+	 * @return null, if the existing search is up to date.
+	 */
+	private TrieSearch<FrontendValue> createOrExtendSearch(Searchable<?> searchable, Set<Import> imports, TrieSearch<FrontendValue> existing, FilterSearch.IndexedSource indexed) {
+		if (!(searchable instanceof Column column) || !canExtend(searchable, imports, existing, indexed)) {
+			return searchable.createTrieSearch(indexConfig, storage);
+		}
+
+		final Set<Import> newImports = Sets.difference(imports, indexed.imports());
+
+		if (newImports.isEmpty()) {
+			return null;
+		}
+
+		log.debug("Extending search of `{}` by {}", column.getId(), newImports);
+
+		return column.extendTrieSearch(existing, newImports, indexConfig, storage);
+	}
+
+	/**
+	 * Searches can only be extended, if they are searches of columns, the searchable is the same and no import has been removed or replaced.
+	 * Imports are compared by instance, as updating an import keeps its id.
+	 */
+	private static boolean canExtend(Searchable<?> searchable, Set<Import> imports, TrieSearch<FrontendValue> existing, FilterSearch.IndexedSource indexed) {
+		return searchable instanceof Column
+			   && existing != null
+			   && indexed != null
+			   && indexed.searchable() == searchable
+			   && !indexed.imports().isEmpty()
+			   && imports.containsAll(indexed.imports());
+	}
+
+	private Map<Table, Set<Import>> collectImportsByTable() {
+		final Map<Table, Set<Import>> importsByTable = new HashMap<>();
+
+		for (Import imp : storage.getAllImports()) {
+			importsByTable.computeIfAbsent(imp.getTable(), (ignored) -> Collections.newSetFromMap(new IdentityHashMap<>()))
+						  .add(imp);
+		}
+
+		return importsByTable;
+	}
+
+	/**
+	 * Number of values the extended searches of the references added to all of their previous searches.
+	 */
+	private static long countAdded(List<Searchable<?>> references, Set<Searchable<?>> extended, Map<Searchable<?>, TrieSearch<FrontendValue>> previous, Map<Searchable<?>, TrieSearch<FrontendValue>> current) {
+		if (references.size() == 1) {
+			final Searchable<?> reference = references.get(0);
+
+			return extended.contains(reference) ? current.get(reference).countItems() - previous.get(reference).countItems() : 0;
+		}
+
+		// Values are distinct by their value only, see FrontendValue#equals.
+		final Comparator<FrontendValue> byValue = Comparator.comparing(FrontendValue::getValue);
+
+		final Set<FrontendValue> added = new HashSet<>();
+
+		references.stream()
+				  .filter(extended::contains)
+				  .flatMap(reference -> current.get(reference).streamAddedSince(previous.get(reference)))
+				  .forEach(added::add);
+
+		return added.stream()
+					.filter(value -> references.stream()
+											   .map(previous::get)
+											   .filter(Objects::nonNull)
+											   .noneMatch(search -> search.contains(value, byValue)))
+					.count();
+	}
+
+	private static long countTotal(Searchable<?> searchable, Map<Searchable<?>, TrieSearch<FrontendValue>> searchCache) {
+		return searchable.getSearchReferences().stream()
+						 .map(searchCache::get)
+						 .filter(Objects::nonNull) // Failed or disabled searches are null
+						 .flatMap(TrieSearch::stream)
+						 .mapToInt(FrontendValue::hashCode)
+						 .distinct()
+						 .count();
+	}
+
 	@Override
 	public String getLabel() {
 		return "UpdateFilterSearchJob";
@@ -6,10 +6,14 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 import com.bakdata.conquery.apiv1.query.Query;
 import com.bakdata.conquery.io.cps.CPSType;
 import com.bakdata.conquery.models.error.ConqueryError;
+import com.bakdata.conquery.models.execution.ExecutionPriority;
 import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.identifiable.ids.specific.UserId;
 import com.bakdata.conquery.models.messages.namespaces.NamespacedMessage;
 import com.bakdata.conquery.models.messages.namespaces.WorkerMessage;
 import com.bakdata.conquery.models.query.QueryExecutionContext;
@@ -40,6 +44,11 @@ public class ExecuteForm extends WorkerMessage {
 
 	private final Map<ManagedExecutionId, Query> queries;
 
+	private final ExecutionPriority priority;
+
+	@Nullable
+	private final UserId owner;
+
 	private FormShardResult createResult(Worker worker, ManagedExecutionId subQueryId) {
 		return new FormShardResult(
 				getFormId(),
@@ -81,7 +90,7 @@ public class ExecuteForm extends WorkerMessage {
 
 			Set<Entity> entities = query.collectRequiredEntities(subQueryContext).resolve(worker.getBucketManager());
 
-			if (!queryExecutor.execute(query, subQueryContext, result, entities)) {
+			if (!queryExecutor.execute(query, subQueryContext, result, entities, priority, owner)) {
 				return;
 			}
 		}
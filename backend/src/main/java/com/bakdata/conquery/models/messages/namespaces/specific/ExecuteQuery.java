@@ -4,10 +4,14 @@ import static com.bakdata.conquery.models.error.ConqueryError.asConqueryError;
 
 import java.util.Set;
 
+import javax.annotation.Nullable;
+
 import com.bakdata.conquery.apiv1.query.Query;
 import com.bakdata.conquery.io.cps.CPSType;
 import com.bakdata.conquery.models.error.ConqueryError;
+import com.bakdata.conquery.models.execution.ExecutionPriority;
 import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.identifiable.ids.specific.UserId;
 import com.bakdata.conquery.models.messages.namespaces.NamespacedMessage;
 import com.bakdata.conquery.models.messages.namespaces.WorkerMessage;
 import com.bakdata.conquery.models.query.QueryExecutionContext;
@@ -37,6 +41,11 @@ public class ExecuteQuery extends WorkerMessage {
 
 	private final Query query;
 
+	private final ExecutionPriority priority;
+
+	@Nullable
+	private final UserId owner;
+
 	@Override
 	public void react(Worker worker) throws Exception {
 		final ManagedExecutionId executionId = id;
@@ -67,7 +76,7 @@ public class ExecuteQuery extends WorkerMessage {
 		final Set<Entity> entities = query.collectRequiredEntities(executionContext).resolve(worker.getBucketManager());
 
 
-		queryExecutor.execute(query, executionContext, result, entities);
+		queryExecutor.execute(query, executionContext, result, entities, priority, owner);
 	}
 
 	private ShardResult createShardResult(Worker worker) {
@@ -47,6 +47,8 @@ public class UpdateElementMatchingStats extends NamespaceMessage {
 				log.error("Failed to set matching stats for '{}'", entry.getKey());
 			}
 		}
+
+		context.incrementConceptsVersion();
 	}
 
 }
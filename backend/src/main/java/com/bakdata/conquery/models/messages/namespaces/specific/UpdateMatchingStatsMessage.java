@@ -1,7 +1,9 @@
 package com.bakdata.conquery.models.messages.namespaces.specific;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -11,27 +13,25 @@ import java.util.stream.Collectors;
 
 import com.bakdata.conquery.io.cps.CPSType;
 import com.bakdata.conquery.io.jackson.serializer.NsIdRefCollection;
-import com.bakdata.conquery.models.datasets.Table;
 import com.bakdata.conquery.models.datasets.concepts.Concept;
 import com.bakdata.conquery.models.datasets.concepts.ConceptElement;
-import com.bakdata.conquery.models.datasets.concepts.Connector;
 import com.bakdata.conquery.models.datasets.concepts.MatchingStats;
-import com.bakdata.conquery.models.datasets.concepts.tree.ConceptTreeNode;
-import com.bakdata.conquery.models.datasets.concepts.tree.TreeConcept;
-import com.bakdata.conquery.models.events.Bucket;
 import com.bakdata.conquery.models.events.CBlock;
+import com.bakdata.conquery.models.events.ConceptMatchingStats;
 import com.bakdata.conquery.models.jobs.Job;
 import com.bakdata.conquery.models.messages.namespaces.NamespacedMessage;
 import com.bakdata.conquery.models.messages.namespaces.WorkerMessage;
 import com.bakdata.conquery.models.worker.Worker;
 import com.bakdata.conquery.util.progressreporter.ProgressReporter;
 import com.fasterxml.jackson.annotation.JsonCreator;
-import com.google.common.base.Functions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * For each {@link com.bakdata.conquery.models.query.queryplan.specific.ConceptNode} calculate the number of matching events and the span of date-ranges.
+ * <p>
+ * The statistics are calculated per {@link CBlock} when it is created (see {@link com.bakdata.conquery.models.events.CBlockMatchingStats}), so this only merges them, in parallel per concept.
+ * The worker keeps the merged stats (see {@link ConceptMatchingStats}), so only {@link CBlock}s added since the last update are merged.
  */
 @CPSType(id = "UPDATE_MATCHING_STATS", base = NamespacedMessage.class)
 @Slf4j
@@ -69,22 +69,36 @@ public class UpdateMatchingStatsMessage extends WorkerMessage {
 
 			log.info("BEGIN update Matching stats for {} Concepts", concepts.size());
 
+			// A single pass to find the CBlocks of each concept.
+			final Map<Concept<?>, List<CBlock>> conceptCBlocks = new HashMap<>(concepts.size());
+
+			for (Concept<?> concept : concepts) {
+				conceptCBlocks.put(concept, new ArrayList<>());
+			}
+
+			for (CBlock cBlock : worker.getStorage().getAllCBlocks()) {
+				final List<CBlock> cBlocks = conceptCBlocks.get(cBlock.getConnector().getConcept());
+
+				if (cBlocks != null) {
+					cBlocks.add(cBlock);
+				}
+			}
+
 			final Map<? extends Concept<?>, CompletableFuture<Void>>
 					subJobs =
-					concepts.stream()
-							.collect(Collectors.toMap(Functions.identity(),
-													  concept -> CompletableFuture.runAsync(() -> {
-														  final Map<ConceptElement<?>, MatchingStats.Entry>
-																  matchingStats =
-																  new HashMap<>(concept.countElements());
+					conceptCBlocks.entrySet().stream()
+								  .collect(Collectors.toMap(Map.Entry::getKey,
+															entry -> CompletableFuture.runAsync(() -> {
+																final Concept<?> concept = entry.getKey();
+																final Map<ConceptElement<?>, MatchingStats.Entry>
+																		matchingStats =
+																		worker.getMatchingStats(concept).update(concept, entry.getValue());
 
-														  calculateConceptMatches(concept, matchingStats, worker);
+																worker.send(new UpdateElementMatchingStats(worker.getInfo().getId(), matchingStats));
 
-														  worker.send(new UpdateElementMatchingStats(worker.getInfo().getId(), matchingStats));
-
-														  progressReporter.report(1);
-													  }, worker.getJobsExecutorService())
-							));
+																progressReporter.report(1);
+															}, worker.getJobsExecutorService())
+								  ));
 
 
 			log.debug("All jobs submitted. Waiting for completion.");
@@ -121,59 +135,6 @@ public class UpdateMatchingStatsMessage extends WorkerMessage {
 
 		}
 
-
-		private static void calculateConceptMatches(Concept<?> concept, Map<ConceptElement<?>, MatchingStats.Entry> results, Worker worker) {
-			log.debug("BEGIN calculating for `{}`", concept.getId());
-
-			for (CBlock cBlock : worker.getStorage().getAllCBlocks()) {
-
-				if (!cBlock.getConnector().getConcept().equals(concept)) {
-					continue;
-				}
-
-				try {
-					final Bucket bucket = cBlock.getBucket();
-					final Table table = bucket.getTable();
-
-					for (int entity : bucket.entities()) {
-
-						final int entityEnd = bucket.getEntityEnd(entity);
-
-						for (int event = bucket.getEntityStart(entity); event < entityEnd; event++) {
-
-							final int[] localIds = cBlock.getPathToMostSpecificChild(event);
-
-
-							if (!(concept instanceof TreeConcept) || localIds == null) {
-
-								results.computeIfAbsent(concept, (ignored) -> new MatchingStats.Entry()).addEvent(table, bucket, event, entity);
-
-								continue;
-							}
-
-							if (Connector.isNotContained(localIds)) {
-								continue;
-							}
-
-							ConceptTreeNode<?> element = ((TreeConcept) concept).getElementByLocalIdPath(localIds);
-
-							while (element != null) {
-								results.computeIfAbsent(((ConceptElement<?>) element), (ignored) -> new MatchingStats.Entry())
-									   .addEvent(table, bucket, event, entity);
-								element = element.getParent();
-							}
-						}
-					}
-
-				}
-				catch (Exception e) {
-					log.error("Failed to collect the matching stats for {}", cBlock, e);
-				}
-			}
-
-			log.trace("DONE calculating for `{}`", concept.getId());
-		}
-
 	}
 
 
@@ -2,6 +2,7 @@ package com.bakdata.conquery.models.query;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
@@ -19,21 +20,47 @@ import com.bakdata.conquery.models.error.ConqueryError;
 import com.bakdata.conquery.models.execution.ExecutionState;
 import com.bakdata.conquery.models.execution.InternalExecution;
 import com.bakdata.conquery.models.execution.ManagedExecution;
+import com.bakdata.conquery.models.identifiable.ids.specific.DatasetId;
 import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.identifiable.ids.specific.WorkerId;
+import com.bakdata.conquery.models.jobs.JobManagerStatus;
+import com.bakdata.conquery.models.messages.namespaces.WorkerMessage;
 import com.bakdata.conquery.models.query.results.EntityResult;
 import com.bakdata.conquery.models.query.results.ShardResult;
 import com.bakdata.conquery.models.worker.Namespace;
+import com.bakdata.conquery.models.worker.ShardNodeInformation;
+import com.bakdata.conquery.models.worker.WorkerHandler;
+import com.bakdata.conquery.util.QueryUtils;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalNotification;
-import lombok.RequiredArgsConstructor;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+import io.dropwizard.util.DataSize;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
-@RequiredArgsConstructor
 @Slf4j
 public class DistributedExecutionManager implements ExecutionManager {
 
+	/**
+	 * Rough heap usage of a single entity result, excluding its lines.
+	 */
+	private static final int ENTITY_BYTES = 32;
+
+	/**
+	 * Rough heap usage of a single result line, excluding its values.
+	 */
+	private static final int LINE_BYTES = 24;
+
+	/**
+	 * Rough heap usage of a single value of a result line, including its reference.
+	 */
+	private static final int VALUE_BYTES = 32;
+
 	private final MetaStorage storage;
 	private final ClusterState clusterState;
 
@@ -43,6 +70,52 @@ public class DistributedExecutionManager implements ExecutionManager {
 						.removalListener(this::executionRemoved)
 						.build();
 
+	/**
+	 * Results of finished executions, that are reused for equal queries on the same version of the data.
+	 * Weighted by the estimated size of their entity results, so a few large results cannot pin unbounded memory.
+	 */
+	private final Cache<ResultCacheKey, List<List<EntityResult>>> resultCache;
+
+	/**
+	 * Running executions, whose results are put into {@link #resultCache} once they are done. Guarded by {@link #resultCache}.
+	 */
+	private final BiMap<ResultCacheKey, ManagedExecutionId> runningQueries = HashBiMap.create();
+
+	/**
+	 * Executions waiting for a running execution of an equal query, to reuse its results.
+	 */
+	private final ListMultimap<ManagedExecutionId, ManagedQuery> followers = Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
+
+	public DistributedExecutionManager(MetaStorage storage, ClusterState clusterState, DataSize resultCacheSize) {
+		this.storage = storage;
+		this.clusterState = clusterState;
+
+		// Weights are in KiB, as Guava's weights are ints
+		resultCache = CacheBuilder.newBuilder()
+								  .maximumWeight(resultCacheSize.toKibibytes())
+								  .weigher((ResultCacheKey key, List<List<EntityResult>> results) -> (int) Math.min(Integer.MAX_VALUE, Math.max(1, estimateBytes(results) / 1024)))
+								  .build();
+	}
+
+	/**
+	 * Rough heap usage of the results, assuming every value occupies {@link #VALUE_BYTES}.
+	 */
+	private static long estimateBytes(List<List<EntityResult>> results) {
+		long bytes = 0;
+
+		for (List<EntityResult> part : results) {
+			for (EntityResult result : part) {
+				bytes += ENTITY_BYTES;
+
+				for (Object[] line : result.listResultLines()) {
+					bytes += LINE_BYTES + (long) line.length * VALUE_BYTES;
+				}
+			}
+		}
+
+		return bytes;
+	}
+
 	/**
 	 * Manage state of evicted Queries, setting them to NEW.
 	 */
@@ -99,10 +172,143 @@ public class DistributedExecutionManager implements ExecutionManager {
 		final String primaryGroupName = AuthorizationHelper.getPrimaryGroup(execution.getOwner(), storage).map(Group::getName).orElse("none");
 		ExecutionMetrics.getRunningQueriesCounter(primaryGroupName).inc();
 
+		if (execution instanceof ManagedQuery managedQuery && reuseResults(namespace, managedQuery)) {
+			return;
+		}
+
 		if (execution instanceof InternalExecution<?> internalExecution) {
 			log.info("Executing Query[{}] in Dataset[{}]", execution.getQueryId(), namespace.getDataset().getId());
-			clusterState.getWorkerHandlers().get(execution.getDataset().getId()).sendToAll(internalExecution.createExecutionMessage());
+			sendExecutionMessage(internalExecution, execution);
+		}
+	}
+
+	private void sendExecutionMessage(InternalExecution<?> internalExecution, ManagedExecution execution) {
+		final WorkerHandler workerHandler = clusterState.getWorkerHandlers().get(execution.getDataset().getId());
+		final WorkerMessage executionMessage = internalExecution.createExecutionMessage();
+		final Set<WorkerId> involvedWorkers = Set.copyOf(internalExecution.getInvolvedWorkers());
+
+		if (involvedWorkers.size() < workerHandler.getWorkers().size()) {
+			log.debug("Routing Query[{}] to {}", execution.getQueryId(), involvedWorkers);
+		}
+
+		// The message stays in the slow queue of the workers, so it is still processed after imports and buckets sent before it.
+		workerHandler.sendTo(involvedWorkers, executionMessage);
+	}
+
+	/**
+	 * Try to reuse the results of an execution of an equal query on the same version of the data: Either by copying its results, or by waiting for it to finish.
+	 *
+	 * @return true, if the execution does not need to be sent to the workers.
+	 */
+	private boolean reuseResults(Namespace namespace, ManagedQuery execution) {
+		final ResultCacheKey key = new ResultCacheKey(namespace.getDataVersion(), QueryUtils.hashQuery(namespace.getCommunicationMapper(), execution.getQuery()));
+
+		synchronized (resultCache) {
+			final List<List<EntityResult>> cached = resultCache.getIfPresent(key);
+
+			if (cached != null) {
+				log.info("Reusing cached results for Query[{}]", execution.getId());
+				ExecutionMetrics.getResultCacheCounter(true).inc();
+
+				finishFollower(execution, cached);
+				return true;
+			}
+
+			final ManagedExecutionId runningId = runningQueries.get(key);
+			final ManagedExecution running = runningId == null || runningId.equals(execution.getId()) ? null : storage.getExecution(runningId);
+
+			if (running != null && running.getState() == ExecutionState.RUNNING) {
+				log.info("Query[{}] waits for results of Query[{}]", execution.getId(), runningId);
+				ExecutionMetrics.getResultCacheCounter(true).inc();
+
+				followers.put(runningId, execution);
+				return true;
+			}
+
+			ExecutionMetrics.getResultCacheCounter(false).inc();
+
+			if (isUpdatingData(namespace)) {
+				return false;
+			}
+
+			runningQueries.forcePut(key, execution.getId());
+			return false;
+		}
+	}
+
+	/**
+	 * Cache the results of a finished execution, replacing results computed on older versions of the data, as they cannot be hit anymore.
+	 */
+	private void cacheResults(ResultCacheKey key, List<List<EntityResult>> results) {
+		resultCache.asMap().keySet().removeIf(cachedKey -> cachedKey.dataVersion() < key.dataVersion());
+		// Copied, as the list of the execution is appended to if it is executed again
+		resultCache.put(key, List.copyOf(results));
+	}
+
+	/**
+	 * While jobs are pending on the ManagerNode or for the dataset on the ShardNodes, the data is likely about to change.
+	 */
+	private boolean isUpdatingData(Namespace namespace) {
+		if (namespace.getJobManager().isSlowWorkerBusy()) {
+			return true;
+		}
+
+		final DatasetId dataset = namespace.getDataset().getId();
+
+		for (ShardNodeInformation shardNode : clusterState.getShardNodes().values()) {
+			synchronized (shardNode.getJobManagerStatus()) {
+				for (JobManagerStatus status : shardNode.getJobManagerStatus()) {
+					if (dataset.equals(status.getDataset()) && status.size() > 0) {
+						return true;
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Hand the results of the finished execution to all executions waiting for it, or execute them on their own if it did not succeed.
+	 */
+	private void releaseFollowers(ManagedExecution execution) {
+		final List<ManagedQuery> waiting;
+		final List<List<EntityResult>> results = executionResults.getIfPresent(execution.getId());
+
+		synchronized (resultCache) {
+			waiting = followers.removeAll(execution.getId());
+
+			final ResultCacheKey key = runningQueries.inverse().remove(execution.getId());
+
+			if (key != null && execution.getState() == ExecutionState.DONE && results != null) {
+				cacheResults(key, results);
+			}
 		}
+
+		for (ManagedQuery follower : waiting) {
+			if (follower.getState() != ExecutionState.RUNNING) {
+				continue;
+			}
+
+			if (execution.getState() == ExecutionState.DONE) {
+				finishFollower(follower, results);
+			}
+			else {
+				sendExecutionMessage(follower, follower);
+			}
+		}
+	}
+
+	private void finishFollower(ManagedQuery follower, List<List<EntityResult>> results) {
+		if (results == null) {
+			// Results were evicted in the meantime.
+			sendExecutionMessage(follower, follower);
+			return;
+		}
+
+		executionResults.put(follower.getId(), new ArrayList<>(results));
+		follower.finish(ExecutionState.DONE);
+		reportFinished(follower);
 	}
 
 	@Override
@@ -142,19 +348,25 @@ public class DistributedExecutionManager implements ExecutionManager {
 
 		// State changed to DONE or FAILED
 		if (query.getState() != ExecutionState.RUNNING) {
-			final String primaryGroupName = AuthorizationHelper.getPrimaryGroup(query.getOwner(), storage).map(Group::getName).orElse("none");
-
-			ExecutionMetrics.getRunningQueriesCounter(primaryGroupName).dec();
-			ExecutionMetrics.getQueryStateCounter(query.getState(), primaryGroupName).inc();
-			ExecutionMetrics.getQueriesTimeHistogram(primaryGroupName).update(query.getExecutionTime().toMillis());
+			reportFinished(query);
 
 			/* This log is here to prevent an NPE which could occur when no strong reference to result.getResults()
 			 existed anymore after the query finished and immediately was reset */
 			log.trace("Collected metrics for execution {}. Last result received: {}:", executionId, result.getResults());
+
+			releaseFollowers(query);
 		}
 
 	}
 
+	private void reportFinished(ManagedExecution execution) {
+		final String primaryGroupName = AuthorizationHelper.getPrimaryGroup(execution.getOwner(), storage).map(Group::getName).orElse("none");
+
+		ExecutionMetrics.getRunningQueriesCounter(primaryGroupName).dec();
+		ExecutionMetrics.getQueryStateCounter(execution.getState(), primaryGroupName).inc();
+		ExecutionMetrics.getQueriesTimeHistogram(primaryGroupName).update(execution.getExecutionTime().toMillis());
+	}
+
 
 	/**
 	 * Register another result for the execution.
@@ -185,9 +397,66 @@ public class DistributedExecutionManager implements ExecutionManager {
 
 	}
 
+	/**
+	 * Cancelled followers are only dropped, as they are not executed on the workers.
+	 * Followers of a cancelled execution are not left waiting for it: The first of them is executed in its place, the others wait for that one instead.
+	 */
 	@Override
 	public void cancelQuery(Dataset dataset, ManagedExecution query) {
-		query.cancel();
+		final ManagedQuery successor;
+		final boolean follower;
+
+		synchronized (resultCache) {
+			synchronized (followers) {
+				follower = followers.values().removeIf(waiting -> waiting.getId().equals(query.getId()));
+			}
+
+			successor = follower ? null : handOver(query.getId());
+		}
+
+		if (!follower) {
+			query.cancel();
+		}
+
+		if (query.getState() == ExecutionState.RUNNING) {
+			final String primaryGroupName = AuthorizationHelper.getPrimaryGroup(query.getOwner(), storage).map(Group::getName).orElse("none");
+			ExecutionMetrics.getRunningQueriesCounter(primaryGroupName).dec();
+
+			query.reset();
+		}
+
+		if (successor != null) {
+			log.info("Query[{}] is executed in place of cancelled Query[{}]", successor.getId(), query.getId());
+			sendExecutionMessage(successor, successor);
+		}
 	}
 
+	/**
+	 * Make the first of the followers still running, the execution the others wait for, in place of the cancelled execution.
+	 *
+	 * @return the execution, that needs to be sent to the workers, if any.
+	 */
+	private ManagedQuery handOver(ManagedExecutionId cancelled) {
+		final ResultCacheKey key = runningQueries.inverse().remove(cancelled);
+		final List<ManagedQuery> waiting = followers.removeAll(cancelled).stream()
+													.filter(follower -> follower.getState() == ExecutionState.RUNNING)
+													.toList();
+
+		if (waiting.isEmpty()) {
+			return null;
+		}
+
+		final ManagedQuery successor = waiting.get(0);
+
+		if (key != null) {
+			runningQueries.forcePut(key, successor.getId());
+		}
+
+		followers.putAll(successor.getId(), waiting.subList(1, waiting.size()));
+
+		return successor;
+	}
+
+	private record ResultCacheKey(long dataVersion, String queryHash) {
+	}
 }
@@ -1,27 +1,30 @@
 package com.bakdata.conquery.models.query;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import com.bakdata.conquery.apiv1.frontend.FrontendValue;
 import com.bakdata.conquery.io.storage.NamespaceStorage;
 import com.bakdata.conquery.models.config.CSVConfig;
 import com.bakdata.conquery.models.config.IndexConfig;
+import com.bakdata.conquery.models.datasets.Import;
 import com.bakdata.conquery.models.datasets.concepts.Searchable;
 import com.bakdata.conquery.models.datasets.concepts.filters.specific.SelectFilter;
 import com.bakdata.conquery.models.jobs.JobManager;
-import com.bakdata.conquery.models.jobs.SimpleJob;
 import com.bakdata.conquery.models.jobs.UpdateFilterSearchJob;
 import com.bakdata.conquery.util.search.TrieSearch;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMaps;
-import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -38,10 +41,41 @@ public class FilterSearch {
 	 * We tag our searches based on references collected in getSearchReferences. We do not mash them all together to allow for sharing and prioritising different sources.
 	 * <p>
 	 * In the code below, the keys of this map will usually be called "reference".
+	 * <p>
+	 * Searches are only replaced when fully built, so searches in progress never see a partial index.
 	 */
 	@JsonIgnore
-	private final Map<Searchable<?>, TrieSearch<FrontendValue>> searchCache = new HashMap<>();
-	private Object2LongMap<Searchable<?>> totals = Object2LongMaps.emptyMap();
+	private final Map<Searchable<?>, TrieSearch<FrontendValue>> searchCache = new ConcurrentHashMap<>();
+
+	/**
+	 * The instances of the searchables and imports a search has been built from, so updates only need to add the values of new imports.
+	 */
+	@JsonIgnore
+	private final Map<Searchable<?>, IndexedSource> indexedSources = new ConcurrentHashMap<>();
+
+	/**
+	 * Source of {@link IndexedSource#version()}.
+	 */
+	@JsonIgnore
+	@Getter(AccessLevel.NONE)
+	private final AtomicLong versions = new AtomicLong();
+
+	/**
+	 * Replaced as a whole, when an update is done.
+	 */
+	private volatile Object2LongMap<Searchable<?>> totals = Object2LongMaps.emptyMap();
+
+	/**
+	 * @param searchable The exact instance, the search was built for.
+	 * @param imports    The imports whose values are contained in the search.
+	 * @param version    Unique per built search, so that results derived from a search can be checked against it, without holding on to it.
+	 */
+	public record IndexedSource(Searchable<?> searchable, Set<Import> imports, long version) {
+	}
+
+	public long nextVersion() {
+		return versions.incrementAndGet();
+	}
 
 	/**
 	 * From a given {@link FrontendValue} extract all relevant keywords.
@@ -75,19 +109,27 @@ public class FilterSearch {
 						 .collect(Collectors.toList());
 	}
 
+	/**
+	 * The versions of the searches collected by {@link #getSearchesFor(Searchable)}, which change whenever one of them is replaced.
+	 */
+	public final long[] getVersionsFor(Searchable<?> searchable) {
+		return searchable.getSearchReferences().stream()
+						 .map(indexedSources::get)
+						 .filter(Objects::nonNull)
+						 .mapToLong(IndexedSource::version)
+						 .toArray();
+	}
+
 	public long getTotal(Searchable<?> searchable) {
 		return totals.getOrDefault(searchable, 0);
 	}
 
 
 	/**
-	 * Scan all SelectFilters and submit {@link SimpleJob}s to create interactive searches for them.
+	 * Scan all SelectFilters and submit an {@link UpdateFilterSearchJob} to create or update interactive searches for them.
 	 */
 	public void updateSearch() {
-
-		totals = new Object2LongOpenHashMap<>();
-
-		jobManager.addSlowJob(new UpdateFilterSearchJob(storage, searchCache, indexConfig, totals));
+		jobManager.addSlowJob(new UpdateFilterSearchJob(storage, indexConfig, this));
 	}
 
 }
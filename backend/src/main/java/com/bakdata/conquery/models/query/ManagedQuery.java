@@ -31,6 +31,7 @@ import com.bakdata.conquery.models.query.resultinfo.ResultInfo;
 import com.bakdata.conquery.models.query.results.EntityResult;
 import com.bakdata.conquery.models.query.results.ShardResult;
 import com.bakdata.conquery.models.worker.DistributedNamespace;
+import com.bakdata.conquery.models.worker.WorkerHandler;
 import com.bakdata.conquery.models.worker.WorkerInformation;
 import com.bakdata.conquery.util.QueryUtils;
 import com.fasterxml.jackson.annotation.JacksonInject;
@@ -118,9 +119,30 @@ public class ManagedQuery extends ManagedExecution implements EditorQuery, Singl
 	@Override
 	public void start() {
 		super.start();
-		involvedWorkers = Collections.synchronizedSet(getNamespace().getWorkerHandler().getWorkers().stream()
-																	.map(WorkerInformation::getId)
-																	.collect(Collectors.toSet()));
+		involvedWorkers = Collections.synchronizedSet(collectInvolvedWorkers());
+	}
+
+	/**
+	 * If the entities of the query are already known, only the workers responsible for their buckets need to execute it.
+	 */
+	private Set<WorkerId> collectInvolvedWorkers() {
+		final WorkerHandler workerHandler = getNamespace().getWorkerHandler();
+
+		final Set<WorkerId> allWorkers = workerHandler.getWorkers().stream()
+													  .map(WorkerInformation::getId)
+													  .collect(Collectors.toSet());
+
+		final Set<WorkerId> responsible = query.collectKnownEntities()
+											   .map(entities -> entities.getBuckets(getConfig().getCluster().getEntityBucketSize()))
+											   .map(workerHandler::getResponsibleWorkers)
+											   .orElse(allWorkers);
+
+		// No worker has data on the entities, but we still need a result to finish.
+		if (responsible.isEmpty()) {
+			return allWorkers;
+		}
+
+		return responsible;
 	}
 
 	@Override
@@ -175,7 +197,7 @@ public class ManagedQuery extends ManagedExecution implements EditorQuery, Singl
 
 	@Override
 	public WorkerMessage createExecutionMessage() {
-		return new ExecuteQuery(getId(), getQuery());
+		return new ExecuteQuery(getId(), getQuery(), getPriority(), getOwner() == null ? null : getOwner().getId());
 	}
 
 	@Override
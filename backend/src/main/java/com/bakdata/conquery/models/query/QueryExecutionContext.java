@@ -1,6 +1,7 @@
 package com.bakdata.conquery.models.query;
 
 import java.time.LocalDate;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,8 +24,6 @@ import com.bakdata.conquery.models.identifiable.ids.specific.SecondaryIdDescript
 import com.bakdata.conquery.models.query.entity.Entity;
 import com.bakdata.conquery.models.query.queryplan.aggregators.Aggregator;
 import groovy.lang.Tuple3;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntSet;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -53,27 +52,59 @@ public class QueryExecutionContext {
 	private Optional<Aggregator<CDateSet>> queryDateAggregator = Optional.empty();
 
 	@Getter(AccessLevel.NONE)
-	private final Map<Tuple3<Column, Import, String[]>, IntSet> multiSelectValuesCache = new ConcurrentHashMap<>();
+	private final Map<Tuple3<Column, Import, String[]>, BitSet> multiSelectValuesCache = new ConcurrentHashMap<>();
 
+	@Getter(AccessLevel.NONE)
+	private final Map<Tuple3<Column, Import, String>, BitSet> prefixIdsCache = new ConcurrentHashMap<>();
 
-	private static IntSet findIds(Column column, Bucket bucket, String[] values) {
-		final IntSet selectedValues = new IntOpenHashSet();
 
+	private static BitSet findIds(Column column, Bucket bucket, String[] values) {
 		final StringStore type = (StringStore) bucket.getStore(column);
 
+		final BitSet selectedValues = new BitSet(type.size());
+
 		for (final String select : values) {
 			final int parsed = type.getId(select);
 
-			selectedValues.add(parsed);
+			if (parsed == -1) {
+				continue;
+			}
+
+			selectedValues.set(parsed);
 		}
 
 		return selectedValues;
 	}
 
-	public IntSet getIdsFor(Column column, Bucket bucket, String[] values) {
+	/**
+	 * Resolves the ids of the values, once per dictionary of the {@link Import}.
+	 */
+	public BitSet getIdsFor(Column column, Bucket bucket, String[] values) {
 		return multiSelectValuesCache.computeIfAbsent(new Tuple3<>(column, bucket.getImp(), values), (ignored) -> findIds(column, bucket, values));
 	}
 
+	private static BitSet findIdsWithPrefix(Column column, Bucket bucket, String prefix) {
+		final StringStore type = (StringStore) bucket.getStore(column);
+		final BitSet ids = new BitSet(type.size());
+
+		for (int id = 0; id < type.size(); id++) {
+			final String element = type.getElement(id);
+
+			if (element != null && element.startsWith(prefix)) {
+				ids.set(id);
+			}
+		}
+
+		return ids;
+	}
+
+	/**
+	 * Resolves the ids of all values starting with prefix, once per dictionary of the {@link Import}, so events are only checked by their id.
+	 */
+	public BitSet getIdsWithPrefix(Column column, Bucket bucket, String prefix) {
+		return prefixIdsCache.computeIfAbsent(new Tuple3<>(column, bucket.getImp(), prefix), (ignored) -> findIdsWithPrefix(column, bucket, prefix));
+	}
+
 	/**
 	 * Only set when in {@link com.bakdata.conquery.models.query.queryplan.SecondaryIdQueryPlan}, to the selected {@link SecondaryIdDescriptionId}.
 	 */
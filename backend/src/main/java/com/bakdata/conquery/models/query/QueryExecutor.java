@@ -4,8 +4,9 @@ import static com.bakdata.conquery.models.error.ConqueryError.asConqueryError;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.time.Duration;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -13,19 +14,28 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
+import com.bakdata.conquery.apiv1.query.ConceptQuery;
 import com.bakdata.conquery.apiv1.query.Query;
 import com.bakdata.conquery.models.error.ConqueryError;
+import com.bakdata.conquery.models.execution.ExecutionPriority;
+import com.bakdata.conquery.models.identifiable.ids.Id;
 import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.identifiable.ids.specific.UserId;
 import com.bakdata.conquery.models.query.entity.Entity;
 import com.bakdata.conquery.models.query.queryplan.QueryPlan;
 import com.bakdata.conquery.models.query.results.EntityResult;
 import com.bakdata.conquery.models.query.results.ShardResult;
 import com.bakdata.conquery.models.worker.Worker;
-import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -34,12 +44,36 @@ public class QueryExecutor implements Closeable {
 
 	private final Worker worker;
 
-	private final ThreadPoolExecutor executor;
+	private final QueryScheduler scheduler;
 
 	private final int secondaryIdSubPlanLimit;
 
 	private final Set<ManagedExecutionId> cancelledQueries = new HashSet<>();
 
+	/**
+	 * Entities of the results of recently finished {@link ConceptQuery}s on this worker, used to evaluate {@link com.bakdata.conquery.apiv1.query.concept.specific.CQReusedQuery} without re-executing them.
+	 * Weighed by their size in bytes.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final Cache<ManagedExecutionId, BitSet> reusableResults;
+
+	/**
+	 * Incremented whenever data of the worker changes, so that results of executions running during the change are not stored.
+	 */
+	@Getter(AccessLevel.PACKAGE)
+	private final AtomicLong dataGeneration = new AtomicLong();
+
+	public QueryExecutor(Worker worker, QueryScheduler scheduler, int secondaryIdSubPlanLimit, long reusableResultsSize) {
+		this.worker = worker;
+		this.scheduler = scheduler;
+		this.secondaryIdSubPlanLimit = secondaryIdSubPlanLimit;
+
+		reusableResults = CacheBuilder.newBuilder()
+									  .maximumWeight(reusableResultsSize)
+									  .weigher((ManagedExecutionId id, BitSet entities) -> entities.size() / Byte.SIZE)
+									  .build();
+	}
+
 	public void unsetQueryCancelled(ManagedExecutionId query) {
 		cancelledQueries.remove(query);
 	}
@@ -52,7 +86,10 @@ public class QueryExecutor implements Closeable {
 		return cancelledQueries.contains(query);
 	}
 
-	public boolean execute(Query query, QueryExecutionContext executionContext, ShardResult result, Set<Entity> entities) {
+	/**
+	 * Execute the query for all entities, scheduled as one task per bucket with the priority and owner of the execution.
+	 */
+	public boolean execute(Query query, QueryExecutionContext executionContext, ShardResult result, Set<Entity> entities, ExecutionPriority priority, @Nullable UserId owner) {
 
 		final ThreadLocal<QueryPlan<?>> plan = ThreadLocal.withInitial(() -> query.createQueryPlan(new QueryPlanContext(worker, secondaryIdSubPlanLimit)));
 
@@ -60,25 +97,43 @@ public class QueryExecutor implements Closeable {
 			log.warn("Entities for query are empty");
 		}
 
+		// The execution might be re-executed on changed data.
+		reusableResults.invalidate(result.getQueryId());
+		final long generation = dataGeneration.get();
+
 		try {
 			// We log the QueryPlan once for debugging purposes.
 			if (log.isDebugEnabled()) {
 				log.debug("QueryPlan for Query[{}] = `{}`", result.getQueryId(), plan.get());
 			}
 
-			final List<CompletableFuture<Optional<EntityResult>>> futures =
-					entities.stream()
-							.map(entity -> new QueryJob(executionContext, plan, entity))
-							.map(job -> CompletableFuture.supplyAsync(job, executor))
-							.collect(Collectors.toList());
+			final int entityBucketSize = executionContext.getBucketManager().getEntityBucketSize();
+
+			final Collection<List<Entity>> buckets = entities.stream()
+															 .collect(Collectors.groupingBy(entity -> Entity.getBucket(entity.getId(), entityBucketSize)))
+															 .values();
+
+			// Executions without owner do not share their turns with each other.
+			final Id<?> share = owner != null ? owner : result.getQueryId();
+
+			final List<CompletableFuture<List<EntityResult>>> futures =
+					buckets.stream()
+						   .map(bucket -> scheduler.submit(priority, share, () -> executeBucket(executionContext, plan, bucket)))
+						   .collect(Collectors.toList());
 
 			final CompletableFuture<Void> allDone = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
 
 			allDone.thenApply((ignored) -> futures.stream()
 												  .map(CompletableFuture::join)
-												  .flatMap(Optional::stream)
+												  .flatMap(List::stream)
 												  .collect(Collectors.toList()))
-				   .whenComplete((results, exc) -> result.finish(Objects.requireNonNullElse(results, Collections.emptyList()), Optional.ofNullable(exc), worker));
+				   .whenComplete((results, exc) -> {
+					   if (exc == null && query instanceof ConceptQuery && !isCancelled(result.getQueryId())) {
+						   storeReusableResult(result.getQueryId(), results, generation);
+					   }
+
+					   result.finish(Objects.requireNonNullElse(results, Collections.emptyList()), Optional.ofNullable(exc), worker);
+				   });
 
 
 			return true;
@@ -91,20 +146,60 @@ public class QueryExecutor implements Closeable {
 		}
 	}
 
+	private static List<EntityResult> executeBucket(QueryExecutionContext executionContext, ThreadLocal<QueryPlan<?>> plan, List<Entity> entities) {
+		final List<EntityResult> results = new ArrayList<>();
+
+		for (Entity entity : entities) {
+			new QueryJob(executionContext, plan, entity).get().ifPresent(results::add);
+		}
+
+		return results;
+	}
+
+	void storeReusableResult(ManagedExecutionId executionId, List<EntityResult> results, long generation) {
+		final BitSet entities = new BitSet();
+
+		for (EntityResult result : results) {
+			entities.set(result.getEntityId());
+		}
+
+		synchronized (reusableResults) {
+			if (generation != dataGeneration.get()) {
+				log.trace("Data changed during execution of {}, not storing its results for reuse.", executionId);
+				return;
+			}
+
+			reusableResults.put(executionId, entities);
+		}
+	}
+
+	/**
+	 * @return the entities of the result of the execution on this worker, if it was a {@link ConceptQuery} that finished recently on the current data.
+	 */
+	public Optional<BitSet> getReusableResult(ManagedExecutionId executionId) {
+		return Optional.ofNullable(reusableResults.getIfPresent(executionId));
+	}
+
+	/**
+	 * Discard all stored results, as the data they were computed on changed.
+	 */
+	public void invalidateReusableResults() {
+		synchronized (reusableResults) {
+			dataGeneration.incrementAndGet();
+			reusableResults.invalidateAll();
+		}
+	}
+
 	public void sendFailureToManagerNode(ShardResult result, ConqueryError error) {
 		result.finish(Collections.emptyList(), Optional.of(error), worker);
 	}
 
 	@Override
 	public void close() throws IOException {
-		boolean success = MoreExecutors.shutdownAndAwaitTermination(executor, Duration.of(1, ChronoUnit.DAYS));
-		if (!success && log.isDebugEnabled()) {
-			log.error("Timeout has elapsed before termination completed for executor {}", executor);
-		}
+		scheduler.close();
 	}
 
 	public boolean isBusy() {
-		// This might not be super accurate (see the Documentation of ThreadPoolExecutor)
-		return executor.getActiveCount() != 0 || !executor.getQueue().isEmpty();
+		return scheduler.isBusy();
 	}
 }
@@ -1,5 +1,8 @@
 package com.bakdata.conquery.models.query;
 
+import java.util.BitSet;
+import java.util.Optional;
+
 import javax.annotation.Nullable;
 
 import com.bakdata.conquery.io.storage.ModificationShieldedWorkerStorage;
@@ -7,6 +10,7 @@ import com.bakdata.conquery.models.common.daterange.CDateRange;
 import com.bakdata.conquery.models.datasets.Dataset;
 import com.bakdata.conquery.models.datasets.SecondaryIdDescription;
 import com.bakdata.conquery.models.identifiable.CentralRegistry;
+import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
 import com.bakdata.conquery.models.identifiable.ids.specific.SecondaryIdDescriptionId;
 import com.bakdata.conquery.models.worker.Worker;
 import lombok.AccessLevel;
@@ -45,4 +49,11 @@ public class QueryPlanContext {
 		return worker.getStorage().getCentralRegistry();
 	}
 
+	/**
+	 * @see QueryExecutor#getReusableResult(ManagedExecutionId)
+	 */
+	public Optional<BitSet> getReusableResult(ManagedExecutionId executionId) {
+		return worker.getQueryExecutor().getReusableResult(executionId);
+	}
+
 }
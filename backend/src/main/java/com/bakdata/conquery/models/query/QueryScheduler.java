@@ -0,0 +1,153 @@
+package com.bakdata.conquery.models.query;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.bakdata.conquery.metrics.ExecutionMetrics;
+import com.bakdata.conquery.models.execution.ExecutionPriority;
+import com.bakdata.conquery.models.identifiable.ids.Id;
+import com.google.common.util.concurrent.MoreExecutors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Schedules tasks of executions onto the query threads of a {@link com.bakdata.conquery.models.worker.Worker}.
+ * <p>
+ * Tasks are picked by {@link ExecutionPriority} first, and round-robin between the owners of executions within the same priority, so a single large execution cannot starve the others.
+ * Executions without an owner are scheduled as owners of their own, so they never share a turn with other executions.
+ * Executions are submitted as one task per bucket, so a newly arriving execution of higher priority preempts running ones as soon as a thread finishes its current bucket.
+ *
+ * @implNote For every submitted task, an anonymous token is handed to the underlying {@link ThreadPoolExecutor}, which runs the most urgent pending task once it is executed.
+ */
+@Slf4j
+public class QueryScheduler implements Closeable {
+
+	private final ThreadPoolExecutor executor;
+
+	private final Map<ExecutionPriority, OwnerQueues> queues = new EnumMap<>(ExecutionPriority.class);
+
+	public QueryScheduler(ThreadPoolExecutor executor) {
+		this.executor = executor;
+
+		for (ExecutionPriority priority : ExecutionPriority.values()) {
+			queues.put(priority, new OwnerQueues());
+		}
+	}
+
+	public <T> CompletableFuture<T> submit(ExecutionPriority priority, Id<?> owner, Supplier<T> task) {
+		Objects.requireNonNull(owner, "Tasks must be scheduled for an owner");
+
+		final CompletableFuture<T> future = new CompletableFuture<>();
+
+		final ScheduledTask scheduled = new ScheduledTask(priority, System.nanoTime(), () -> {
+			try {
+				future.complete(task.get());
+			}
+			catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		});
+
+		synchronized (queues) {
+			queues.get(priority).add(owner, scheduled);
+		}
+
+		ExecutionMetrics.getScheduledTasksCounter(priority).inc();
+
+		executor.execute(this::runNext);
+
+		return future;
+	}
+
+	private void runNext() {
+		final ScheduledTask task = poll();
+
+		if (task == null) {
+			log.warn("No task was scheduled for execution.");
+			return;
+		}
+
+		ExecutionMetrics.getScheduledTasksCounter(task.priority()).dec();
+		ExecutionMetrics.getScheduledTasksWaitHistogram(task.priority()).update(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - task.submitted()));
+
+		task.runnable().run();
+	}
+
+	private ScheduledTask poll() {
+		synchronized (queues) {
+			// EnumMap iterates in order of precedence.
+			for (OwnerQueues ownerQueues : queues.values()) {
+				final ScheduledTask task = ownerQueues.poll();
+
+				if (task != null) {
+					return task;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	public boolean isBusy() {
+		// This might not be super accurate (see the Documentation of ThreadPoolExecutor)
+		return executor.getActiveCount() != 0 || !executor.getQueue().isEmpty();
+	}
+
+	@Override
+	public void close() throws IOException {
+		boolean success = MoreExecutors.shutdownAndAwaitTermination(executor, Duration.of(1, ChronoUnit.DAYS));
+		if (!success && log.isDebugEnabled()) {
+			log.error("Timeout has elapsed before termination completed for executor {}", executor);
+		}
+	}
+
+	private record ScheduledTask(ExecutionPriority priority, long submitted, Runnable runnable) {
+	}
+
+	/**
+	 * Pending tasks of a single priority, handed out round-robin by owner.
+	 */
+	private static class OwnerQueues {
+		private final Map<Id<?>, Queue<ScheduledTask>> byOwner = new HashMap<>();
+		private final Queue<Id<?>> owners = new ArrayDeque<>();
+
+		private void add(Id<?> owner, ScheduledTask task) {
+			byOwner.computeIfAbsent(owner, (ignored) -> {
+					   owners.add(owner);
+					   return new ArrayDeque<>();
+				   })
+				   .add(task);
+		}
+
+		private ScheduledTask poll() {
+			final Id<?> owner = owners.poll();
+
+			if (owner == null) {
+				return null;
+			}
+
+			final Queue<ScheduledTask> tasks = byOwner.get(owner);
+			final ScheduledTask task = tasks.poll();
+
+			if (tasks.isEmpty()) {
+				byOwner.remove(owner);
+			}
+			else {
+				owners.add(owner);
+			}
+
+			return task;
+		}
+	}
+}
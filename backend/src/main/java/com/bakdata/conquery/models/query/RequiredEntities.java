@@ -43,6 +43,15 @@ public final class RequiredEntities {
 		return new RequiredEntities(out);
 	}
 
+	/**
+	 * @return the buckets containing the entities.
+	 */
+	public IntSet getBuckets(int entityBucketSize) {
+		final IntSet buckets = new IntOpenHashSet();
+		entities.forEach((int entity) -> buckets.add(Entity.getBucket(entity, entityBucketSize)));
+		return buckets;
+	}
+
 	public Set<Entity> resolve(BucketManager bucketManager) {
 		final Int2ObjectMap<Entity> all = bucketManager.getEntities();
 		return entities.intStream()
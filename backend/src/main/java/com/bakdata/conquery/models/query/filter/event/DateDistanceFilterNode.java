@@ -11,6 +11,7 @@ import com.bakdata.conquery.models.common.Range;
 import com.bakdata.conquery.models.datasets.Column;
 import com.bakdata.conquery.models.datasets.Table;
 import com.bakdata.conquery.models.events.Bucket;
+import com.bakdata.conquery.models.events.BucketStatistics;
 import com.bakdata.conquery.models.query.QueryExecutionContext;
 import com.bakdata.conquery.models.query.queryplan.filter.EventFilterNode;
 import lombok.Getter;
@@ -47,6 +48,24 @@ public class DateDistanceFilterNode extends EventFilterNode<Range.LongRange> {
 		}
 	}
 
+	@Override
+	public boolean isOfInterest(Bucket bucket) {
+		final BucketStatistics statistics = bucket.getStatistics();
+
+		if (!statistics.mayContain(getColumn(), null, null)) {
+			return false;
+		}
+
+		final int position = getColumn().getPosition();
+
+		// The distance decreases with later dates, so the earliest date has the largest distance.
+		final long largest = unit.between(CDate.toLocalDate((int) statistics.getMin()[position]), reference);
+		final long smallest = unit.between(CDate.toLocalDate((int) statistics.getMax()[position]), reference);
+
+		return (filterValue.getMin() == null || largest >= filterValue.getMin())
+			   && (filterValue.getMax() == null || smallest <= filterValue.getMax());
+	}
+
 	@Override
 	public boolean checkEvent(Bucket bucket, int event) {
 		if (!bucket.has(event, getColumn())) {
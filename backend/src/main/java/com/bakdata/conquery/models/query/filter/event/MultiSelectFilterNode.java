@@ -1,6 +1,7 @@
 package com.bakdata.conquery.models.query.filter.event;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Set;
 
 import javax.validation.constraints.NotNull;
@@ -8,10 +9,10 @@ import javax.validation.constraints.NotNull;
 import com.bakdata.conquery.models.datasets.Column;
 import com.bakdata.conquery.models.datasets.Table;
 import com.bakdata.conquery.models.events.Bucket;
-import com.bakdata.conquery.models.events.stores.root.StringStore;
 import com.bakdata.conquery.models.query.QueryExecutionContext;
 import com.bakdata.conquery.models.query.entity.Entity;
 import com.bakdata.conquery.models.query.queryplan.filter.EventFilterNode;
+import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import lombok.Getter;
 import lombok.Setter;
@@ -32,7 +33,7 @@ public class MultiSelectFilterNode extends EventFilterNode<String[]> {
 
 	private final boolean empty;
 
-	private IntSet selectedValues;
+	private BitSet selectedValues;
 	private QueryExecutionContext context;
 
 	public MultiSelectFilterNode(Column column, String[] filterValue) {
@@ -75,13 +76,34 @@ public class MultiSelectFilterNode extends EventFilterNode<String[]> {
 
 		final int stringId = bucket.getString(event, getColumn());
 
-		return selectedValues.contains(stringId);
+		return selectedValues.get(stringId);
 	}
 
 	@Override
 	public boolean isOfInterest(Bucket bucket) {
-		for (String selected : getFilterValue()) {
-			if(((StringStore) bucket.getStores()[getColumn().getPosition()]).getId(selected) != -1) {
+		if (empty) {
+			// Events without values are included
+			return true;
+		}
+
+		final BitSet selected = context.getIdsFor(column, bucket, filterValue);
+		final IntSet present = bucket.getStatistics().getDistinctStringIds(getColumn());
+
+		// Iterate the smaller side and look its ids up in the other one.
+		if (present.size() <= selected.cardinality()) {
+			final IntIterator iterator = present.iterator();
+
+			while (iterator.hasNext()) {
+				if (selected.get(iterator.nextInt())) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		for (int stringId = selected.nextSetBit(0); stringId >= 0; stringId = selected.nextSetBit(stringId + 1)) {
+			if (present.contains(stringId)) {
 				return true;
 			}
 		}
@@ -1,5 +1,6 @@
 package com.bakdata.conquery.models.query.filter.event;
 
+import java.util.BitSet;
 import java.util.Set;
 
 import javax.validation.constraints.NotNull;
@@ -7,7 +8,8 @@ import javax.validation.constraints.NotNull;
 import com.bakdata.conquery.models.datasets.Column;
 import com.bakdata.conquery.models.datasets.Table;
 import com.bakdata.conquery.models.events.Bucket;
-import com.bakdata.conquery.models.events.stores.root.StringStore;
+import com.bakdata.conquery.models.query.QueryExecutionContext;
+import com.bakdata.conquery.models.query.entity.Entity;
 import com.bakdata.conquery.models.query.queryplan.filter.EventFilterNode;
 import lombok.Getter;
 import lombok.Setter;
@@ -24,16 +26,33 @@ public class PrefixTextFilterNode extends EventFilterNode<String> {
 	@Setter
 	private Column column;
 
-	private StringStore store;
+	private QueryExecutionContext context;
+
+	/**
+	 * Ids of the values in the current {@link Bucket} starting with the prefix.
+	 */
+	private BitSet matchingIds;
 
 	public PrefixTextFilterNode(Column column, String filterValue) {
 		super(filterValue);
 		this.column = column;
 	}
 
+	@Override
+	public void init(Entity entity, QueryExecutionContext context) {
+		super.init(entity, context);
+		this.context = context;
+		matchingIds = null;
+	}
+
+	@Override
+	public boolean isOfInterest(Bucket bucket) {
+		return !context.getIdsWithPrefix(getColumn(), bucket, filterValue).isEmpty();
+	}
+
 	@Override
 	public void nextBlock(Bucket bucket) {
-		store = (StringStore) bucket.getStore(getColumn());
+		matchingIds = context.getIdsWithPrefix(getColumn(), bucket, filterValue);
 	}
 
 	@Override
@@ -42,11 +61,7 @@ public class PrefixTextFilterNode extends EventFilterNode<String> {
 			return false;
 		}
 
-		final int id = store.getString(event);
-		String value = store.getElement(id);
-
-		//if performance is a problem we could find the filterValue once in the dictionary and then only check the values
-		return value.startsWith(filterValue);
+		return matchingIds.get(bucket.getString(event, getColumn()));
 	}
 
 	@Override
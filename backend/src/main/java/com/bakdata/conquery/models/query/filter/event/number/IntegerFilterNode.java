@@ -16,4 +16,9 @@ public class IntegerFilterNode extends NumberFilterNode<Range.LongRange> {
 	public boolean contains(Bucket bucket, int event) {
 		return getFilterValue().contains(bucket.getInteger(event, getColumn()));
 	}
+
+	@Override
+	public boolean isOfInterest(Bucket bucket) {
+		return bucket.getStatistics().mayContain(getColumn(), getFilterValue().getMin(), getFilterValue().getMax());
+	}
 }
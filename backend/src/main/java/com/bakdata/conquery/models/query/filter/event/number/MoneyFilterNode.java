@@ -16,4 +16,9 @@ public class MoneyFilterNode extends NumberFilterNode<Range.LongRange> {
 	public boolean contains(Bucket bucket, int event) {
 		return getFilterValue().contains(bucket.getMoney(event, getColumn()));
 	}
+
+	@Override
+	public boolean isOfInterest(Bucket bucket) {
+		return bucket.getStatistics().mayContain(getColumn(), getFilterValue().getMin(), getFilterValue().getMax());
+	}
 }
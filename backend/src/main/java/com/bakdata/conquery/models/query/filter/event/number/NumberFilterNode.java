@@ -43,6 +43,11 @@ public abstract class NumberFilterNode<RANGE extends IRange<?, ?>> extends Event
 
 	public abstract boolean contains(Bucket bucket, int event);
 
+	@Override
+	public boolean isOfInterest(Bucket bucket) {
+		return bucket.getStatistics().mayContain(getColumn(), null, null);
+	}
+
 	@Override
 	public void collectRequiredTables(Set<Table> requiredTables) {
 		requiredTables.add(column.getTable());
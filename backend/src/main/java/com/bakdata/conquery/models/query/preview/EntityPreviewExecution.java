@@ -438,7 +438,9 @@ public class EntityPreviewExecution extends ManagedInternalForm<EntityPreviewFor
 	public WorkerMessage createExecutionMessage() {
 		return new ExecuteForm(getId(), getFlatSubQueries().entrySet()
 														   .stream()
-														   .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getQuery())));
+														   .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getQuery())),
+							   getPriority(), getOwner() == null ? null : getOwner().getId()
+		);
 	}
 
 	@Override
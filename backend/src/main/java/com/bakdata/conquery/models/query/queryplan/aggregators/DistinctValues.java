@@ -0,0 +1,140 @@
+package com.bakdata.conquery.models.query.queryplan.aggregators;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import com.bakdata.conquery.models.datasets.Column;
+import com.bakdata.conquery.models.dictionary.Dictionary;
+import com.bakdata.conquery.models.events.Bucket;
+import com.bakdata.conquery.models.events.stores.root.StringStore;
+import com.bakdata.conquery.util.LongTupleHashSet;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+/**
+ * Tracks the distinct combinations of values of some columns, on the raw values of the stores instead of their script values.
+ * <p>
+ * Every value is encoded as a single {@code long}, such that two values are encoded equally exactly if their script values are equal:
+ * <ul>
+ *     <li>Strings are encoded by their id in the dictionary of the first bucket they are read from. Strings of other dictionaries are looked up in that dictionary.</li>
+ *     <li>Numbers, dates and booleans are encoded by their raw value, date ranges by both of their bounds.</li>
+ *     <li>Values without such an encoding (decimals, or strings missing from the first dictionary) are assigned a negative id on their first occurrence.</li>
+ * </ul>
+ * A tuple additionally contains a bit mask of the present columns, so missing values are distinct from all values.
+ * <p>
+ * Instances are meant to be {@link #clear()}ed and reused for every entity.
+ */
+public class DistinctValues {
+
+	private final Column[] columns;
+
+	private final LongTupleHashSet observed;
+
+	/**
+	 * Buffer for the tuple of the current event.
+	 */
+	private final long[] incoming;
+
+	/**
+	 * The string store whose dictionary defines the ids of a string column.
+	 */
+	private final StringStore[] referenceStores;
+
+	/**
+	 * Ids of values that cannot be encoded directly.
+	 */
+	private final Object2LongMap<Object> assignedIds = new Object2LongOpenHashMap<>();
+
+	public DistinctValues(List<Column> columns) {
+		this.columns = columns.toArray(Column[]::new);
+
+		final int maskWords = (this.columns.length + Long.SIZE - 1) / Long.SIZE;
+
+		observed = new LongTupleHashSet(maskWords + this.columns.length);
+		incoming = new long[observed.getWidth()];
+		referenceStores = new StringStore[this.columns.length];
+	}
+
+	public void clear() {
+		observed.clear();
+		assignedIds.clear();
+		// Assigned ids are only consistent within one use.
+		Arrays.fill(referenceStores, null);
+	}
+
+	/**
+	 * @return true, if any of the columns has a value in the event and the combination of values has not been added before.
+	 */
+	public boolean add(Bucket bucket, int event) {
+		final int maskWords = incoming.length - columns.length;
+
+		Arrays.fill(incoming, 0, maskWords, 0L);
+
+		boolean anyPresent = false;
+
+		for (int index = 0; index < columns.length; index++) {
+			final Column column = columns[index];
+
+			if (!bucket.has(event, column)) {
+				incoming[maskWords + index] = 0;
+				continue;
+			}
+
+			anyPresent = true;
+			incoming[index / Long.SIZE] |= 1L << (index % Long.SIZE);
+			incoming[maskWords + index] = encode(bucket, event, index);
+		}
+
+		return anyPresent && observed.add(incoming);
+	}
+
+	private long encode(Bucket bucket, int event, int index) {
+		final Column column = columns[index];
+
+		return switch (column.getType()) {
+			case STRING -> encodeString((StringStore) bucket.getStore(column), bucket.getString(event, column), index);
+			case INTEGER -> bucket.getInteger(event, column);
+			case MONEY -> bucket.getMoney(event, column);
+			case DATE -> bucket.getDate(event, column);
+			case BOOLEAN -> bucket.getBoolean(event, column) ? 1 : 0;
+			// Double#equals compares the same bits
+			case REAL -> Double.doubleToLongBits(bucket.getReal(event, column));
+			case DATE_RANGE -> {
+				final CDateRange range = bucket.getDateRange(event, column);
+				yield ((long) range.getMinValue() << Integer.SIZE) | (range.getMaxValue() & 0xFFFFFFFFL);
+			}
+			case DECIMAL -> assignId(bucket.getDecimal(event, column));
+		};
+	}
+
+	private long encodeString(StringStore store, int id, int index) {
+		final StringStore reference = referenceStores[index];
+
+		if (reference == null) {
+			referenceStores[index] = store;
+			return id;
+		}
+
+		if (reference == store || isSameDictionary(reference.getUnderlyingDictionary(), store.getUnderlyingDictionary())) {
+			return id;
+		}
+
+		final String value = store.getElement(id);
+		final int referenceId = reference.getId(value);
+
+		if (referenceId >= 0) {
+			return referenceId;
+		}
+
+		return assignId(value);
+	}
+
+	private static boolean isSameDictionary(Dictionary reference, Dictionary dictionary) {
+		return reference != null && reference == dictionary;
+	}
+
+	private long assignId(Object value) {
+		return assignedIds.computeIfAbsent(value, (Object ignored) -> -1L - assignedIds.size());
+	}
+}
@@ -1,7 +1,5 @@
 package com.bakdata.conquery.models.query.queryplan.aggregators;
 
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -13,25 +11,30 @@ import com.bakdata.conquery.models.query.entity.Entity;
 import com.bakdata.conquery.models.types.ResultType;
 import com.google.common.collect.ImmutableList;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
 /**
  * Helper Aggregator, forwarding only events with distinct values to {@code aggregator}.
+ * <p>
+ * Distinct values are tracked on the raw values of the stores, see {@link DistinctValues}.
  *
  * @param <VALUE>
  */
 @ToString(callSuper = true, of = {"columns", "aggregator"})
-@RequiredArgsConstructor
 public class DistinctValuesWrapperAggregator<VALUE> extends ColumnAggregator<VALUE> {
 
 	private final ColumnAggregator<VALUE> aggregator;
 
-	private final Set<List<Object>> observed = new HashSet<>();
+	private final DistinctValues observed;
 
 	@Getter
 	private final List<Column> columns;
 
+	public DistinctValuesWrapperAggregator(ColumnAggregator<VALUE> aggregator, List<Column> columns) {
+		this.aggregator = aggregator;
+		this.columns = columns;
+		observed = new DistinctValues(columns);
+	}
 
 	@Override
 	public VALUE createAggregationResult() {
@@ -63,22 +66,8 @@ public class DistinctValuesWrapperAggregator<VALUE> extends ColumnAggregator<VAL
 
 	@Override
 	public void consumeEvent(Bucket bucket, int event) {
-		final List<Object> incoming = new ArrayList<>(getColumns().size());
-
-		// Do not accept completely empty lines
-		boolean anyPresent = false;
-
-		for (Column column : getColumns()) {
-			if (bucket.has(event, column)) {
-				anyPresent = true;
-				incoming.add(bucket.createScriptValue(event, column));
-			}
-			else {
-				incoming.add(null);
-			}
-		}
-
-		if (anyPresent && observed.add(incoming)) {
+		// Completely empty lines are not accepted
+		if (observed.add(bucket, event)) {
 			aggregator.consumeEvent(bucket, event);
 		}
 	}
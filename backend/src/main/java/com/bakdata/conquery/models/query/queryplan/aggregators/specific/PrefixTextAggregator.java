@@ -1,5 +1,6 @@
 package com.bakdata.conquery.models.query.queryplan.aggregators.specific;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -21,6 +22,13 @@ public class PrefixTextAggregator extends SingleColumnAggregator<Set<String>> {
 	private final Set<String> entries = new HashSet<>();
 	private final String prefix;
 
+	private QueryExecutionContext context;
+
+	/**
+	 * Ids of the values in the current {@link Bucket} starting with the prefix.
+	 */
+	private BitSet matchingIds;
+
 	public PrefixTextAggregator(Column column, String prefix) {
 		super(column);
 		this.prefix = prefix;
@@ -29,6 +37,12 @@ public class PrefixTextAggregator extends SingleColumnAggregator<Set<String>> {
 	@Override
 	public void init(Entity entity, QueryExecutionContext context) {
 		entries.clear();
+		this.context = context;
+	}
+
+	@Override
+	public void nextBlock(Bucket bucket) {
+		matchingIds = context.getIdsWithPrefix(getColumn(), bucket, prefix);
 	}
 
 	@Override
@@ -37,14 +51,11 @@ public class PrefixTextAggregator extends SingleColumnAggregator<Set<String>> {
 			return;
 		}
 
-		String value = (String) bucket.createScriptValue(event, getColumn());
-
-		// if performance is a problem we could find the prefix once in the dictionary
-		// and then only check the values
-		if (value.startsWith(prefix)) {
-			entries.add(value);
+		if (!matchingIds.get(bucket.getString(event, getColumn()))) {
+			return;
 		}
 
+		entries.add((String) bucket.createScriptValue(event, getColumn()));
 	}
 
 	@Override
@@ -1,12 +1,14 @@
 package com.bakdata.conquery.models.query.queryplan.aggregators.specific.value;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import com.bakdata.conquery.models.datasets.Column;
 import com.bakdata.conquery.models.events.Bucket;
 import com.bakdata.conquery.models.query.QueryExecutionContext;
 import com.bakdata.conquery.models.query.entity.Entity;
+import com.bakdata.conquery.models.query.queryplan.aggregators.DistinctValues;
 import com.bakdata.conquery.models.query.queryplan.aggregators.SingleColumnAggregator;
 import com.bakdata.conquery.models.types.ResultType;
 import com.google.common.collect.ImmutableSet;
@@ -14,26 +16,32 @@ import lombok.ToString;
 
 /**
  * Aggregator gathering all unique values in a column, into a Set.
+ * <p>
+ * Uniqueness is tracked on the raw values of the store, so only the first occurrence of every value is converted to its script value.
  *
  * @param <VALUE> Value type of the column.
  */
 @ToString(callSuper = true, onlyExplicitlyIncluded = true)
 public class AllValuesAggregator<VALUE> extends SingleColumnAggregator<Set<VALUE>> {
 
+	private final DistinctValues observed;
+
 	private final Set<VALUE> entries = new HashSet<>();
 
 	public AllValuesAggregator(Column column) {
 		super(column);
+		observed = new DistinctValues(List.of(column));
 	}
 
 	@Override
 	public void init(Entity entity, QueryExecutionContext context) {
+		observed.clear();
 		entries.clear();
 	}
 
 	@Override
 	public void consumeEvent(Bucket bucket, int event) {
-		if (bucket.has(event, getColumn())) {
+		if (observed.add(bucket, event)) {
 			entries.add((VALUE) bucket.createScriptValue(event, getColumn()));
 		}
 	}
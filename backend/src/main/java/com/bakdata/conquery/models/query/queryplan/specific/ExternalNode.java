@@ -1,12 +1,11 @@
 package com.bakdata.conquery.models.query.queryplan.specific;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
-import javax.validation.constraints.NotEmpty;
-
+import com.bakdata.conquery.apiv1.query.concept.specific.external.ExternalEntities;
 import com.bakdata.conquery.models.common.CDateSet;
 import com.bakdata.conquery.models.datasets.Table;
 import com.bakdata.conquery.models.events.Bucket;
@@ -21,6 +20,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Includes the entities of {@link ExternalEntities}, with their dates and extra data.
+ * <p>
+ * Entities are found by binary search in the shared {@link ExternalEntities}, only the dates of the current entity are materialized.
+ */
 @Slf4j
 @ToString(onlyExplicitlyIncluded = true)
 @RequiredArgsConstructor
@@ -29,40 +33,48 @@ public class ExternalNode<T> extends QPNode {
 	private final Table table;
 	private final CDateSet dateUnion = CDateSet.createEmpty();
 
-	@NotEmpty
 	@NonNull
-	private final Map<Integer, CDateSet> includedEntities;
+	private final ExternalEntities entities;
 
-	private final Map<Integer, Map<String, T>> extraData;
-	private final String[] extraColumns;
-	private final Map<String, ConstantValueAggregator<T>> extraAggregators;
-	private CDateSet contained;
+	/**
+	 * Aggregators of the extra columns, by position of the column in {@link #entities}.
+	 */
+	private final List<ConstantValueAggregator<T>> extraAggregators;
 
-	public Set<Integer> getEntities() {
-		return includedEntities.keySet();
-	}
+	/**
+	 * Converts the extra values of an entity into the value of the aggregator. Is only called with non-empty lists.
+	 */
+	private final Function<List<String>, T> extraReader;
+
+	/**
+	 * Position of the current entity in {@link #entities}, -1 if it is not contained.
+	 */
+	private int position = -1;
 
 	@Override
 	public void init(Entity entity, QueryExecutionContext context) {
 		super.init(entity, context);
-		contained = includedEntities.get(entity.getId());
+		position = entities.indexOf(entity.getId());
 		dateUnion.clear();
 
-		for (ConstantValueAggregator<T> extraAggregator : extraAggregators.values()) {
+		for (ConstantValueAggregator<T> extraAggregator : extraAggregators) {
 			// reset aggregators
 			extraAggregator.setValue(null);
 		}
 
-		for (Map.Entry<String, ConstantValueAggregator<T>> colAndAgg : extraAggregators.entrySet()) {
-			final String col = colAndAgg.getKey();
-			final ConstantValueAggregator<T> agg = colAndAgg.getValue();
+		if (position == -1) {
+			return;
+		}
+
+		for (int column = 0; column < extraAggregators.size(); column++) {
+			final List<String> values = entities.getExtra(column, position);
 
 			// Clear if entity has no value for the column
-			if (!extraData.getOrDefault(entity.getId(), Collections.emptyMap()).containsKey(col)) {
+			if (values.isEmpty()) {
 				continue;
 			}
 
-			agg.setValue(extraData.get(entity.getId()).get(col));
+			extraAggregators.get(column).setValue(extraReader.apply(values));
 		}
 	}
 
@@ -70,8 +82,8 @@ public class ExternalNode<T> extends QPNode {
 	public void nextTable(QueryExecutionContext ctx, Table currentTable) {
 		super.nextTable(ctx, currentTable);
 
-		if (table.equals(currentTable) && contained != null) {
-			dateUnion.addAll(contained);
+		if (table.equals(currentTable) && position != -1) {
+			entities.addDates(position, dateUnion);
 			dateUnion.retainAll(ctx.getDateRestriction());
 		}
 	}
@@ -84,16 +96,16 @@ public class ExternalNode<T> extends QPNode {
 
 	@Override
 	public boolean isContained() {
-		if (contained == null) {
+		if (position == -1) {
 			// Entity was not in the selected set.
 			return false;
 		}
 
 		/*
 		If the intersection 'dateUnion' is not empty its contained.
-		Unless the initial dateset 'contained' was also empty, which means that no date context was provided anyway.
+		Unless the initial dateset was also empty, which means that no date context was provided anyway.
 		 */
-		return !dateUnion.isEmpty() || contained.isEmpty();
+		return !dateUnion.isEmpty() || !entities.hasDates(position);
 	}
 
 	@Override
@@ -142,6 +142,13 @@ public class FiltersNode extends QPNode {
 
 	@Override
 	public boolean isOfInterest(Bucket bucket) {
+		// Events are only accepted if they pass all event filters, so a single filter without possible matches excludes the bucket.
+		for (EventFilterNode<?> filter : eventFilters) {
+			if (!filter.isOfInterest(bucket)) {
+				return false;
+			}
+		}
+
 		for (FilterNode<?> filter : filters) {
 			if (filter.isOfInterest(bucket)) {
 				return true;
@@ -0,0 +1,76 @@
+package com.bakdata.conquery.models.query.queryplan.specific;
+
+import java.util.BitSet;
+
+import com.bakdata.conquery.models.events.Bucket;
+import com.bakdata.conquery.models.query.QueryExecutionContext;
+import com.bakdata.conquery.models.query.entity.Entity;
+import com.bakdata.conquery.models.query.queryplan.QPChainNode;
+import com.bakdata.conquery.models.query.queryplan.QPNode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Restricts the plan of a {@link com.bakdata.conquery.apiv1.query.concept.specific.CQReusedQuery} to the entities of the result of the reused execution, as stored on the worker.
+ * Entities outside the result are not evaluated at all.
+ * <p>
+ * The stored result is only valid without a date restriction, as applied for example by temporal queries. If one is present, the child is evaluated as usual.
+ */
+@ToString(callSuper = true)
+public class ReusedQueryNode extends QPChainNode {
+
+	@NonNull
+	private final BitSet entities;
+
+	private boolean gated;
+	private boolean included;
+
+	public ReusedQueryNode(@NonNull BitSet entities, QPNode child) {
+		super(child);
+		this.entities = entities;
+	}
+
+	@Override
+	public void init(Entity entity, QueryExecutionContext context) {
+		super.init(entity, context);
+
+		gated = context.getDateRestriction().isAll();
+		included = entities.get(entity.getId());
+	}
+
+	@Override
+	public boolean isOfInterest(Entity entity) {
+		if (gated && !included) {
+			return false;
+		}
+
+		return getChild().isOfInterest(entity);
+	}
+
+	@Override
+	public boolean isOfInterest(Bucket bucket) {
+		if (gated && !included) {
+			return false;
+		}
+
+		return super.isOfInterest(bucket);
+	}
+
+	@Override
+	public boolean acceptEvent(Bucket bucket, int event) {
+		if (gated && !included) {
+			return false;
+		}
+
+		return getChild().acceptEvent(bucket, event);
+	}
+
+	@Override
+	public boolean isContained() {
+		if (gated && !included) {
+			return false;
+		}
+
+		return super.isContained();
+	}
+}
@@ -78,6 +78,7 @@ public class DatasetRegistry<N extends Namespace> extends IdResolveContext imple
 	public N createNamespace(NamespaceStorage datasetStorage) {
 		final N namespace = namespaceHandler.createNamespace(datasetStorage, metaStorage, indexService);
 		add(namespace);
+		namespaceHandler.addNamespace(namespace.getDataset().getId(), namespace);
 		return namespace;
 	}
 
@@ -140,6 +141,8 @@ public class DatasetRegistry<N extends Namespace> extends IdResolveContext imple
 				log.error("Unable to close namespace {}", namespace, e);
 			}
 		}
+
+		indexService.close();
 	}
 
 	@Override
@@ -3,6 +3,7 @@ package com.bakdata.conquery.models.worker;
 import java.io.IOException;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.bakdata.conquery.io.jackson.Injectable;
 import com.bakdata.conquery.io.storage.NamespaceStorage;
@@ -17,6 +18,7 @@ import com.bakdata.conquery.models.jobs.SimpleJob;
 import com.bakdata.conquery.models.query.ExecutionManager;
 import com.bakdata.conquery.models.query.FilterSearch;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -47,10 +49,38 @@ public abstract class Namespace extends IdResolveContext {
 	// Jackson's injectables that are available when deserializing requests (see PathParamInjector) or items from the storage
 	private final List<Injectable> injectables;
 
+	/**
+	 * Incremented on every change of data or concepts, so that cached results of executions are not reused afterwards.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final AtomicLong dataVersion = new AtomicLong();
+
+	/**
+	 * Incremented on every change of what the concept tree presented to the frontend is built from: concepts, structure, secondary ids and matching stats.
+	 */
+	@Getter(AccessLevel.NONE)
+	private final AtomicLong conceptsVersion = new AtomicLong();
+
 	public Dataset getDataset() {
 		return storage.getDataset();
 	}
 
+	public long getDataVersion() {
+		return dataVersion.get();
+	}
+
+	public void incrementDataVersion() {
+		dataVersion.incrementAndGet();
+	}
+
+	public long getConceptsVersion() {
+		return conceptsVersion.get();
+	}
+
+	public void incrementConceptsVersion() {
+		conceptsVersion.incrementAndGet();
+	}
+
 	public void close() {
 		try {
 			jobManager.close();
@@ -2,7 +2,9 @@ package com.bakdata.conquery.models.worker;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
@@ -24,8 +26,10 @@ import com.bakdata.conquery.models.datasets.concepts.Concept;
 import com.bakdata.conquery.models.dictionary.Dictionary;
 import com.bakdata.conquery.models.events.Bucket;
 import com.bakdata.conquery.models.events.BucketManager;
+import com.bakdata.conquery.models.events.ConceptMatchingStats;
 import com.bakdata.conquery.models.events.stores.root.ColumnStore;
 import com.bakdata.conquery.models.events.stores.root.StringStore;
+import com.bakdata.conquery.models.identifiable.ids.specific.ConceptId;
 import com.bakdata.conquery.models.identifiable.ids.specific.DictionaryId;
 import com.bakdata.conquery.models.identifiable.ids.specific.SecondaryIdDescriptionId;
 import com.bakdata.conquery.models.jobs.JobManager;
@@ -34,6 +38,7 @@ import com.bakdata.conquery.models.messages.network.MessageToManagerNode;
 import com.bakdata.conquery.models.messages.network.NetworkMessage;
 import com.bakdata.conquery.models.messages.network.specific.ForwardToNamespace;
 import com.bakdata.conquery.models.query.QueryExecutor;
+import com.bakdata.conquery.models.query.QueryScheduler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
 import lombok.NonNull;
@@ -63,6 +68,11 @@ public class Worker implements MessageSender.Transforming<NamespaceMessage, Netw
 	@Getter
 	private final ObjectMapper communicationMapper;
 
+	/**
+	 * Matching stats merged so far, so updates only need to merge the {@link com.bakdata.conquery.models.events.CBlock}s added since.
+	 */
+	private final Map<ConceptId, ConceptMatchingStats> matchingStats = new ConcurrentHashMap<>();
+
 
 	public Worker(
 			@NonNull ThreadPoolDefinition queryThreadPoolDefinition,
@@ -71,7 +81,7 @@ public class Worker implements MessageSender.Transforming<NamespaceMessage, Netw
 			boolean failOnError,
 			int entityBucketSize,
 			ObjectMapper persistenceMapper,
-			ObjectMapper communicationMapper, int secondaryIdSubPlanLimit) {
+			ObjectMapper communicationMapper, int secondaryIdSubPlanLimit, long reusableResultsSize) {
 		this.storage = storage;
 		this.jobsExecutorService = jobsExecutorService;
 		this.communicationMapper = communicationMapper;
@@ -81,7 +91,7 @@ public class Worker implements MessageSender.Transforming<NamespaceMessage, Netw
 		storage.loadData();
 
 		jobManager = new JobManager(storage.getWorker().getName(), failOnError);
-		queryExecutor = new QueryExecutor(this, queryThreadPoolDefinition.createService("QueryExecutor %d"), secondaryIdSubPlanLimit);
+		queryExecutor = new QueryExecutor(this, new QueryScheduler(queryThreadPoolDefinition.createService("QueryExecutor %d")), secondaryIdSubPlanLimit, reusableResultsSize);
 		bucketManager = BucketManager.create(this, storage, entityBucketSize);
 	}
 
@@ -96,7 +106,7 @@ public class Worker implements MessageSender.Transforming<NamespaceMessage, Netw
 			boolean failOnError,
 			int entityBucketSize,
 			ObjectMapper persistenceMapper,
-			ObjectMapper communicationMapper, int secondaryIdSubPlanLimit) {
+			ObjectMapper communicationMapper, int secondaryIdSubPlanLimit, long reusableResultsSize) {
 
 		WorkerStorage workerStorage = new WorkerStorage(config, validator, directory);
 
@@ -112,7 +122,7 @@ public class Worker implements MessageSender.Transforming<NamespaceMessage, Netw
 		workerStorage.setWorker(info);
 		workerStorage.close();
 
-		return new Worker(queryThreadPoolDefinition, workerStorage, jobsExecutorService, failOnError, entityBucketSize, persistenceMapper, communicationMapper, secondaryIdSubPlanLimit);
+		return new Worker(queryThreadPoolDefinition, workerStorage, jobsExecutorService, failOnError, entityBucketSize, persistenceMapper, communicationMapper, secondaryIdSubPlanLimit, reusableResultsSize);
 	}
 
 	public ModificationShieldedWorkerStorage getStorage() {
@@ -183,18 +193,27 @@ public class Worker implements MessageSender.Transforming<NamespaceMessage, Netw
 		}
 
 		bucketManager.removeImport(imp);
+		queryExecutor.invalidateReusableResults();
 	}
 
 	public void addBucket(Bucket bucket) {
 		bucketManager.addBucket(bucket);
+		queryExecutor.invalidateReusableResults();
 	}
 
 	public void removeConcept(Concept<?> conceptId) {
 		bucketManager.removeConcept(conceptId);
+		matchingStats.remove(conceptId.getId());
+		queryExecutor.invalidateReusableResults();
+	}
+
+	public ConceptMatchingStats getMatchingStats(Concept<?> concept) {
+		return matchingStats.computeIfAbsent(concept.getId(), (ignored) -> new ConceptMatchingStats());
 	}
 
 	public void updateConcept(Concept<?> concept) {
 		bucketManager.updateConcept(concept);
+		queryExecutor.invalidateReusableResults();
 	}
 
 	public void updateDataset(Dataset dataset) {
@@ -203,6 +222,7 @@ public class Worker implements MessageSender.Transforming<NamespaceMessage, Netw
 
 	public void updateDictionary(Dictionary dictionary) {
 		storage.updateDictionary(dictionary);
+		queryExecutor.invalidateReusableResults();
 
 		// Since we've updated a Dictionary, we also have to update the prior usages of that Dictionary in all Buckets and Imports
 		final DictionaryId dictionaryId = dictionary.getId();
@@ -280,6 +300,7 @@ public class Worker implements MessageSender.Transforming<NamespaceMessage, Netw
 
 	public void removeTable(@NsIdRef Table table) {
 		bucketManager.removeTable(table);
+		queryExecutor.invalidateReusableResults();
 	}
 
 	public void addSecondaryId(SecondaryIdDescription secondaryId) {
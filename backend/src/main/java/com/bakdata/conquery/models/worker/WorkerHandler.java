@@ -1,7 +1,9 @@
 package com.bakdata.conquery.models.worker;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
@@ -15,6 +17,7 @@ import com.bakdata.conquery.models.messages.namespaces.specific.UpdateWorkerBuck
 import com.fasterxml.jackson.databind.ObjectMapper;
 import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -52,6 +55,12 @@ public class WorkerHandler {
 		}
 	}
 
+	public void sendTo(Collection<WorkerId> workerIds, WorkerMessage msg) {
+		for (WorkerId workerId : workerIds) {
+			workers.get(workerId).send(msg);
+		}
+	}
+
 	public synchronized void removeBucketAssignmentsForImportFormWorkers(@NonNull Import importId) {
 		final WorkerToBucketsMap workerBuckets = storage.getWorkerBuckets();
 		if (workerBuckets == null) {
@@ -98,6 +107,23 @@ public class WorkerHandler {
 		return bucket2WorkerMap.get(bucket);
 	}
 
+	/**
+	 * @return the workers responsible for any of the buckets. Buckets without a responsible worker have no data and are ignored.
+	 */
+	public synchronized Set<WorkerId> getResponsibleWorkers(IntSet buckets) {
+		final Set<WorkerId> responsible = new HashSet<>();
+
+		for (int bucket : buckets) {
+			final WorkerInformation worker = bucket2WorkerMap.get(bucket);
+
+			if (worker != null) {
+				responsible.add(worker.getId());
+			}
+		}
+
+		return responsible;
+	}
+
 	/**
 	 * @implNote Currently the least occupied Worker receives a new Bucket, this can change in later implementations. (For example for
 	 * 	dedicated Workers, or entity weightings)
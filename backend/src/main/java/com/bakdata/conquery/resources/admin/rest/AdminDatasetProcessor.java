@@ -117,6 +117,7 @@ public class AdminDatasetProcessor {
 		log.info("Received new SecondaryId[{}]", secondaryId.getId());
 
 		namespace.getStorage().addSecondaryId(secondaryId);
+		namespace.incrementConceptsVersion();
 		storageListener.onAddSecondaryId(secondaryId);
 	}
 
@@ -146,6 +147,7 @@ public class AdminDatasetProcessor {
 		log.info("Deleting SecondaryId[{}]", secondaryId);
 
 		namespace.getStorage().removeSecondaryId(secondaryId.getId());
+		namespace.incrementConceptsVersion();
 		storageListener.onDeleteSecondaryId(secondaryId);
 	}
 
@@ -207,7 +209,8 @@ public class AdminDatasetProcessor {
 
 
 		// Register the Concept in the ManagerNode and Workers
-		datasetRegistry.get(dataset.getId()).getStorage().updateConcept(concept);
+		namespace.getStorage().updateConcept(concept);
+		namespace.incrementConceptsVersion();
 		storageListener.onAddConcept(concept);
 	}
 
@@ -251,6 +254,7 @@ public class AdminDatasetProcessor {
 		log.info("Add Structure for Dataset[{}]", namespace.getDataset().getId());
 
 		namespace.getStorage().updateStructure(structure);
+		namespace.incrementConceptsVersion();
 	}
 
 
@@ -310,6 +314,7 @@ public class AdminDatasetProcessor {
 		final Namespace namespace = datasetRegistry.get(concept.getDataset().getId());
 
 		namespace.getStorage().removeConcept(concept.getId());
+		namespace.incrementConceptsVersion();
 		storageListener.onDeleteConcept(concept);
 	}
 
@@ -327,6 +332,7 @@ public class AdminDatasetProcessor {
 
 
 					storageListener.onUpdateMatchingStats(dataset);
+					ns.incrementConceptsVersion();
 					ns.getFilterSearch().updateSearch();
 					ns.updateInternToExternMappings();
 				}
@@ -4,6 +4,7 @@ import static com.bakdata.conquery.resources.ResourceConstants.DATASET;
 import static com.bakdata.conquery.resources.admin.rest.UIProcessor.calculateCBlocksSizeBytes;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -21,6 +22,7 @@ import com.bakdata.conquery.models.datasets.concepts.Concept;
 import com.bakdata.conquery.models.dictionary.Dictionary;
 import com.bakdata.conquery.models.identifiable.ids.specific.TableId;
 import com.bakdata.conquery.models.identifiable.mapping.EntityIdMap;
+import com.bakdata.conquery.models.identifiable.mapping.EntityPrintId;
 import com.bakdata.conquery.models.index.InternToExternMapper;
 import com.bakdata.conquery.models.index.search.SearchIndex;
 import com.bakdata.conquery.models.worker.Namespace;
@@ -117,8 +119,10 @@ public class DatasetsUIResource {
 	public View getIdMapping(@PathParam(DATASET) Dataset dataset) {
 		final Namespace namespace = uiProcessor.getDatasetRegistry().get(dataset.getId());
 		EntityIdMap mapping = namespace.getStorage().getIdMapping();
-		if (mapping != null && mapping.getInternalToPrint() != null) {
-			return new UIView<>("idmapping.html.ftl", uiProcessor.getUIContext(), mapping.getInternalToPrint());
+		if (mapping != null) {
+			// Materializes a copy of the mapping, so it is only done once.
+			final Map<String, EntityPrintId> internalToPrint = mapping.getInternalToPrint();
+			return new UIView<>("idmapping.html.ftl", uiProcessor.getUIContext(), internalToPrint);
 		}
 		return new UIView<>("add_idmapping.html.ftl", uiProcessor.getUIContext(), namespace.getDataset().getId());
 	}
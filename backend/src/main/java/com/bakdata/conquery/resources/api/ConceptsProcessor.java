@@ -1,6 +1,7 @@
 package com.bakdata.conquery.resources.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -12,10 +13,14 @@ import java.util.OptionalInt;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.validation.Validator;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
 
 import com.bakdata.conquery.apiv1.IdLabel;
 import com.bakdata.conquery.apiv1.frontend.FrontendList;
@@ -23,6 +28,7 @@ import com.bakdata.conquery.apiv1.frontend.FrontendPreviewConfig;
 import com.bakdata.conquery.apiv1.frontend.FrontendRoot;
 import com.bakdata.conquery.apiv1.frontend.FrontendValue;
 import com.bakdata.conquery.io.storage.NamespaceStorage;
+import com.bakdata.conquery.metrics.CacheMetrics;
 import com.bakdata.conquery.models.auth.entities.Subject;
 import com.bakdata.conquery.models.auth.permissions.Ability;
 import com.bakdata.conquery.models.config.ConqueryConfig;
@@ -38,28 +44,41 @@ import com.bakdata.conquery.models.datasets.concepts.tree.TreeConcept;
 import com.bakdata.conquery.models.exceptions.ConceptConfigurationException;
 import com.bakdata.conquery.models.exceptions.ValidatorHelper;
 import com.bakdata.conquery.models.identifiable.ids.specific.ConceptElementId;
+import com.bakdata.conquery.models.identifiable.ids.specific.ConceptId;
 import com.bakdata.conquery.models.identifiable.ids.specific.ConnectorId;
 import com.bakdata.conquery.models.identifiable.ids.specific.DatasetId;
 import com.bakdata.conquery.models.worker.DatasetRegistry;
 import com.bakdata.conquery.models.worker.Namespace;
 import com.bakdata.conquery.util.CalculatedValue;
 import com.bakdata.conquery.util.search.Cursor;
+import com.bakdata.conquery.util.search.ScoredItems;
 import com.bakdata.conquery.util.search.TrieSearch;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Iterators;
+import com.google.common.hash.Hashing;
+import io.dropwizard.util.DataSize;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 
 @Getter
 @Slf4j
-@RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class ConceptsProcessor {
 
+	/**
+	 * Rough heap usage of a single node of a concept tree.
+	 */
+	private static final int NODE_BYTES = 512;
+
+	/**
+	 * Rough heap usage of a listed value in the cursor and its distinct-check, excluding the value itself.
+	 */
+	private static final int LISTED_VALUE_BYTES = 64;
+
 	private final DatasetRegistry<? extends Namespace> namespaces;
 	private final Validator validator;
 
@@ -68,53 +87,152 @@ public class ConceptsProcessor {
 	@Getter(lazy = true)
 	private final FrontEndConceptBuilder frontEndConceptBuilder = new FrontEndConceptBuilder(getConfig());
 
-	private final LoadingCache<Concept<?>, FrontendList> nodeCache =
-			CacheBuilder.newBuilder().softValues().expireAfterWrite(10, TimeUnit.MINUTES).build(new CacheLoader<>() {
-				@Override
-				public FrontendList load(Concept<?> concept) {
-					return getFrontEndConceptBuilder().createTreeMap(concept);
-				}
-			});
-
-	/**
-	 * Cache of all search results on SelectFilters.
+	/*
+	 * The caches are bounded by the estimated size of their entries, and record statistics, which are published as metrics.
+	 * Concurrent lookups of the same missing key wait for a single load.
 	 */
-	private final LoadingCache<Pair<Searchable<?>, String>, List<FrontendValue>>
-			searchResults =
-			CacheBuilder.newBuilder().softValues().build(new CacheLoader<>() {
 
-				@Override
-				public List<FrontendValue> load(Pair<Searchable<?>, String> filterAndSearch) {
-					final String searchTerm = filterAndSearch.getValue();
-					final Searchable<?> searchable = filterAndSearch.getKey();
+	private final LoadingCache<Concept<?>, FrontendList> nodeCache;
 
-					log.trace("Calculating a new search cache for the term \"{}\" on Searchable[{}]", searchTerm, searchable.getId());
+	/**
+	 * Cache of serialized roots of the concept tree.
+	 * Subjects that are permitted the same concepts share an entry, entries of outdated versions are never hit again and expire.
+	 */
+	private final Cache<RootKey, SerializedRoot> rootCache;
 
-					return autocompleteTextFilter(searchable, searchTerm);
-				}
+	/**
+	 * Cache of all search results on SelectFilters.
+	 * Results are scored once and then ranked lazily, so further pages are served from the same scores.
+	 */
+	private final LoadingCache<Pair<Searchable<?>, String>, CursorAndLength> searchResults;
 
-			});
 	/**
 	 * Cache of raw listing of values on a filter.
 	 * We use Cursor here to reduce strain on memory and increase response time.
 	 */
-	private final LoadingCache<Searchable<?>, CursorAndLength> listResults = CacheBuilder.newBuilder().softValues().build(new CacheLoader<>() {
-		@Override
-		public CursorAndLength load(Searchable<?> searchable) {
-			log.trace("Creating cursor for `{}`", searchable.getId());
-			return new CursorAndLength(listAllValues(searchable), countAllValues(searchable));
+	private final LoadingCache<Searchable<?>, CursorAndLength> listResults;
+
+	@Inject
+	public ConceptsProcessor(DatasetRegistry<? extends Namespace> namespaces, Validator validator, ConqueryConfig config) {
+		this.namespaces = namespaces;
+		this.validator = validator;
+		this.config = config;
+
+		nodeCache = boundedCache(config.getFrontend().getConceptCacheSize(), (Concept<?> concept, FrontendList nodes) -> (long) nodes.size() * NODE_BYTES)
+				.expireAfterWrite(10, TimeUnit.MINUTES)
+				.build(new CacheLoader<>() {
+					@Override
+					public FrontendList load(Concept<?> concept) {
+						return getFrontEndConceptBuilder().createTreeMap(concept);
+					}
+				});
+
+		rootCache = boundedCache(config.getFrontend().getConceptCacheSize(), (RootKey key, SerializedRoot root) -> root.content().length)
+				.expireAfterAccess(10, TimeUnit.MINUTES)
+				.build();
+
+		searchResults = boundedCache(config.getFrontend().getSearchCacheSize(), (Pair<Searchable<?>, String> key, CursorAndLength result) -> result.estimatedBytes())
+				.build(new CacheLoader<>() {
+					@Override
+					public CursorAndLength load(Pair<Searchable<?>, String> filterAndSearch) {
+						final String searchTerm = filterAndSearch.getValue();
+						final Searchable<?> searchable = filterAndSearch.getKey();
+
+						log.trace("Calculating a new search cache for the term \"{}\" on Searchable[{}]", searchTerm, searchable.getId());
+
+						return autocompleteTextFilter(searchable, searchTerm);
+					}
+				});
+
+		listResults = boundedCache(config.getFrontend().getSearchCacheSize(), (Searchable<?> searchable, CursorAndLength listing) -> listing.estimatedBytes())
+				.build(new CacheLoader<>() {
+					@Override
+					public CursorAndLength load(Searchable<?> searchable) {
+						log.trace("Creating cursor for `{}`", searchable.getId());
+
+						// Read first, so that searches replaced while loading cause a reload instead of being missed
+						final long[] versions = getVersions(searchable);
+						final long total = countAllValues(searchable);
+
+						return new CursorAndLength(listAllValues(searchable), total, versions, total * LISTED_VALUE_BYTES);
+					}
+				});
+
+		CacheMetrics.createCacheGauges("concepts.nodes", nodeCache);
+		CacheMetrics.createCacheGauges("concepts.roots", rootCache);
+		CacheMetrics.createCacheGauges("concepts.searches", searchResults);
+		CacheMetrics.createCacheGauges("concepts.listings", listResults);
+	}
+
+	private static <K, V> CacheBuilder<K, V> boundedCache(DataSize maximumSize, ToLongBiFunction<K, V> estimateBytes) {
+		// Weights are in KiB, as Guava's weights are ints
+		return CacheBuilder.newBuilder()
+						   .recordStats()
+						   .maximumWeight(maximumSize.toKibibytes())
+						   .weigher((K key, V value) -> (int) Math.min(Integer.MAX_VALUE, Math.max(1, estimateBytes.applyAsLong(key, value) / 1024)));
+	}
+
+	/**
+	 * Get the entry of searchable, unless the searches of searchable have been updated since it was loaded.
+	 * Only such outdated entries are dropped, entries of other searchables stay cached.
+	 */
+	private <K> CursorAndLength getCurrent(LoadingCache<K, CursorAndLength> cache, K key, Searchable<?> searchable) throws ExecutionException {
+		final CursorAndLength cached = cache.get(key);
+
+		if (cached.isBuiltFrom(getVersions(searchable)) && (cache != listResults || cached.size() == countAllValues(searchable))) {
+			return cached;
 		}
 
-	});
+		log.trace("Searches of `{}` have been updated, dropping cached results", searchable.getId());
+
+		cache.asMap().remove(key, cached);
+		return cache.get(key);
+	}
+
+	private List<TrieSearch<FrontendValue>> getSearches(Searchable<?> searchable) {
+		return namespaces.get(searchable.getDataset().getId()).getFilterSearch().getSearchesFor(searchable);
+	}
+
+	private long[] getVersions(Searchable<?> searchable) {
+		return namespaces.get(searchable.getDataset().getId()).getFilterSearch().getVersionsFor(searchable);
+	}
+
+	/**
+	 * The root of the concept tree of namespace as permitted to subject, serialized to mediaType.
+	 * <p>
+	 * Only the permissions are evaluated for every request, the root is built and serialized once per version of the concepts and set of permitted concepts.
+	 */
+	public SerializedRoot getRoot(Namespace namespace, Subject subject, MediaType mediaType, Function<FrontendRoot, byte[]> serializer) {
+		// The version is read first: Changes made while the root is built are then picked up by the next request at the latest.
+		final long version = namespace.getConceptsVersion();
+
+		final NamespaceStorage storage = namespace.getStorage();
+		final List<Concept<?>> permitted = getFrontEndConceptBuilder().getPermittedConcepts(storage, subject);
+
+		final RootKey key = new RootKey(
+				namespace.getDataset().getId(),
+				version,
+				permitted.stream().map(Concept::getId).collect(Collectors.toUnmodifiableSet()),
+				mediaType
+		);
+
+		try {
+			return rootCache.get(key, () -> {
+				log.trace("Creating frontend root of {} for {} concepts", key.dataset(), permitted.size());
 
-	public FrontendRoot getRoot(NamespaceStorage storage, Subject subject) {
+				final FrontendRoot root = getFrontEndConceptBuilder().createRoot(storage, permitted);
 
-		final FrontendRoot root = getFrontEndConceptBuilder().createRoot(storage, subject);
+				// Report Violation
+				ValidatorHelper.createViolationsString(validator.validate(root), log.isTraceEnabled()).ifPresent(log::warn);
 
-		// Report Violation
-		ValidatorHelper.createViolationsString(validator.validate(root), log.isTraceEnabled()).ifPresent(log::warn);
+				final byte[] content = serializer.apply(root);
 
-		return root;
+				return new SerializedRoot(content, new EntityTag(Hashing.sha256().hashBytes(content).toString()));
+			});
+		}
+		catch (ExecutionException e) {
+			throw new RuntimeException("failed to create frontend root for " + key.dataset(), e);
+		}
 	}
 
 	public FrontendList getNode(Concept<?> concept) {
@@ -127,12 +245,11 @@ public class ConceptsProcessor {
 	}
 
 	public List<IdLabel<DatasetId>> getDatasets(Subject subject) {
-		return namespaces.getAllDatasets()
-						 .stream()
-						 .filter(d -> subject.isPermitted(d, Ability.READ))
-						 .sorted(Comparator.comparing(Dataset::getWeight).thenComparing(Dataset::getLabel))
-						 .map(d -> new IdLabel<>(d.getId(), d.getLabel()))
-						 .collect(Collectors.toList());
+		return subject.filterPermitted(namespaces.getAllDatasets(), Ability.READ)
+					  .stream()
+					  .sorted(Comparator.comparing(Dataset::getWeight).thenComparing(Dataset::getLabel))
+					  .map(d -> new IdLabel<>(d.getId(), d.getLabel()))
+					  .collect(Collectors.toList());
 	}
 
 	public FrontendPreviewConfig getEntityPreviewFrontendConfig(Dataset dataset) {
@@ -206,19 +323,15 @@ public class ConceptsProcessor {
 
 			// If we have none or a blank query string we list all values.
 			if (maybeText.isEmpty() || maybeText.get().isBlank()) {
-				final CursorAndLength cursorAndLength = listResults.get(searchable);
+				final CursorAndLength cursorAndLength = getCurrent(listResults, searchable, searchable);
 				final Cursor<FrontendValue> cursor = cursorAndLength.values();
 
 				return new AutoCompleteResult(cursor.get(startIncl, endExcl), cursorAndLength.size());
 			}
 
-			final List<FrontendValue> fullResult = searchResults.get(Pair.of(searchable, maybeText.get()));
+			final CursorAndLength ranked = getCurrent(searchResults, Pair.of(searchable, maybeText.get()), searchable);
 
-			if (startIncl >= fullResult.size()) {
-				return new AutoCompleteResult(Collections.emptyList(), fullResult.size());
-			}
-
-			return new AutoCompleteResult(fullResult.subList(startIncl, Math.min(fullResult.size(), endExcl)), fullResult.size());
+			return new AutoCompleteResult(ranked.values().get(startIncl, endExcl - 1), ranked.size());
 		}
 		catch (ExecutionException e) {
 			log.warn("Failed to search for \"{}\".", maybeText, (Exception) (log.isTraceEnabled() ? e : null));
@@ -261,41 +374,27 @@ public class ConceptsProcessor {
 	 * Autocompletion for search terms. For values of {@link SelectFilter <?>}.
 	 * Is used by the serach cache to load missing items
 	 */
-	private List<FrontendValue> autocompleteTextFilter(Searchable<?> searchable, String text) {
-		final Namespace namespace = namespaces.get(searchable.getDataset().getId());
+	private CursorAndLength autocompleteTextFilter(Searchable<?> searchable, String text) {
+		final long[] versions = getVersions(searchable);
+		final List<TrieSearch<FrontendValue>> searches = getSearches(searchable);
+
+		final List<ScoredItems<FrontendValue>> results = searches.stream()
+																 .map(search -> search.score(List.of(text)))
+																 .collect(Collectors.toList());
 
 		// Note that FEValues is equals/hashcode only on value:
 		// The different sources might contain duplicate FEValue#values which we want to avoid as
 		// they are already sorted in terms of information weight by getSearchesFor
+		final Set<FrontendValue> seen = new HashSet<>();
+		final Iterator<FrontendValue> ranked = Iterators.filter(Iterators.concat(Iterators.transform(results.iterator(), ScoredItems::iterator)), seen::add);
 
-		// Also note: currently we are still issuing large search requests, but much smaller allocations at once, and querying only when the past is not sufficient
-		return namespace.getFilterSearch()
-						.getSearchesFor(searchable)
-						.stream()
-						.map(search -> createSourceSearchResult(search, Collections.singletonList(text), OptionalInt.empty()))
-						.flatMap(Collection::stream)
-						.distinct()
-						.collect(Collectors.toList());
-
-
-	}
-
-	/**
-	 * Do a search with the supplied values.
-	 */
-	private static List<FrontendValue> createSourceSearchResult(TrieSearch<FrontendValue> search, Collection<String> values, OptionalInt numberOfTopItems) {
-		if (search == null) {
-			return Collections.emptyList();
-		}
-
-		final List<FrontendValue> result = search.findItems(values, numberOfTopItems.orElse(Integer.MAX_VALUE));
+		final long total = results.size() == 1
+						   ? results.get(0).size()
+						   : results.stream().flatMap(ScoredItems::stream).distinct().count();
 
-		if (numberOfTopItems.isEmpty() && result.size() == Integer.MAX_VALUE) {
-			//TODO This looks odd, do we really expect QuickSearch to allocate that huge of a list for us?
-			log.warn("The quick search returned the maximum number of results ({}) which probably means not all possible results are returned.", Integer.MAX_VALUE);
-		}
+		final long estimatedBytes = results.stream().mapToLong(ScoredItems::estimateMemoryConsumption).sum() + total * LISTED_VALUE_BYTES;
 
-		return result;
+		return new CursorAndLength(new Cursor<>(ranked), total, versions, estimatedBytes);
 	}
 
 	public ResolvedConceptsResult resolveConceptElements(TreeConcept concept, List<String> conceptCodes) {
@@ -323,8 +422,30 @@ public class ConceptsProcessor {
 
 	/**
 	 * Container class to pair number of available values and Cursor for those values.
+	 *
+	 * @param sourceVersions the versions of the searches the values are taken from, see {@link com.bakdata.conquery.models.query.FilterSearch#getVersionsFor(Searchable)}.
+	 */
+	private record CursorAndLength(Cursor<FrontendValue> values, long size, long[] sourceVersions, long estimatedBytes) {
+
+		/**
+		 * Searches are replaced as a whole when they are updated, and get a new version then.
+		 */
+		boolean isBuiltFrom(long[] versions) {
+			return Arrays.equals(sourceVersions, versions);
+		}
+	}
+
+	/**
+	 * @param permitted the concepts of the dataset the requesting subject is permitted to read.
+	 */
+	private record RootKey(DatasetId dataset, long conceptsVersion, Set<ConceptId> permitted, MediaType mediaType) {
+	}
+
+	/**
+	 * @param content the serialized {@link FrontendRoot}.
+	 * @param cacheId identifies content, for browsers to revalidate their copy.
 	 */
-	private record CursorAndLength(Cursor<FrontendValue> values, long size) {
+	public record SerializedRoot(byte[] content, EntityTag cacheId) {
 	}
 
 	public record AutoCompleteResult(List<FrontendValue> values, long total) {
@@ -5,6 +5,7 @@ import static com.bakdata.conquery.resources.ResourceConstants.DATASET;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -20,6 +21,8 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
@@ -30,7 +33,6 @@ import com.bakdata.conquery.apiv1.RequestAwareUriBuilder;
 import com.bakdata.conquery.apiv1.execution.ExecutionStatus;
 import com.bakdata.conquery.apiv1.execution.FullExecutionStatus;
 import com.bakdata.conquery.apiv1.query.ExternalUpload;
-import com.bakdata.conquery.apiv1.query.ExternalUploadResult;
 import com.bakdata.conquery.apiv1.query.QueryDescription;
 import com.bakdata.conquery.apiv1.query.concept.filter.FilterValue;
 import com.bakdata.conquery.models.auth.entities.Subject;
@@ -80,11 +82,20 @@ public class DatasetQueryResource {
 
 	@POST
 	@Path("/upload")
-	public ExternalUploadResult upload(@Auth Subject subject, @Valid ExternalUpload upload) {
+	public void upload(@Auth Subject subject, @Valid ExternalUpload upload, @Suspended AsyncResponse response) {
 		subject.authorize(dataset, Ability.READ);
 		subject.authorize(dataset, Ability.PRESERVE_ID);
 
-		return processor.uploadEntities(subject, dataset, upload);
+		processor.uploadEntities(subject, dataset, upload)
+				 .whenComplete((result, error) -> {
+					 if (error == null) {
+						 response.resume(result);
+						 return;
+					 }
+
+					 // Failures of the resolving job arrive wrapped.
+					 response.resume(error instanceof CompletionException ? error.getCause() : error);
+				 });
 	}
 
 
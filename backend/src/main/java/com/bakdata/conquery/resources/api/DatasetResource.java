@@ -2,11 +2,26 @@ package com.bakdata.conquery.resources.api;
 
 import static com.bakdata.conquery.resources.ResourceConstants.DATASET;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import javax.inject.Inject;
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
 
 import com.bakdata.conquery.apiv1.frontend.FrontendPreviewConfig;
 import com.bakdata.conquery.apiv1.frontend.FrontendRoot;
@@ -15,6 +30,7 @@ import com.bakdata.conquery.models.identifiable.ids.specific.ConnectorId;
 import com.bakdata.conquery.resources.hierarchies.HDatasets;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import lombok.SneakyThrows;
 
 @Setter
 @Produces({ExtraMimeTypes.JSON_STRING, ExtraMimeTypes.SMILE_STRING})
@@ -23,12 +39,84 @@ import lombok.Setter;
 @RequiredArgsConstructor(onConstructor_ = {@Inject})
 public class DatasetResource extends HDatasets {
 
+	/**
+	 * An entity tag, weak or strong, its opaque value being the first group.
+	 */
+	private static final Pattern ENTITY_TAG = Pattern.compile("(?:W/)?\"([^\"]*)\"");
+
 	private final ConceptsProcessor processor;
 
+	@Context
+	private Providers providers;
+
 	@GET
 	@Path("concepts")
-	public FrontendRoot getRoot() {
-		return processor.getRoot(getNamespace().getStorage(), subject);
+	public Response getRoot() {
+		final MediaType mediaType = responseType();
+		final ConceptsProcessor.SerializedRoot root = processor.getRoot(getNamespace(), subject, mediaType, frontendRoot -> serialize(frontendRoot, mediaType));
+
+		// check if browser still has this version cached
+		if (matchesAny(request.getHeaderString(HttpHeaders.IF_NONE_MATCH), root.cacheId())) {
+			return Response.status(HttpServletResponse.SC_NOT_MODIFIED).tag(root.cacheId()).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+		}
+		return Response.ok(root.content(), mediaType).tag(root.cacheId()).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+	}
+
+	/**
+	 * Evaluates an If-None-Match header as of RFC 7232: a list of (possibly weak) entity tags, compared weakly, or {@code *}.
+	 *
+	 * @return true if the client's copy is still the current one.
+	 */
+	static boolean matchesAny(String ifNoneMatch, EntityTag current) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+
+		if (ifNoneMatch.strip().equals("*")) {
+			return true;
+		}
+
+		final Matcher matcher = ENTITY_TAG.matcher(ifNoneMatch);
+
+		while (matcher.find()) {
+			if (matcher.group(1).equals(current.getValue())) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * The first acceptable type the root is produced as, JSON if SMILE is not preferred.
+	 */
+	private MediaType responseType() {
+		final MediaType smile = MediaType.valueOf(ExtraMimeTypes.SMILE_STRING);
+
+		for (MediaType acceptable : request.getAcceptableMediaTypes()) {
+			if (acceptable.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+				return MediaType.APPLICATION_JSON_TYPE;
+			}
+			if (acceptable.isCompatible(smile)) {
+				return smile;
+			}
+		}
+
+		return MediaType.APPLICATION_JSON_TYPE;
+	}
+
+	/**
+	 * Serialize with the same writer Jersey would use for the response, so the cached bytes are identical to an uncached response.
+	 */
+	@SneakyThrows(IOException.class)
+	private byte[] serialize(FrontendRoot root, MediaType mediaType) {
+		final Annotation[] annotations = new Annotation[0];
+		final MessageBodyWriter<FrontendRoot> writer = providers.getMessageBodyWriter(FrontendRoot.class, FrontendRoot.class, annotations, mediaType);
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writer.writeTo(root, FrontendRoot.class, FrontendRoot.class, annotations, mediaType, new MultivaluedHashMap<>(), out);
+
+		return out.toByteArray();
 	}
 
 	/**
@@ -5,6 +5,7 @@ import java.util.List;
 import com.bakdata.conquery.models.query.resultinfo.ResultInfo;
 import com.bakdata.conquery.sql.conversion.model.SqlQuery;
 import lombok.Value;
+import org.jooq.Param;
 import org.jooq.Record;
 import org.jooq.Select;
 import org.jooq.conf.ParamType;
@@ -13,10 +14,13 @@ import org.jooq.conf.ParamType;
 public class ConceptSqlQuery implements SqlQuery {
 
 	String sqlString;
+	List<Param<?>> params;
 	List<ResultInfo> resultInfos;
 
 	public ConceptSqlQuery(Select<Record> finalQuery, List<ResultInfo> resultInfos) {
-		this.sqlString = finalQuery.getSQL(ParamType.INLINED);
+		// Values like filter values and date restrictions are bound as parameters, so the database can reuse the plan of statements that differ only in them.
+		this.sqlString = finalQuery.getSQL(ParamType.INDEXED);
+		this.params = List.copyOf(finalQuery.getParams().values());
 		this.resultInfos = resultInfos;
 	}
 
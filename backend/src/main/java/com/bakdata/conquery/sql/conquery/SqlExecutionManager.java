@@ -1,6 +1,10 @@
 package com.bakdata.conquery.sql.conquery;
 
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import com.bakdata.conquery.apiv1.query.Query;
@@ -9,17 +13,28 @@ import com.bakdata.conquery.io.storage.MetaStorage;
 import com.bakdata.conquery.models.auth.entities.User;
 import com.bakdata.conquery.models.config.ConqueryConfig;
 import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.datasets.concepts.Concept;
+import com.bakdata.conquery.models.datasets.concepts.tree.TreeConcept;
+import com.bakdata.conquery.models.error.ConqueryError;
+import com.bakdata.conquery.models.exceptions.ConceptConfigurationException;
 import com.bakdata.conquery.models.execution.ManagedExecution;
+import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
 import com.bakdata.conquery.models.query.ExecutionManager;
 import com.bakdata.conquery.models.query.QueryResolveContext;
 import com.bakdata.conquery.models.query.results.EntityResult;
 import com.bakdata.conquery.models.worker.Namespace;
 import com.bakdata.conquery.sql.SqlContext;
 import com.bakdata.conquery.sql.conversion.SqlConverter;
-import com.bakdata.conquery.sql.conversion.dialect.SqlDialect;
+import com.bakdata.conquery.sql.conversion.cqelement.concept.ConceptPathTables;
 import com.bakdata.conquery.sql.conversion.model.SqlQuery;
 import com.bakdata.conquery.sql.execution.SqlExecutionResult;
 import com.bakdata.conquery.sql.execution.SqlExecutionService;
+import com.bakdata.conquery.util.QueryUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -27,12 +42,68 @@ public class SqlExecutionManager implements ExecutionManager {
 	private final MetaStorage metaStorage;
 	private final SqlExecutionService executionService;
 	private final SqlConverter converter;
+	private final ObjectMapper communicationMapper;
+	private final ConceptPathTables conceptPathTables;
 
-	public SqlExecutionManager(final SqlContext context, SqlExecutionService sqlExecutionService, MetaStorage metaStorage) {
-		SqlDialect sqlDialect = context.getSqlDialect();
+	@Getter
+	private final boolean materializingConceptPaths;
+
+	/**
+	 * Converted queries by the hash of the query they were converted from.
+	 */
+	private final Cache<String, SqlQuery> convertedQueries;
+
+	/**
+	 * Results of finished executions, in chunks of {@link #chunkSize} rows, so collecting them requires no re-allocations of a single huge list.
+	 */
+	private final Cache<ManagedExecutionId, List<List<EntityResult>>> executionResults =
+			CacheBuilder.newBuilder()
+						.softValues()
+						.removalListener(this::executionRemoved)
+						.build();
+
+	private final int chunkSize;
+
+	public SqlExecutionManager(final SqlContext context, SqlExecutionService sqlExecutionService, MetaStorage metaStorage, ObjectMapper communicationMapper) {
+		this(context, sqlExecutionService, metaStorage, communicationMapper, new ConceptPathTables(sqlExecutionService.getDslContext()));
+	}
+
+	private SqlExecutionManager(SqlContext context, SqlExecutionService sqlExecutionService, MetaStorage metaStorage, ObjectMapper communicationMapper, ConceptPathTables conceptPathTables) {
+		this(context, sqlExecutionService, metaStorage, communicationMapper, conceptPathTables, new SqlConverter(context.getSqlDialect(), context.getConfig(), conceptPathTables));
+	}
+
+	SqlExecutionManager(SqlContext context, SqlExecutionService sqlExecutionService, MetaStorage metaStorage, ObjectMapper communicationMapper, ConceptPathTables conceptPathTables, SqlConverter converter) {
 		this.metaStorage = metaStorage;
 		this.executionService = sqlExecutionService;
-		this.converter = new SqlConverter(sqlDialect, context.getConfig());
+		this.conceptPathTables = conceptPathTables;
+		this.materializingConceptPaths = context.getConfig().isMaterializeConceptPaths();
+		this.converter = converter;
+		this.communicationMapper = communicationMapper;
+		this.convertedQueries = CacheBuilder.newBuilder()
+											.maximumSize(context.getConfig().getConvertedQueryCacheSize())
+											.build();
+		this.chunkSize = Math.max(1, context.getConfig().getFetchSize());
+	}
+
+	/**
+	 * Manage state of evicted Queries, setting them to NEW.
+	 */
+	private void executionRemoved(RemovalNotification<ManagedExecutionId, List<?>> removalNotification) {
+		// If removal was done manually we assume it was also handled properly
+		if (!removalNotification.wasEvicted()) {
+			return;
+		}
+
+		final ManagedExecutionId executionId = removalNotification.getKey();
+
+		log.warn("Evicted Results for Query[{}] (Reason: {})", executionId, removalNotification.getCause());
+
+		final ManagedExecution execution = metaStorage.getExecution(executionId);
+
+		// The query might already be deleted
+		if (execution != null) {
+			execution.reset();
+		}
 	}
 
 	@Override
@@ -40,45 +111,126 @@ public class SqlExecutionManager implements ExecutionManager {
 		// required for properly setting date aggregation action in all nodes of the query graph
 		query.resolve(new QueryResolveContext(namespace, config, metaStorage, null));
 		SqlManagedQuery execution = createExecution(query, user, submittedDataset, system);
-		execution.initExecutable(namespace, config);
-		execution.start();
-		// todo(tm): Non-blocking execution
-		SqlExecutionResult result = this.executionService.execute(execution);
-		execution.finish(result);
+		execute(namespace, execution, config);
 		return execution;
 	}
 
 	@Override
 	public void execute(Namespace namespace, ManagedExecution execution, ConqueryConfig config) {
-		if (!(execution instanceof SqlManagedQuery)) {
+		if (!(execution instanceof SqlManagedQuery sqlExecution)) {
 			throw new UnsupportedOperationException("The SQL execution manager can only execute SQL queries, but got a %s".formatted(execution.getClass()));
 		}
 
-		this.executionService.execute(((SqlManagedQuery) execution));
+		sqlExecution.initExecutable(namespace, config);
+		sqlExecution.start();
+
+		// todo(tm): Non-blocking execution
+		final List<List<EntityResult>> chunks = new ArrayList<>();
+		final Optional<SqlExecutionResult> result;
+
+		try {
+			result = executionService.execute(sqlExecution, row -> {
+				if (chunks.isEmpty() || chunks.get(chunks.size() - 1).size() >= chunkSize) {
+					chunks.add(new ArrayList<>(chunkSize));
+				}
+				chunks.get(chunks.size() - 1).add(row);
+			});
+		}
+		catch (ConqueryError error) {
+			sqlExecution.fail(error);
+			throw error;
+		}
+
+		if (result.isEmpty()) {
+			// Cancelled executions have no results.
+			sqlExecution.reset();
+			return;
+		}
+
+		executionResults.put(sqlExecution.getId(), chunks);
+		sqlExecution.finish(result.get());
 	}
 
 	@Override
 	public SqlManagedQuery createExecution(QueryDescription query, User user, Dataset submittedDataset, boolean system) {
 		Query castQuery = (Query) query;
-		SqlQuery converted = this.converter.convert(castQuery);
+		SqlQuery converted = convert(castQuery);
 		SqlManagedQuery sqlManagedQuery = new SqlManagedQuery(castQuery, user, submittedDataset, metaStorage, converted);
 		metaStorage.addExecution(sqlManagedQuery);
 		return sqlManagedQuery;
 	}
 
+	private SqlQuery convert(Query query) {
+		final String hash = QueryUtils.hashQuery(communicationMapper, query);
+		final SqlQuery cached = convertedQueries.getIfPresent(hash);
+
+		if (cached != null) {
+			log.trace("Reusing converted query for {}", hash);
+			return cached;
+		}
+
+		final SqlQuery converted = this.converter.convert(query);
+		convertedQueries.put(hash, converted);
+		return converted;
+	}
+
+	/**
+	 * Discards all converted queries, as the concepts or tables they were converted with changed.
+	 */
+	public void clearConvertedQueries() {
+		convertedQueries.invalidateAll();
+	}
+
+	/**
+	 * Stores the most specific children of the values of the connectors of the concept in the database, so they are not resolved by every query.
+	 */
+	public void materializeConceptPaths(Concept<?> concept) throws ConceptConfigurationException {
+		if (!(concept instanceof TreeConcept treeConcept)) {
+			return;
+		}
+
+		conceptPathTables.materialize(treeConcept);
+		clearConvertedQueries();
+	}
+
+	/**
+	 * Materializes the concept paths of all concepts again, as the data of their tables might have changed, or they are only known to the database after a restart.
+	 */
+	public void materializeConceptPaths(Collection<? extends Concept<?>> concepts) throws ConceptConfigurationException {
+		for (Concept<?> concept : concepts) {
+			materializeConceptPaths(concept);
+		}
+	}
+
+	public void dropConceptPaths(Concept<?> concept) {
+		conceptPathTables.drop(concept);
+		clearConvertedQueries();
+	}
+
 	@Override
 	public void cancelQuery(Dataset dataset, ManagedExecution query) {
-		// unsupported for now
+		if (!(query instanceof SqlManagedQuery)) {
+			throw new UnsupportedOperationException("The SQL execution manager can only cancel SQL queries, but got a %s".formatted(query.getClass()));
+		}
+
+		executionService.cancel((SqlManagedQuery) query);
 	}
 
+	/**
+	 * Discard the query's results.
+	 */
 	@Override
 	public void clearQueryResults(ManagedExecution execution) {
-		// unsupported for now
+		executionResults.invalidate(execution.getId());
 	}
 
 	@Override
 	public Stream<EntityResult> streamQueryResults(ManagedExecution execution) {
-		throw new UnsupportedOperationException("Streaming for now not supported");
+		final List<List<EntityResult>> chunks = executionResults.getIfPresent(execution.getId());
+
+		return chunks == null
+			   ? Stream.empty()
+			   : chunks.stream().flatMap(List::stream);
 	}
 
 }
@@ -13,6 +13,7 @@ import com.bakdata.conquery.io.storage.MetaStorage;
 import com.bakdata.conquery.models.auth.entities.Subject;
 import com.bakdata.conquery.models.auth.entities.User;
 import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.error.ConqueryErrorInfo;
 import com.bakdata.conquery.models.execution.ExecutionState;
 import com.bakdata.conquery.models.execution.ManagedExecution;
 import com.bakdata.conquery.models.query.PrintSettings;
@@ -65,7 +66,7 @@ public class SqlManagedQuery extends ManagedExecution implements EditorQuery, Si
 
 	@Override
 	public void cancel() {
-		//TODO when async is implemented.
+		getNamespace().getExecutionManager().cancelQuery(getDataset(), this);
 	}
 
 	@Override
@@ -80,7 +81,7 @@ public class SqlManagedQuery extends ManagedExecution implements EditorQuery, Si
 
 	@Override
 	public Stream<EntityResult> streamResults() {
-		return result.getTable().stream();
+		return getNamespace().getExecutionManager().streamQueryResults(this);
 	}
 
 	@Override
@@ -99,4 +100,15 @@ public class SqlManagedQuery extends ManagedExecution implements EditorQuery, Si
 		this.lastResultCount = (long) result.getRowCount();
 		super.finish(ExecutionState.DONE);
 	}
+
+	@Override
+	public void fail(ConqueryErrorInfo error) {
+		super.fail(error);
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		getNamespace().getExecutionManager().clearQueryResults(this);
+	}
 }
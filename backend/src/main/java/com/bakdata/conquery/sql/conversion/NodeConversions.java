@@ -4,6 +4,7 @@ import com.bakdata.conquery.apiv1.query.QueryDescription;
 import com.bakdata.conquery.models.config.SqlConnectorConfig;
 import com.bakdata.conquery.models.query.Visitable;
 import com.bakdata.conquery.sql.conversion.cqelement.ConversionContext;
+import com.bakdata.conquery.sql.conversion.cqelement.concept.ConceptPathTables;
 import com.bakdata.conquery.sql.conversion.dialect.SqlDialect;
 import com.bakdata.conquery.sql.conversion.model.NameGenerator;
 import org.jooq.impl.DSL;
@@ -15,17 +16,20 @@ public class NodeConversions extends Conversions<Visitable, ConversionContext, C
 
 	private final SqlDialect dialect;
 	private final SqlConnectorConfig config;
+	private final ConceptPathTables conceptPathTables;
 
-	public NodeConversions(SqlDialect dialect, SqlConnectorConfig config) {
+	public NodeConversions(SqlDialect dialect, SqlConnectorConfig config, ConceptPathTables conceptPathTables) {
 		super(dialect.getNodeConverters());
 		this.dialect = dialect;
 		this.config = config;
+		this.conceptPathTables = conceptPathTables;
 	}
 
 	public ConversionContext convert(QueryDescription queryDescription) {
 		ConversionContext initialCtx = ConversionContext.builder()
 														.config(config)
 														.nameGenerator(new NameGenerator(config.getDialect().getNameMaxLength()))
+														.conceptPathTables(conceptPathTables)
 														.nodeConversions(this)
 														.sqlDialect(this.dialect)
 														.primaryColumn(DSL.field(DSL.name(config.getPrimaryColumn())))
@@ -3,6 +3,7 @@ package com.bakdata.conquery.sql.conversion;
 import com.bakdata.conquery.apiv1.query.QueryDescription;
 import com.bakdata.conquery.models.config.SqlConnectorConfig;
 import com.bakdata.conquery.sql.conversion.cqelement.ConversionContext;
+import com.bakdata.conquery.sql.conversion.cqelement.concept.ConceptPathTables;
 import com.bakdata.conquery.sql.conversion.dialect.SqlDialect;
 import com.bakdata.conquery.sql.conversion.model.SqlQuery;
 
@@ -10,8 +11,8 @@ public class SqlConverter {
 
 	private final NodeConversions nodeConversions;
 
-	public SqlConverter(SqlDialect dialect, SqlConnectorConfig config) {
-		this.nodeConversions = new NodeConversions(dialect, config);
+	public SqlConverter(SqlDialect dialect, SqlConnectorConfig config, ConceptPathTables conceptPathTables) {
+		this.nodeConversions = new NodeConversions(dialect, config, conceptPathTables);
 	}
 
 	public SqlQuery convert(QueryDescription queryDescription) {
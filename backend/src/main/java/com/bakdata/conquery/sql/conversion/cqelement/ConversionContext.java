@@ -6,6 +6,7 @@ import com.bakdata.conquery.models.common.daterange.CDateRange;
 import com.bakdata.conquery.models.config.SqlConnectorConfig;
 import com.bakdata.conquery.sql.conversion.Context;
 import com.bakdata.conquery.sql.conversion.NodeConversions;
+import com.bakdata.conquery.sql.conversion.cqelement.concept.ConceptPathTables;
 import com.bakdata.conquery.sql.conversion.dialect.SqlDialect;
 import com.bakdata.conquery.sql.conversion.model.NameGenerator;
 import com.bakdata.conquery.sql.conversion.model.QueryStep;
@@ -25,6 +26,7 @@ public class ConversionContext implements Context {
 	NodeConversions nodeConversions;
 	SqlDialect sqlDialect;
 	NameGenerator nameGenerator;
+	ConceptPathTables conceptPathTables;
 	@Singular
 	List<QueryStep> querySteps;
 	SqlQuery finalQuery;
@@ -156,7 +156,7 @@ public class CQConceptConverter implements NodeConverter<CQConcept> {
 		cqTable.getFilters().stream()
 			   .map(filterValue -> filterValue.convertToSqlFilter(conversionContext, connectorTables))
 			   .forEach(allSqlFiltersForTable::add);
-		collectConditionFilters(cqConcept.getElements(), cqTable, functionProvider).ifPresent(allSqlFiltersForTable::add);
+		collectConditionFilters(cqConcept.getElements(), cqTable, conversionContext).ifPresent(allSqlFiltersForTable::add);
 		getDateRestriction(conversionContext, tablesValidityDate).ifPresent(allSqlFiltersForTable::add);
 
 		// convert selects
@@ -198,8 +198,8 @@ public class CQConceptConverter implements NodeConverter<CQConcept> {
 		return dateRestrictionRequired && validityDateSelect.isPresent();
 	}
 
-	private static Optional<SqlFilters> collectConditionFilters(List<ConceptElement<?>> conceptElements, CQTable cqTable, SqlFunctionProvider functionProvider) {
-		return collectConditions(conceptElements, cqTable, functionProvider)
+	private static Optional<SqlFilters> collectConditionFilters(List<ConceptElement<?>> conceptElements, CQTable cqTable, ConversionContext context) {
+		return collectConditions(conceptElements, cqTable, context)
 				.stream()
 				.reduce(WhereCondition::or)
 				.map(whereCondition -> new SqlFilters(
@@ -208,17 +208,35 @@ public class CQConceptConverter implements NodeConverter<CQConcept> {
 				));
 	}
 
-	private static List<WhereCondition> collectConditions(List<ConceptElement<?>> conceptElements, CQTable cqTable, SqlFunctionProvider functionProvider) {
+	private static List<WhereCondition> collectConditions(List<ConceptElement<?>> conceptElements, CQTable cqTable, ConversionContext context) {
+
+		SqlFunctionProvider functionProvider = context.getSqlDialect().getFunctionProvider();
 
 		List<WhereCondition> conditions = new ArrayList<>();
 		convertConnectorCondition(cqTable, functionProvider).ifPresent(conditions::add);
 
+		List<WhereCondition> treeConditions = new ArrayList<>();
 		for (ConceptElement<?> conceptElement : conceptElements) {
 			collectConditions(cqTable, (ConceptTreeNode<?>) conceptElement, functionProvider)
 					.reduce(WhereCondition::and)
-					.ifPresent(conditions::add);
+					.ifPresent(treeConditions::add);
+		}
+
+		// if the connector is materialized, the children are resolved by their entries in the table, instead of the conditions of the tree
+		List<ConceptTreeChild> children = conceptElements.stream()
+														 .filter(ConceptTreeChild.class::isInstance)
+														 .map(ConceptTreeChild.class::cast)
+														 .toList();
+		Optional<WhereCondition> materializedCondition = children.isEmpty() || treeConditions.isEmpty()
+														 ? Optional.empty()
+														 : context.getConceptPathTables()
+																  .createCondition(cqTable.getConnector(), children, treeConditions.stream().reduce(WhereCondition::or).get());
+		if (materializedCondition.isPresent()) {
+			conditions.add(materializedCondition.get());
+			return conditions;
 		}
 
+		conditions.addAll(treeConditions);
 		return conditions;
 	}
 
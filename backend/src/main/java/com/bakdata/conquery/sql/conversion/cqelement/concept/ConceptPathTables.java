@@ -0,0 +1,199 @@
+package com.bakdata.conquery.sql.conversion.cqelement.concept;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.bakdata.conquery.models.datasets.concepts.Concept;
+import com.bakdata.conquery.models.datasets.concepts.Connector;
+import com.bakdata.conquery.models.datasets.concepts.tree.ConceptTreeChild;
+import com.bakdata.conquery.models.datasets.concepts.tree.ConceptTreeConnector;
+import com.bakdata.conquery.models.datasets.concepts.tree.TreeConcept;
+import com.bakdata.conquery.models.exceptions.ConceptConfigurationException;
+import com.bakdata.conquery.models.identifiable.ids.specific.ConnectorId;
+import com.bakdata.conquery.sql.conversion.model.filter.ConditionType;
+import com.bakdata.conquery.sql.conversion.model.filter.ConditionUtil;
+import com.bakdata.conquery.sql.conversion.model.filter.WhereCondition;
+import com.bakdata.conquery.util.CalculatedValue;
+import com.google.common.hash.Hashing;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertValuesStep2;
+import org.jooq.Name;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+
+/**
+ * Tables in the database, that map the values of the column of a {@link ConceptTreeConnector} to the local id of the most specific {@link ConceptTreeChild} they belong to.
+ * <p>
+ * This is the SQL equivalent of the most specific children of a {@link com.bakdata.conquery.models.events.CBlock}: The tree is resolved once, when the concept is added,
+ * and converted queries select the values of the wanted children from the table, instead of evaluating the {@link com.bakdata.conquery.models.datasets.concepts.conditions.CTCondition}s of the tree again.
+ * <p>
+ * All values present at that time are stored, values that belong to no child without a local id. Values that were added to the source table later are not in the table,
+ * and are still resolved by the conditions of the tree, so results do not depend on whether the table is up to date. Tables are re-materialized when the data changes and after restarts,
+ * to keep this fallback rare. They are rebuilt in a staging table, that replaces the previous one only once it is complete.
+ * <p>
+ * Connectors whose conditions depend on other columns than the connector column are not materialized, as their mapping is not determined by the value alone.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ConceptPathTables {
+
+	private static final String TABLE_PREFIX = "concept_paths_";
+	private static final String STAGING_SUFFIX = "_staging";
+	private static final Field<String> VALUE_FIELD = DSL.field(DSL.name("column_value"), String.class);
+	private static final Field<Integer> LOCAL_ID_FIELD = DSL.field(DSL.name("local_id"), Integer.class);
+
+	/**
+	 * Number of rows inserted with a single statement.
+	 */
+	private static final int INSERT_BATCH_SIZE = 1000;
+
+	private final DSLContext dslContext;
+
+	private final Map<ConnectorId, MaterializedConnector> materialized = new ConcurrentHashMap<>();
+
+	/**
+	 * Resolves the most specific children of all values of the connector columns of the concept, and stores them in the database.
+	 */
+	public void materialize(TreeConcept concept) throws ConceptConfigurationException {
+		for (ConceptTreeConnector connector : concept.getConnectors()) {
+			if (connector.getColumn() == null) {
+				// All events of the table belong to the concept itself.
+				continue;
+			}
+
+			materialize(concept, connector);
+		}
+	}
+
+	private void materialize(TreeConcept concept, ConceptTreeConnector connector) throws ConceptConfigurationException {
+		final Field<String> column = DSL.field(DSL.name(connector.getColumn().getName()), String.class);
+
+		final List<String> values = dslContext.selectDistinct(column)
+											  .from(DSL.table(DSL.name(connector.getTable().getName())))
+											  .where(column.isNotNull())
+											  .fetch(column);
+
+		final List<Integer> localIds = new ArrayList<>(values.size());
+
+		for (String value : values) {
+			final CalculatedValue<Map<String, Object>> rowMap = CalculatedValue.from(Collections::emptyMap);
+			final ConceptTreeChild child = concept.findMostSpecificChild(value, rowMap);
+
+			if (rowMap.isCalculated()) {
+				log.info("Not materializing {}, because its conditions depend on other columns than {}", connector.getId(), connector.getColumn().getId());
+				return;
+			}
+
+			// Unmatched values are stored as well, so they are known to belong to no child.
+			localIds.add(child == null ? null : child.getLocalId());
+		}
+
+		final Name tableName = tableName(connector);
+		final Name stagingName = DSL.name(tableName.last() + STAGING_SUFFIX);
+		final Table<Record> staging = DSL.table(stagingName);
+		final int valueLength = values.stream().mapToInt(String::length).max().orElse(1);
+
+		// The table is built aside, so queries running meanwhile still see the complete previous table.
+		dslContext.dropTableIfExists(staging).execute();
+		dslContext.createTable(staging)
+				  .column(VALUE_FIELD, SQLDataType.VARCHAR(Math.max(1, valueLength)))
+				  .column(LOCAL_ID_FIELD, SQLDataType.INTEGER)
+				  .execute();
+
+		for (int from = 0; from < values.size(); from += INSERT_BATCH_SIZE) {
+			InsertValuesStep2<Record, String, Integer> insert = dslContext.insertInto(staging, VALUE_FIELD, LOCAL_ID_FIELD);
+
+			for (int index = from; index < Math.min(from + INSERT_BATCH_SIZE, values.size()); index++) {
+				insert = insert.values(values.get(index), localIds.get(index));
+			}
+
+			insert.execute();
+		}
+
+		// Swapped in one transaction, so queries find either the previous or the new table.
+		dslContext.transaction(configuration -> {
+			final DSLContext transaction = DSL.using(configuration);
+
+			transaction.dropTableIfExists(DSL.table(tableName)).execute();
+			transaction.alterTable(staging).renameTo(tableName).execute();
+		});
+
+		materialized.put(connector.getId(), new MaterializedConnector(connector, tableName));
+
+		log.info("Materialized {} values of {} into {}", values.size(), connector.getId(), tableName);
+	}
+
+	/**
+	 * Drops the tables of all connectors of the concept.
+	 */
+	public void drop(Concept<?> concept) {
+		for (Connector connector : concept.getConnectors()) {
+			materialized.remove(connector.getId());
+
+			final Name tableName = tableName(connector);
+			dslContext.dropTableIfExists(DSL.table(tableName)).execute();
+			dslContext.dropTableIfExists(DSL.table(DSL.name(tableName.last() + STAGING_SUFFIX))).execute();
+		}
+	}
+
+	/**
+	 * @param treeCondition the conditions of the tree for the children, used for values that have not been materialized yet.
+	 * @return A condition that is satisfied by all events of the connector, which belong to one of the children or any of their descendants,
+	 * if the connector has been materialized.
+	 */
+	public Optional<WhereCondition> createCondition(Connector connector, Collection<ConceptTreeChild> children, WhereCondition treeCondition) {
+		final MaterializedConnector materializedConnector = materialized.get(connector.getId());
+
+		// Connectors of a replaced concept must not be resolved with the table of their predecessor.
+		if (materializedConnector == null || materializedConnector.connector() != connector) {
+			log.debug("{} is not materialized, resolving it by the conditions of the tree", connector.getId());
+			return Optional.empty();
+		}
+
+		final IntList localIds = new IntArrayList();
+		children.forEach(child -> collectLocalIds(child, localIds));
+
+		final Field<String> column = DSL.field(DSL.name(connector.getTable().getName(), connector.getColumn().getName()), String.class);
+		final Field<String> value = DSL.field(DSL.name(materializedConnector.table().last(), VALUE_FIELD.getName()), String.class);
+		final Field<Integer> localId = DSL.field(DSL.name(materializedConnector.table().last(), LOCAL_ID_FIELD.getName()), Integer.class);
+
+		final Table<Record> table = DSL.table(materializedConnector.table());
+		final Condition materializedCondition = column.in(DSL.select(value).from(table).where(localId.in(localIds)));
+		final Condition unknownValue = column.notIn(DSL.select(value).from(table));
+
+		return Optional.of(ConditionUtil.wrap(
+				materializedCondition.or(unknownValue.and(treeCondition.condition())),
+				ConditionType.PREPROCESSING
+		));
+	}
+
+	private static void collectLocalIds(ConceptTreeChild child, IntList localIds) {
+		localIds.add(child.getLocalId());
+
+		for (ConceptTreeChild descendant : child.getChildren()) {
+			collectLocalIds(descendant, localIds);
+		}
+	}
+
+	private static Name tableName(Connector connector) {
+		// Ids can be longer than the names allowed by the database.
+		return DSL.name(TABLE_PREFIX + Hashing.sha256().hashString(connector.getId().toString(), StandardCharsets.UTF_8).toString().substring(0, 16));
+	}
+
+	private record MaterializedConnector(Connector connector, Name table) {
+	}
+}
@@ -1,13 +1,25 @@
 package com.bakdata.conquery.sql.conversion.model;
 
+import java.util.Collections;
 import java.util.List;
 
 import com.bakdata.conquery.models.query.resultinfo.ResultInfo;
+import org.jooq.Param;
 
 public interface SqlQuery {
 
+	/**
+	 * @return the SQL statement, with placeholders for the values of {@link #getParams()}.
+	 */
 	String getSql();
 
+	/**
+	 * @return the parameters bound to the placeholders of {@link #getSql()}, in order of their appearance. They are bound by jOOQ, using the bindings of their data types.
+	 */
+	default List<Param<?>> getParams() {
+		return Collections.emptyList();
+	}
+
 	List<ResultInfo> getResultInfos();
 
 }
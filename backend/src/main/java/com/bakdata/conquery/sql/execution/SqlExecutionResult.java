@@ -2,20 +2,15 @@ package com.bakdata.conquery.sql.execution;
 
 import java.util.List;
 
-import com.bakdata.conquery.models.query.results.EntityResult;
 import lombok.Value;
 
+/**
+ * Describes the result of an SQL execution, whose rows were handed to a sink while they were fetched.
+ */
 @Value
 public class SqlExecutionResult {
 
 	List<String> columnNames;
-	List<EntityResult> table;
 	int rowCount;
 
-	public SqlExecutionResult(List<String> columnNames, List<EntityResult> table) {
-		this.columnNames = columnNames;
-		this.table = table;
-		this.rowCount = table.size();
-	}
-
 }
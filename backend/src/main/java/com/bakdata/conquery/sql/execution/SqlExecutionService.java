@@ -4,14 +4,18 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.bakdata.conquery.models.error.ConqueryError;
+import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
 import com.bakdata.conquery.models.query.resultinfo.ResultInfo;
 import com.bakdata.conquery.models.query.results.EntityResult;
 import com.bakdata.conquery.models.types.ResultType;
@@ -20,11 +24,15 @@ import com.google.common.base.Stopwatch;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
+import org.jooq.Param;
 import org.jooq.Record;
 import org.jooq.Result;
+import org.jooq.ResultQuery;
 import org.jooq.Select;
 import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -38,14 +46,65 @@ public class SqlExecutionService {
 
 	private final ResultSetProcessor resultSetProcessor;
 
-	public SqlExecutionResult execute(SqlManagedQuery sqlQuery) {
+	/**
+	 * Number of rows the driver fetches at once, instead of buffering the whole result.
+	 */
+	private final int fetchSize;
+
+	/**
+	 * Queries of running executions, so their statements can be cancelled.
+	 */
+	private final Map<ManagedExecutionId, ResultQuery<?>> runningQueries = new ConcurrentHashMap<>();
+
+	/**
+	 * Running executions that were cancelled, so their failing statements are not reported as errors.
+	 */
+	private final Set<ManagedExecutionId> cancelledQueries = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Executes the query, handing every row of the result to the sink as soon as it is fetched, so the result is never held by the driver as a whole.
+	 *
+	 * @return the description of the result, or empty if the execution was cancelled.
+	 */
+	public Optional<SqlExecutionResult> execute(SqlManagedQuery sqlQuery, Consumer<EntityResult> sink) {
 		log.info("Starting SQL execution[{}]", sqlQuery.getQueryId());
 		Stopwatch stopwatch = Stopwatch.createStarted();
-		SqlExecutionResult result = dslContext.connectionResult(connection -> createStatementAndExecute(sqlQuery, connection));
-		log.info("Finished SQL execution[{}] with {} results within {}", sqlQuery.getQueryId(), result.getRowCount(), stopwatch.elapsed());
+		Optional<SqlExecutionResult> result = dslContext.connectionResult(connection -> createStatementAndExecute(sqlQuery, connection, sink));
+
+		if (result.isEmpty()) {
+			log.info("Cancelled SQL execution[{}] after {}", sqlQuery.getQueryId(), stopwatch.elapsed());
+			return result;
+		}
+
+		log.info("Finished SQL execution[{}] with {} results within {}", sqlQuery.getQueryId(), result.get().getRowCount(), stopwatch.elapsed());
 		return result;
 	}
 
+	/**
+	 * Cancels the statement of the execution in the database, if it is still running.
+	 */
+	public void cancel(SqlManagedQuery sqlQuery) {
+		// Marked atomically with the lookup, so executions that already finished are never marked.
+		final ResultQuery<?> query = runningQueries.computeIfPresent(sqlQuery.getId(), (id, running) -> {
+			cancelledQueries.add(id);
+			return running;
+		});
+
+		if (query == null) {
+			log.debug("No running statement for SQL execution[{}] to cancel.", sqlQuery.getQueryId());
+			return;
+		}
+
+		log.info("Cancelling SQL execution[{}]", sqlQuery.getQueryId());
+
+		try {
+			query.cancel();
+		}
+		catch (DataAccessException e) {
+			log.warn("Failed to cancel SQL execution[{}]", sqlQuery.getQueryId(), e);
+		}
+	}
+
 	public Result<?> fetch(Select<?> query) {
 		log.debug("Executing query: \n{}", query);
 		try {
@@ -75,34 +134,90 @@ public class SqlExecutionService {
 		}
 	}
 
-	private SqlExecutionResult createStatementAndExecute(SqlManagedQuery sqlQuery, Connection connection) {
+	private Optional<SqlExecutionResult> createStatementAndExecute(SqlManagedQuery sqlQuery, Connection connection, Consumer<EntityResult> sink) {
 
 		String sqlString = sqlQuery.getSqlQuery().getSql();
+		List<Param<?>> params = sqlQuery.getSqlQuery().getParams();
 		List<ResultType<?>> resultTypes = sqlQuery.getSqlQuery().getResultInfos().stream().map(ResultInfo::getType).collect(Collectors.toList());
 
-		log.info("Executing query: \n{}", sqlString);
+		log.info("Executing query: \n{}\nwith parameters {}", sqlString, params);
+
+		final ManagedExecutionId id = sqlQuery.getId();
+		final SqlExecutionResult result;
+
+		try {
+			final boolean autoCommit = connection.getAutoCommit();
 
-		try (Statement statement = connection.createStatement();
-			 ResultSet resultSet = statement.executeQuery(sqlString)) {
-			int columnCount = resultSet.getMetaData().getColumnCount();
-			List<String> columnNames = getColumnNames(resultSet, columnCount);
-			List<EntityResult> resultTable = createResultTable(resultSet, resultTypes, columnCount);
+			// Drivers like PostgreSQL only fetch with a cursor outside of auto-commit mode, otherwise they buffer the whole result.
+			connection.setAutoCommit(false);
 
-			return new SqlExecutionResult(columnNames, resultTable);
+			try {
+				// jOOQ binds the parameters to the placeholders, using the bindings of their data types.
+				final ResultQuery<Record> query = DSL.using(connection, dslContext.dialect(), dslContext.settings())
+													 .resultQuery(sqlString, params.toArray())
+													 .fetchSize(fetchSize);
+
+				runningQueries.put(id, query);
+
+				try (Cursor<Record> cursor = query.fetchLazy()) {
+					final ResultSet resultSet = cursor.resultSet();
+
+					int columnCount = resultSet.getMetaData().getColumnCount();
+					List<String> columnNames = getColumnNames(resultSet, columnCount);
+					int rowCount = fetchRows(resultSet, resultTypes, columnCount, sink);
+
+					result = new SqlExecutionResult(columnNames, rowCount);
+				}
+			}
+			finally {
+				runningQueries.remove(id);
+				restoreConnection(connection, autoCommit);
+			}
 		}
 		// not all DB vendors throw SQLExceptions
 		catch (SQLException | RuntimeException e) {
+			if (cancelledQueries.remove(id)) {
+				log.debug("Statement of cancelled SQL execution[{}] failed", sqlQuery.getQueryId(), e);
+				return Optional.empty();
+			}
 			throw new ConqueryError.SqlError(e);
 		}
+
+		// Statements cancelled right before they finished are discarded as well.
+		if (cancelledQueries.remove(id)) {
+			return Optional.empty();
+		}
+
+		return Optional.of(result);
+	}
+
+	/**
+	 * Ends the read-only transaction of the execution. Failures are only logged, so they don't mask a failure of the execution itself.
+	 */
+	private static void restoreConnection(Connection connection, boolean autoCommit) {
+		try {
+			connection.rollback();
+		}
+		catch (SQLException | RuntimeException e) {
+			log.warn("Failed to end transaction of SQL execution", e);
+		}
+		finally {
+			try {
+				connection.setAutoCommit(autoCommit);
+			}
+			catch (SQLException | RuntimeException e) {
+				log.warn("Failed to restore auto-commit of connection", e);
+			}
+		}
 	}
 
-	private List<EntityResult> createResultTable(ResultSet resultSet, List<ResultType<?>> resultTypes, int columnCount) throws SQLException {
-		List<EntityResult> resultTable = new ArrayList<>(resultSet.getFetchSize());
+	private int fetchRows(ResultSet resultSet, List<ResultType<?>> resultTypes, int columnCount, Consumer<EntityResult> sink) throws SQLException {
+		int rowCount = 0;
 		while (resultSet.next()) {
-			SqlEntityResult resultRow = getResultRow(resultSet, resultTypes, columnCount);
-			resultTable.add(resultRow);
+			sink.accept(getResultRow(resultSet, resultTypes, columnCount));
+			rowCount++;
 		}
-		return resultTable;
+		return rowCount;
 	}
 
 	private List<String> getColumnNames(ResultSet resultSet, int columnCount) {
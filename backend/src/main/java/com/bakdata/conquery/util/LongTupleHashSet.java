@@ -0,0 +1,123 @@
+package com.bakdata.conquery.util;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.HashCommon;
+import lombok.Getter;
+
+/**
+ * Open addressing hash set of tuples of {@code long}s with a fixed width.
+ * <p>
+ * Tuples are stored inline in a single array and compared element-wise, so adding a tuple does not allocate.
+ * {@link #clear()} keeps the allocated tables, so the set can be reused without allocating for every use.
+ */
+public class LongTupleHashSet {
+
+	private static final float LOAD_FACTOR = 0.75f;
+	private static final int INITIAL_CAPACITY = 16;
+
+	@Getter
+	private final int width;
+
+	/**
+	 * The tuples, tuple of slot {@code i} starts at {@code i * width}.
+	 */
+	private long[] keys;
+	private boolean[] used;
+
+	/**
+	 * Slots that have been used since the last {@link #clear()}, so clearing does not have to touch the whole table.
+	 */
+	private int[] usedSlots;
+
+	@Getter
+	private int size;
+
+	public LongTupleHashSet(int width) {
+		Preconditions.checkArgument(width > 0, "Tuples must not be empty.");
+
+		this.width = width;
+		allocate(INITIAL_CAPACITY);
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity * width];
+		used = new boolean[capacity];
+		usedSlots = new int[(int) (capacity * LOAD_FACTOR) + 1];
+	}
+
+	/**
+	 * @param tuple Only the first {@link #getWidth()} values are considered, the array is not retained.
+	 * @return true, if the tuple was not contained in the set before.
+	 */
+	public boolean add(long[] tuple) {
+		final int mask = used.length - 1;
+
+		int slot = hash(tuple) & mask;
+
+		while (used[slot]) {
+			if (equalsAt(slot, tuple)) {
+				return false;
+			}
+
+			slot = (slot + 1) & mask;
+		}
+
+		used[slot] = true;
+		System.arraycopy(tuple, 0, keys, slot * width, width);
+		usedSlots[size++] = slot;
+
+		if (size >= used.length * LOAD_FACTOR) {
+			grow();
+		}
+
+		return true;
+	}
+
+	public void clear() {
+		for (int index = 0; index < size; index++) {
+			used[usedSlots[index]] = false;
+		}
+
+		size = 0;
+	}
+
+	private boolean equalsAt(int slot, long[] tuple) {
+		final int offset = slot * width;
+
+		for (int index = 0; index < width; index++) {
+			if (keys[offset + index] != tuple[index]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private int hash(long[] tuple) {
+		long hash = 0;
+
+		for (int index = 0; index < width; index++) {
+			hash = hash * 31 + tuple[index];
+		}
+
+		return (int) HashCommon.mix(hash);
+	}
+
+	private void grow() {
+		final long[] oldKeys = keys;
+		final int[] oldSlots = Arrays.copyOf(usedSlots, size);
+		final int oldSize = size;
+
+		allocate(used.length * 2);
+		size = 0;
+
+		final long[] tuple = new long[width];
+
+		for (int index = 0; index < oldSize; index++) {
+			System.arraycopy(oldKeys, oldSlots[index] * width, tuple, 0, width);
+			add(tuple);
+		}
+	}
+}
@@ -1,9 +1,12 @@
 package com.bakdata.conquery.util;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -25,6 +28,7 @@ import com.bakdata.conquery.apiv1.query.concept.specific.CQOr;
 import com.bakdata.conquery.apiv1.query.concept.specific.CQReusedQuery;
 import com.bakdata.conquery.apiv1.query.concept.specific.external.CQExternal;
 import com.bakdata.conquery.internationalization.CQElementC10n;
+import com.bakdata.conquery.io.jackson.View;
 import com.bakdata.conquery.models.auth.permissions.Ability;
 import com.bakdata.conquery.models.auth.permissions.ConqueryPermission;
 import com.bakdata.conquery.models.common.CDateSet;
@@ -42,8 +46,21 @@ import com.bakdata.conquery.models.query.QueryExecutionContext;
 import com.bakdata.conquery.models.query.Visitable;
 import com.bakdata.conquery.models.query.queryplan.aggregators.Aggregator;
 import com.bakdata.conquery.models.query.visitor.QueryVisitor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.google.common.base.Strings;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ClassToInstanceMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
@@ -224,6 +241,104 @@ public class QueryUtils {
 		return ctx.withQueryDateAggregator(altValidityDateAggregator.get());
 	}
 
+	/**
+	 * Mappers used by {@link #hashQuery(ObjectMapper, QueryDescription)}, derived once from the mapper they are requested with.
+	 */
+	private static final LoadingCache<ObjectMapper, ObjectMapper> HASHING_MAPPERS = CacheBuilder.newBuilder()
+																								  .weakKeys()
+																								  .build(CacheLoader.from(QueryUtils::createHashingMapper));
+
+	/**
+	 * Hashes the serialized query, so that equal queries have equal hashes.
+	 * <p>
+	 * The query is serialized as submitted ({@link View.Api}), so state resolved during initialization (e.g. the entities of a {@link CQExternal}) is not hashed.
+	 * Uploaded tables are hashed into a digest before they are added to the tree, so large uploads are not materialized as json nodes.
+	 * <p>
+	 * Fields are sorted after serialization, as maps of the query may be keyed by objects that are not {@link Comparable}, which prohibits {@link com.fasterxml.jackson.databind.SerializationFeature#ORDER_MAP_ENTRIES_BY_KEYS}.
+	 */
+	public static String hashQuery(ObjectMapper mapper, QueryDescription query) {
+		try {
+			final JsonNode tree = HASHING_MAPPERS.getUnchecked(mapper).valueToTree(query);
+			sortFields(tree);
+
+			final byte[] serialized = mapper.writeValueAsBytes(tree);
+			return Hashing.sha256().hashBytes(serialized).toString();
+		}
+		catch (IllegalArgumentException | JsonProcessingException e) {
+			throw new IllegalStateException("Unable to serialize query", e);
+		}
+	}
+
+	private static ObjectMapper createHashingMapper(ObjectMapper mapper) {
+		final ObjectMapper hashingMapper = mapper.copy();
+
+		hashingMapper.setConfig(hashingMapper.getSerializationConfig().withView(View.Api.class));
+		hashingMapper.registerModule(new SimpleModule().addSerializer(String[][].class, new TableDigestSerializer()));
+
+		return hashingMapper;
+	}
+
+	/**
+	 * Writes a digest of a table instead of its cells.
+	 */
+	private static class TableDigestSerializer extends StdSerializer<String[][]> {
+
+		private TableDigestSerializer() {
+			super(String[][].class);
+		}
+
+		@Override
+		public void serialize(String[][] rows, JsonGenerator generator, SerializerProvider provider) throws IOException {
+			final Hasher hasher = Hashing.sha256().newHasher();
+
+			hasher.putInt(rows.length);
+
+			for (String[] row : rows) {
+				if (row == null) {
+					hasher.putInt(-1);
+					continue;
+				}
+
+				hasher.putInt(row.length);
+
+				for (String cell : row) {
+					if (cell == null) {
+						hasher.putInt(-1);
+						continue;
+					}
+
+					// Length prefixed, so the borders of cells cannot be shifted without changing the digest
+					hasher.putInt(cell.length());
+					hasher.putString(cell, StandardCharsets.UTF_8);
+				}
+			}
+
+			generator.writeString(hasher.hash().toString());
+		}
+	}
+
+	private static void sortFields(JsonNode node) {
+		if (node instanceof ObjectNode object) {
+			final List<Map.Entry<String, JsonNode>> fields = new ArrayList<>();
+
+			for (Iterator<Map.Entry<String, JsonNode>> iterator = object.fields(); iterator.hasNext(); ) {
+				fields.add(iterator.next());
+			}
+
+			fields.sort(Map.Entry.comparingByKey());
+
+			object.removeAll();
+
+			for (Map.Entry<String, JsonNode> field : fields) {
+				object.set(field.getKey(), field.getValue());
+			}
+		}
+
+		for (JsonNode child : node) {
+			sortFields(child);
+		}
+	}
+
 	public static String makeQueryLabel(final Visitable query, PrintSettings cfg, ManagedExecutionId id) {
 		final StringBuilder sb = new StringBuilder();
 
@@ -0,0 +1,206 @@
+package com.bakdata.conquery.util.search;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Immutable form of a {@link TrieSearch}: Whole words and ngrams are {@link CompactTerms} whose postings are positions in a table of distinct values.
+ * <p>
+ * The value table is sorted by the natural order of the values, so ties in ranking can be broken by position alone.
+ * Both the dictionaries and the value table may live in a memory-mapped file.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CompactSearchIndex<T> {
+
+	private final CompactTerms whole;
+	private final CompactTerms ngrams;
+
+	/**
+	 * Distinct values, sorted by their natural order.
+	 */
+	private final List<T> values;
+
+	/**
+	 * Positions of the values in order of their first occurrence in the whole words, which is the iteration order of {@link TrieSearch#stream()}.
+	 */
+	private final IntBuffer iterationOrder;
+
+	/**
+	 * @param whole  whole words in their iteration order, with distinct items per word.
+	 * @param ngrams ngrams with distinct items per ngram.
+	 */
+	public static <T extends Comparable<T>> CompactSearchIndex<T> build(Map<String, List<T>> whole, Map<String, List<T>> ngrams) {
+		final List<T> inOrder = new ArrayList<>();
+		final Set<T> seen = new HashSet<>();
+
+		for (List<T> items : whole.values()) {
+			for (T item : items) {
+				if (seen.add(item)) {
+					inOrder.add(item);
+				}
+			}
+		}
+
+		final int iterated = inOrder.size();
+
+		// Ngrams are derived from whole words, this is only to be safe.
+		for (List<T> items : ngrams.values()) {
+			for (T item : items) {
+				if (seen.add(item)) {
+					inOrder.add(item);
+				}
+			}
+		}
+
+		final List<T> values = new ArrayList<>(inOrder);
+		values.sort(null);
+
+		final Object2IntMap<T> positions = new Object2IntOpenHashMap<>(values.size());
+		for (int position = 0; position < values.size(); position++) {
+			positions.put(values.get(position), position);
+		}
+
+		final int[] iterationOrder = new int[iterated];
+		for (int index = 0; index < iterated; index++) {
+			iterationOrder[index] = positions.getInt(inOrder.get(index));
+		}
+
+		return new CompactSearchIndex<>(
+				CompactTerms.build(toPostings(whole, positions)),
+				CompactTerms.build(toPostings(ngrams, positions)),
+				values,
+				IntBuffer.wrap(iterationOrder)
+		);
+	}
+
+	/**
+	 * Extend base by the added terms: Postings of base are only remapped to the positions of their values in the extended value table, instead of expanding base into lists of items.
+	 * The result is equal to building an index of the terms of base and the added terms, with the added items following those of base.
+	 *
+	 * @param whole  added whole words, with distinct items per word.
+	 * @param ngrams added ngrams, with distinct items per ngram.
+	 */
+	public static <T extends Comparable<T>> CompactSearchIndex<T> merge(CompactSearchIndex<T> base, Map<String, List<T>> whole, Map<String, List<T>> ngrams) {
+		final Object2IntMap<T> basePositions = new Object2IntOpenHashMap<>(base.values.size());
+		basePositions.defaultReturnValue(-1);
+
+		for (int position = 0; position < base.values.size(); position++) {
+			basePositions.put(base.values.get(position), position);
+		}
+
+		final Set<T> addedSet = new HashSet<>();
+
+		Stream.concat(whole.values().stream(), ngrams.values().stream())
+			  .flatMap(List::stream)
+			  .filter(item -> !basePositions.containsKey(item))
+			  .forEach(addedSet::add);
+
+		final List<T> added = new ArrayList<>(addedSet);
+		added.sort(null);
+
+		// Merge the sorted values of base with the sorted added values.
+		final List<T> values = new ArrayList<>(base.values.size() + added.size());
+		final int[] remap = new int[base.values.size()];
+		final Object2IntMap<T> positions = new Object2IntOpenHashMap<>(added.size());
+
+		int fromBase = 0;
+		int fromAdded = 0;
+
+		while (fromBase < base.values.size() || fromAdded < added.size()) {
+			if (fromAdded == added.size() || fromBase < base.values.size() && base.values.get(fromBase).compareTo(added.get(fromAdded)) <= 0) {
+				remap[fromBase++] = values.size();
+				values.add(base.values.get(fromBase - 1));
+				continue;
+			}
+
+			positions.put(added.get(fromAdded), values.size());
+			values.add(added.get(fromAdded++));
+		}
+
+		basePositions.forEach((value, position) -> positions.put(value, remap[position]));
+
+		final CompactTerms mergedWhole = CompactTerms.merge(base.whole, remap, toPostings(whole, positions));
+		final CompactTerms mergedNgrams = CompactTerms.merge(base.ngrams, remap, toPostings(ngrams, positions));
+
+		return new CompactSearchIndex<>(mergedWhole, mergedNgrams, values, IntBuffer.wrap(iterationOrder(mergedWhole, values.size())));
+	}
+
+	/**
+	 * Positions of the values in order of their first occurrence in terms.
+	 */
+	private static int[] iterationOrder(CompactTerms terms, int values) {
+		final boolean[] seen = new boolean[values];
+		final IntList order = new IntArrayList();
+
+		for (int term = 0; term < terms.getSize(); term++) {
+			for (int position = 0; position < terms.getPostingCount(term); position++) {
+				final int posting = terms.getPosting(term, position);
+
+				if (!seen[posting]) {
+					seen[posting] = true;
+					order.add(posting);
+				}
+			}
+		}
+
+		return order.toIntArray();
+	}
+
+	private static <T> Map<String, int[]> toPostings(Map<String, List<T>> terms, Object2IntMap<T> positions) {
+		final Map<String, int[]> postings = new HashMap<>(terms.size());
+
+		terms.forEach((term, items) -> postings.put(term, items.stream().mapToInt(positions::getInt).toArray()));
+
+		return postings;
+	}
+
+	public T getValue(int position) {
+		return values.get(position);
+	}
+
+	/**
+	 * Number of distinct values in the whole words, which are the values of {@link #stream()}.
+	 */
+	public int getValueCount() {
+		return iterationOrder.limit();
+	}
+
+	/**
+	 * Resolve the postings of a term to their values.
+	 */
+	public List<T> getItems(CompactTerms terms, int index) {
+		final int count = terms.getPostingCount(index);
+		final List<T> items = new ArrayList<>(count);
+
+		for (int position = 0; position < count; position++) {
+			items.add(getValue(terms.getPosting(index, position)));
+		}
+
+		return items;
+	}
+
+	/**
+	 * Distinct values in order of their first occurrence in the whole words.
+	 */
+	public Stream<T> stream() {
+		return IntStream.range(0, iterationOrder.limit())
+						.map(iterationOrder::get)
+						.mapToObj(this::getValue);
+	}
+
+}
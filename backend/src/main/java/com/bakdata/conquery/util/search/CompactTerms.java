@@ -0,0 +1,563 @@
+package com.bakdata.conquery.util.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import lombok.Getter;
+
+/**
+ * Immutable dictionary of terms with a posting list of ints for every term.
+ * <p>
+ * Terms are stored sorted by their UTF-8 bytes, so exact lookups are a binary search and all terms sharing a prefix form a contiguous range.
+ * The terms are split into consecutive segments, so that every segment fits into a single {@link ByteBuffer} and can use int offsets.
+ * A segment is either on the heap or a memory-mapped region of a file.
+ *
+ * <pre>
+ * int      number of segments (s)
+ * s times:
+ * long     number of bytes of the segment (b)
+ * byte[b]  the segment
+ * </pre>
+ * <p>
+ * Every segment has the layout
+ *
+ * <pre>
+ * int      number of terms (n)
+ * int      highest number of terms a single posting occurs in, of all segments
+ * int[n+1] offsets of the terms in the term blob
+ * int[n+1] offsets of the postings of each term
+ * int[]    postings
+ * byte[]   term blob
+ * </pre>
+ */
+public class CompactTerms {
+
+	/**
+	 * Upper bound of the bytes of a single segment, a segment only exceeds it if it consists of a single term.
+	 */
+	private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+	private final Segment[] segments;
+
+	/**
+	 * Index of the first term of every segment, followed by the number of all terms.
+	 */
+	private final int[] segmentStarts;
+
+	@Getter
+	private final int size;
+
+	/**
+	 * The highest number of terms any single posting occurs in, bounding how often an item can be hit by a range of terms.
+	 */
+	@Getter
+	private final int maxTermsPerPosting;
+
+	private CompactTerms(Segment[] segments) {
+		this.segments = segments;
+
+		segmentStarts = new int[segments.length + 1];
+
+		for (int segment = 0; segment < segments.length; segment++) {
+			segmentStarts[segment + 1] = segmentStarts[segment] + segments[segment].size;
+		}
+
+		size = segmentStarts[segments.length];
+		maxTermsPerPosting = segments.length == 0 ? 0 : segments[0].maxTermsPerPosting;
+	}
+
+	/**
+	 * Map a dictionary written by {@link #writeTo(DataOutputStream)}, starting at position of the file.
+	 * The segments stay mapped after the channel is closed.
+	 */
+	public static CompactTerms map(FileChannel channel, long position) throws IOException {
+		final int count = read(channel, position, Integer.BYTES).getInt(0);
+		position += Integer.BYTES;
+
+		final Segment[] segments = new Segment[count];
+
+		for (int segment = 0; segment < count; segment++) {
+			final long length = read(channel, position, Long.BYTES).getLong(0);
+			position += Long.BYTES;
+
+			segments[segment] = new Segment(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+			position += length;
+		}
+
+		return new CompactTerms(segments);
+	}
+
+	private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(length);
+
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) == -1) {
+				throw new EOFException("Dictionary ends at %d".formatted(position + buffer.position()));
+			}
+		}
+
+		return buffer;
+	}
+
+	/**
+	 * Build a dictionary on the heap.
+	 */
+	public static CompactTerms build(Map<String, int[]> postings) {
+		return build(postings, MAX_SEGMENT_BYTES);
+	}
+
+	static CompactTerms build(Map<String, int[]> postings, long maxSegmentBytes) {
+		final byte[][] terms = sortedTerms(postings);
+		final int[][] lists = new int[terms.length][];
+
+		for (int index = 0; index < terms.length; index++) {
+			lists[index] = postings.get(new String(terms[index], StandardCharsets.UTF_8));
+		}
+
+		return build(terms, lists, maxSegmentBytes);
+	}
+
+	/**
+	 * Build a dictionary of the terms of base and the added terms, without expanding base into a map of all terms.
+	 * Postings of base are mapped by remap, the added postings of terms that are also in base are appended to theirs.
+	 *
+	 * @param remap new posting of every posting of base.
+	 */
+	public static CompactTerms merge(CompactTerms base, int[] remap, Map<String, int[]> added) {
+		final byte[][] addedTerms = sortedTerms(added);
+
+		final List<byte[]> terms = new ArrayList<>(base.size + addedTerms.length);
+		final List<int[]> lists = new ArrayList<>(base.size + addedTerms.length);
+
+		int fromBase = 0;
+		int fromAdded = 0;
+		byte[] baseTerm = base.size > 0 ? base.getTermBytes(0) : null;
+
+		while (baseTerm != null || fromAdded < addedTerms.length) {
+			final int cmp = baseTerm == null ? 1
+											 : fromAdded == addedTerms.length ? -1
+																			  : Arrays.compareUnsigned(baseTerm, addedTerms[fromAdded]);
+
+			if (cmp <= 0) {
+				final int[] postings = new int[base.getPostingCount(fromBase)];
+
+				for (int position = 0; position < postings.length; position++) {
+					postings[position] = remap[base.getPosting(fromBase, position)];
+				}
+
+				terms.add(baseTerm);
+				lists.add(cmp == 0 ? append(postings, added.get(new String(addedTerms[fromAdded++], StandardCharsets.UTF_8))) : postings);
+
+				fromBase++;
+				baseTerm = fromBase < base.size ? base.getTermBytes(fromBase) : null;
+				continue;
+			}
+
+			terms.add(addedTerms[fromAdded]);
+			lists.add(added.get(new String(addedTerms[fromAdded], StandardCharsets.UTF_8)));
+			fromAdded++;
+		}
+
+		return build(terms.toArray(byte[][]::new), lists.toArray(int[][]::new), MAX_SEGMENT_BYTES);
+	}
+
+	/**
+	 * Postings of first, followed by those of second that are not in first.
+	 */
+	private static int[] append(int[] first, int[] second) {
+		final IntSet present = new IntOpenHashSet(first);
+		final IntList out = new IntArrayList(first);
+
+		for (int posting : second) {
+			if (present.add(posting)) {
+				out.add(posting);
+			}
+		}
+
+		return out.toIntArray();
+	}
+
+	private static byte[][] sortedTerms(Map<String, int[]> postings) {
+		final byte[][] terms = new byte[postings.size()][];
+
+		int index = 0;
+		for (String term : postings.keySet()) {
+			terms[index++] = term.getBytes(StandardCharsets.UTF_8);
+		}
+
+		Arrays.sort(terms, Arrays::compareUnsigned);
+
+		return terms;
+	}
+
+	private static CompactTerms build(byte[][] terms, int[][] lists, long maxSegmentBytes) {
+		final int maxTermsPerPosting = maxTermsPerPosting(lists);
+
+		final List<Segment> segments = new ArrayList<>();
+
+		int from = 0;
+
+		while (from < terms.length) {
+			// Number of terms and the highest number of terms per posting, and the leading offsets
+			long bytes = 4L * Integer.BYTES;
+			int to = from;
+
+			while (to < terms.length) {
+				final long termBytes = 2L * Integer.BYTES + (long) lists[to].length * Integer.BYTES + terms[to].length;
+
+				if (to > from && bytes + termBytes > maxSegmentBytes) {
+					break;
+				}
+
+				bytes += termBytes;
+				to++;
+			}
+
+			segments.add(Segment.build(terms, lists, from, to, maxTermsPerPosting, Math.toIntExact(bytes)));
+			from = to;
+		}
+
+		return new CompactTerms(segments.toArray(Segment[]::new));
+	}
+
+	private static int maxTermsPerPosting(int[][] lists) {
+		final Int2IntMap counts = new Int2IntOpenHashMap();
+		int max = 0;
+
+		for (int[] list : lists) {
+			for (int posting : list) {
+				max = Math.max(max, counts.mergeInt(posting, 1, Integer::sum));
+			}
+		}
+
+		return max;
+	}
+
+	/**
+	 * Number of bytes written by {@link #writeTo(DataOutputStream)}.
+	 */
+	public long getByteSize() {
+		long bytes = Integer.BYTES;
+
+		for (Segment segment : segments) {
+			bytes += Long.BYTES + segment.byteSize;
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Number of segments the terms are split into.
+	 */
+	public int getSegmentCount() {
+		return segments.length;
+	}
+
+	/**
+	 * Copy the dictionary as is into out.
+	 */
+	public void writeTo(DataOutputStream out) throws IOException {
+		out.writeInt(segments.length);
+
+		for (Segment segment : segments) {
+			out.writeLong(segment.byteSize);
+			segment.writeTo(out);
+		}
+	}
+
+	/**
+	 * @return the index of the term or -1 if it is not contained.
+	 */
+	public int find(byte[] term) {
+		for (int segment = 0; segment < segments.length; segment++) {
+			final int index = segments[segment].find(term);
+
+			if (index != -1) {
+				return segmentStarts[segment] + index;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return the index of the first term that is not smaller than term. All terms starting with term follow from there on.
+	 */
+	public int lowerBound(byte[] term) {
+		// The segments are sorted, so the terms smaller than term are the ones smaller than it in each segment.
+		int index = 0;
+
+		for (Segment segment : segments) {
+			index += segment.lowerBound(term);
+		}
+
+		return index;
+	}
+
+	/**
+	 * @return the index after the last term starting with prefix.
+	 */
+	public int prefixEnd(byte[] prefix) {
+		int index = 0;
+
+		for (Segment segment : segments) {
+			index += segment.prefixEnd(prefix);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Length of the term in bytes.
+	 */
+	public int termLength(int index) {
+		final int segment = segmentOf(index);
+		return segments[segment].termLength(index - segmentStarts[segment]);
+	}
+
+	public String getTerm(int index) {
+		return new String(getTermBytes(index), StandardCharsets.UTF_8);
+	}
+
+	private byte[] getTermBytes(int index) {
+		final int segment = segmentOf(index);
+		return segments[segment].getTermBytes(index - segmentStarts[segment]);
+	}
+
+	public int getPostingCount(int index) {
+		final int segment = segmentOf(index);
+		return segments[segment].getPostingCount(index - segmentStarts[segment]);
+	}
+
+	public int getPosting(int index, int position) {
+		final int segment = segmentOf(index);
+		return segments[segment].getPosting(index - segmentStarts[segment], position);
+	}
+
+	/**
+	 * Total number of postings of all terms.
+	 */
+	public long getPostingsSize() {
+		long postings = 0;
+
+		for (Segment segment : segments) {
+			postings += segment.postingOffset(segment.size);
+		}
+
+		return postings;
+	}
+
+	private int segmentOf(int index) {
+		if (segments.length == 1) {
+			return 0;
+		}
+
+		final int found = Arrays.binarySearch(segmentStarts, index);
+
+		// Segments are never empty, so an exact hit is the first term of that segment.
+		return found >= 0 ? found : -found - 2;
+	}
+
+	/**
+	 * A range of the terms in a single {@link ByteBuffer}, indexed by the position of the terms within the segment.
+	 */
+	private static class Segment {
+
+		private final ByteBuffer buffer;
+
+		private final int size;
+		private final int maxTermsPerPosting;
+
+		private final int termOffsetsStart;
+		private final int postingOffsetsStart;
+		private final int postingsStart;
+		private final int termBlobStart;
+
+		private final int byteSize;
+
+		private Segment(ByteBuffer buffer) {
+			this.buffer = buffer;
+
+			size = buffer.getInt(0);
+			maxTermsPerPosting = buffer.getInt(Integer.BYTES);
+			termOffsetsStart = 2 * Integer.BYTES;
+			postingOffsetsStart = termOffsetsStart + (size + 1) * Integer.BYTES;
+			postingsStart = postingOffsetsStart + (size + 1) * Integer.BYTES;
+			termBlobStart = postingsStart + postingOffset(size) * Integer.BYTES;
+			byteSize = termBlobStart + buffer.getInt(termOffsetsStart + size * Integer.BYTES);
+		}
+
+		/**
+		 * Write the terms with indices from (inclusive) to (exclusive) into a segment of bytes size.
+		 */
+		private static Segment build(byte[][] terms, int[][] lists, int from, int to, int maxTermsPerPosting, int bytes) {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream(bytes);
+
+			try (DataOutputStream data = new DataOutputStream(out)) {
+				data.writeInt(to - from);
+				data.writeInt(maxTermsPerPosting);
+
+				int offset = 0;
+				data.writeInt(0);
+				for (int index = from; index < to; index++) {
+					offset += terms[index].length;
+					data.writeInt(offset);
+				}
+
+				offset = 0;
+				data.writeInt(0);
+				for (int index = from; index < to; index++) {
+					offset += lists[index].length;
+					data.writeInt(offset);
+				}
+
+				for (int index = from; index < to; index++) {
+					for (int posting : lists[index]) {
+						data.writeInt(posting);
+					}
+				}
+
+				for (int index = from; index < to; index++) {
+					data.write(terms[index]);
+				}
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+
+			return new Segment(ByteBuffer.wrap(out.toByteArray()));
+		}
+
+		private void writeTo(DataOutputStream out) throws IOException {
+			final byte[] bytes = new byte[byteSize];
+			buffer.get(0, bytes);
+			out.write(bytes);
+		}
+
+		private int find(byte[] term) {
+			final int index = lowerBound(term);
+
+			if (index < size && compareTerm(index, term) == 0) {
+				return index;
+			}
+
+			return -1;
+		}
+
+		private int lowerBound(byte[] term) {
+			int low = 0;
+			int high = size;
+
+			while (low < high) {
+				final int mid = (low + high) >>> 1;
+
+				if (compareTerm(mid, term) < 0) {
+					low = mid + 1;
+				}
+				else {
+					high = mid;
+				}
+			}
+
+			return low;
+		}
+
+		private int prefixEnd(byte[] prefix) {
+			int low = 0;
+			int high = size;
+
+			while (low < high) {
+				final int mid = (low + high) >>> 1;
+
+				if (comparePrefix(mid, prefix) <= 0) {
+					low = mid + 1;
+				}
+				else {
+					high = mid;
+				}
+			}
+
+			return low;
+		}
+
+		private int termLength(int index) {
+			return buffer.getInt(termOffsetsStart + (index + 1) * Integer.BYTES) - buffer.getInt(termOffsetsStart + index * Integer.BYTES);
+		}
+
+		private byte[] getTermBytes(int index) {
+			final byte[] bytes = new byte[termLength(index)];
+			buffer.get(termStart(index), bytes);
+			return bytes;
+		}
+
+		private int getPostingCount(int index) {
+			return postingOffset(index + 1) - postingOffset(index);
+		}
+
+		private int getPosting(int index, int position) {
+			return buffer.getInt(postingsStart + (postingOffset(index) + position) * Integer.BYTES);
+		}
+
+		private int postingOffset(int index) {
+			return buffer.getInt(postingOffsetsStart + index * Integer.BYTES);
+		}
+
+		private int termStart(int index) {
+			return termBlobStart + buffer.getInt(termOffsetsStart + index * Integer.BYTES);
+		}
+
+		/**
+		 * Compare the stored term at index with the searched bytes (unsigned lexicographic, like the sort order of the terms).
+		 */
+		private int compareTerm(int index, byte[] searched) {
+			final int start = termStart(index);
+			final int length = termLength(index);
+
+			final int common = Math.min(length, searched.length);
+
+			for (int pos = 0; pos < common; pos++) {
+				final int cmp = Byte.compareUnsigned(buffer.get(start + pos), searched[pos]);
+				if (cmp != 0) {
+					return cmp;
+				}
+			}
+
+			return Integer.compare(length, searched.length);
+		}
+
+		/**
+		 * Like {@link #compareTerm(int, byte[])}, but terms starting with prefix are equal to it.
+		 */
+		private int comparePrefix(int index, byte[] prefix) {
+			final int start = termStart(index);
+			final int length = termLength(index);
+
+			final int common = Math.min(length, prefix.length);
+
+			for (int pos = 0; pos < common; pos++) {
+				final int cmp = Byte.compareUnsigned(buffer.get(start + pos), prefix[pos]);
+				if (cmp != 0) {
+					return cmp;
+				}
+			}
+
+			return length < prefix.length ? -1 : 0;
+		}
+	}
+}
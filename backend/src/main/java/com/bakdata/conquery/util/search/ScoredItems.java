@@ -0,0 +1,159 @@
+package com.bakdata.conquery.util.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.ints.IntHeapPriorityQueue;
+import it.unimi.dsi.fastutil.longs.LongHeapPriorityQueue;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+
+/**
+ * Items hit by a search of a {@link TrieSearch} with their weights, ranked on demand.
+ * <p>
+ * Higher weights rank first, ties are resolved by the natural order of the items (which is their position in the value table of the search).
+ * Neither {@link #top(int)} nor {@link #iterator()} sort all items, both select them with a heap.
+ */
+public class ScoredItems<T> {
+
+	private final CompactSearchIndex<T> index;
+
+	/**
+	 * Position of the item in the value table of {@link #index}.
+	 */
+	private final int[] items;
+	private final long[] weights;
+
+	/**
+	 * Orders slots of {@link #items} by rank, best first.
+	 */
+	private final IntComparator rank;
+
+	ScoredItems(CompactSearchIndex<T> index, Int2LongMap itemWeights) {
+		this.index = index;
+
+		items = new int[itemWeights.size()];
+		weights = new long[itemWeights.size()];
+
+		int slot = 0;
+		for (Int2LongMap.Entry entry : itemWeights.int2LongEntrySet()) {
+			items[slot] = entry.getIntKey();
+			weights[slot] = entry.getLongValue();
+			slot++;
+		}
+
+		rank = (left, right) -> {
+			final int byWeight = Long.compare(weights[right], weights[left]);
+
+			if (byWeight != 0) {
+				return byWeight;
+			}
+
+			return Integer.compare(items[left], items[right]);
+		};
+	}
+
+	public int size() {
+		return items.length;
+	}
+
+	/**
+	 * Rough heap usage, including the heap of {@link #iterator()}, excluding the items themselves.
+	 */
+	public long estimateMemoryConsumption() {
+		return (long) items.length * (Integer.BYTES + Long.BYTES + Integer.BYTES);
+	}
+
+	/**
+	 * The best limit items in order of their rank.
+	 */
+	public List<T> top(int limit) {
+		final int size = Math.min(limit, items.length);
+
+		// Keeps the best items seen so far, with the worst of them at its head.
+		final IntHeapPriorityQueue best = new IntHeapPriorityQueue(size, rank.reversed());
+
+		for (int slot = 0; slot < items.length && size > 0; slot++) {
+			if (best.size() < size) {
+				best.enqueue(slot);
+			}
+			else if (rank.compare(slot, best.firstInt()) < 0) {
+				best.dequeueInt();
+				best.enqueue(slot);
+			}
+		}
+
+		final int[] ranked = new int[best.size()];
+		for (int position = ranked.length - 1; position >= 0; position--) {
+			ranked[position] = best.dequeueInt();
+		}
+
+		final List<T> out = new ArrayList<>(ranked.length);
+		for (int slot : ranked) {
+			out.add(index.getValue(items[slot]));
+		}
+
+		return out;
+	}
+
+	/**
+	 * All items in order of their rank. Building the heap is linear, so consuming only the first few items is cheap.
+	 */
+	public Iterator<T> iterator() {
+		final int[] slots = IntStream.range(0, items.length).toArray();
+		final IntHeapPriorityQueue heap = new IntHeapPriorityQueue(slots, slots.length, rank);
+
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return !heap.isEmpty();
+			}
+
+			@Override
+			public T next() {
+				if (heap.isEmpty()) {
+					throw new NoSuchElementException();
+				}
+				return index.getValue(items[heap.dequeueInt()]);
+			}
+		};
+	}
+
+	/**
+	 * All items, unordered.
+	 */
+	public Stream<T> stream() {
+		return Arrays.stream(items).mapToObj(index::getValue);
+	}
+
+	/**
+	 * The weight of the worst of the best limit items, or 0 if there are fewer items.
+	 */
+	static long thresholdOf(Int2LongMap itemWeights, int limit) {
+		if (limit <= 0 || itemWeights.size() < limit) {
+			return 0;
+		}
+
+		final LongHeapPriorityQueue best = new LongHeapPriorityQueue(limit);
+
+		for (final LongIterator iterator = itemWeights.values().iterator(); iterator.hasNext(); ) {
+			final long weight = iterator.nextLong();
+
+			if (best.size() < limit) {
+				best.enqueue(weight);
+			}
+			else if (weight > best.firstLong()) {
+				best.dequeueLong();
+				best.enqueue(weight);
+			}
+		}
+
+		return best.firstLong();
+	}
+}
@@ -1,5 +1,6 @@
 package com.bakdata.conquery.util.search;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -7,10 +8,8 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.SortedMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -22,8 +21,8 @@ import javax.validation.constraints.Min;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Iterators;
-import it.unimi.dsi.fastutil.objects.Object2LongAVLTreeMap;
-import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.trie.PatriciaTrie;
@@ -38,6 +37,9 @@ import org.apache.commons.lang3.StringUtils;
  * 1) Original words (in order of difference)
  * 2) ngrams (in order of difference)
  * <p>
+ * While items are added, words and ngrams are kept in {@link PatriciaTrie}s. {@link #shrinkToFit()} freezes them into a {@link CompactSearchIndex}
+ * of sorted terms with int postings into a table of distinct items, which is much smaller and can be memory-mapped (see {@link com.bakdata.conquery.models.index.FrontendValueIndex}).
+ * <p>
  *
  * @implNote If ngramLength is Integer.MAX_VALUE, the ngram trie is empty and TrieSearch::findItems only performs a prefix search using the query keywords.
  * If TrieSearch is instantiated with ngramLength = 0, ngramLength is set to Integer.MAX_VALUE.
@@ -68,11 +70,20 @@ public class TrieSearch<T extends Comparable<T>> {
 
 	// We store whole words and ngrams separately to avoid additional work,
 	// such as checking and skipping ngrams when iterating through all whole words
-	private final PatriciaTrie<List<T>> ngrams = new PatriciaTrie<>();
-	private final PatriciaTrie<List<T>> whole = new PatriciaTrie<>();
-	private boolean shrunk = false;
+	private PatriciaTrie<List<T>> ngrams = new PatriciaTrie<>();
+	private PatriciaTrie<List<T>> whole = new PatriciaTrie<>();
+
+	/**
+	 * Replaces the tries when the search is shrunk.
+	 */
+	private CompactSearchIndex<T> compact = null;
 	private long size = -1;
 
+	/**
+	 * The index this search extends by the items in the tries, see {@link #extend()}.
+	 */
+	private CompactSearchIndex<T> base = null;
+
 	public TrieSearch(int ngramLength, String split) {
 		if (ngramLength < 0) {
 			throw new IllegalArgumentException("Negative ngram Length is not allowed.");
@@ -84,18 +95,110 @@ public class TrieSearch<T extends Comparable<T>> {
 		splitPattern = Pattern.compile(String.format("[\\s%s]+", Pattern.quote(Objects.requireNonNullElse(split, ""))));
 	}
 
+	private TrieSearch(int ngramLength, Pattern splitPattern) {
+		this.ngramLength = ngramLength;
+		this.splitPattern = splitPattern;
+	}
+
+	/**
+	 * Creates a writeable search extending this one, so items can be added to it, while this search is still in use.
+	 * <p>
+	 * Only the added items are kept in tries, they are merged with the index of this search when the extension is shrunk.
+	 *
+	 * @implSpec The extension contains the items of this search only once it is shrunk.
+	 */
+	public TrieSearch<T> extend() {
+		if (compact == null) {
+			throw new IllegalStateException("Only shrunk searches can be extended.");
+		}
+
+		final TrieSearch<T> extension = new TrieSearch<>(ngramLength, splitPattern);
+		extension.base = compact;
+
+		return extension;
+	}
+
+	/**
+	 * @implSpec Only shrunk searches can be searched.
+	 */
 	public List<T> findItems(Collection<String> queries, int limit) {
-		final Object2LongMap<T> itemWeights = new Object2LongAVLTreeMap<>();
+		return score(queries, limit).top(limit);
+	}
+
+	/**
+	 * Score all items hit by the queries, so they can be consumed in order of their rank, e.g. page by page.
+	 *
+	 * @implSpec Only shrunk searches can be searched.
+	 */
+	public ScoredItems<T> score(Collection<String> queries) {
+		return score(queries, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Hits are scored in descending order of their weight. Once the limit-th best item is out of reach for items that have not been hit yet,
+	 * only items already hit are scored further. This does not change the best limit items, but the returned items are incomplete beyond them.
+	 */
+	private ScoredItems<T> score(Collection<String> queries, int limit) {
+		if (compact == null) {
+			throw new IllegalStateException("Search must be shrunk before searching.");
+		}
+
+		final List<Hits> hits = collectHits(queries);
+
+		// The highest weight an item can gain from the hits starting at an index
+		final long[] remaining = new long[hits.size() + 1];
+		for (int index = hits.size() - 1; index >= 0; index--) {
+			remaining[index] = remaining[index + 1] + hits.get(index).maxWeightPerItem();
+		}
+
+		// Keyed by the position of the item in the value table
+		final Int2LongMap itemWeights = new Int2LongOpenHashMap();
+		itemWeights.defaultReturnValue(1);
+
+		boolean admitting = true;
+
+		for (int index = 0; index < hits.size(); index++) {
+			final Hits current = hits.get(index);
+
+			// Only check when the weight decreases, as calculating the threshold is not free.
+			if (admitting && index > 0 && current.weight() < hits.get(index - 1).weight()
+				&& ScoredItems.thresholdOf(itemWeights, limit) > 1 + remaining[index]) {
+				log.trace("Stop admitting items for {} with {} hits remaining", queries, hits.size() - index);
+				admitting = false;
+			}
+
+			// We combine hits additively to favor items with multiple hits
+			for (int term = current.from(); term < current.to(); term++) {
+				final int postings = current.terms().getPostingCount(term);
+
+				for (int position = 0; position < postings; position++) {
+					final int item = current.terms().getPosting(term, position);
+
+					if (admitting || itemWeights.containsKey(item)) {
+						itemWeights.put(item, itemWeights.get(item) + current.weight());
+					}
+				}
+			}
+		}
+
+		return new ScoredItems<>(compact, itemWeights);
+	}
+
+	/**
+	 * Ranges of terms hit by the queries, in descending order of their weight.
+	 */
+	private List<Hits> collectHits(Collection<String> queries) {
+		final List<Hits> hits = new ArrayList<>();
 
 		// We are not guaranteed to have split queries incoming, so we normalize them for searching
 		queries = queries.stream().flatMap(this::split).collect(Collectors.toSet());
 
 		for (final String query : queries) {
-			// Query trie for all items associated with extensions of queries
-			final SortedMap<String, List<T>> prefixHits = whole.prefixMap(query);
+			final byte[] queryBytes = query.getBytes(StandardCharsets.UTF_8);
 
+			// Query trie for all items associated with extensions of queries
 			// Slightly favor whole words starting with query
-			updateWeights(query, prefixHits, itemWeights, true);
+			collectPrefixHits(queryBytes, compact.getWhole(), true, hits);
 
 			// If ngramLength is Integer.MAX_VALUE the ngram trie is empty.
 			final int queryLength = query.length();
@@ -104,29 +207,57 @@ public class TrieSearch<T extends Comparable<T>> {
 			}
 
 			if (queryLength < ngramLength) {
-				updateWeights(query, ngrams.prefixMap(query), itemWeights, false);
+				collectPrefixHits(queryBytes, compact.getNgrams(), false, hits);
 				continue;
 			}
 
-			// Collectors::toMap throws IllegalStateException if there are duplicate keys
-			final Map<String, List<T>> ngramHits = ngramSplit(query)
+			final long weight = weightWord(queryLength == ngramLength, false);
+
+			ngramSplit(query)
 					.distinct()
-					.collect(Collectors.toMap(
-							Function.identity(),
-							ng -> ngrams.getOrDefault(ng, Collections.emptyList())
-					));
+					.mapToInt(ngram -> compact.getNgrams().find(ngram.getBytes(StandardCharsets.UTF_8)))
+					.filter(index -> index != -1)
+					.forEach(index -> hits.add(new Hits(compact.getNgrams(), index, index + 1, weight)));
+		}
+
+		hits.sort(Comparator.comparingLong(Hits::weight).reversed());
+
+		return hits;
+	}
+
+	/**
+	 * Collect all terms starting with query.
+	 */
+	private static void collectPrefixHits(byte[] query, CompactTerms terms, boolean original, List<Hits> hits) {
+		int from = terms.lowerBound(query);
+		final int to = terms.prefixEnd(query);
+
+		if (from >= to) {
+			return;
+		}
 
-			updateWeights(query, ngramHits, itemWeights, false);
+		// The terms start with query, so they have the same length exactly if they have the same number of bytes, which only the first can have.
+		if (terms.termLength(from) == query.length) {
+			hits.add(new Hits(terms, from, from + 1, weightWord(true, original)));
+			from++;
 		}
 
-		// Sort items according to their weight, then limit.
-		// Note that sorting is in descending order, meaning higher-scores are better.
-		return itemWeights.object2LongEntrySet()
-						  .stream()
-						  .sorted(Comparator.comparing(Object2LongMap.Entry::getLongValue, Comparator.reverseOrder()))
-						  .limit(limit)
-						  .map(Map.Entry::getKey)
-						  .collect(Collectors.toList());
+		if (from < to) {
+			hits.add(new Hits(terms, from, to, weightWord(false, original)));
+		}
+	}
+
+	/**
+	 * Terms with indices from (inclusive) to (exclusive), of which every hit is weighted by weight.
+	 */
+	private record Hits(CompactTerms terms, int from, int to, long weight) {
+
+		/**
+		 * An item can be hit at most once per term.
+		 */
+		long maxWeightPerItem() {
+			return weight * Math.min(to - from, terms.getMaxTermsPerPosting());
+		}
 	}
 
 	/**
@@ -145,30 +276,6 @@ public class TrieSearch<T extends Comparable<T>> {
 						   .map(String::toLowerCase);
 	}
 
-	/**
-	 * Calculate and update weights for all queried items
-	 */
-	private void updateWeights(String query, final Map<String, List<T>> items, Object2LongMap<T> itemWeights, boolean original) {
-		if (items == null) {
-			return;
-		}
-
-		for (Map.Entry<String, List<T>> entry : items.entrySet()) {
-			final List<T> hits = entry.getValue();
-
-			if (hits.isEmpty()) {
-				continue;
-			}
-
-			long weight = weightWord(query, entry.getKey(), original);
-
-			// We combine hits additively to favor items with multiple hits
-			for (T item : hits) {
-				itemWeights.put(item, itemWeights.getOrDefault(item, 1) + weight);
-			}
-		}
-	}
-
 	/**
 	 * Returns an empty stream if word is shorter than ngramLength or ngramLength is Integer.MAX_VALUE
 	 */
@@ -186,12 +293,11 @@ public class TrieSearch<T extends Comparable<T>> {
 	/**
 	 * A higher weight implies more relevant words.
 	 */
-	private long weightWord(String query, String itemWord, boolean original) {
-		// The weight function needs to be fast, as it is called frequently.
+	private static long weightWord(boolean sameLength, boolean original) {
 		final long weight;
 
 		// We prefer same length words.
-		if (query.length() == itemWord.length()) {
+		if (sameLength) {
 			weight = EXACT_MATCH_WEIGHT;
 		}
 		else {
@@ -207,9 +313,21 @@ public class TrieSearch<T extends Comparable<T>> {
 	}
 
 	public List<T> findExact(Collection<String> keywords, int limit) {
+		final Function<String, List<T>> lookup;
+
+		if (compact != null) {
+			lookup = word -> {
+				final int index = compact.getWhole().find(word.getBytes(StandardCharsets.UTF_8));
+				return index == -1 ? null : compact.getItems(compact.getWhole(), index);
+			};
+		}
+		else {
+			lookup = whole::get;
+		}
+
 		return keywords.stream()
 					   .flatMap(this::split)
-					   .map(whole::get)
+					   .map(lookup)
 					   .filter(Objects::nonNull)
 					   .flatMap(List::stream)
 					   .distinct()
@@ -246,16 +364,16 @@ public class TrieSearch<T extends Comparable<T>> {
 	}
 
 	public boolean isWriteable() {
-		return !shrunk;
+		return compact == null;
 	}
 
 	/**
-	 * Since growth of ArrayList might be excessive, we can shrink the internal lists to only required size instead.
+	 * Freeze the tries into their compact form, dropping the tries.
 	 *
-	 * @implSpec the TrieSearch is still mutable after this. Shrinking might result in different search results.
+	 * @implSpec the TrieSearch is immutable after this, use {@link #copy()} to extend it. Shrinking might result in different search results.
 	 */
 	public void shrinkToFit() {
-		if (shrunk) {
+		if (compact != null) {
 			return;
 		}
 
@@ -263,8 +381,26 @@ public class TrieSearch<T extends Comparable<T>> {
 		ngrams.replaceAll((key, items) -> items.stream().distinct().collect(Collectors.toList()));
 		whole.replaceAll((key, items) -> items.stream().distinct().collect(Collectors.toList()));
 
-		size = calculateSize();
-		shrunk = true;
+		setCompact(base == null ? CompactSearchIndex.build(whole, ngrams) : CompactSearchIndex.merge(base, whole, ngrams));
+		base = null;
+	}
+
+	/**
+	 * The frozen form of this search, null until it is shrunk.
+	 */
+	public CompactSearchIndex<T> getCompact() {
+		return compact;
+	}
+
+	/**
+	 * Replace the content of this search by the compact index, e.g. one that has been loaded from a file.
+	 */
+	public void setCompact(CompactSearchIndex<T> compact) {
+		this.compact = compact;
+		ngrams = null;
+		whole = null;
+
+		size = compact.getWhole().getPostingsSize();
 	}
 
 	/**
@@ -280,13 +416,63 @@ public class TrieSearch<T extends Comparable<T>> {
 		return whole.values().stream().mapToLong(List::size).sum();
 	}
 
+	/**
+	 * Number of distinct items of {@link #stream()}.
+	 *
+	 * @implSpec Only shrunk searches are counted this way.
+	 */
+	public int countItems() {
+		return compact.getValueCount();
+	}
+
+	/**
+	 * @param order must order the items like their natural order does, but may consider more of them equal.
+	 * @implSpec Only shrunk searches can be searched.
+	 */
+	public boolean contains(T item, Comparator<? super T> order) {
+		return Collections.binarySearch(compact.getValues(), item, order) >= 0;
+	}
+
+	/**
+	 * Items of this search that are not in previous, e.g. the search it extends, found by a single pass over both sorted value tables.
+	 *
+	 * @implSpec Only shrunk searches can be compared.
+	 */
+	public Stream<T> streamAddedSince(TrieSearch<T> previous) {
+		final List<T> values = compact.getValues();
+		final List<T> previousValues = previous.compact.getValues();
+
+		final List<T> added = new ArrayList<>();
+		int other = 0;
+
+		for (T value : values) {
+			while (other < previousValues.size() && previousValues.get(other).compareTo(value) < 0) {
+				other++;
+			}
+
+			if (other == previousValues.size() || previousValues.get(other).compareTo(value) != 0) {
+				added.add(value);
+			}
+		}
+
+		return added.stream();
+	}
+
 	public Stream<T> stream() {
+		if (compact != null) {
+			return compact.stream();
+		}
+
 		return whole.values().stream()
 					.flatMap(Collection::stream)
 					.distinct();
 	}
 
 	public Iterator<T> iterator() {
+		if (compact != null) {
+			return compact.stream().iterator();
+		}
+
 		// This is a very ugly workaround to not get eager evaluation (which happens when using flatMap and distinct on streams)
 		final Set<T> seen = new HashSet<>();
 
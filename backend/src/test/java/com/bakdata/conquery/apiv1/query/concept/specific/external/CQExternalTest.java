@@ -0,0 +1,125 @@
+package com.bakdata.conquery.apiv1.query.concept.specific.external;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.bakdata.conquery.io.storage.NamespaceStorage;
+import com.bakdata.conquery.models.common.CDateSet;
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import com.bakdata.conquery.models.config.ConqueryConfig;
+import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.dictionary.EncodedDictionary;
+import com.bakdata.conquery.models.dictionary.MapDictionary;
+import com.bakdata.conquery.models.error.ConqueryError;
+import com.bakdata.conquery.models.events.stores.specific.string.EncodedStringStore;
+import com.bakdata.conquery.models.identifiable.mapping.EntityIdMap;
+import com.bakdata.conquery.util.progressreporter.ProgressReporter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Uploads larger than a single chunk are resolved in parallel, but collected as if they were resolved row by row.
+ */
+public class CQExternalTest {
+
+	private static final int ENTITIES = 20_000;
+	private static final int ROWS = 25_000;
+
+	private static final LocalDate START = LocalDate.of(2020, 1, 1);
+
+	private static final ConqueryConfig CONFIG = new ConqueryConfig();
+
+	private static EntityIdMap mapping;
+
+	@BeforeAll
+	public static void setup() {
+		final MapDictionary primary = new MapDictionary(Dataset.PLACEHOLDER, "primary");
+
+		mapping = new EntityIdMap();
+
+		for (int entity = 0; entity < ENTITIES; entity++) {
+			primary.add(("entity" + entity).getBytes(StandardCharsets.UTF_8));
+			mapping.addInputMapping("entity" + entity, new EntityIdMap.ExternalId("ID", "external" + entity));
+		}
+
+		final NamespaceStorage storage = mock(NamespaceStorage.class);
+		when(storage.getPrimaryDictionary()).thenReturn(new EncodedDictionary(primary, EncodedStringStore.Encoding.UTF8));
+
+		mapping.setStorage(storage);
+	}
+
+	/**
+	 * Rows map to entities round-robin, every hundredth row cannot be resolved and every thousandth row has no readable date.
+	 */
+	private static String[][] createValues() {
+		final String[][] values = new String[ROWS + 1][];
+		values[0] = new String[]{"id", "date", "extra"};
+
+		for (int row = 1; row <= ROWS; row++) {
+			final int entity = (row - 1) % ENTITIES;
+
+			values[row] = new String[]{
+					row % 100 == 0 ? "unknown" + row : "external" + entity,
+					row % 1000 == 1 ? "no date" : START.plusDays(row).toString(),
+					"value" + row
+			};
+		}
+
+		return values;
+	}
+
+	@Test
+	public void resolvesChunksInParallel() {
+		final ProgressReporter progressReporter = ProgressReporter.createStarted();
+
+		final CQExternal.ResolveStatistic statistic = CQExternal.resolveEntities(createValues(), List.of("ID", "EVENT_DATE", "EXTRA"), mapping,
+																				 CONFIG.getIdColumns(), CONFIG.getLocale().getDateReader(), false,
+																				 progressReporter
+		);
+
+		assertThat(statistic.getUnreadableDate()).hasSize(ROWS / 1000);
+		assertThat(statistic.getUnresolvedId()).hasSize(ROWS / 100);
+
+		assertThat(statistic.getUnreadableDate()).extracting(row -> row[1]).containsOnly("no date");
+		assertThat(statistic.getUnresolvedId()).extracting(row -> row[0]).allMatch(id -> id.startsWith("unknown"));
+
+		// All chunks are reported, from the first to the last.
+		assertThat(progressReporter.getAbsoluteProgress()).isEqualTo(ROWS);
+
+		// Entity 1 is found in rows 2 and 20002, that are resolved by the first and the last chunk.
+		assertThat(statistic.getResolved().get(1)).isEqualTo(CDateSet.create(CDateRange.exactly(START.plusDays(20_002))));
+		assertThat(statistic.getExtra().get(1).get("extra")).containsExactly("value2", "value20002");
+
+		// Neither row 1 nor row 20001 of entity 0 has a date, and neither row 100 nor row 20100 of entity 99 can be resolved.
+		assertThat(statistic.getResolved()).doesNotContainKeys(0, 99);
+		assertThat(statistic.getExtra()).doesNotContainKeys(0, 99);
+
+		// Every hundredth and every thousandth entity has no row that can be resolved.
+		assertThat(statistic.getResolved()).hasSize(ENTITIES - ENTITIES / 100 - ENTITIES / 1000);
+	}
+
+	@Test
+	public void onlySinglesChecksAllChunks() {
+		final String[][] values = createValues();
+
+		// Without the rows of the last chunk, every entity has at most one row.
+		final String[][] firstChunks = new String[ENTITIES + 1][];
+		System.arraycopy(values, 0, firstChunks, 0, firstChunks.length);
+
+		final CQExternal.ResolveStatistic singles = CQExternal.resolveEntities(firstChunks, List.of("ID", "EVENT_DATE", "EXTRA"), mapping,
+																			   CONFIG.getIdColumns(), CONFIG.getLocale().getDateReader(), true
+		);
+
+		assertThat(singles.getExtra().values()).allMatch(extra -> extra.get("extra").size() == 1);
+
+		assertThatThrownBy(() -> CQExternal.resolveEntities(values, List.of("ID", "EVENT_DATE", "EXTRA"), mapping,
+															CONFIG.getIdColumns(), CONFIG.getLocale().getDateReader(), true
+		)).isInstanceOf(ConqueryError.ExternalResolveOnePerRowError.class);
+	}
+}
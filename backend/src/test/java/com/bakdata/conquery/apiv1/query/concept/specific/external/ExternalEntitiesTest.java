@@ -0,0 +1,51 @@
+package com.bakdata.conquery.apiv1.query.concept.specific.external;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import com.bakdata.conquery.models.common.CDateSet;
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import org.junit.jupiter.api.Test;
+
+public class ExternalEntitiesTest {
+
+	@Test
+	public void lookup() {
+		final CDateSet datesOf5 = CDateSet.create(List.of(CDateRange.of(10, 20), CDateRange.of(30, 40)));
+
+		final ExternalEntities entities = ExternalEntities.create(
+				Map.of(
+						5, datesOf5,
+						2, CDateSet.createEmpty(),
+						9, CDateSet.create(CDateRange.exactly(1))
+				),
+				Map.of(
+						5, Map.of("first", List.of("a", "b"), "second", List.of("c")),
+						9, Map.of("first", List.of("d"))
+				),
+				new String[]{"first", "second"}
+		);
+
+		assertThat(entities.getEntities()).containsExactly(2, 5, 9);
+
+		assertThat(entities.indexOf(3)).isEqualTo(-1);
+
+		final int position = entities.indexOf(5);
+		assertThat(position).isEqualTo(1);
+		assertThat(entities.hasDates(position)).isTrue();
+		assertThat(entities.getDates(position)).isEqualTo(datesOf5);
+
+		assertThat(entities.hasDates(entities.indexOf(2))).isFalse();
+
+		final int first = entities.indexOfExtraColumn("first");
+		final int second = entities.indexOfExtraColumn("second");
+
+		assertThat(entities.getExtra(first, position)).containsExactly("a", "b");
+		assertThat(entities.getExtra(second, position)).containsExactly("c");
+		assertThat(entities.getExtra(first, entities.indexOf(9))).containsExactly("d");
+		assertThat(entities.getExtra(second, entities.indexOf(9))).isEmpty();
+		assertThat(entities.getExtra(first, entities.indexOf(2))).isEmpty();
+	}
+}
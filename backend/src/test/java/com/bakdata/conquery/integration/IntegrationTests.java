@@ -60,7 +60,10 @@ public class IntegrationTests {
 
 	static {
 
-		SharedMetricRegistries.setDefault("test");
+		// Unit tests might have already set up the registry in this JVM.
+		if (SharedMetricRegistries.tryGetDefault() == null) {
+			SharedMetricRegistries.setDefault("test");
+		}
 
 		final ObjectMapper mapper = Jackson.MAPPER.copy();
 
@@ -12,6 +12,7 @@ import com.bakdata.conquery.integration.json.SqlTestDataImporter;
 import com.bakdata.conquery.integration.sql.CsvTableImporter;
 import com.bakdata.conquery.models.config.Dialect;
 import com.bakdata.conquery.models.config.SqlConnectorConfig;
+import com.bakdata.conquery.models.datasets.Dataset;
 import com.bakdata.conquery.models.error.ConqueryError;
 import com.bakdata.conquery.models.i18n.I18n;
 import com.bakdata.conquery.models.query.resultinfo.ResultInfo;
@@ -81,13 +82,14 @@ public class PostgreSqlIntegrationTests extends IntegrationTests {
 	public void shouldThrowException() {
 		// This can be removed as soon as we switch to a full integration test including the REST API
 		I18n.init();
-		SqlExecutionService executionService = new SqlExecutionService(dslContext, ResultSetProcessorFactory.create(testSqlDialect));
-		SqlManagedQuery validQuery = new SqlManagedQuery(new ConceptQuery(), null, null, null, toSqlQuery("SELECT 1"));
-		Assertions.assertThatNoException().isThrownBy(() -> executionService.execute(validQuery));
+		SqlExecutionService executionService = new SqlExecutionService(dslContext, ResultSetProcessorFactory.create(testSqlDialect), sqlConfig.getFetchSize());
+		Dataset dataset = new Dataset("dataset");
+		SqlManagedQuery validQuery = new SqlManagedQuery(new ConceptQuery(), null, dataset, null, toSqlQuery("SELECT 1"));
+		Assertions.assertThatNoException().isThrownBy(() -> executionService.execute(validQuery, row -> {}));
 
 		// executing an empty query should throw an SQL error
-		SqlManagedQuery emptyQuery = new SqlManagedQuery(new ConceptQuery(), null, null, null, toSqlQuery(""));
-		Assertions.assertThatThrownBy(() -> executionService.execute(emptyQuery))
+		SqlManagedQuery emptyQuery = new SqlManagedQuery(new ConceptQuery(), null, dataset, null, toSqlQuery(""));
+		Assertions.assertThatThrownBy(() -> executionService.execute(emptyQuery, row -> {}))
 				  .isInstanceOf(ConqueryError.SqlError.class)
 				  .hasMessageContaining("$org.postgresql.util.PSQLException");
 	}
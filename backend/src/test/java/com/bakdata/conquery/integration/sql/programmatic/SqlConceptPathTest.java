@@ -0,0 +1,104 @@
+package com.bakdata.conquery.integration.sql.programmatic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import com.bakdata.conquery.apiv1.query.Query;
+import com.bakdata.conquery.integration.common.IntegrationUtils;
+import com.bakdata.conquery.integration.json.JsonIntegrationTest;
+import com.bakdata.conquery.integration.json.QueryTest;
+import com.bakdata.conquery.integration.tests.ProgrammaticIntegrationTest;
+import com.bakdata.conquery.integration.tests.ReusedQueryTest;
+import com.bakdata.conquery.models.datasets.concepts.Concept;
+import com.bakdata.conquery.models.execution.ExecutionState;
+import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.worker.LocalNamespace;
+import com.bakdata.conquery.sql.conquery.SqlExecutionManager;
+import com.bakdata.conquery.sql.conquery.SqlManagedQuery;
+import com.bakdata.conquery.util.support.StandaloneSupport;
+import com.bakdata.conquery.util.support.TestConquery;
+import com.github.powerlibraries.io.In;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+
+/**
+ * Materialized concept paths must not change the results of a query, neither when they are up to date, nor when the source table received new values since.
+ */
+@Slf4j
+public class SqlConceptPathTest implements ProgrammaticIntegrationTest {
+
+	@Override
+	public Set<StandaloneSupport.Mode> forModes() {
+		return Set.of(StandaloneSupport.Mode.SQL);
+	}
+
+	@Override
+	public void execute(String name, TestConquery testConquery) throws Exception {
+		final StandaloneSupport conquery = testConquery.getSupport(name);
+
+		final String testJson = In.resource("/tests/sql/tree/prefix_range/prefix_range.spec.json").withUTF8().readAll();
+		final QueryTest test = JsonIntegrationTest.readJson(conquery.getDataset(), testJson);
+
+		ReusedQueryTest.importManually(conquery, test);
+		conquery.waitUntilWorkDone();
+
+		final LocalNamespace namespace = (LocalNamespace) conquery.getNamespace();
+		final SqlExecutionManager executionManager = (SqlExecutionManager) namespace.getExecutionManager();
+		final Concept<?> concept = namespace.getStorage().getAllConcepts().iterator().next();
+
+		final SqlManagedQuery resolved = execute(conquery, test, 3L);
+		assertThat(resolved.getSqlQuery().getSql()).doesNotContain("concept_paths_");
+
+		// Materialized paths yield the same results
+		{
+			executionManager.materializeConceptPaths(concept);
+
+			final SqlManagedQuery materialized = execute(conquery, test, 3L);
+
+			assertThat(materialized.getSqlQuery().getSql()).contains("concept_paths_");
+			assertThat(lines(materialized)).containsExactlyInAnyOrderElementsOf(lines(resolved));
+		}
+
+		// Values added to the source table after materialization are resolved by the conditions of the tree
+		{
+			final DSLContext dslContext = namespace.getSqlExecutionService().getDslContext();
+
+			dslContext.insertInto(DSL.table(DSL.name("kh_diagnose")))
+					  .columns(DSL.field(DSL.name("pid")), DSL.field(DSL.name("icd_code")), DSL.field(DSL.name("entlassungsdatum")), DSL.field(DSL.name("aufnahmedatum")))
+					  .values("5", "F250", LocalDate.of(2012, 1, 1), LocalDate.of(2012, 1, 1))
+					  .execute();
+
+			final SqlManagedQuery stale = execute(conquery, test, 4L);
+
+			// Materializing again picks up the new value, without changing the results
+			executionManager.materializeConceptPaths(namespace.getStorage().getAllConcepts());
+
+			final SqlManagedQuery refreshed = execute(conquery, test, 4L);
+
+			assertThat(lines(refreshed)).containsExactlyInAnyOrderElementsOf(lines(stale));
+
+			// The rebuilt table replaced the previous one
+			assertThat(dslContext.meta().getTables()).extracting(Table::getName).noneMatch(table -> table.endsWith("_staging"));
+		}
+	}
+
+	private static SqlManagedQuery execute(StandaloneSupport conquery, QueryTest test, long expectedSize) throws Exception {
+		final Query query = IntegrationUtils.parseQuery(conquery, test.getRawQuery());
+		final ManagedExecutionId id = IntegrationUtils.assertQueryResult(conquery, query, expectedSize, ExecutionState.DONE, conquery.getTestUser(), 201);
+
+		return (SqlManagedQuery) conquery.getMetaStorage().getExecution(id);
+	}
+
+	private static List<String> lines(SqlManagedQuery execution) {
+		return execution.streamResults()
+						.flatMap(result -> result.listResultLines().stream())
+						.map(Arrays::deepToString)
+						.toList();
+	}
+}
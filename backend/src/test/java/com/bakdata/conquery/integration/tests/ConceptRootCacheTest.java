@@ -0,0 +1,150 @@
+package com.bakdata.conquery.integration.tests;
+
+import static com.bakdata.conquery.resources.ResourceConstants.DATASET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.Map;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import com.bakdata.conquery.integration.IntegrationTest;
+import com.bakdata.conquery.integration.json.JsonIntegrationTest;
+import com.bakdata.conquery.integration.json.QueryTest;
+import com.bakdata.conquery.io.storage.MetaStorage;
+import com.bakdata.conquery.models.auth.entities.User;
+import com.bakdata.conquery.models.auth.permissions.Ability;
+import com.bakdata.conquery.models.auth.permissions.DatasetPermission;
+import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.datasets.concepts.Concept;
+import com.bakdata.conquery.models.exceptions.ValidatorHelper;
+import com.bakdata.conquery.resources.api.DatasetResource;
+import com.bakdata.conquery.resources.hierarchies.HierarchyHelper;
+import com.bakdata.conquery.util.support.StandaloneSupport;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.github.powerlibraries.io.In;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The serialized root of the concept tree is shared by subjects permitted the same concepts, rebuilt when the concepts change, and revalidated by its ETag.
+ */
+@Slf4j
+public class ConceptRootCacheTest extends IntegrationTest.Simple implements ProgrammaticIntegrationTest {
+
+	@Override
+	public void execute(StandaloneSupport conquery) throws Exception {
+		final MetaStorage storage = conquery.getMetaStorage();
+		final Dataset dataset = conquery.getDataset();
+
+		final String testJson = In.resource("/tests/query/SIMPLE_TREECONCEPT_QUERY/SIMPLE_TREECONCEPT_Query.test.json").withUTF8().readAll();
+		final QueryTest test = JsonIntegrationTest.readJson(dataset.getId(), testJson);
+
+		ValidatorHelper.failOnError(log, conquery.getValidator().validate(test));
+		test.importRequiredData(conquery);
+		conquery.waitUntilWorkDone();
+
+		final Concept<?> concept = conquery.getNamespace().getStorage().getAllConcepts().iterator().next();
+
+		final User first = new User("rootCacheFirst", "rootCacheFirst", storage);
+		final User second = new User("rootCacheSecond", "rootCacheSecond", storage);
+
+		for (User user : new User[]{first, second}) {
+			storage.addUser(user);
+			user.addPermission(DatasetPermission.onInstance(Ability.READ, dataset.getId()));
+			user.addPermission(concept.createPermission(Ability.READ.asSet()));
+		}
+
+		final URI rootUri = HierarchyHelper.hierarchicalPath(conquery.defaultApiURIBuilder(), DatasetResource.class, "getRoot")
+										   .buildFromMap(Map.of(DATASET, dataset.getId()));
+
+		final EntityTag tag;
+
+		// Subjects with equal permissions share an entry
+		{
+			final long missesBefore = statistic("misses");
+			final long hitsBefore = statistic("hits");
+
+			final Response firstResponse = getRoot(conquery, rootUri, first, null);
+			assertThat(firstResponse.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+
+			final Response secondResponse = getRoot(conquery, rootUri, second, null);
+			assertThat(secondResponse.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+
+			tag = firstResponse.getEntityTag();
+
+			assertThat(tag).isNotNull().isEqualTo(secondResponse.getEntityTag());
+			assertThat(secondResponse.readEntity(String.class)).isEqualTo(firstResponse.readEntity(String.class));
+
+			assertThat(statistic("misses")).isEqualTo(missesBefore + 1);
+			assertThat(statistic("hits")).isEqualTo(hitsBefore + 1);
+		}
+
+		// Clients holding the current version are answered without content
+		{
+			final Response response = getRoot(conquery, rootUri, second, tag.toString());
+
+			assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_MODIFIED.getStatusCode());
+			assertThat(response.getEntityTag()).isEqualTo(tag);
+			assertThat(response.getHeaderString(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+			response.close();
+		}
+
+		// Lists, weak tags and wildcards are valid as well
+		for (String ifNoneMatch : new String[]{"\"other\", " + tag, "W/" + tag, "*"}) {
+			final Response response = getRoot(conquery, rootUri, second, ifNoneMatch);
+
+			assertThat(response.getStatus()).as(ifNoneMatch).isEqualTo(Response.Status.NOT_MODIFIED.getStatusCode());
+			response.close();
+		}
+
+		// Other versions are answered with content
+		{
+			final Response response = getRoot(conquery, rootUri, second, "\"other\", W/\"another\"");
+
+			assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+			assertThat(response.getHeaderString(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+			response.close();
+		}
+
+		// Changes of the concepts rebuild the root
+		{
+			final long missesBefore = statistic("misses");
+
+			conquery.getNamespace().incrementConceptsVersion();
+
+			final Response response = getRoot(conquery, rootUri, first, tag.toString());
+
+			assertThat(statistic("misses")).isEqualTo(missesBefore + 1);
+
+			// The content did not actually change, so the client's version is still valid
+			assertThat(response.getStatus()).isEqualTo(Response.Status.NOT_MODIFIED.getStatusCode());
+			response.close();
+		}
+
+		storage.removeUser(first.getId());
+		storage.removeUser(second.getId());
+	}
+
+	/**
+	 * The gauges are only registered, once the processor is first used.
+	 */
+	private static long statistic(String name) {
+		final Gauge<?> gauge = SharedMetricRegistries.getDefault().getGauges().get(MetricRegistry.name("caches", "concepts.roots", name));
+
+		return gauge == null ? 0 : (Long) gauge.getValue();
+	}
+
+	private static Response getRoot(StandaloneSupport conquery, URI rootUri, User user, String ifNoneMatch) {
+		return conquery.getClient()
+					   .target(rootUri)
+					   .request(MediaType.APPLICATION_JSON_TYPE)
+					   .header(HttpHeaders.AUTHORIZATION, "Bearer " + conquery.getAuthorizationController().getConqueryTokenRealm().createTokenForUser(user.getId()))
+					   .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+					   .get();
+	}
+}
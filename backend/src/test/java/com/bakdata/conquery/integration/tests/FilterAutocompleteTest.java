@@ -33,8 +33,12 @@ import com.bakdata.conquery.resources.api.ConceptsProcessor;
 import com.bakdata.conquery.resources.api.FilterResource;
 import com.bakdata.conquery.resources.hierarchies.HierarchyHelper;
 import com.bakdata.conquery.util.support.StandaloneSupport;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
 import com.github.powerlibraries.io.In;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
 
 @Slf4j
 public class FilterAutocompleteTest extends IntegrationTest.Simple implements ProgrammaticIntegrationTest {
@@ -168,5 +172,50 @@ public class FilterAutocompleteTest extends IntegrationTest.Simple implements Pr
 			assertThat(resolvedFromCsv.values().stream().map(FrontendValue::getValue))
 					.containsExactlyInAnyOrder("", "a", "aab", "aaa", "baaa", "b", "f", "m", "mf", "fm");
 		}
+
+		// Repeated searches are served from the cache of the processor, which outlives single requests
+		{
+			final Gauge<?> hits = SharedMetricRegistries.getDefault().getGauges().get(MetricRegistry.name("caches", "concepts.searches", "hits"));
+			final long hitsBefore = (Long) hits.getValue();
+
+			assertThat(autocomplete(conquery, autocompleteUri, "a").values().stream().map(FrontendValue::getValue))
+					.containsExactly("a", "aab", "aaa", "", "baaa");
+
+			assertThat((Long) hits.getValue()).isGreaterThan(hitsBefore);
+		}
+
+		// Cached results of replaced searches are dropped when they are accessed
+		{
+			final Path updatedCsv = Files.createTempFile("conquery_search_updated", "csv");
+
+			Files.write(
+					updatedCsv,
+					String.join(csvConf.getLineSeparator(), ArrayUtils.add(RAW_LINES, "ab,lbl-7,ov-7")).getBytes(),
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE, StandardOpenOption.WRITE
+			);
+
+			filter.setTemplate(new FilterTemplate(conquery.getDataset(), "test", updatedCsv.toUri(), "id", "{{label}}", "Hello this is {{option}}", 2, true, indexService));
+
+			conquery.getClient().target(matchingStatsUri)
+					.request(MediaType.APPLICATION_JSON_TYPE)
+					.post(null)
+					.close();
+
+			conquery.waitUntilWorkDone();
+
+			assertThat(autocomplete(conquery, autocompleteUri, "a").values().stream().map(FrontendValue::getValue))
+					.contains("a", "ab", "aab", "aaa", "baaa");
+		}
+	}
+
+	private static ConceptsProcessor.AutoCompleteResult autocomplete(StandaloneSupport conquery, URI autocompleteUri, String text) {
+		return conquery.getClient().target(autocompleteUri)
+					   .request(MediaType.APPLICATION_JSON_TYPE)
+					   .post(Entity.entity(new FilterResource.AutocompleteRequest(
+							   Optional.of(text),
+							   OptionalInt.empty(),
+							   OptionalInt.empty()
+					   ), MediaType.APPLICATION_JSON_TYPE))
+					   .readEntity(ConceptsProcessor.AutoCompleteResult.class);
 	}
 }
@@ -0,0 +1,83 @@
+package com.bakdata.conquery.integration.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.bakdata.conquery.apiv1.query.Query;
+import com.bakdata.conquery.integration.common.IntegrationUtils;
+import com.bakdata.conquery.integration.json.JsonIntegrationTest;
+import com.bakdata.conquery.integration.json.QueryTest;
+import com.bakdata.conquery.metrics.ExecutionMetrics;
+import com.bakdata.conquery.models.execution.ExecutionState;
+import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.query.ExecutionManager;
+import com.bakdata.conquery.models.query.results.EntityResult;
+import com.bakdata.conquery.util.support.StandaloneSupport;
+import com.bakdata.conquery.util.support.TestConquery;
+import com.codahale.metrics.Counter;
+import com.github.powerlibraries.io.In;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Equal queries on unchanged data are answered from the results of the first execution, until the data changes.
+ */
+@Slf4j
+public class ResultCacheTest implements ProgrammaticIntegrationTest {
+
+	@Override
+	public void execute(String name, TestConquery testConquery) throws Exception {
+		final StandaloneSupport conquery = testConquery.getSupport(name);
+
+		final String testJson = In.resource("/tests/query/SECONDARY_ID_MIXED/SECONDARY_IDS_MIXED.test.json").withUTF8().readAll();
+		final QueryTest test = (QueryTest) JsonIntegrationTest.readJson(conquery.getDataset(), testJson);
+
+		ReusedQueryTest.importManually(conquery, test);
+		conquery.waitUntilWorkDone();
+
+		final Counter hits = ExecutionMetrics.getResultCacheCounter(true);
+		final Counter misses = ExecutionMetrics.getResultCacheCounter(false);
+
+		final ManagedExecutionId first = execute(conquery, test);
+		final long hitsBefore = hits.getCount();
+		final long missesBefore = misses.getCount();
+
+		// An equal query is answered from the cache
+		{
+			final ManagedExecutionId second = execute(conquery, test);
+
+			assertThat(second).isNotEqualTo(first);
+			assertThat(hits.getCount()).isEqualTo(hitsBefore + 1);
+			assertThat(misses.getCount()).isEqualTo(missesBefore);
+
+			assertThat(entityIds(conquery, second)).containsExactlyInAnyOrderElementsOf(entityIds(conquery, first));
+		}
+
+		// Changes of the data invalidate the cache
+		{
+			conquery.getNamespace().incrementDataVersion();
+
+			final ManagedExecutionId third = execute(conquery, test);
+
+			assertThat(hits.getCount()).isEqualTo(hitsBefore + 1);
+			assertThat(misses.getCount()).isEqualTo(missesBefore + 1);
+
+			assertThat(entityIds(conquery, third)).containsExactlyInAnyOrderElementsOf(entityIds(conquery, first));
+		}
+	}
+
+	private static ManagedExecutionId execute(StandaloneSupport conquery, QueryTest test) throws Exception {
+		// Parsed for every execution, so that only equal, but not identical, queries are submitted
+		final Query query = IntegrationUtils.parseQuery(conquery, test.getRawQuery());
+
+		return IntegrationUtils.assertQueryResult(conquery, query, 3L, ExecutionState.DONE, conquery.getTestUser(), 201);
+	}
+
+	private static List<Integer> entityIds(StandaloneSupport conquery, ManagedExecutionId id) {
+		final ExecutionManager executionManager = conquery.getNamespace().getExecutionManager();
+
+		return executionManager.streamQueryResults(conquery.getMetaStorage().getExecution(id))
+							   .map(EntityResult::getEntityId)
+							   .toList();
+	}
+}
@@ -85,7 +85,15 @@ public class ReusedQueryTest implements ProgrammaticIntegrationTest {
 
 			final ConceptQuery reused = new ConceptQuery(new CQReusedQuery(execution.getId()));
 
-			IntegrationUtils.assertQueryResult(conquery, reused, 2L, ExecutionState.DONE, conquery.getTestUser(), 201);
+			final ManagedExecutionId reusedId = IntegrationUtils.assertQueryResult(conquery, reused, 2L, ExecutionState.DONE, conquery.getTestUser(), 201);
+
+			// The result of a ConceptQuery is stored on the workers and reused from there. Reusing it twice, avoids direct reuse of the execution.
+			final CQAnd and = new CQAnd();
+			and.setChildren(List.of(new CQReusedQuery(reusedId), new CQReusedQuery(reusedId)));
+
+			final ConceptQuery reusedTwice = new ConceptQuery(and);
+
+			IntegrationUtils.assertQueryResult(conquery, reusedTwice, 2L, ExecutionState.DONE, conquery.getTestUser(), 201);
 		}
 
 		// Reuse by API
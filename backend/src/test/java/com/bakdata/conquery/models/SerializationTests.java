@@ -31,6 +31,7 @@ import com.bakdata.conquery.apiv1.query.QueryDescription;
 import com.bakdata.conquery.apiv1.query.concept.filter.CQTable;
 import com.bakdata.conquery.apiv1.query.concept.specific.CQConcept;
 import com.bakdata.conquery.apiv1.query.concept.specific.CQOr;
+import com.bakdata.conquery.apiv1.query.concept.specific.external.ExternalEntities;
 import com.bakdata.conquery.io.AbstractSerializationTest;
 import com.bakdata.conquery.io.cps.CPSType;
 import com.bakdata.conquery.io.jackson.Injectable;
@@ -45,6 +46,7 @@ import com.bakdata.conquery.models.auth.entities.User;
 import com.bakdata.conquery.models.auth.permissions.Ability;
 import com.bakdata.conquery.models.auth.permissions.DatasetPermission;
 import com.bakdata.conquery.models.auth.permissions.ExecutionPermission;
+import com.bakdata.conquery.models.common.CDateSet;
 import com.bakdata.conquery.models.common.Range;
 import com.bakdata.conquery.models.common.daterange.CDateRange;
 import com.bakdata.conquery.models.config.FormBackendConfig;
@@ -82,6 +84,7 @@ import com.bakdata.conquery.models.identifiable.ids.specific.GroupId;
 import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
 import com.bakdata.conquery.models.identifiable.ids.specific.UserId;
 import com.bakdata.conquery.models.identifiable.mapping.EntityIdMap;
+import com.bakdata.conquery.models.identifiable.mapping.EntityPrintId;
 import com.bakdata.conquery.models.query.ManagedQuery;
 import com.bakdata.conquery.models.query.entity.Entity;
 import com.bakdata.conquery.models.query.results.EntityResult;
@@ -317,6 +320,54 @@ public class SerializationTests extends AbstractSerializationTest {
 
 	}
 
+	@Test
+	public void persistentIdMapLegacyFormat() throws IOException {
+		final String legacy = """
+				{
+					"keys": [{"type": "id", "id": "a"}],
+					"values": ["test1"],
+					"internalToPrint": {"test2": {"externalId": ["c"]}}
+				}
+				""";
+
+		final EntityIdMap read = getApiMapper().readValue(legacy, EntityIdMap.class);
+
+		assertThat(read).isEqualTo(IdMapSerialisationTest.createTestPersistentMap());
+		assertThat(read.toExternal("test2")).isEqualTo(EntityPrintId.from("c"));
+		assertThat(read.toExternal("test1")).isNull();
+	}
+
+	@Test
+	public void persistentIdMapPairFormat() throws IOException {
+		final String pairs = """
+				{
+					"internalIds": ["test1", "test2"],
+					"printIds": [null, ["c"]],
+					"externalIds": {"id": ["a", 0]}
+				}
+				""";
+
+		final EntityIdMap read = getApiMapper().readValue(pairs, EntityIdMap.class);
+
+		assertThat(read).isEqualTo(IdMapSerialisationTest.createTestPersistentMap());
+	}
+
+	@Test
+	public void externalEntities() throws JSONException, IOException {
+		final ExternalEntities entities = ExternalEntities.create(
+				Map.of(
+						3, CDateSet.create(List.of(CDateRange.of(10, 20), CDateRange.of(30, 40))),
+						1, CDateSet.createEmpty()
+				),
+				Map.of(3, Map.of("extra", List.of("a", "b"))),
+				new String[]{"extra"}
+		);
+
+		SerializationTestUtil.forType(ExternalEntities.class)
+							 .objectMappers(getManagerInternalMapper(), getShardInternalMapper())
+							 .test(entities);
+	}
+
 	@Test
 	public void formConfig() throws JSONException, IOException {
 		final CentralRegistry registry = getMetaStorage().getCentralRegistry();
@@ -0,0 +1,77 @@
+package com.bakdata.conquery.models.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.bakdata.conquery.models.auth.permissions.Ability;
+import com.bakdata.conquery.models.auth.permissions.AdminPermission;
+import com.bakdata.conquery.models.auth.permissions.DatasetPermission;
+import com.bakdata.conquery.models.auth.permissions.ExecutionPermission;
+import com.bakdata.conquery.models.auth.permissions.PermissionIndex;
+import com.bakdata.conquery.models.auth.permissions.SuperPermission;
+import com.bakdata.conquery.models.auth.permissions.WildcardPermission;
+import com.bakdata.conquery.models.identifiable.ids.specific.DatasetId;
+import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import org.apache.shiro.authz.Permission;
+import org.junit.jupiter.api.Test;
+
+public class PermissionIndexTest {
+
+	private static final List<Permission> REQUESTED = List.of(
+			DatasetPermission.onInstance(Ability.READ, new DatasetId("dataset1")),
+			DatasetPermission.onInstance(Ability.READ, new DatasetId("dataset2")),
+			DatasetPermission.onInstance(Ability.DOWNLOAD, new DatasetId("dataset1")),
+			DatasetPermission.onInstance(EnumSet.of(Ability.READ, Ability.DOWNLOAD), new DatasetId("dataset1")),
+			new WildcardPermission("datasets:read"),
+			new WildcardPermission("datasets:read:*"),
+			new WildcardPermission("datasets:read:dataset1,dataset2"),
+			new WildcardPermission("concepts:read:dataset1.concept"),
+			new WildcardPermission("queries:read:dataset1.query"),
+			AdminPermission.onDomain(),
+			SuperPermission.onDomain()
+	);
+
+	/**
+	 * The index must decide exactly like checking every held permission.
+	 */
+	private static void assertSameAsLinear(Set<Permission> held) {
+		final PermissionIndex index = PermissionIndex.of(held);
+
+		for (Permission requested : REQUESTED) {
+			final boolean expected = held.stream().anyMatch(permission -> permission.implies(requested));
+
+			assertThat(index.implies(requested)).as("%s implied by %s", requested, held).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	public void instances() {
+		assertSameAsLinear(Set.of(DatasetPermission.onInstance(Ability.READ, new DatasetId("dataset1"))));
+		assertSameAsLinear(Set.of(
+				DatasetPermission.onInstance(Ability.READ, new DatasetId("dataset1")),
+				DatasetPermission.onInstance(Ability.READ, new DatasetId("dataset2"))
+		));
+		assertSameAsLinear(Set.of(new WildcardPermission("datasets:read,download:dataset1,dataset2")));
+		assertSameAsLinear(Set.of(ExecutionPermission.onInstance(Ability.READ.asSet(), new ManagedExecutionId(new DatasetId("dataset1"), UUID.randomUUID()))));
+	}
+
+	@Test
+	public void wildcards() {
+		assertSameAsLinear(Set.of(new WildcardPermission("datasets:read:*")));
+		assertSameAsLinear(Set.of(new WildcardPermission("datasets:*")));
+		assertSameAsLinear(Set.of(new WildcardPermission("datasets")));
+		assertSameAsLinear(Set.of(new WildcardPermission("datasets,concepts:read")));
+		assertSameAsLinear(Set.of(AdminPermission.onDomain()));
+		assertSameAsLinear(Set.of(SuperPermission.onDomain()));
+		assertSameAsLinear(Set.of(new WildcardPermission("*:read:dataset1")));
+	}
+
+	@Test
+	public void empty() {
+		assertSameAsLinear(Set.of());
+	}
+}
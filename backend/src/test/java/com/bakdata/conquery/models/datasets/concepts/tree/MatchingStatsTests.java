@@ -91,4 +91,21 @@ public class MatchingStatsTests {
 
 
     }
+
+    @Test
+    public void addEventsTest() {
+        MatchingStats stats = new MatchingStats();
+
+        // Two CBlocks of different tables, sharing entity 2, and one of another bucket, whose entities are relative to its root
+        MatchingStats.Entry entry = new MatchingStats.Entry();
+        entry.addEvents(3, 0, new int[]{1, 2}, CDateRange.of(10, 20));
+        entry.addEvents(4, 0, new int[]{2, 3}, CDateRange.of(15, 30));
+        entry.addEvents(1, 10, new int[]{2}, null);
+
+        stats.putEntry(workerId1, entry);
+
+        assertThat(stats.countEvents()).isEqualTo(8);
+        assertThat(stats.countEntities()).isEqualTo(4);
+        assertThat(entry.getSpan()).isEqualTo(CDateRange.of(10, 30));
+    }
 }
@@ -0,0 +1,205 @@
+package com.bakdata.conquery.models.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import com.bakdata.conquery.io.jackson.Jackson;
+import com.bakdata.conquery.models.common.CDate;
+import com.bakdata.conquery.models.common.CDateSet;
+import com.bakdata.conquery.models.common.Range;
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import com.bakdata.conquery.models.datasets.Column;
+import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.datasets.Import;
+import com.bakdata.conquery.models.datasets.Table;
+import com.bakdata.conquery.models.events.stores.primitive.DoubleArrayStore;
+import com.bakdata.conquery.models.events.stores.primitive.IntArrayStore;
+import com.bakdata.conquery.models.events.stores.primitive.IntegerDateStore;
+import com.bakdata.conquery.models.events.stores.root.ColumnStore;
+import com.bakdata.conquery.models.events.stores.root.StringStore;
+import com.bakdata.conquery.models.events.stores.specific.MoneyIntStore;
+import com.bakdata.conquery.models.query.QueryExecutionContext;
+import com.bakdata.conquery.models.query.filter.event.DateDistanceFilterNode;
+import com.bakdata.conquery.models.query.filter.event.MultiSelectFilterNode;
+import com.bakdata.conquery.models.query.filter.event.number.IntegerFilterNode;
+import com.bakdata.conquery.models.query.filter.event.number.MoneyFilterNode;
+import com.bakdata.conquery.models.query.filter.event.number.RealFilterNode;
+import com.bakdata.conquery.models.query.queryplan.specific.FiltersNode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Event filters skip buckets by their {@link BucketStatistics}, if none of the values of the bucket can pass them.
+ */
+public class BucketStatisticsTest {
+
+	private static Column integer;
+	private static Column money;
+	private static Column date;
+	private static Column emptyReal;
+	private static Column real;
+	private static Column string;
+
+	private static Bucket bucket;
+
+	@BeforeAll
+	public static void setup() {
+		final Table table = new Table();
+		table.setName("table");
+		table.setDataset(new Dataset("dataset"));
+
+		integer = createColumn(table, "integer", MajorTypeId.INTEGER);
+		money = createColumn(table, "money", MajorTypeId.MONEY);
+		date = createColumn(table, "date", MajorTypeId.DATE);
+		emptyReal = createColumn(table, "empty_real", MajorTypeId.REAL);
+		real = createColumn(table, "real", MajorTypeId.REAL);
+		string = createColumn(table, "string", MajorTypeId.STRING);
+
+		table.setColumns(new Column[]{integer, money, date, emptyReal, real, string});
+
+		final IntArrayStore integers = IntArrayStore.create(3);
+		final IntArrayStore moneys = IntArrayStore.create(3);
+		final IntegerDateStore dates = IntegerDateStore.create(3);
+		final DoubleArrayStore emptyReals = DoubleArrayStore.create(3);
+		final DoubleArrayStore reals = DoubleArrayStore.create(3);
+
+		final LocalDate[] eventDates = {LocalDate.of(2020, 1, 1), LocalDate.of(2020, 6, 1), LocalDate.of(2020, 12, 31)};
+
+		for (int event = 0; event < 3; event++) {
+			integers.setInteger(event, 10 * (event + 1));
+			moneys.setInteger(event, 100 * (event + 1));
+			dates.setDate(event, CDate.ofLocalDate(eventDates[event]));
+			emptyReals.setNull(event);
+			reals.setReal(event, event);
+		}
+
+		// The events have the string ids 2, 5 and 2.
+		final StringStore strings = mock(StringStore.class);
+		when(strings.has(anyInt())).thenReturn(true);
+		when(strings.getString(anyInt())).thenAnswer(invocation -> invocation.<Integer>getArgument(0) == 1 ? 5 : 2);
+
+		final Import imp = new Import(table);
+		imp.setName("import");
+
+		bucket = new Bucket(0, 0, 3,
+							new ColumnStore[]{integers, new MoneyIntStore(moneys), dates, emptyReals, reals, strings},
+							Set.of(0), new int[]{0}, new int[]{3}, imp
+		);
+	}
+
+	private static Column createColumn(Table table, String name, MajorTypeId type) {
+		final Column column = new Column();
+		column.setName(name);
+		column.setType(type);
+		column.setTable(table);
+		return column;
+	}
+
+	@Test
+	public void integer() {
+		assertThat(new IntegerFilterNode(integer, new Range.LongRange(15L, 25L)).isOfInterest(bucket)).isTrue();
+		assertThat(new IntegerFilterNode(integer, new Range.LongRange(null, 10L)).isOfInterest(bucket)).isTrue();
+		assertThat(new IntegerFilterNode(integer, new Range.LongRange(30L, null)).isOfInterest(bucket)).isTrue();
+
+		assertThat(new IntegerFilterNode(integer, new Range.LongRange(null, 9L)).isOfInterest(bucket)).isFalse();
+		assertThat(new IntegerFilterNode(integer, new Range.LongRange(31L, 40L)).isOfInterest(bucket)).isFalse();
+	}
+
+	@Test
+	public void money() {
+		assertThat(new MoneyFilterNode(money, new Range.LongRange(250L, 350L)).isOfInterest(bucket)).isTrue();
+
+		assertThat(new MoneyFilterNode(money, new Range.LongRange(301L, null)).isOfInterest(bucket)).isFalse();
+		assertThat(new MoneyFilterNode(money, new Range.LongRange(null, 99L)).isOfInterest(bucket)).isFalse();
+	}
+
+	@Test
+	public void number() {
+		// Only integer and money columns are bounded, other number columns are only skipped without values.
+		assertThat(new RealFilterNode(real, new Range.DoubleRange(100d, 200d)).isOfInterest(bucket)).isTrue();
+
+		assertThat(new RealFilterNode(emptyReal, new Range.DoubleRange(0d, 1d)).isOfInterest(bucket)).isFalse();
+	}
+
+	@Test
+	public void distinctStringIds() throws Exception {
+		assertThat(bucket.getStatistics().getDistinctStringIds(string)).containsExactlyInAnyOrder(2, 5);
+		assertThat(bucket.getStatistics().getDistinctStringIds(integer)).isNull();
+
+		// They are persisted with the bucket
+		final BucketStatistics read = Jackson.MAPPER.readValue(Jackson.MAPPER.writeValueAsBytes(bucket.getStatistics()), BucketStatistics.class);
+
+		assertThat(read.getDistinctStringIds(string)).containsExactlyInAnyOrder(2, 5);
+		assertThat(read.getDistinctStringIds(integer)).isNull();
+		assertThat(read.mayContain(integer, 31L, null)).isFalse();
+	}
+
+	@Test
+	public void multiSelect() {
+		// Fewer selected values than in the bucket
+		assertThat(multiSelect(5)).isTrue();
+		assertThat(multiSelect(3)).isFalse();
+
+		// More selected values than in the bucket
+		assertThat(multiSelect(0, 1, 2)).isTrue();
+		assertThat(multiSelect(IntStream.range(6, 100).toArray())).isFalse();
+	}
+
+	private static boolean multiSelect(int... selected) {
+		final BitSet ids = new BitSet();
+		IntStream.of(selected).forEach(ids::set);
+
+		final QueryExecutionContext context = mock(QueryExecutionContext.class);
+		when(context.getIdsFor(any(), any(), any())).thenReturn(ids);
+
+		final MultiSelectFilterNode filter = new MultiSelectFilterNode(string, new String[]{"selected"});
+		filter.init(null, context);
+
+		return filter.isOfInterest(bucket);
+	}
+
+	@Test
+	public void dateDistance() {
+		// The events are 12 to 23 months before the reference.
+		assertThat(dateDistance(new Range.LongRange(12L, 23L))).isTrue();
+		assertThat(dateDistance(new Range.LongRange(15L, 16L))).isTrue();
+		assertThat(dateDistance(new Range.LongRange(23L, null))).isTrue();
+
+		assertThat(dateDistance(new Range.LongRange(24L, null))).isFalse();
+		assertThat(dateDistance(new Range.LongRange(null, 11L))).isFalse();
+	}
+
+	private static boolean dateDistance(Range.LongRange distance) {
+		final QueryExecutionContext context = new QueryExecutionContext(null, null, null, null)
+				.withDateRestriction(CDateSet.create(CDateRange.of(LocalDate.of(2021, 1, 1), LocalDate.of(2021, 12, 31))));
+
+		final DateDistanceFilterNode filter = new DateDistanceFilterNode(date, ChronoUnit.MONTHS, distance);
+		filter.nextTable(context, date.getTable());
+
+		return filter.isOfInterest(bucket);
+	}
+
+	@Test
+	public void filtersNodeRequiresAllEventFilters() {
+		final IntegerFilterNode matching = new IntegerFilterNode(integer, new Range.LongRange(15L, 25L));
+		final MoneyFilterNode alsoMatching = new MoneyFilterNode(money, new Range.LongRange(300L, null));
+		final IntegerFilterNode notMatching = new IntegerFilterNode(integer, new Range.LongRange(31L, null));
+
+		assertThat(FiltersNode.create(List.of(matching, alsoMatching), Collections.emptyList(), Collections.emptyList()).isOfInterest(bucket)).isTrue();
+
+		// Events have to pass all event filters, so a single one without matching values excludes the bucket.
+		assertThat(FiltersNode.create(List.of(matching, notMatching), Collections.emptyList(), Collections.emptyList()).isOfInterest(bucket)).isFalse();
+		assertThat(FiltersNode.create(List.of(notMatching, matching), Collections.emptyList(), Collections.emptyList()).isOfInterest(bucket)).isFalse();
+	}
+}
@@ -0,0 +1,108 @@
+package com.bakdata.conquery.models.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.datasets.Import;
+import com.bakdata.conquery.models.datasets.Table;
+import com.bakdata.conquery.models.datasets.concepts.ConceptElement;
+import com.bakdata.conquery.models.datasets.concepts.MatchingStats;
+import com.bakdata.conquery.models.datasets.concepts.tree.ConceptTreeConnector;
+import com.bakdata.conquery.models.datasets.concepts.tree.TreeConcept;
+import com.bakdata.conquery.models.events.stores.root.ColumnStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Updates only merge {@link CBlock}s that are new, and merge from scratch when merged ones were removed or replaced.
+ */
+public class ConceptMatchingStatsTest {
+
+	private static final int BUCKET_SIZE = 10;
+
+	private TreeConcept concept;
+	private ConceptTreeConnector connector;
+	private Import imp;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		final Dataset dataset = new Dataset("dataset");
+
+		concept = new TreeConcept();
+		concept.setDataset(dataset);
+		concept.setName("concept");
+
+		connector = new ConceptTreeConnector();
+		connector.setName("connector");
+		connector.setConcept(concept);
+		concept.setConnectors(List.of(connector));
+		concept.initElements();
+
+		final Table table = new Table();
+		table.setName("table");
+		table.setDataset(dataset);
+
+		imp = new Import(table);
+		imp.setName("import");
+	}
+
+	private CBlock cBlock(int bucketNumber, long events, int[] entities) {
+		final Bucket bucket = new Bucket(bucketNumber, bucketNumber * BUCKET_SIZE, 0, new ColumnStore[0], Collections.emptySet(), new int[BUCKET_SIZE], new int[BUCKET_SIZE], imp);
+		final CBlock cBlock = new CBlock(bucket, connector, bucket.getRoot(), new long[BUCKET_SIZE], new CDateRange[BUCKET_SIZE], new int[0][]);
+
+		cBlock.setMatchingStats(new CBlockMatchingStats(new int[]{0}, new long[]{events}, new int[][]{entities}, new CDateRange[]{CDateRange.of(bucketNumber, 100)}));
+
+		return cBlock;
+	}
+
+	private MatchingStats.Entry update(ConceptMatchingStats stats, CBlock... cBlocks) {
+		final Map<ConceptElement<?>, MatchingStats.Entry> entries = stats.update(concept, List.of(cBlocks));
+
+		assertThat(entries).containsOnlyKeys(concept);
+
+		return entries.get(concept);
+	}
+
+	@Test
+	public void mergeNewCBlocks() {
+		final ConceptMatchingStats stats = new ConceptMatchingStats();
+
+		final CBlock first = cBlock(0, 3, new int[]{1, 2});
+		final CBlock second = cBlock(1, 1, new int[]{1});
+
+		assertThat(update(stats, first)).isEqualTo(new MatchingStats.Entry(3, 2, CDateRange.of(0, 100)));
+
+		// Entities are relative to the root of their bucket, so entity 11 is another one
+		final MatchingStats.Entry merged = update(stats, first, second);
+		assertThat(merged).isEqualTo(new MatchingStats.Entry(4, 3, CDateRange.of(0, 100)));
+
+		// Merged CBlocks are not counted twice
+		assertThat(update(stats, first, second)).isEqualTo(merged);
+
+		// Returned stats are copies, that are not changed by updates
+		update(stats, second);
+		assertThat(merged.getNumberOfEvents()).isEqualTo(4);
+	}
+
+	@Test
+	public void mergeFromScratch() {
+		final ConceptMatchingStats stats = new ConceptMatchingStats();
+
+		final CBlock first = cBlock(0, 3, new int[]{1, 2});
+		final CBlock second = cBlock(1, 1, new int[]{1});
+
+		update(stats, first, second);
+
+		// Removed
+		assertThat(update(stats, second)).isEqualTo(new MatchingStats.Entry(1, 1, CDateRange.of(1, 100)));
+
+		// Replaced, the CBlock has the same id
+		final CBlock replaced = cBlock(1, 2, new int[]{1, 2});
+		assertThat(update(stats, replaced)).isEqualTo(new MatchingStats.Entry(2, 2, CDateRange.of(1, 100)));
+	}
+}
@@ -12,6 +12,9 @@ public class IdMapSerialisationTest {
 
 		entityIdMap.addOutputMapping("test2", EntityPrintId.from("c"));
 
+		// Like mappings generated from csv or read from storage
+		entityIdMap.trim();
+
 		return entityIdMap;
 	}
 
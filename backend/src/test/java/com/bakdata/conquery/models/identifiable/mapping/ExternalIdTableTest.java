@@ -0,0 +1,81 @@
+package com.bakdata.conquery.models.identifiable.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ExternalIdTableTest {
+
+	private static final int IDS = 10_000;
+
+	private static String id(int index) {
+		// Includes ids sharing prefixes and ids of multibyte characters.
+		return index % 3 == 0 ? "ü-" + index : "00" + index;
+	}
+
+	@Test
+	void putAndGet() {
+		final ExternalIdTable table = new ExternalIdTable();
+
+		for (int index = 0; index < IDS; index++) {
+			assertThat(table.put(id(index), index)).isEqualTo(-1);
+		}
+
+		assertThat(table.size()).isEqualTo(IDS);
+
+		for (int index = 0; index < IDS; index++) {
+			assertThat(table.get(id(index))).isEqualTo(index);
+		}
+
+		assertThat(table.get("missing")).isEqualTo(-1);
+		assertThat(table.get("")).isEqualTo(-1);
+
+		// Overwriting keeps a single entry
+		assertThat(table.put(id(5), 42)).isEqualTo(5);
+		assertThat(table.get(id(5))).isEqualTo(42);
+		assertThat(table.size()).isEqualTo(IDS);
+
+		table.trim();
+
+		assertThat(table.get(id(IDS - 1))).isEqualTo(IDS - 1);
+		assertThat(table.get(id(5))).isEqualTo(42);
+	}
+
+	@Test
+	void readMatchesBuilt() {
+		final ExternalIdTable built = new ExternalIdTable();
+
+		for (int index = 0; index < IDS; index++) {
+			built.put(id(index), IDS - index);
+		}
+
+		final ExternalIdTable read = ExternalIdTable.read(
+				Arrays.copyOf(built.getPool(), built.getPoolSize()),
+				IntStream.range(0, built.size()).map(built::getLength).toArray(),
+				IntStream.range(0, built.size()).map(built::getPosition).toArray()
+		);
+
+		assertThat(read).isEqualTo(built);
+		assertThat(read.hashCode()).isEqualTo(built.hashCode());
+
+		for (int index = 0; index < IDS; index++) {
+			assertThat(read.get(id(index))).isEqualTo(IDS - index);
+		}
+
+		// Equality is independent of the order the ids were added in
+		final ExternalIdTable reversed = new ExternalIdTable();
+
+		for (int index = IDS - 1; index >= 0; index--) {
+			reversed.put(id(index), IDS - index);
+		}
+
+		assertThat(reversed).isEqualTo(built);
+		assertThat(reversed.hashCode()).isEqualTo(built.hashCode());
+
+		reversed.put(id(0), 0);
+		assertThat(reversed).isNotEqualTo(built);
+	}
+}
@@ -0,0 +1,73 @@
+package com.bakdata.conquery.models.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.bakdata.conquery.apiv1.frontend.FrontendValue;
+import com.bakdata.conquery.models.query.FilterSearch;
+import com.bakdata.conquery.util.search.TrieSearch;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+public class CompiledColumnSearchTest {
+
+	private static final List<String> VALUES = List.of("a", "aa", "aab", "b", "c aa", "d baaacd");
+
+	private static TrieSearch<FrontendValue> build(List<String> values) {
+		final TrieSearch<FrontendValue> search = new TrieSearch<>(2, "");
+
+		for (String value : values) {
+			final FrontendValue feValue = new FrontendValue(value, value);
+			search.addItem(feValue, FilterSearch.extractKeywords(feValue));
+		}
+
+		search.shrinkToFit();
+		return search;
+	}
+
+	@Test
+	public void checksumIgnoresOrder() {
+		assertThat(CompiledColumnSearch.checksum(VALUES.stream()))
+				.isEqualTo(CompiledColumnSearch.checksum(Lists.reverse(VALUES).stream()))
+				.isNotEqualTo(CompiledColumnSearch.checksum(VALUES.stream().skip(1)))
+				.isNotEqualTo(CompiledColumnSearch.checksum(Stream.concat(VALUES.stream(), Stream.of("e"))));
+	}
+
+	@Test
+	public void loadsCompiledSearch() throws IOException {
+		final Path file = Files.createTempDirectory("compiled-columns").resolve("column.cqidx");
+		final byte[] checksum = CompiledColumnSearch.checksum(VALUES.stream());
+
+		final TrieSearch<FrontendValue> built = build(VALUES);
+		final List<FrontendValue> expected = built.findItems(List.of("aa"), Integer.MAX_VALUE);
+
+		CompiledColumnSearch.compile(built, file, checksum);
+
+		assertThat(Files.exists(file)).isTrue();
+		assertThat(built.findItems(List.of("aa"), Integer.MAX_VALUE)).containsExactlyElementsOf(expected);
+
+		// A fresh search is backed by the file, as long as the values are the same
+		final TrieSearch<FrontendValue> loaded = new TrieSearch<>(2, "");
+
+		assertThat(CompiledColumnSearch.load(loaded, file, checksum)).isTrue();
+		assertThat(loaded.findItems(List.of("aa"), Integer.MAX_VALUE)).containsExactlyElementsOf(expected);
+		assertThat(loaded.stream()).containsExactlyElementsOf(built.stream().toList());
+
+		// Loaded searches can be extended like built ones
+		final TrieSearch<FrontendValue> extended = loaded.extend();
+		extended.addItem(new FrontendValue("aac", "aac"), List.of("aac"));
+		extended.shrinkToFit();
+
+		assertThat(extended.streamAddedSince(loaded)).containsExactly(new FrontendValue("aac", "aac"));
+
+		// Changed values or configuration invalidate the file
+		assertThat(CompiledColumnSearch.load(new TrieSearch<>(2, ""), file, CompiledColumnSearch.checksum(Stream.of("a")))).isFalse();
+		assertThat(CompiledColumnSearch.load(new TrieSearch<>(3, ""), file, checksum)).isFalse();
+		assertThat(CompiledColumnSearch.load(new TrieSearch<>(2, ""), file.resolveSibling("missing.cqidx"), checksum)).isFalse();
+	}
+}
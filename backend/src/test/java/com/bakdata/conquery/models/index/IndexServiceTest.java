@@ -8,11 +8,20 @@ import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.net.URI;
 import java.net.URISyntaxException;
-
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.bakdata.conquery.apiv1.frontend.FrontendValue;
 import com.bakdata.conquery.models.config.ConqueryConfig;
+import com.bakdata.conquery.models.config.IndexConfig;
 import com.bakdata.conquery.models.datasets.Dataset;
 import com.github.powerlibraries.io.In;
 import com.univocity.parsers.csv.CsvParserSettings;
+import io.dropwizard.util.Duration;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterAll;
@@ -148,4 +157,191 @@ public class IndexServiceTest {
 									  .isNotSameAs(mappingAfterEvict);
 	}
 
+
+	@Test
+	@Order(3)
+	void testCompiledIndex() throws NoSuchFieldException, IllegalAccessException, IOException {
+		log.info("Test compiling of mapping");
+
+		final Path directory = Files.createTempDirectory("compiled-indexes");
+		final Path csv = directory.resolve("mapping.csv");
+		Files.writeString(csv, "internal,external\nint1,hello\nint3,world\n");
+
+		final IndexConfig indexConfig = new IndexConfig();
+		indexConfig.setEmptyLabel("emptyDefaultLabel");
+		indexConfig.setCompiledIndexDirectory(directory.resolve("compiled"));
+
+		final IndexService compilingService = new IndexService(new CsvParserSettings(), indexConfig);
+
+		final MapInternToExternMapper mapper = new MapInternToExternMapper("compiled", csv.toUri(), "internal", "{{external}}");
+		injectComponents(mapper, compilingService, CONFIG);
+		mapper.init();
+
+		assertThat(mapper.external("int1")).isEqualTo("hello");
+		assertThat(mapper.external("int2")).isEqualTo("int2");
+		assertThat(mapper.external("int3")).isEqualTo("world");
+
+		try (Stream<Path> files = Files.list(directory.resolve("compiled"))) {
+			assertThat(files).as("Compiled index files").hasSize(1);
+		}
+
+		// A fresh service must load the compiled file
+		final IndexService loadingService = new IndexService(new CsvParserSettings(), indexConfig);
+		final MapInternToExternMapper loadedMapper = new MapInternToExternMapper("compiled", csv.toUri(), "internal", "{{external}}");
+		injectComponents(loadedMapper, loadingService, CONFIG);
+		loadedMapper.init();
+
+		assertThat(loadedMapper.external("int1")).isEqualTo("hello");
+		assertThat(loadedMapper.external("int3")).isEqualTo("world");
+		assertThat(loadedMapper.getInt2ext().size()).isEqualTo(2);
+
+		// Changing the csv invalidates the compiled file
+		Files.writeString(csv, "internal,external\nint1,changed\n");
+		loadingService.evictCache();
+		loadedMapper.init();
+
+		assertThat(loadedMapper.external("int1")).isEqualTo("changed");
+		assertThat(loadedMapper.external("int3")).isEqualTo("int3");
+	}
+
+	@Test
+	@Order(3)
+	void testCompiledSearch() throws IOException {
+		log.info("Test compiling of search");
+
+		final Path directory = Files.createTempDirectory("compiled-searches");
+		final Path csv = directory.resolve("values.csv");
+		Files.writeString(csv, "internal,label\nint1,Hello World\nint2,Hello Moon\n");
+
+		final IndexConfig indexConfig = new IndexConfig();
+		indexConfig.setEmptyLabel("emptyDefaultLabel");
+		indexConfig.setCompiledIndexDirectory(directory.resolve("compiled"));
+
+		final FrontendValueIndexKey key = new FrontendValueIndexKey(csv.toUri(), "internal", "{{label}}", "{{internal}}", 2, null);
+
+		final FrontendValueIndex compiled = new IndexService(new CsvParserSettings(), indexConfig).getIndex(key);
+
+		try (Stream<Path> files = Files.list(directory.resolve("compiled"))) {
+			assertThat(compiled.estimateMemoryConsumption()).as("Size of the mapped file").isEqualTo(Files.size(files.findFirst().orElseThrow()));
+		}
+
+		// A fresh service must load the compiled file and search the same
+		final FrontendValueIndex loaded = new IndexService(new CsvParserSettings(), indexConfig).getIndex(key);
+
+		try (Stream<Path> files = Files.list(directory.resolve("compiled"))) {
+			assertThat(files).as("Compiled index files").hasSize(1);
+		}
+
+		assertThat(loaded.findItems(List.of("hello"), Integer.MAX_VALUE))
+				.isEqualTo(compiled.findItems(List.of("hello"), Integer.MAX_VALUE))
+				.extracting(FrontendValue::getValue)
+				.startsWith("int1", "int2");
+
+		assertThat(loaded.findExact(List.of("moon"), Integer.MAX_VALUE)).extracting(FrontendValue::getLabel).containsExactly("Hello Moon");
+		assertThat(loaded.findExact(List.of("emptyDefaultLabel"), Integer.MAX_VALUE)).extracting(FrontendValue::getValue).containsExactly("");
+		assertThat(loaded.stream()).containsExactlyElementsOf(compiled.stream().toList());
+		assertThat(loaded.size()).isEqualTo(compiled.size());
+	}
+
+	@Test
+	@Order(3)
+	void testCompiledNullValues() throws IOException {
+		final Path file = Files.createTempFile("compiled-map", IndexService.COMPILED_INDEX_EXTENSION);
+
+		final Map<String, String> entries = new HashMap<>();
+		entries.put("int1", "hello");
+		entries.put("int2", null);
+
+		MappedStringMap.write(file, new byte[]{1, 2, 3}, entries);
+		final MappedStringMap compiled = MappedStringMap.open(file);
+
+		assertThat(compiled.getSize()).isEqualTo(2);
+		assertThat(compiled.get("int1")).isEqualTo("hello");
+		assertThat(compiled.get("int2")).isNull();
+		assertThat(compiled.get("int3")).isNull();
+		assertThat(compiled.getOrDefault("int2", "default")).isNull();
+		assertThat(compiled.getOrDefault("int3", "default")).isEqualTo("default");
+	}
+
+	@Test
+	@Order(3)
+	void testNullRowsCompiledLikeHeap() throws IOException {
+		final Path directory = Files.createTempDirectory("compiled-null-rows");
+		final Path csv = directory.resolve("mapping.csv");
+		// Empty external, empty internal, short row and a blank line
+		Files.writeString(csv, "internal,external\nint1,hello\nint2,\n,orphan\nint4\n\nint5,world\n");
+
+		final IndexConfig compiledConfig = new IndexConfig();
+		compiledConfig.setCompiledIndexDirectory(directory.resolve("compiled"));
+
+		final MapIndexKey key = new MapIndexKey(csv.toUri(), "internal", "{{external}}");
+
+		final MapIndex heap = new IndexService(new CsvParserSettings(), new IndexConfig()).getIndex(key);
+		final MapIndex compiled = new IndexService(new CsvParserSettings(), compiledConfig).getIndex(key);
+
+		assertThat(compiled.estimateMemoryConsumption()).as("Index is compiled").isZero();
+		assertThat(compiled.size()).isEqualTo(heap.size());
+
+		for (String internal : new String[]{"int1", "int2", "", "int4", "int5", "missing", null}) {
+			assertThat(compiled.getOrDefault(internal, "default")).as(internal).isEqualTo(heap.getOrDefault(internal, "default"));
+		}
+
+		// Empty cells are replaced by the internal value
+		assertThat(heap.getOrDefault("int2", "default")).isEqualTo("int2");
+		assertThat(heap.getOrDefault(null, "default")).isEqualTo("default");
+
+		// Values of templates the row does not fill are null, in both forms
+		final MapIndex unfilled = new MapIndex("{{other}}");
+		unfilled.put("int1", Map.of());
+		assertThat(unfilled.getOrDefault("int1", "default")).isNull();
+
+		unfilled.compile(directory.resolve("unfilled" + IndexService.COMPILED_INDEX_EXTENSION), new byte[]{1});
+		assertThat(unfilled.getOrDefault("int1", "default")).isNull();
+		assertThat(unfilled.getOrDefault("int2", "default")).isEqualTo("default");
+	}
+
+	@Test
+	@Order(4)
+	void testRefresh() throws IOException, InterruptedException {
+		log.info("Test background refresh of mapping");
+
+		final Path csv = Files.createTempFile("mapping", ".csv");
+		Files.writeString(csv, "internal,external\nint1,hello\n");
+
+		final IndexConfig indexConfig = new IndexConfig();
+		indexConfig.setRefreshInterval(Duration.milliseconds(1));
+
+		final IndexService refreshingService = new IndexService(new CsvParserSettings(), indexConfig);
+		final MapIndexKey key = new MapIndexKey(csv.toUri(), "internal", "{{external}}");
+
+		final MapIndex before = refreshingService.getIndex(key);
+		assertThat(before.getOrDefault("int1", null)).isEqualTo("hello");
+
+		// Unchanged sources keep their index
+		final long unchangedDeadline = System.currentTimeMillis() + 10_000;
+
+		while (refreshingService.getRefreshesUnchanged() == 0 && System.currentTimeMillis() < unchangedDeadline) {
+			Thread.sleep(10);
+			assertThat(refreshingService.getIndex(key)).isSameAs(before);
+		}
+
+		assertThat(refreshingService.getRefreshesUnchanged()).isPositive();
+		// Neither size nor modification time changed, so the csv was not read again
+		assertThat(refreshingService.getChecksumsComputed()).isZero();
+
+		Files.writeString(csv, "internal,external\nint1,changed\n");
+
+		final long changedDeadline = System.currentTimeMillis() + 10_000;
+		MapIndex after = before;
+
+		while (after == before && System.currentTimeMillis() < changedDeadline) {
+			Thread.sleep(10);
+			after = refreshingService.getIndex(key);
+		}
+
+		assertThat(after).isNotSameAs(before);
+		assertThat(after.getOrDefault("int1", null)).isEqualTo("changed");
+		assertThat(refreshingService.getRefreshesRebuilt()).isPositive();
+	}
+
 }
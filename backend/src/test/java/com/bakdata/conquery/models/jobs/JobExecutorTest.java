@@ -0,0 +1,235 @@
+package com.bakdata.conquery.models.jobs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.SharedMetricRegistries;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JobExecutorTest {
+
+	private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+	private JobExecutor executor;
+
+	@BeforeAll
+	public static void setupMetrics() {
+		if (SharedMetricRegistries.tryGetDefault() == null) {
+			SharedMetricRegistries.setDefault("test");
+		}
+	}
+
+	@BeforeEach
+	public void setup() {
+		executor = new JobExecutor("test", false, 4);
+		executor.start();
+	}
+
+	@AfterEach
+	public void close() {
+		executor.close();
+	}
+
+	@Test
+	public void orderedJobsRunSequentially() throws Exception {
+		for (int job = 0; job < 5; job++) {
+			executor.add(new RecordingJob("ordered" + job, false, () -> Thread.sleep(10)));
+		}
+
+		awaitDone();
+
+		assertThat(events).containsExactly(
+				"start ordered0", "end ordered0",
+				"start ordered1", "end ordered1",
+				"start ordered2", "end ordered2",
+				"start ordered3", "end ordered3",
+				"start ordered4", "end ordered4"
+		);
+	}
+
+	@Test
+	public void independentJobsRunConcurrently() throws Exception {
+		// Both jobs can only pass the barrier, if they run at the same time.
+		final CyclicBarrier barrier = new CyclicBarrier(2);
+
+		executor.add(new RecordingJob("first", true, () -> barrier.await(10, TimeUnit.SECONDS)));
+		executor.add(new RecordingJob("second", true, () -> barrier.await(10, TimeUnit.SECONDS)));
+		executor.add(new RecordingJob("ordered", false, () -> {}));
+
+		awaitDone();
+
+		assertThat(events).hasSize(6)
+						  .endsWith("start ordered", "end ordered")
+						  .doesNotContain("failed first", "failed second");
+	}
+
+	@Test
+	public void dependencies() throws Exception {
+		final RecordingJob dependency = new RecordingJob("dependency", true, () -> Thread.sleep(50));
+		final RecordingJob dependent = new RecordingJob("dependent", true, () -> {});
+		dependent.dependsOn(dependency);
+
+		executor.add(dependent);
+		executor.add(dependency);
+
+		awaitDone();
+
+		assertThat(events).containsExactly("start dependency", "end dependency", "start dependent", "end dependent");
+	}
+
+	@Test
+	public void orderedJobsWaitForQueuedJobs() throws Exception {
+		// Is never executed by the executor, so the waiting job stays queued until we release it.
+		final RecordingJob gate = new RecordingJob("gate", true, () -> {});
+
+		final RecordingJob waiting = new RecordingJob("waiting", true, () -> {});
+		waiting.dependsOn(gate);
+
+		executor.add(waiting);
+		executor.add(new RecordingJob("ordered", false, () -> {}));
+
+		Thread.sleep(200);
+		assertThat(events).isEmpty();
+
+		gate.setDone(true);
+
+		awaitDone();
+
+		assertThat(events).containsExactly("start waiting", "end waiting", "start ordered", "end ordered");
+	}
+
+	@Test
+	public void heavyJobsRunAlone() throws Exception {
+		final CountDownLatch gate = new CountDownLatch(1);
+
+		executor.add(new RecordingJob("light", true, () -> gate.await(10, TimeUnit.SECONDS)));
+		// Occupies all threads of the executor, so it neither runs alongside the light job, nor lets the later one overtake it.
+		executor.add(new RecordingJob("heavy", true, 4, () -> {}));
+		executor.add(new RecordingJob("later", true, () -> {}));
+
+		Thread.sleep(200);
+		assertThat(events).containsExactly("start light");
+
+		gate.countDown();
+
+		awaitDone();
+
+		assertThat(events).containsSubsequence("end light", "start heavy", "end heavy", "start later");
+	}
+
+	@Test
+	public void orderedJobsWaitForRunningIndependentJobs() throws Exception {
+		final CountDownLatch gate = new CountDownLatch(1);
+
+		executor.add(new RecordingJob("independent", true, () -> gate.await(10, TimeUnit.SECONDS)));
+		executor.add(new RecordingJob("ordered", false, () -> {}));
+
+		Thread.sleep(200);
+		assertThat(events).containsExactly("start independent");
+
+		gate.countDown();
+
+		awaitDone();
+
+		assertThat(events).containsExactly("start independent", "end independent", "start ordered", "end ordered");
+	}
+
+	@Test
+	public void futureJobsCompleteOnExecutor() throws Exception {
+		final FutureJob<String> job = new FutureJob<>("future", 1, progressReporter -> Thread.currentThread().getName());
+		executor.add(job);
+
+		assertThat(job.getFuture().get(10, TimeUnit.SECONDS)).startsWith("test ").isNotEqualTo(Thread.currentThread().getName());
+
+		final FutureJob<String> failing = new FutureJob<>("failing", 1, progressReporter -> {
+			throw new IllegalArgumentException("failing");
+		});
+		executor.add(failing);
+
+		assertThat(failing.getFuture()).failsWithin(10, TimeUnit.SECONDS)
+									   .withThrowableOfType(ExecutionException.class)
+									   .withCauseInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void cancelledFutureJobsReleaseWaitingClients() throws Exception {
+		final CountDownLatch gate = new CountDownLatch(1);
+
+		executor.add(new RecordingJob("ordered", false, () -> gate.await(10, TimeUnit.SECONDS)));
+
+		final FutureJob<String> job = new FutureJob<>("future", 1, progressReporter -> "done");
+		executor.add(job);
+
+		assertThat(executor.cancelJob(job.getJobId())).isTrue();
+		gate.countDown();
+
+		assertThat(job.getFuture()).isCancelled();
+
+		awaitDone();
+	}
+
+	private void awaitDone() throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+
+		while (executor.isBusy() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+
+		assertThat(executor.isBusy()).isFalse();
+	}
+
+	private class RecordingJob extends Job {
+		private final String label;
+		private final boolean independent;
+		private final int weight;
+		private final SimpleJob.Executable runner;
+
+		private RecordingJob(String label, boolean independent, SimpleJob.Executable runner) {
+			this(label, independent, 1, runner);
+		}
+
+		private RecordingJob(String label, boolean independent, int weight, SimpleJob.Executable runner) {
+			this.label = label;
+			this.independent = independent;
+			this.weight = weight;
+			this.runner = runner;
+		}
+
+		@Override
+		public void execute() {
+			events.add("start " + label);
+			try {
+				runner.execute();
+			}
+			catch (Exception e) {
+				events.add("failed " + label);
+			}
+			events.add("end " + label);
+		}
+
+		@Override
+		public boolean isIndependent() {
+			return independent;
+		}
+
+		@Override
+		public int getWeight() {
+			return weight;
+		}
+
+		@Override
+		public String getLabel() {
+			return label;
+		}
+	}
+}
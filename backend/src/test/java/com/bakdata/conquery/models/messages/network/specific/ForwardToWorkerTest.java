@@ -0,0 +1,92 @@
+package com.bakdata.conquery.models.messages.network.specific;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.Validator;
+
+import com.bakdata.conquery.io.jackson.Jackson;
+import com.bakdata.conquery.io.mina.NetworkSession;
+import com.bakdata.conquery.io.jackson.MutableInjectableValues;
+import com.bakdata.conquery.models.config.ConqueryConfig;
+import com.bakdata.conquery.models.config.ThreadPoolDefinition;
+import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.datasets.Table;
+import com.bakdata.conquery.models.jobs.SimpleJob;
+import com.bakdata.conquery.models.messages.namespaces.specific.UpdateTable;
+import com.bakdata.conquery.models.messages.network.NetworkMessageContext.ShardNodeNetworkContext;
+import com.bakdata.conquery.models.worker.Worker;
+import com.bakdata.conquery.models.worker.Workers;
+import com.bakdata.conquery.util.NonPersistentStoreFactory;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jersey.validation.Validators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Forwarded messages, including executions routed to only some workers, are processed in the order they were sent.
+ */
+public class ForwardToWorkerTest {
+
+	private static final Validator VALIDATOR = Validators.newValidator();
+
+	private Workers workers;
+	private Worker worker;
+
+	@BeforeAll
+	public static void setupMetrics() {
+		if (SharedMetricRegistries.tryGetDefault() == null) {
+			SharedMetricRegistries.setDefault("test");
+		}
+	}
+
+	private static ObjectMapper createMapper() {
+		final ObjectMapper mapper = Jackson.copyMapperAndInjectables(Jackson.BINARY_MAPPER);
+		final MutableInjectableValues injectableValues = new MutableInjectableValues();
+		mapper.setInjectableValues(injectableValues);
+		injectableValues.add(Validator.class, VALIDATOR);
+		return mapper;
+	}
+
+	@BeforeEach
+	public void setup() {
+		workers = new Workers(new ThreadPoolDefinition(), ForwardToWorkerTest::createMapper, ForwardToWorkerTest::createMapper, 10, 0, 0);
+		worker = workers.createWorker(new Dataset("dataset"), new NonPersistentStoreFactory(), "worker", VALIDATOR, false);
+	}
+
+	@AfterEach
+	public void close() {
+		workers.stop();
+	}
+
+	@Test
+	public void forwardedMessagesWaitForPendingSlowJobs() throws Exception {
+		final CountDownLatch pendingImport = new CountDownLatch(1);
+		worker.getJobManager().addSlowJob(new SimpleJob("Pending import", () -> pendingImport.await(10, TimeUnit.SECONDS)));
+
+		final Table table = new Table();
+		table.setName("table");
+		table.setDataset(worker.getStorage().getDataset());
+
+		final ForwardToWorker message = ForwardToWorker.create(worker.getInfo().getId(), new UpdateTable(table), worker.getCommunicationMapper().writer());
+		message.react(new ShardNodeNetworkContext(null, mock(NetworkSession.class), workers, new ConqueryConfig(), VALIDATOR));
+
+		assertThat(worker.getJobManager().getSlowJobs()).hasSize(2);
+		assertThat(worker.getStorage().getTable(table.getId())).isNull();
+
+		pendingImport.countDown();
+
+		final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+		while (worker.getJobManager().isSlowWorkerBusy() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+
+		assertThat(worker.getStorage().getTable(table.getId())).isNotNull();
+	}
+}
@@ -0,0 +1,143 @@
+package com.bakdata.conquery.models.query;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import com.bakdata.conquery.apiv1.query.ConceptQuery;
+import com.bakdata.conquery.apiv1.query.concept.specific.CQReusedQuery;
+import com.bakdata.conquery.io.jackson.Jackson;
+import com.bakdata.conquery.io.storage.MetaStorage;
+import com.bakdata.conquery.mode.cluster.ClusterState;
+import com.bakdata.conquery.models.auth.entities.User;
+import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.execution.ExecutionState;
+import com.bakdata.conquery.models.identifiable.IdMap;
+import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.jobs.JobManager;
+import com.bakdata.conquery.models.worker.Namespace;
+import com.bakdata.conquery.models.worker.WorkerHandler;
+import com.codahale.metrics.SharedMetricRegistries;
+import io.dropwizard.util.DataSize;
+import lombok.SneakyThrows;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cancelling executions of equal queries neither leaves the others waiting, nor cancels them.
+ */
+public class DistributedExecutionManagerTest {
+
+	private final Dataset dataset = new Dataset("dataset");
+	private final ConceptQuery query = new ConceptQuery(new CQReusedQuery(new ManagedExecutionId(dataset.getId(), UUID.randomUUID())));
+
+	private MetaStorage storage;
+	private WorkerHandler workerHandler;
+	private Namespace namespace;
+	private DistributedExecutionManager executionManager;
+
+	@BeforeAll
+	public static void setupMetrics() {
+		if (SharedMetricRegistries.tryGetDefault() == null) {
+			SharedMetricRegistries.setDefault("test");
+		}
+	}
+
+	@BeforeEach
+	public void setup() {
+		storage = mock(MetaStorage.class);
+		when(storage.getAllGroups()).thenReturn(Collections.emptyList());
+
+		workerHandler = mock(WorkerHandler.class);
+		when(workerHandler.getWorkers()).thenReturn(new IdMap<>());
+
+		final ClusterState clusterState = new ClusterState();
+		clusterState.getWorkerHandlers().put(dataset.getId(), workerHandler);
+
+		namespace = mock(Namespace.class);
+		when(namespace.getDataset()).thenReturn(dataset);
+		when(namespace.getCommunicationMapper()).thenReturn(Jackson.MAPPER);
+		when(namespace.getJobManager()).thenReturn(mock(JobManager.class));
+
+		executionManager = new DistributedExecutionManager(storage, clusterState, DataSize.megabytes(1));
+	}
+
+	@SneakyThrows(IllegalAccessException.class)
+	private ManagedQuery submit() {
+		final ManagedQuery execution = mock(ManagedQuery.class);
+
+		// Final methods of the mock run on its fields.
+		FieldUtils.writeField(execution, "dataset", dataset, true);
+		FieldUtils.writeField(execution, "initialized", true, true);
+
+		final ManagedExecutionId id = new ManagedExecutionId(dataset.getId(), UUID.randomUUID());
+
+		when(execution.getId()).thenReturn(id);
+		when(execution.getDataset()).thenReturn(dataset);
+		when(execution.getOwner()).thenReturn(mock(User.class));
+		when(execution.getQuery()).thenReturn(query);
+		when(execution.getState()).thenReturn(ExecutionState.RUNNING);
+		when(storage.getExecution(id)).thenReturn(execution);
+
+		executionManager.execute(namespace, execution, null);
+
+		return execution;
+	}
+
+	@Test
+	public void cancelledLeaderHandsOverToFollower() {
+		final ManagedQuery leader = submit();
+		final ManagedQuery follower = submit();
+		final ManagedQuery later = submit();
+
+		// Only the leader is sent to the workers, the others wait for it.
+		verify(workerHandler, times(1)).sendTo(anyCollection(), any());
+		verify(leader).createExecutionMessage();
+
+		executionManager.cancelQuery(dataset, leader);
+
+		verify(leader).cancel();
+		verify(leader).reset();
+
+		// The first follower is executed in place of the leader, the other one waits for it.
+		verify(workerHandler, times(2)).sendTo(anyCollection(), any());
+		verify(follower).createExecutionMessage();
+		verify(later, never()).createExecutionMessage();
+
+		// Equal queries now wait for the new leader.
+		submit();
+		verify(workerHandler, times(2)).sendTo(anyCollection(), any());
+
+		executionManager.cancelQuery(dataset, follower);
+		verify(later).createExecutionMessage();
+	}
+
+	@Test
+	public void cancelledFollowerIsDropped() {
+		final ManagedQuery leader = submit();
+		final ManagedQuery follower = submit();
+
+		executionManager.cancelQuery(dataset, follower);
+
+		// Followers are not running on the workers, and the leader keeps running.
+		verify(follower, never()).cancel();
+		verify(follower).reset();
+		verify(leader, never()).cancel();
+		verify(leader, never()).reset();
+
+		executionManager.cancelQuery(dataset, leader);
+
+		// Nobody is left to take over.
+		verify(workerHandler, times(1)).sendTo(anyCollection(), any());
+		verify(follower, never()).createExecutionMessage();
+	}
+}
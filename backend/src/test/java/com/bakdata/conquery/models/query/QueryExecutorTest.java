@@ -0,0 +1,158 @@
+package com.bakdata.conquery.models.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.validation.Validator;
+
+import com.bakdata.conquery.apiv1.query.CQElement;
+import com.bakdata.conquery.apiv1.query.ConceptQuery;
+import com.bakdata.conquery.apiv1.query.concept.specific.CQReusedQuery;
+import com.bakdata.conquery.io.jackson.Jackson;
+import com.bakdata.conquery.models.config.ThreadPoolDefinition;
+import com.bakdata.conquery.models.datasets.Column;
+import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.datasets.Import;
+import com.bakdata.conquery.models.datasets.SecondaryIdDescription;
+import com.bakdata.conquery.models.datasets.Table;
+import com.bakdata.conquery.models.events.Bucket;
+import com.bakdata.conquery.models.events.stores.root.ColumnStore;
+import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.query.entity.Entity;
+import com.bakdata.conquery.models.query.queryplan.ConceptQueryPlan;
+import com.bakdata.conquery.models.query.queryplan.QPNode;
+import com.bakdata.conquery.models.query.queryplan.specific.ReusedQueryNode;
+import com.bakdata.conquery.models.query.queryplan.specific.Yes;
+import com.bakdata.conquery.models.query.resultinfo.ResultInfo;
+import com.bakdata.conquery.models.query.results.SinglelineEntityResult;
+import com.bakdata.conquery.models.worker.Worker;
+import com.bakdata.conquery.models.worker.Workers;
+import com.bakdata.conquery.util.NonPersistentStoreFactory;
+import com.codahale.metrics.SharedMetricRegistries;
+import io.dropwizard.jersey.validation.Validators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Results of finished {@link ConceptQuery}s are kept on the worker, to evaluate {@link CQReusedQuery}s of them, until the data of the worker changes.
+ */
+public class QueryExecutorTest {
+
+	private static final Validator VALIDATOR = Validators.newValidator();
+
+	private Workers workers;
+	private Worker worker;
+	private Table table;
+	private ManagedExecutionId executionId;
+
+	@BeforeAll
+	public static void setupMetrics() {
+		if (SharedMetricRegistries.tryGetDefault() == null) {
+			SharedMetricRegistries.setDefault("test");
+		}
+	}
+
+	@BeforeEach
+	public void setup() {
+		workers = new Workers(new ThreadPoolDefinition(), Jackson.BINARY_MAPPER::copy, Jackson.BINARY_MAPPER::copy, 10, 0, 1024);
+
+		final Dataset dataset = new Dataset("dataset");
+		worker = workers.createWorker(dataset, new NonPersistentStoreFactory(), "worker", VALIDATOR, false);
+
+		table = new Table();
+		table.setName("table");
+		table.setDataset(dataset);
+		table.setColumns(new Column[0]);
+
+		executionId = new ManagedExecutionId(dataset.getId(), UUID.randomUUID());
+
+		final QueryExecutor executor = worker.getQueryExecutor();
+		executor.storeReusableResult(executionId, List.of(new SinglelineEntityResult(1, new Object[0]), new SinglelineEntityResult(3, new Object[0])), executor.getDataGeneration().get());
+	}
+
+	@AfterEach
+	public void close() {
+		workers.stop();
+	}
+
+	private CQReusedQuery createReusedQuery() {
+		final CQReusedQuery reused = new CQReusedQuery(executionId);
+		reused.setResolvedQuery(new ConceptQuery(new AllEntities(table)));
+		return reused;
+	}
+
+	@Test
+	public void reusedQueryUsesStoredResult() {
+		final BitSet expected = new BitSet();
+		expected.set(1);
+		expected.set(3);
+
+		assertThat(worker.getQueryExecutor().getReusableResult(executionId)).contains(expected);
+
+		final QPNode node = createReusedQuery().createQueryPlan(new QueryPlanContext(worker, 0), null);
+		assertThat(node).isInstanceOf(ReusedQueryNode.class);
+
+		final QueryExecutionContext context = new QueryExecutionContext(null, null, null, null);
+
+		node.init(new Entity(1), context);
+		assertThat(node.isOfInterest(new Entity(1))).isTrue();
+
+		node.init(new Entity(2), context);
+		assertThat(node.isOfInterest(new Entity(2))).isFalse();
+	}
+
+	@Test
+	public void secondaryIdQueriesDoNotUseStoredResult() {
+		final SecondaryIdDescription secondaryId = new SecondaryIdDescription();
+		secondaryId.setName("secondary");
+		secondaryId.setDataset(worker.getStorage().getDataset());
+
+		final QPNode node = createReusedQuery().createQueryPlan(new QueryPlanContext(worker, 0).withSelectedSecondaryId(secondaryId), null);
+
+		assertThat(node).isInstanceOf(Yes.class);
+	}
+
+	@Test
+	public void addBucketInvalidatesStoredResults() {
+		final Import imp = new Import(table);
+		imp.setName("import");
+
+		worker.addBucket(new Bucket(0, 0, 1, new ColumnStore[0], Set.of(1), new int[]{0}, new int[]{1}, imp));
+
+		assertThat(worker.getQueryExecutor().getReusableResult(executionId)).isEmpty();
+		assertThat(createReusedQuery().createQueryPlan(new QueryPlanContext(worker, 0), null)).isInstanceOf(Yes.class);
+	}
+
+	/**
+	 * Includes every entity, to only observe the effect of the stored result.
+	 */
+	private static class AllEntities extends CQElement {
+
+		private final Table table;
+
+		AllEntities(Table table) {
+			this.table = table;
+		}
+
+		@Override
+		public void resolve(QueryResolveContext context) {
+		}
+
+		@Override
+		public QPNode createQueryPlan(QueryPlanContext context, ConceptQueryPlan plan) {
+			return new Yes(table);
+		}
+
+		@Override
+		public List<ResultInfo> getResultInfos() {
+			return Collections.emptyList();
+		}
+	}
+}
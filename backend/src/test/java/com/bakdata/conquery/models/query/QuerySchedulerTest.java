@@ -0,0 +1,108 @@
+package com.bakdata.conquery.models.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.bakdata.conquery.models.execution.ExecutionPriority;
+import com.bakdata.conquery.models.identifiable.ids.specific.DatasetId;
+import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.identifiable.ids.specific.UserId;
+import com.codahale.metrics.SharedMetricRegistries;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class QuerySchedulerTest {
+
+	@BeforeAll
+	public static void setupMetrics() {
+		if (SharedMetricRegistries.tryGetDefault() == null) {
+			SharedMetricRegistries.setDefault("test");
+		}
+	}
+
+	@Test
+	public void priorityAndFairness() throws Exception {
+		final QueryScheduler scheduler = new QueryScheduler(new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()));
+
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		// Occupy the only thread, so all following tasks are queued.
+		scheduler.submit(ExecutionPriority.BATCH, new UserId("blocker"), () -> {
+			started.countDown();
+			try {
+				release.await();
+			}
+			catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+			return null;
+		});
+		started.await();
+
+		final List<String> order = new ArrayList<>();
+		final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+
+		futures.add(scheduler.submit(ExecutionPriority.BATCH, new UserId("batch"), () -> order.add("batch")));
+		futures.add(scheduler.submit(ExecutionPriority.INTERACTIVE, new UserId("a"), () -> order.add("a1")));
+		futures.add(scheduler.submit(ExecutionPriority.INTERACTIVE, new UserId("a"), () -> order.add("a2")));
+		futures.add(scheduler.submit(ExecutionPriority.INTERACTIVE, new UserId("b"), () -> order.add("b1")));
+		futures.add(scheduler.submit(ExecutionPriority.SYSTEM, new UserId("c"), () -> order.add("system")));
+
+		release.countDown();
+
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+		assertThat(order).containsExactly("system", "a1", "b1", "a2", "batch");
+
+		scheduler.close();
+	}
+
+	@Test
+	public void executionsWithoutOwnerTakeTurns() throws Exception {
+		final QueryScheduler scheduler = new QueryScheduler(new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()));
+
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		scheduler.submit(ExecutionPriority.INTERACTIVE, new UserId("blocker"), () -> {
+			started.countDown();
+			try {
+				release.await();
+			}
+			catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+			return null;
+		});
+		started.await();
+
+		// Unowned executions are scheduled by their own id, so they do not queue up behind each other like tasks of a single owner.
+		final DatasetId dataset = new DatasetId("dataset");
+		final ManagedExecutionId first = new ManagedExecutionId(dataset, UUID.randomUUID());
+		final ManagedExecutionId second = new ManagedExecutionId(dataset, UUID.randomUUID());
+
+		final List<String> order = new ArrayList<>();
+		final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+
+		futures.add(scheduler.submit(ExecutionPriority.INTERACTIVE, first, () -> order.add("first1")));
+		futures.add(scheduler.submit(ExecutionPriority.INTERACTIVE, first, () -> order.add("first2")));
+		futures.add(scheduler.submit(ExecutionPriority.INTERACTIVE, second, () -> order.add("second1")));
+
+		release.countDown();
+
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+		assertThat(order).containsExactly("first1", "second1", "first2");
+
+		scheduler.close();
+	}
+}
@@ -0,0 +1,129 @@
+package com.bakdata.conquery.sql.conquery;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import com.bakdata.conquery.apiv1.query.ConceptQuery;
+import com.bakdata.conquery.apiv1.query.QueryDescription;
+import com.bakdata.conquery.apiv1.query.concept.specific.CQReusedQuery;
+import com.bakdata.conquery.io.jackson.Jackson;
+import com.bakdata.conquery.io.storage.MetaStorage;
+import com.bakdata.conquery.mode.local.LocalStorageListener;
+import com.bakdata.conquery.models.config.SqlConnectorConfig;
+import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.datasets.Table;
+import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.query.resultinfo.ResultInfo;
+import com.bakdata.conquery.models.worker.DatasetRegistry;
+import com.bakdata.conquery.models.worker.LocalNamespace;
+import com.bakdata.conquery.sql.SqlContext;
+import com.bakdata.conquery.sql.conversion.SqlConverter;
+import com.bakdata.conquery.sql.conversion.cqelement.concept.ConceptPathTables;
+import com.bakdata.conquery.sql.conversion.model.SqlQuery;
+import com.bakdata.conquery.sql.execution.SqlExecutionService;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Equal queries are only converted once, until the concepts, tables or secondary ids they were converted with change.
+ */
+public class SqlExecutionManagerTest {
+
+	private final Dataset dataset = new Dataset("dataset");
+
+	private SqlConverter converter;
+	private SqlExecutionManager executionManager;
+
+	private static ConceptQuery createQuery(ManagedExecutionId reused) {
+		return new ConceptQuery(new CQReusedQuery(reused));
+	}
+
+	@BeforeEach
+	public void setup() {
+		converter = mock(SqlConverter.class);
+		when(converter.convert(any())).thenAnswer(invocation -> new SqlQuery() {
+			@Override
+			public String getSql() {
+				return "select 1";
+			}
+
+			@Override
+			public List<ResultInfo> getResultInfos() {
+				return Collections.emptyList();
+			}
+		});
+
+		final SqlContext context = new SqlContext(SqlConnectorConfig.builder().convertedQueryCacheSize(10).build(), null);
+
+		executionManager = new SqlExecutionManager(context, mock(SqlExecutionService.class), mock(MetaStorage.class), Jackson.MAPPER,
+												   new ConceptPathTables(DSL.using(SQLDialect.POSTGRES)), converter
+		);
+	}
+
+	private void convert(QueryDescription query) {
+		executionManager.createExecution(query, null, dataset, false);
+	}
+
+	@Test
+	public void equalQueriesAreConvertedOnce() {
+		final ManagedExecutionId reused = new ManagedExecutionId(dataset.getId(), UUID.randomUUID());
+
+		convert(createQuery(reused));
+		convert(createQuery(reused));
+
+		verify(converter, times(1)).convert(any());
+
+		convert(createQuery(new ManagedExecutionId(dataset.getId(), UUID.randomUUID())));
+
+		verify(converter, times(2)).convert(any());
+	}
+
+	@Test
+	public void clearingConvertsAgain() {
+		final ManagedExecutionId reused = new ManagedExecutionId(dataset.getId(), UUID.randomUUID());
+
+		convert(createQuery(reused));
+		executionManager.clearConvertedQueries();
+		convert(createQuery(reused));
+
+		verify(converter, times(2)).convert(any());
+	}
+
+	@Test
+	public void storageChangesConvertAgain() {
+		final LocalNamespace namespace = mock(LocalNamespace.class);
+		when(namespace.getExecutionManager()).thenReturn(executionManager);
+
+		@SuppressWarnings("unchecked")
+		final DatasetRegistry<LocalNamespace> datasetRegistry = mock(DatasetRegistry.class);
+		when(datasetRegistry.get(dataset.getId())).thenReturn(namespace);
+
+		final LocalStorageListener storageListener = new LocalStorageListener(datasetRegistry);
+
+		final Table table = new Table();
+		table.setName("table");
+		table.setDataset(dataset);
+
+		final ManagedExecutionId reused = new ManagedExecutionId(dataset.getId(), UUID.randomUUID());
+
+		convert(createQuery(reused));
+		storageListener.onAddTable(table);
+		convert(createQuery(reused));
+
+		verify(converter, times(2)).convert(any());
+
+		storageListener.onRemoveTable(table);
+		convert(createQuery(reused));
+
+		verify(converter, times(3)).convert(any());
+	}
+}
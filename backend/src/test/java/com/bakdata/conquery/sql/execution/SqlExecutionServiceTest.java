@@ -0,0 +1,252 @@
+package com.bakdata.conquery.sql.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.bakdata.conquery.models.error.ConqueryError;
+import com.bakdata.conquery.models.identifiable.ids.specific.DatasetId;
+import com.bakdata.conquery.models.identifiable.ids.specific.ManagedExecutionId;
+import com.bakdata.conquery.models.query.resultinfo.ResultInfo;
+import com.bakdata.conquery.models.query.results.EntityResult;
+import com.bakdata.conquery.sql.conquery.SqlManagedQuery;
+import com.bakdata.conquery.sql.conversion.model.SqlQuery;
+import com.google.common.base.Throwables;
+import org.jooq.Field;
+import org.jooq.Param;
+import org.jooq.Record1;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockDataProvider;
+import org.jooq.tools.jdbc.MockResult;
+import org.jooq.tools.jdbc.MockStatement;
+import org.junit.jupiter.api.Test;
+
+public class SqlExecutionServiceTest {
+
+	private static final int FETCH_SIZE = 42;
+
+	private static final Field<String> PID = DSL.field("pid", String.class);
+
+	private static MockResult[] entities(String... ids) {
+		final Result<Record1<String>> result = DSL.using(SQLDialect.POSTGRES).newResult(PID);
+
+		for (String id : ids) {
+			result.add(DSL.using(SQLDialect.POSTGRES).newRecord(PID).values(id));
+		}
+
+		return new MockResult[]{new MockResult(result.size(), result)};
+	}
+
+	private static SqlManagedQuery createQuery() {
+		return createQuery("select pid from entities", Collections.emptyList());
+	}
+
+	private static SqlManagedQuery createQuery(String sql, List<Param<?>> params) {
+		final SqlQuery sqlQuery = new SqlQuery() {
+			@Override
+			public String getSql() {
+				return sql;
+			}
+
+			@Override
+			public List<Param<?>> getParams() {
+				return params;
+			}
+
+			@Override
+			public List<ResultInfo> getResultInfos() {
+				return Collections.emptyList();
+			}
+		};
+
+		final SqlManagedQuery query = mock(SqlManagedQuery.class);
+		when(query.getSqlQuery()).thenReturn(sqlQuery);
+		when(query.getId()).thenReturn(new ManagedExecutionId(new DatasetId("dataset"), UUID.randomUUID()));
+		return query;
+	}
+
+	private static SqlExecutionService createService(TestConnection connection) {
+		return new SqlExecutionService(DSL.using(connection, SQLDialect.POSTGRES), new DefaultResultSetProcessor(new DefaultSqlCDateSetParser()), FETCH_SIZE);
+	}
+
+	@Test
+	public void fetchesWithCursor() {
+		final TestConnection connection = new TestConnection(context -> entities("1", "2"));
+
+		final List<EntityResult> rows = new ArrayList<>();
+		final Optional<SqlExecutionResult> result = createService(connection).execute(createQuery(), rows::add);
+
+		assertThat(result).get().extracting(SqlExecutionResult::getRowCount).isEqualTo(2);
+		assertThat(rows).extracting(row -> ((SqlEntityResult) row).getId()).containsExactly("1", "2");
+		assertThat(connection.statement.fetchSize).isEqualTo(FETCH_SIZE);
+		// Drivers only fetch with a cursor within a transaction.
+		assertThat(connection.autoCommitWhileExecuting).isFalse();
+		assertThat(connection.autoCommit).isTrue();
+	}
+
+	@Test
+	public void bindsParameters() {
+		final List<Object[]> bindings = new ArrayList<>();
+
+		final TestConnection connection = new TestConnection(context -> {
+			bindings.add(context.bindings());
+			return entities("1");
+		});
+
+		final LocalDate date = LocalDate.of(2020, 1, 1);
+		final SqlManagedQuery query = createQuery("select pid from entities where value = ? and date >= ?", List.of(DSL.val(5), DSL.val(date)));
+
+		createService(connection).execute(query, row -> {});
+
+		assertThat(bindings).singleElement().isEqualTo(new Object[]{5, Date.valueOf(date)});
+	}
+
+	@Test
+	public void cancelsRunningStatement() throws Exception {
+		final CountDownLatch executing = new CountDownLatch(1);
+		final CountDownLatch cancelled = new CountDownLatch(1);
+
+		final TestConnection connection = new TestConnection(context -> {
+			executing.countDown();
+
+			try {
+				cancelled.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				throw new SQLException(e);
+			}
+
+			return entities();
+		});
+		connection.cancelled = cancelled;
+
+		final SqlExecutionService service = createService(connection);
+		final SqlManagedQuery query = createQuery();
+
+		final CompletableFuture<Optional<SqlExecutionResult>> execution = CompletableFuture.supplyAsync(() -> service.execute(query, row -> {}));
+
+		assertThat(executing.await(10, TimeUnit.SECONDS)).isTrue();
+
+		service.cancel(query);
+
+		assertThat(cancelled.getCount()).isZero();
+
+		// Cancelled executions are neither failed nor finished.
+		assertThat(execution.get(10, TimeUnit.SECONDS)).isEmpty();
+		assertThat(connection.autoCommit).isTrue();
+
+		// Later executions of the same query are not affected by the cancellation.
+		connection.cancelled = new CountDownLatch(0);
+		assertThat(service.execute(query, row -> {})).isPresent();
+	}
+
+	@Test
+	public void failedRollbackDoesNotMaskFailure() {
+		final TestConnection connection = new TestConnection(context -> {
+			throw new SQLException("original");
+		});
+		connection.failRollback = true;
+
+		assertThatThrownBy(() -> createService(connection).execute(createQuery(), row -> {}))
+				.isInstanceOf(ConqueryError.SqlError.class)
+				.extracting("error")
+				.satisfies(error -> assertThat(Throwables.getCausalChain((Throwable) error)).anyMatch(cause -> "original".equals(cause.getMessage())));
+
+		assertThat(connection.autoCommit).isTrue();
+	}
+
+	/**
+	 * Keeps track of the state of the connection and of the statement that was prepared last.
+	 */
+	private static class TestConnection extends MockConnection {
+
+		private final MockDataProvider data;
+
+		private boolean autoCommit = true;
+		private boolean autoCommitWhileExecuting = true;
+		private boolean failRollback = false;
+		private CountDownLatch cancelled = new CountDownLatch(1);
+
+		private TestStatement statement;
+
+		private TestConnection(MockDataProvider data) {
+			super(data);
+			this.data = context -> {
+				autoCommitWhileExecuting = autoCommit;
+				return data.execute(context);
+			};
+		}
+
+		@Override
+		public PreparedStatement prepareStatement(String sql) {
+			statement = new TestStatement(this, data, sql);
+			return statement;
+		}
+
+		@Override
+		public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) {
+			return prepareStatement(sql);
+		}
+
+		@Override
+		public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) {
+			return prepareStatement(sql);
+		}
+
+		@Override
+		public void setAutoCommit(boolean autoCommit) {
+			this.autoCommit = autoCommit;
+		}
+
+		@Override
+		public boolean getAutoCommit() {
+			return autoCommit;
+		}
+
+		@Override
+		public void rollback() throws SQLException {
+			if (failRollback) {
+				throw new SQLException("rollback");
+			}
+		}
+	}
+
+	private static class TestStatement extends MockStatement {
+
+		private final TestConnection connection;
+		private int fetchSize;
+
+		private TestStatement(TestConnection connection, MockDataProvider data, String sql) {
+			super(connection, data, sql);
+			this.connection = connection;
+		}
+
+		@Override
+		public void setFetchSize(int rows) {
+			fetchSize = rows;
+		}
+
+		@Override
+		public void cancel() throws SQLException {
+			connection.cancelled.countDown();
+			super.cancel();
+		}
+	}
+}
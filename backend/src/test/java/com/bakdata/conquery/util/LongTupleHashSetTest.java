@@ -0,0 +1,44 @@
+package com.bakdata.conquery.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class LongTupleHashSetTest {
+
+	@Test
+	public void addDistinct() {
+		final LongTupleHashSet set = new LongTupleHashSet(2);
+
+		assertThat(set.add(new long[]{1, 2})).isTrue();
+		assertThat(set.add(new long[]{2, 1})).isTrue();
+		assertThat(set.add(new long[]{1, 2})).isFalse();
+
+		assertThat(set.getSize()).isEqualTo(2);
+	}
+
+	@Test
+	public void growAndClear() {
+		final LongTupleHashSet set = new LongTupleHashSet(3);
+		final Set<List<Long>> reference = new HashSet<>();
+		final Random random = new Random(42);
+
+		for (int round = 0; round < 3; round++) {
+			set.clear();
+			reference.clear();
+
+			for (int index = 0; index < 10_000; index++) {
+				final long[] tuple = {random.nextInt(50), random.nextInt(50), random.nextInt(5)};
+
+				assertThat(set.add(tuple)).isEqualTo(reference.add(List.of(tuple[0], tuple[1], tuple[2])));
+			}
+
+			assertThat(set.getSize()).isEqualTo(reference.size());
+		}
+	}
+}
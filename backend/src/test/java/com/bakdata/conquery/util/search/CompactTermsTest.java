@@ -0,0 +1,135 @@
+package com.bakdata.conquery.util.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Terms split into many small segments behave like a dictionary of a single segment.
+ */
+class CompactTermsTest {
+
+	private static final int TERMS = 1000;
+
+	private static Map<String, int[]> createPostings() {
+		final Map<String, int[]> postings = new HashMap<>();
+
+		for (int term = 0; term < TERMS; term++) {
+			final int[] list = new int[term % 5];
+
+			for (int position = 0; position < list.length; position++) {
+				list[position] = term + position;
+			}
+
+			postings.put("term" + term, list);
+		}
+
+		postings.put("", new int[]{0});
+
+		return postings;
+	}
+
+	@Test
+	public void segmentsMatchSingleSegment() {
+		final CompactTerms single = CompactTerms.build(createPostings());
+		final CompactTerms segmented = CompactTerms.build(createPostings(), 256);
+
+		assertThat(single.getSegmentCount()).isEqualTo(1);
+		assertThat(segmented.getSegmentCount()).isGreaterThan(10);
+
+		assertSame(single, segmented);
+	}
+
+	@Test
+	public void mergeMatchesBuild() {
+		final Map<String, int[]> base = new HashMap<>();
+		final Map<String, int[]> added = new HashMap<>();
+		final Map<String, int[]> all = new HashMap<>();
+
+		// Leaves out some of the terms from term200 on, so all terms starting with term1 are present.
+		createPostings().forEach((term, postings) -> {
+			if (term.length() < 7 || term.compareTo("term2") < 0 || term.hashCode() % 2 == 0) {
+				base.put(term, postings);
+			}
+		});
+
+		added.put("term1", new int[]{1, TERMS + 10});
+		added.put("new", new int[]{TERMS + 11});
+
+		// Postings of base are shifted by one, as if a value was added in front of them.
+		final int[] remap = new int[TERMS + 10];
+		for (int posting = 0; posting < remap.length; posting++) {
+			remap[posting] = posting + 1;
+		}
+
+		base.forEach((term, postings) -> all.put(term, Arrays.stream(postings).map(posting -> remap[posting]).toArray()));
+
+		// Postings of base come first, followed by the added ones not already present.
+		added.forEach((term, postings) -> all.merge(term, postings, (first, second) -> IntStream.concat(Arrays.stream(first), Arrays.stream(second)).distinct().toArray()));
+
+		assertSame(CompactTerms.build(all), CompactTerms.merge(CompactTerms.build(base), remap, added));
+	}
+
+	@Test
+	public void mapsSegmentsFromFile() throws IOException {
+		final CompactTerms segmented = CompactTerms.build(createPostings(), 256);
+
+		final Path file = Files.createTempFile("compact-terms", ".bin");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+			// Something in front of the dictionary, to map it from an offset
+			out.writeLong(42);
+			segmented.writeTo(out);
+		}
+
+		assertThat(Files.size(file)).isEqualTo(Long.BYTES + segmented.getByteSize());
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			final CompactTerms mapped = CompactTerms.map(channel, Long.BYTES);
+
+			assertThat(mapped.getSegmentCount()).isEqualTo(segmented.getSegmentCount());
+			assertSame(segmented, mapped);
+		}
+	}
+
+	private static void assertSame(CompactTerms expected, CompactTerms actual) {
+		assertThat(actual.getSize()).isEqualTo(expected.getSize());
+		assertThat(actual.getMaxTermsPerPosting()).isEqualTo(expected.getMaxTermsPerPosting());
+		assertThat(actual.getPostingsSize()).isEqualTo(expected.getPostingsSize());
+
+		for (int index = 0; index < expected.getSize(); index++) {
+			assertThat(actual.getTerm(index)).isEqualTo(expected.getTerm(index));
+			assertThat(actual.termLength(index)).isEqualTo(expected.termLength(index));
+			assertThat(actual.getPostingCount(index)).isEqualTo(expected.getPostingCount(index));
+
+			for (int position = 0; position < expected.getPostingCount(index); position++) {
+				assertThat(actual.getPosting(index, position)).isEqualTo(expected.getPosting(index, position));
+			}
+		}
+
+		for (String query : new String[]{"", "term", "term1", "term12", "term999", "term5000", "terms", "a", "z"}) {
+			final byte[] bytes = query.getBytes(StandardCharsets.UTF_8);
+
+			assertThat(actual.find(bytes)).as("find %s", query).isEqualTo(expected.find(bytes));
+			assertThat(actual.lowerBound(bytes)).as("lowerBound %s", query).isEqualTo(expected.lowerBound(bytes));
+			assertThat(actual.prefixEnd(bytes)).as("prefixEnd %s", query).isEqualTo(expected.prefixEnd(bytes));
+		}
+
+		// The terms starting with term1 are term1, term10 to term19 and term100 to term199.
+		final byte[] prefix = "term1".getBytes(StandardCharsets.UTF_8);
+		assertThat(actual.prefixEnd(prefix) - actual.lowerBound(prefix)).isEqualTo(111);
+	}
+}
@@ -2,8 +2,11 @@ package com.bakdata.conquery.util.search;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
+import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 
@@ -129,4 +132,98 @@ class QuickSearchTest {
 
 		assertThat(search.ngramSplit("aacd")).isEmpty();
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void extend() {
+		final TrieSearch<String> search = setup();
+
+		final TrieSearch<String> extended = search.extend();
+		extended.addItem("aac", List.of("aac"));
+		extended.addItem("c", List.of("c"));
+		extended.shrinkToFit();
+
+		// The original search is not affected
+		assertThat(search.findItems(List.of("aac"), 1)).doesNotContain("aac");
+		assertThat(search.isWriteable()).isFalse();
+
+		assertThat(extended.findItems(List.of("aac"), 1)).containsExactly("aac");
+		assertThat(extended.findItems(List.of("aa", "c"), Integer.MAX_VALUE))
+				.containsAll(search.findItems(List.of("aa", "c"), Integer.MAX_VALUE));
+
+		assertThat(extended.streamAddedSince(search)).containsExactly("aac");
+		assertThat(extended.countItems()).isEqualTo(search.countItems() + 1);
+	}
+
+	@Test
+	public void extensionMatchesRebuild() {
+		final Random random = new Random(3);
+		final List<String> items = new ArrayList<>();
+
+		for (int item = 0; item < 500; item++) {
+			final StringBuilder words = new StringBuilder();
+
+			for (int letter = 0; letter < 2 + random.nextInt(5); letter++) {
+				words.append((char) ('a' + random.nextInt(5)));
+			}
+
+			items.add(words.toString());
+		}
+
+		final TrieSearch<String> base = new TrieSearch<>(2, "");
+		final TrieSearch<String> rebuilt = new TrieSearch<>(2, "");
+
+		for (String item : items.subList(0, 300)) {
+			base.addItem(item, List.of(item));
+			rebuilt.addItem(item, List.of(item));
+		}
+		base.shrinkToFit();
+
+		// Overlaps with the items of the base
+		final TrieSearch<String> extended = base.extend();
+
+		for (String item : items.subList(200, 500)) {
+			extended.addItem(item, List.of(item));
+			rebuilt.addItem(item, List.of(item));
+		}
+
+		extended.shrinkToFit();
+		rebuilt.shrinkToFit();
+
+		assertThat(extended.stream()).containsExactlyElementsOf(rebuilt.stream().toList());
+		assertThat(extended.calculateSize()).isEqualTo(rebuilt.calculateSize());
+
+		for (List<String> queries : List.of(List.of("ab"), List.of("a"), List.of("abcd", "ba"), List.of("e"))) {
+			assertThat(extended.findItems(queries, Integer.MAX_VALUE)).as("%s", queries).containsExactlyElementsOf(rebuilt.findItems(queries, Integer.MAX_VALUE));
+			assertThat(extended.findExact(queries, Integer.MAX_VALUE)).as("%s", queries).containsExactlyElementsOf(rebuilt.findExact(queries, Integer.MAX_VALUE));
+		}
+	}
+
+	@Test
+	public void topItemsMatchRanking() {
+		final TrieSearch<String> search = new TrieSearch<>(2, "");
+		final Random random = new Random(7);
+
+		for (int item = 0; item < 2_000; item++) {
+			final StringBuilder words = new StringBuilder();
+
+			for (int word = 0; word < 1 + random.nextInt(3); word++) {
+				words.append(' ');
+				for (int letter = 0; letter < 2 + random.nextInt(4); letter++) {
+					words.append((char) ('a' + random.nextInt(4)));
+				}
+			}
+
+			search.addItem(item + words.toString(), List.of(words.toString()));
+		}
+		search.shrinkToFit();
+
+		for (List<String> queries : List.of(List.of("ab"), List.of("a"), List.of("abcd", "ba"), List.of("dcba"))) {
+			final List<String> ranked = Lists.newArrayList(search.score(queries).iterator());
+
+			for (int limit : new int[]{1, 10, 50, 500}) {
+				assertThat(search.findItems(queries, limit)).as("Top %d for %s", limit, queries)
+															.isEqualTo(ranked.subList(0, Math.min(limit, ranked.size())));
+			}
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.bakdata.conquery.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.bakdata.conquery.models.common.CDateSet;
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link CDateSet} operations as they are used by the date aggregators and date restrictions, on random short ranges.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateSetBenchmark {
+
+	private static final CDateRange RESTRICTION = CDateRange.of(LocalDate.of(2015, 1, 1), LocalDate.of(2015, 12, 31));
+
+	@Param("1000")
+	public int rangeCount;
+
+	private final List<CDateRange> ranges = new ArrayList<>();
+	private CDateSet restriction;
+	private CDateSet full;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final Random random = new Random(0);
+
+		for (int range = 0; range < rangeCount; range++) {
+			final int min = EngineState.MIN_DATE + random.nextInt(EngineState.DAYS);
+			ranges.add(CDateRange.of(min, min + random.nextInt(60)));
+		}
+
+		restriction = CDateSet.create(RESTRICTION);
+		full = CDateSet.create(ranges);
+	}
+
+	@Benchmark
+	public CDateSet add() {
+		final CDateSet set = CDateSet.createEmpty();
+		ranges.forEach(set::add);
+		return set;
+	}
+
+	@Benchmark
+	public CDateSet maskedAdd() {
+		final CDateSet set = CDateSet.createEmpty();
+		ranges.forEach(range -> set.maskedAdd(range, restriction));
+		return set;
+	}
+
+	@Benchmark
+	public CDateSet retainAll() {
+		final CDateSet set = CDateSet.create(full);
+		set.retainAll(restriction);
+		return set;
+	}
+}
@@ -0,0 +1,253 @@
+package com.bakdata.conquery.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.bakdata.conquery.apiv1.query.Query;
+import com.bakdata.conquery.apiv1.query.concept.filter.CQTable;
+import com.bakdata.conquery.apiv1.query.concept.filter.FilterValue;
+import com.bakdata.conquery.apiv1.query.concept.specific.CQConcept;
+import com.bakdata.conquery.io.jackson.Jackson;
+import com.bakdata.conquery.models.common.Range;
+import com.bakdata.conquery.models.config.ThreadPoolDefinition;
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import com.bakdata.conquery.models.datasets.Column;
+import com.bakdata.conquery.models.datasets.Dataset;
+import com.bakdata.conquery.models.datasets.Import;
+import com.bakdata.conquery.models.datasets.SecondaryIdDescription;
+import com.bakdata.conquery.models.datasets.Table;
+import com.bakdata.conquery.models.datasets.concepts.Connector;
+import com.bakdata.conquery.models.datasets.concepts.ValidityDate;
+import com.bakdata.conquery.models.datasets.concepts.filters.specific.NumberFilter;
+import com.bakdata.conquery.models.datasets.concepts.select.connector.specific.CountSelect;
+import com.bakdata.conquery.models.datasets.concepts.tree.ConceptTreeConnector;
+import com.bakdata.conquery.models.datasets.concepts.tree.TreeConcept;
+import com.bakdata.conquery.models.events.Bucket;
+import com.bakdata.conquery.models.events.BucketManager;
+import com.bakdata.conquery.models.events.CBlock;
+import com.bakdata.conquery.models.events.MajorTypeId;
+import com.bakdata.conquery.models.events.stores.primitive.IntArrayStore;
+import com.bakdata.conquery.models.events.stores.primitive.IntegerDateStore;
+import com.bakdata.conquery.models.events.stores.root.ColumnStore;
+import com.bakdata.conquery.models.events.stores.specific.string.NumberStringStore;
+import com.bakdata.conquery.models.query.DateAggregationMode;
+import com.bakdata.conquery.models.query.QueryExecutionContext;
+import com.bakdata.conquery.models.query.QueryPlanContext;
+import com.bakdata.conquery.models.query.QueryResolveContext;
+import com.bakdata.conquery.models.query.entity.Entity;
+import com.bakdata.conquery.models.query.queryplan.QueryPlan;
+import com.bakdata.conquery.models.worker.Worker;
+import com.bakdata.conquery.util.NonPersistentStoreFactory;
+import com.codahale.metrics.SharedMetricRegistries;
+import io.dropwizard.jersey.validation.Validators;
+import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Synthetic {@link Bucket}s and {@link CBlock}s of a single table, as they are held by a shard, and the contexts to plan and execute queries on them.
+ * <p>
+ * The table has a validity date, an integer value and a secondary id with {@value #SECONDARY_IDS} distinct values per entity.
+ */
+@State(Scope.Benchmark)
+public class EngineState {
+
+	public static final int BUCKET_SIZE = 1000;
+	public static final int SECONDARY_IDS = 5;
+
+	public static final int MIN_DATE = CDateRange.of(LocalDate.of(2010, 1, 1), LocalDate.of(2010, 1, 1)).getMinValue();
+	public static final int DAYS = 10 * 365;
+
+	@Param("10000")
+	public int entityCount;
+
+	@Param("20")
+	public int eventsPerEntity;
+
+	public Dataset dataset;
+	public Table table;
+	public Column dateColumn;
+	public Column valueColumn;
+	public Column secondaryIdColumn;
+	public SecondaryIdDescription secondaryId;
+
+	public TreeConcept concept;
+	public ConceptTreeConnector connector;
+	public ValidityDate validityDate;
+	public NumberFilter<Range.LongRange> valueFilter;
+	public CountSelect countSelect;
+
+	public final List<Bucket> buckets = new ArrayList<>();
+	public final List<Entity> entities = new ArrayList<>();
+
+	private Worker worker;
+	private ExecutorService jobsExecutor;
+
+	public QueryPlanContext planContext;
+	public QueryExecutionContext executionContext;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		if (SharedMetricRegistries.tryGetDefault() == null) {
+			SharedMetricRegistries.setDefault("benchmarks");
+		}
+
+		dataset = new Dataset("benchmark");
+
+		secondaryId = new SecondaryIdDescription();
+		secondaryId.setName("secondary");
+		secondaryId.setDataset(dataset);
+
+		table = new Table();
+		table.setName("table");
+		table.setDataset(dataset);
+
+		dateColumn = createColumn("date", MajorTypeId.DATE);
+		valueColumn = createColumn("value", MajorTypeId.INTEGER);
+		secondaryIdColumn = createColumn("secondary", MajorTypeId.STRING);
+		secondaryIdColumn.setSecondaryId(secondaryId);
+
+		table.setColumns(new Column[]{dateColumn, valueColumn, secondaryIdColumn});
+
+		concept = new TreeConcept();
+		concept.setName("concept");
+		concept.setDataset(dataset);
+
+		connector = new ConceptTreeConnector();
+		connector.setName("connector");
+		connector.setTable(table);
+		connector.setConcept(concept);
+		concept.setConnectors(List.of(connector));
+
+		validityDate = ValidityDate.create(dateColumn);
+		validityDate.setConnector(connector);
+		connector.setValidityDates(List.of(validityDate));
+
+		valueFilter = new NumberFilter<>();
+		valueFilter.setName("value");
+		valueFilter.setColumn(valueColumn);
+		valueFilter.setConnector(connector);
+
+		countSelect = new CountSelect();
+		countSelect.setName("count");
+		countSelect.setColumn(valueColumn);
+		countSelect.setHolder(connector);
+
+		final Import imp = new Import(table);
+		imp.setName("import");
+
+		final Map<Table, Int2ObjectMap<List<Bucket>>> tableBuckets = new HashMap<>();
+		final Map<Connector, Int2ObjectMap<Map<Bucket, CBlock>>> connectorCBlocks = new HashMap<>();
+		final Int2ObjectMap<Entity> entityMap = new Int2ObjectAVLTreeMap<>();
+
+		final Random random = new Random(0);
+
+		for (int root = 0; root < entityCount; root += BUCKET_SIZE) {
+			final Bucket bucket = createBucket(imp, root / BUCKET_SIZE, root, Math.min(BUCKET_SIZE, entityCount - root), random);
+			buckets.add(bucket);
+
+			for (int entity : bucket.entities()) {
+				entityMap.put(entity, new Entity(entity));
+			}
+
+			tableBuckets.computeIfAbsent(table, (ignored) -> new Int2ObjectAVLTreeMap<>())
+						.put(bucket.getBucket(), List.of(bucket));
+
+			connectorCBlocks.computeIfAbsent(connector, (ignored) -> new Int2ObjectAVLTreeMap<>())
+							.put(bucket.getBucket(), Map.of(bucket, CBlock.createCBlock(connector, bucket, BUCKET_SIZE)));
+		}
+
+		entities.addAll(entityMap.values());
+
+		// An in-memory shard, its storage only holds the dataset, the data is held by our BucketManager.
+		jobsExecutor = Executors.newSingleThreadExecutor();
+		worker = Worker.newWorker(dataset, new ThreadPoolDefinition(), jobsExecutor, new NonPersistentStoreFactory(), "benchmark", Validators.newValidator(), false,
+								  BUCKET_SIZE, Jackson.BINARY_MAPPER, Jackson.MAPPER, SECONDARY_IDS, 0
+		);
+
+		final BucketManager bucketManager = new BucketManager(null, null, worker, entityMap, connectorCBlocks, tableBuckets, BUCKET_SIZE);
+
+		planContext = new QueryPlanContext(worker, SECONDARY_IDS);
+		executionContext = new QueryExecutionContext(null, null, worker.getStorage(), bucketManager);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		worker.close();
+		jobsExecutor.shutdown();
+	}
+
+	private Column createColumn(String name, MajorTypeId type) {
+		final Column column = new Column();
+		column.setName(name);
+		column.setType(type);
+		column.setTable(table);
+		return column;
+	}
+
+	private Bucket createBucket(Import imp, int bucketNumber, int root, int size, Random random) {
+		final int numberOfEvents = size * eventsPerEntity;
+
+		final IntegerDateStore dates = IntegerDateStore.create(numberOfEvents);
+		final IntArrayStore values = IntArrayStore.create(numberOfEvents);
+		final IntArrayStore secondaryIds = IntArrayStore.create(numberOfEvents);
+
+		for (int event = 0; event < numberOfEvents; event++) {
+			dates.setDate(event, MIN_DATE + random.nextInt(DAYS));
+			values.setInteger(event, random.nextInt(1000));
+			secondaryIds.setInteger(event, random.nextInt(SECONDARY_IDS));
+		}
+
+		final int[] starts = new int[BUCKET_SIZE];
+		final int[] ends = new int[BUCKET_SIZE];
+		Arrays.fill(starts, -1);
+		Arrays.fill(ends, -1);
+
+		final Set<Integer> bucketEntities = new IntOpenHashSet();
+
+		for (int index = 0; index < size; index++) {
+			starts[index] = index * eventsPerEntity;
+			ends[index] = (index + 1) * eventsPerEntity;
+			bucketEntities.add(root + index);
+		}
+
+		final ColumnStore[] stores = {dates, values, new NumberStringStore(new Range.IntegerRange(0, SECONDARY_IDS - 1), secondaryIds)};
+
+		return new Bucket(bucketNumber, root, numberOfEvents, stores, bucketEntities, starts, ends, imp);
+	}
+
+	/**
+	 * A {@link CQConcept} of the table, restricted to events whose value is within the range, counting them.
+	 */
+	public CQConcept createConcept(long minValue, long maxValue) {
+		final CQConcept cqConcept = CQConcept.forConnector(connector);
+
+		final CQTable cqTable = cqConcept.getTables().get(0);
+		cqTable.setFilters(List.of(new FilterValue.CQIntegerRangeFilter(valueFilter, new Range.LongRange(minValue, maxValue))));
+		cqTable.setSelects(List.of(countSelect));
+
+		return cqConcept;
+	}
+
+	/**
+	 * Resolves and plans the query, the way the shards receive it.
+	 */
+	public QueryPlan<?> createPlan(Query query) {
+		query.resolve(new QueryResolveContext(null, null, null, DateAggregationMode.MERGE));
+		return query.createQueryPlan(planContext);
+	}
+}
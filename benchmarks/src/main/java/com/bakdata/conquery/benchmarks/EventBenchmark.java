@@ -0,0 +1,123 @@
+package com.bakdata.conquery.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.bakdata.conquery.models.common.CDateSet;
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import com.bakdata.conquery.models.events.Bucket;
+import com.bakdata.conquery.models.query.queryplan.aggregators.Aggregator;
+import com.bakdata.conquery.models.query.queryplan.aggregators.specific.CountAggregator;
+import com.bakdata.conquery.models.query.queryplan.aggregators.specific.DateUnionAggregator;
+import com.bakdata.conquery.models.query.queryplan.aggregators.specific.sum.IntegerSumAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The per-event paths below the query plans: aggregators, column stores and the lookup of entities by their {@link com.bakdata.conquery.models.events.CBlock}s.
+ * Every operation is one pass over all events, respectively entities, of the {@link EngineState}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventBenchmark {
+
+	private static final CDateSet RESTRICTION = CDateSet.create(CDateRange.of(LocalDate.of(2015, 1, 1), LocalDate.of(2015, 12, 31)));
+
+	private static void aggregate(EngineState state, Aggregator<?> aggregator, Blackhole blackhole) {
+		for (Bucket bucket : state.buckets) {
+			aggregator.nextTable(state.executionContext, state.table);
+			aggregator.nextBlock(bucket);
+
+			for (int entity : bucket.entities()) {
+				aggregator.init(null, state.executionContext);
+
+				final int end = bucket.getEntityEnd(entity);
+
+				for (int event = bucket.getEntityStart(entity); event < end; event++) {
+					aggregator.consumeEvent(bucket, event);
+				}
+
+				blackhole.consume(aggregator.createAggregationResult());
+			}
+		}
+	}
+
+	@Benchmark
+	public void countAggregator(EngineState state, Blackhole blackhole) {
+		aggregate(state, new CountAggregator(), blackhole);
+	}
+
+	@Benchmark
+	public void integerSumAggregator(EngineState state, Blackhole blackhole) {
+		aggregate(state, new IntegerSumAggregator(state.valueColumn), blackhole);
+	}
+
+	@Benchmark
+	public void dateUnionAggregator(EngineState state, Blackhole blackhole) {
+		aggregate(state, new DateUnionAggregator(state.dateColumn), blackhole);
+	}
+
+	@Benchmark
+	public long getInteger(EngineState state) {
+		long sum = 0;
+
+		for (Bucket bucket : state.buckets) {
+			for (int event = 0; event < bucket.getNumberOfEvents(); event++) {
+				if (bucket.has(event, state.valueColumn)) {
+					sum += bucket.getInteger(event, state.valueColumn);
+				}
+			}
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	public long getDate(EngineState state) {
+		long sum = 0;
+
+		for (Bucket bucket : state.buckets) {
+			for (int event = 0; event < bucket.getNumberOfEvents(); event++) {
+				if (bucket.has(event, state.dateColumn)) {
+					sum += bucket.getDate(event, state.dateColumn);
+				}
+			}
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	public long eventIsContainedIn(EngineState state) {
+		long contained = 0;
+
+		for (Bucket bucket : state.buckets) {
+			for (int event = 0; event < bucket.getNumberOfEvents(); event++) {
+				if (bucket.eventIsContainedIn(event, state.validityDate, RESTRICTION)) {
+					contained++;
+				}
+			}
+		}
+
+		return contained;
+	}
+
+	@Benchmark
+	public Object entitiesWithConcepts(EngineState state) {
+		return state.executionContext.getBucketManager().getEntitiesWithConcepts(List.of(state.concept), Set.of(state.connector), CDateSet.createFull());
+	}
+}
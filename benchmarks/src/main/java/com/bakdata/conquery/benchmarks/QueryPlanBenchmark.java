@@ -0,0 +1,110 @@
+package com.bakdata.conquery.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.bakdata.conquery.apiv1.forms.export_form.ExportForm;
+import com.bakdata.conquery.apiv1.query.ArrayConceptQuery;
+import com.bakdata.conquery.apiv1.query.ConceptQuery;
+import com.bakdata.conquery.apiv1.query.SecondaryIdQuery;
+import com.bakdata.conquery.apiv1.query.concept.specific.temporal.CQBeforeTemporalQuery;
+import com.bakdata.conquery.apiv1.query.concept.specific.temporal.CQSampled;
+import com.bakdata.conquery.apiv1.query.concept.specific.temporal.TemporalSamplerFactory;
+import com.bakdata.conquery.models.common.CDateSet;
+import com.bakdata.conquery.models.common.Range;
+import com.bakdata.conquery.models.common.daterange.CDateRange;
+import com.bakdata.conquery.models.forms.managed.AbsoluteFormQuery;
+import com.bakdata.conquery.models.forms.util.Alignment;
+import com.bakdata.conquery.models.forms.util.Resolution;
+import com.bakdata.conquery.models.query.QueryExecutionContext;
+import com.bakdata.conquery.models.query.entity.Entity;
+import com.bakdata.conquery.models.query.queryplan.QueryPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Executes the plans of the common query types for all entities of the {@link EngineState}, as a shard does. Every operation is one pass over all entities.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueryPlanBenchmark {
+
+	private QueryPlan<?> conceptPlan;
+	private QueryPlan<?> secondaryIdPlan;
+	private QueryPlan<?> temporalPlan;
+	private QueryPlan<?> formPlan;
+
+	private QueryExecutionContext restrictedContext;
+
+	@Setup(Level.Trial)
+	public void setup(EngineState state) {
+		conceptPlan = state.createPlan(new ConceptQuery(state.createConcept(100, 900)));
+
+		final SecondaryIdQuery secondaryIdQuery = new SecondaryIdQuery();
+		secondaryIdQuery.setRoot(state.createConcept(100, 900));
+		secondaryIdQuery.setSecondaryId(state.secondaryId);
+		secondaryIdPlan = state.createPlan(secondaryIdQuery);
+
+		temporalPlan = state.createPlan(new ConceptQuery(new CQBeforeTemporalQuery(
+				new CQSampled(state.createConcept(700, 1000), TemporalSamplerFactory.EARLIEST),
+				new CQSampled(state.createConcept(0, 300), TemporalSamplerFactory.EARLIEST)
+		)));
+
+		formPlan = state.createPlan(new AbsoluteFormQuery(
+				new ConceptQuery(state.createConcept(100, 900)),
+				Range.of(LocalDate.of(2012, 1, 1), LocalDate.of(2016, 12, 31)),
+				new ArrayConceptQuery(List.of(new ConceptQuery(state.createConcept(0, 500)), new ConceptQuery(state.createConcept(500, 1000)))),
+				List.of(ExportForm.ResolutionAndAlignment.of(Resolution.YEARS, Alignment.YEAR), ExportForm.ResolutionAndAlignment.of(Resolution.QUARTERS, Alignment.QUARTER))
+		));
+
+		restrictedContext = state.executionContext.withDateRestriction(CDateSet.create(CDateRange.of(LocalDate.of(2015, 1, 1), LocalDate.of(2015, 12, 31))));
+	}
+
+	private static void executeForAllEntities(QueryPlan<?> plan, QueryExecutionContext context, List<Entity> entities, Blackhole blackhole) {
+		// Same as QueryJob, which the shards execute per entity.
+		for (Entity entity : entities) {
+			plan.init(context, entity);
+			blackhole.consume(plan.execute(context, entity));
+		}
+	}
+
+	@Benchmark
+	public void conceptQuery(EngineState state, Blackhole blackhole) {
+		executeForAllEntities(conceptPlan, state.executionContext, state.entities, blackhole);
+	}
+
+	@Benchmark
+	public void conceptQueryWithDateRestriction(EngineState state, Blackhole blackhole) {
+		executeForAllEntities(conceptPlan, restrictedContext, state.entities, blackhole);
+	}
+
+	@Benchmark
+	public void secondaryIdQuery(EngineState state, Blackhole blackhole) {
+		executeForAllEntities(secondaryIdPlan, state.executionContext, state.entities, blackhole);
+	}
+
+	@Benchmark
+	public void temporalQuery(EngineState state, Blackhole blackhole) {
+		executeForAllEntities(temporalPlan, state.executionContext, state.entities, blackhole);
+	}
+
+	@Benchmark
+	public void absoluteFormQuery(EngineState state, Blackhole blackhole) {
+		executeForAllEntities(formPlan, state.executionContext, state.entities, blackhole);
+	}
+}